@@ -0,0 +1,68 @@
+package hex.tree.gbm;
+
+import hex.genmodel.algos.tree.SharedTreeMojoModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GBM MOJO micro-benchmark: scoring a block of rows row by row vs. with the batch (columnar) score0
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GbmMojoBatchScoringBench {
+
+  @Param({"256", "4096"})
+  private int batchSize;
+
+  private SharedTreeMojoModel _mojo;
+  private double[][] _cols;
+  private double[][] _preds;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(GbmMojoBatchScoringBench.class.getSimpleName())
+            .build();
+
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    _mojo = (SharedTreeMojoModel) ClasspathReaderBackend.loadMojo("prostate");
+    double[][] data = ProstateData.ROWS;
+    _cols = new double[data[0].length][batchSize];
+    for (int r = 0; r < batchSize; r++)
+      for (int c = 0; c < _cols.length; c++)
+        _cols[c][r] = data[r % data.length][c];
+    _preds = new double[batchSize][3];
+  }
+
+  @Benchmark
+  public double[][] measureRowByRow() {
+    double[] row = new double[_cols.length];
+    for (int r = 0; r < batchSize; r++) {
+      for (int c = 0; c < row.length; c++)
+        row[c] = _cols[c][r];
+      _mojo.score0(row, _preds[r]);
+    }
+    return _preds;
+  }
+
+  @Benchmark
+  public double[][] measureBatch() {
+    _mojo.score0(_cols, null, batchSize, _preds);
+    return _preds;
+  }
+
+}
@@ -0,0 +1,84 @@
+package hex.tree.gbm;
+
+import hex.genmodel.algos.tree.FlatTree;
+import hex.genmodel.algos.tree.ScoreTree;
+import hex.genmodel.algos.tree.ScoreTree2;
+import hex.genmodel.algos.tree.SharedTreeMojoModel;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree scorer micro-benchmark: walking the compressed trees of a MOJO (ScoreTree2, the scorer of MOJO version 1.2
+ * and newer - ScoreTree0/1 only read the older tree formats) vs. scoring the decoded flat trees.
+ */
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GbmTreeScorerBench {
+
+  @Param({"1000", "100000"})
+  private int rows;
+
+  private byte[][] _trees;
+  private FlatTree[] _flatTrees;
+  private String[][] _domains;
+  private ScoreTree _scoreTree;
+  private double[][] _data;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+            .include(GbmTreeScorerBench.class.getSimpleName())
+            .build();
+
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    SharedTreeMojoModel mojo = (SharedTreeMojoModel) ClasspathReaderBackend.loadMojo("prostate");
+    _domains = mojo.getDomainValues();
+    _trees = new byte[mojo.getNTreeGroups()][];
+    _flatTrees = new FlatTree[_trees.length];
+    for (int i = 0; i < _trees.length; i++) {
+      String file = String.format("prostate/trees/t00_%03d.bin", i);
+      _trees[i] = IOUtils.toByteArray(GbmTreeScorerBench.class.getResource(file));
+      _flatTrees[i] = FlatTree.make(_trees[i], _domains);
+    }
+    _scoreTree = new ScoreTree2();
+    _data = ProstateData.ROWS;
+  }
+
+  @Benchmark
+  public double measureCompressedTrees() {
+    double sum = 0;
+    for (int i = 0; i < rows; i++) {
+      double[] row = _data[i % _data.length];
+      for (byte[] tree : _trees)
+        sum += _scoreTree.scoreTree(tree, row, false, _domains);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double measureFlatTrees() {
+    double sum = 0;
+    for (int i = 0; i < rows; i++) {
+      double[] row = _data[i % _data.length];
+      for (FlatTree tree : _flatTrees)
+        sum += tree.score(row);
+    }
+    return sum;
+  }
+
+}
@@ -1242,18 +1242,21 @@ public class DataInfo extends Keyed<DataInfo> {
   public final Row[] extractSparseRows(Chunk [] chunks) {
     Row[] rows = new Row[chunks[0]._len];
     long startOff = chunks[0].start();
+    double [] vals = MemoryManager.malloc8d(rows.length);
+    double [] offs = _offset?chunks[offsetChunkId()].getDoubles(MemoryManager.malloc8d(rows.length),0,rows.length):null;
+    double [] ws = _weights?chunks[weightChunkId()].getDoubles(vals,0,rows.length):null;
     for (int i = 0; i < rows.length; ++i) {
       rows[i] = new Row(true, Math.min(_nums, 16), _cats, _responses, i, startOff);  // if sparse, _nums is the correct number of nonzero values! i.e., do not use numNums()
       rows[i].rid = chunks[0].start() + i;
       if(_offset)  {
-        rows[i].offset = chunks[offsetChunkId()].atd(i);
+        rows[i].offset = offs[i];
         if(Double.isNaN(rows[i].offset)) {
           rows[i].predictors_bad = true;
           continue;
         }
       }
       if(_weights) {
-        rows[i].weight = chunks[weightChunkId()].atd(i);
+        rows[i].weight = ws[i];
         if(Double.isNaN(rows[i].weight))
           rows[i].predictors_bad = true;
       }
@@ -1318,10 +1321,10 @@ public class DataInfo extends Keyed<DataInfo> {
     // response(s)
     for (int i = 1; i <= _responses; ++i) {
       int rid = responseChunkId(i-1);
-      Chunk rChunk = chunks[rid];
+      double [] ys = chunks[rid].getDoubles(vals,0,rows.length);
       for (int r = 0; r < chunks[0]._len; ++r) {
         Row row = rows[r];
-        row.response[i-1] = rChunk.atd(r);
+        row.response[i-1] = ys[r];
         if(Double.isNaN(row.response[i-1])) {
           row.response_bad = true;
         }
@@ -124,12 +124,14 @@ public abstract class FrameTask<T extends FrameTask<T>> extends MRTask<T>{
     //TODO: store node-local helper arrays in _dinfo -> avoid re-allocation and construction
     if (obs_weights) {
       weight_map = new double[nrows];
+      // only the weights are needed here, no need to extract the full dense rows
+      double[] ws = _sparse ? null : chunks[_dinfo.weightChunkId()].getDoubles(MemoryManager.malloc8d(nrows), 0, nrows);
       double weight_sum = 0;
       for (int i = 0; i < nrows; ++i) {
-        row = _sparse ? rows[i] : _dinfo.extractDenseRow(chunks, i, row);
-        weight_sum += row.weight;
+        double w = _sparse ? rows[i].weight : ws[i];
+        weight_sum += w;
         weight_map[i] = weight_sum;
-        assert (i == 0 || row.weight == 0 || weight_map[i] > weight_map[i - 1]);
+        assert (i == 0 || w == 0 || weight_map[i] > weight_map[i - 1]);
       }
       if (weight_sum > 0) {
         ArrayUtils.div(weight_map, weight_sum); //normalize to 0...1
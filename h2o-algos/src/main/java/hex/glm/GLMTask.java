@@ -53,13 +53,16 @@ public abstract class GLMTask  {
     @Override public void map(Chunk [] chks) {
       int i = 0;
       int len = chks[0]._len;
-      Chunk w = _hasWeights?chks[i++]:new C0DChunk(1.0,len);
-      Chunk o = _hasOffset?chks[i++]:new C0DChunk(0.0,len);
-      Chunk r = chks[i];
+      double [] ws = MemoryManager.malloc8d(len);
+      double [] os = MemoryManager.malloc8d(len);
+      double [] rs = MemoryManager.malloc8d(len);
+      if(_hasWeights) chks[i++].getDoubles(ws,0,len); else Arrays.fill(ws,1);
+      if(_hasOffset) chks[i++].getDoubles(os,0,len);
+      chks[i].getDoubles(rs,0,len);
       if(_glmf._family != Family.multinomial) {
         double ymu = _glmf.link(_ymu[0]);
         for (int j = 0; j < len; ++j)
-          _nullDev += w.atd(j)*_glmf.deviance(r.atd(j), _glmf.linkInv(ymu + o.atd(j)));
+          _nullDev += ws[j]*_glmf.deviance(rs[j], _glmf.linkInv(ymu + os[j]));
       } else {
         throw H2O.unimpl();
       }
@@ -281,15 +284,22 @@ public abstract class GLMTask  {
        double [] vals = MemoryManager.malloc8d(chunks[0]._len);
        int [] ids = MemoryManager.malloc4(vals.length);
        for (int i = 0; i < chunks.length; ++i) {
-         int n = vals.length;
-         if(chunks[i].isSparseZero())
-           n = chunks[i].getSparseDoubles(vals,ids);
-         else
-          chunks[i].getDoubles(vals,0,n);
-         for (int r = 0; r < n; ++r) {
-           if (ws[r] != 0 && Double.isNaN(vals[r])) {
-             ws[r] = 0;
-             changedWeights = true;
+         if(chunks[i].isSparseZero()) {
+           int n = chunks[i].getSparseDoubles(vals,ids);
+           for (int k = 0; k < n; ++k) {
+             int r = ids[k];
+             if (ws[r] != 0 && Double.isNaN(vals[k])) {
+               ws[r] = 0;
+               changedWeights = true;
+             }
+           }
+         } else {
+           chunks[i].getDoubles(vals,0,vals.length);
+           for (int r = 0; r < vals.length; ++r) {
+             if (ws[r] != 0 && Double.isNaN(vals[r])) {
+               ws[r] = 0;
+               changedWeights = true;
+             }
            }
          }
        }
@@ -304,13 +314,14 @@ public abstract class GLMTask  {
        numsResponse = MemoryManager.malloc8d(_nClasses);
      }
      // compute basic stats for numeric predictors
+     double [] vals = MemoryManager.malloc8d(ws.length);
+     int [] ids = MemoryManager.malloc4(ws.length);
      for(int i = 0; i < _nums; ++i) {
-       Chunk c = chunks[i + _numOff];
+       int n = chunks[i + _numOff].getSparseDoubles(vals,ids);
        double w;
-       for (int r = c.nextNZ(-1); r < c._len; r = c.nextNZ(r)) {
-         if ((w = ws[r]) == 0) continue;
-         double d = c.atd(r);
-         _basicStats.add(d, w, i);
+       for (int k = 0; k < n; ++k) {
+         if ((w = ws[ids[k]]) == 0) continue;
+         _basicStats.add(vals[k], w, i);
        }
      }
      if (response == null) return;
@@ -323,6 +334,7 @@ public abstract class GLMTask  {
      _basicStats.setNobs(nobs,wsum);
      // compute the mean for the response
      // autoexpand categoricals into binary vecs
+     double [] ys = response.getDoubles(vals,0,response._len);
      for(int r = 0; r < response._len; ++r) {
        double w;
        if((w = ws[r]) == 0)
@@ -334,7 +346,7 @@ public abstract class GLMTask  {
              numsResponse[i] = chunks[chunks.length - _nClasses + i].atd(r);
          } else {
            Arrays.fill(numsResponse,0);
-           double d = response.atd(r);
+           double d = ys[r];
            if(Double.isNaN(d))
              Arrays.fill(numsResponse,Double.NaN);
            else
@@ -342,7 +354,7 @@ public abstract class GLMTask  {
          }
          _basicStatsResponse.add(numsResponse,w);
        }
-       double d = response.atd(r);
+       double d = ys[r];
        if(!Double.isNaN(d)) {
          if (_nClasses > 2)
            _yMu[(int) d] += w;
@@ -561,6 +573,10 @@ public abstract class GLMTask  {
       ArrayUtils.add(_gradient,gmgt._gradient);
       _likelihood += gmgt._likelihood;
     }
+
+    // Reads the chunks only, idle nodes may map the chunks of slow ones
+    @Override
+    protected boolean canStealChunks() { return true; }
     @Override public final void postGlobal(){
       ArrayUtils.mult(_gradient,_reg);
       for(int j = 0; j < _beta.length - 1; ++j)
@@ -1541,6 +1557,17 @@ public abstract class GLMTask  {
       super.reduce(git);
     }
 
+    // Wide Grams are reduced in slices on large clouds
+    @Override
+    protected ReduceSlice[] scatter(int n) { return _gram.scatter(n); }
+
+    // Read-only over the chunks as well
+    @Override
+    protected boolean canStealChunks() { return true; }
+
+    @Override
+    protected void gather(ReduceSlice[] slices) { _gram.gather(slices); }
+
     private void adjustForSparseStandardizedZeros(){
       if(_sparse && _dinfo._normSub != null) { // need to adjust gram for missing centering!
         int ns = _dinfo.numStart();
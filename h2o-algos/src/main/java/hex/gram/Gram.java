@@ -567,6 +567,66 @@ public final class Gram extends Iced<Gram> {
     ArrayUtils.add(_diag,grm._diag);
   }
 
+  // Minimal number of elements of a Gram worth a reduce-scatter
+  static final int SCATTER_MIN_SIZE = 1 << 16;
+
+  /** Rows [_lo, _lo + _xx.length) of a Gram; the first slice also has the diagonal block (_diag). */
+  public static final class Slice extends ReduceSlice<Slice> {
+    final int _lo;
+    final double[][] _xx;
+    final double[] _diag;
+    Slice(int lo, double[][] xx, double[] diag) {
+      _lo = lo;
+      _xx = xx;
+      _diag = diag;
+    }
+    @Override public void reduce(Slice s) {
+      ArrayUtils.add(_xx, s._xx);
+      if(_diag != null) ArrayUtils.add(_diag, s._diag);
+    }
+  }
+
+  /**
+   * Hands over the rows of the Gram in n slices of about the same size, for a reduce-scatter of a Gram computed
+   * by an MRTask (see MRTask#scatter).  The Gram has no rows until they are gathered back.
+   * @return the slices, or null if the Gram is too small to be worth it
+   */
+  public Slice[] scatter(int n) {
+    long size = _diag == null ? 0 : _diag.length;
+    for(double[] r : _xx) size += r.length;
+    if(size < SCATTER_MIN_SIZE) return null;
+    Slice[] res = new Slice[n];
+    long sum = _diag == null ? 0 : _diag.length;
+    int row = 0;
+    for(int p = 0; p < n; ++p) {
+      int lo = row;
+      long end = size * (p + 1) / n;
+      while(row < _xx.length && sum + _xx[row].length <= end)
+        sum += _xx[row++].length;
+      if(p == n - 1) row = _xx.length;
+      res[p] = new Slice(lo, Arrays.copyOfRange(_xx, lo, row), p == 0 ? _diag : null);
+    }
+    _xx = null;
+    _diag = null;
+    return res;
+  }
+
+  /** Takes back the rows reduced in slices, see {@link #scatter(int)}. */
+  public void gather(ReduceSlice[] slices) {
+    int rows = 0;
+    for(int p = 0; p < slices.length; ++p) {
+      if(slices[p] == null)
+        throw new IllegalArgumentException("Slice " + p + " of " + slices.length + " of the Gram is missing");
+      rows += ((Slice) slices[p])._xx.length;
+    }
+    _xx = new double[rows][];
+    for(ReduceSlice rs : slices) {
+      Slice s = (Slice) rs;
+      System.arraycopy(s._xx, 0, _xx, s._lo, s._xx.length);
+      if(s._diag != null) _diag = s._diag;
+    }
+  }
+
   public final boolean hasNaNsOrInfs() {
     for( int i = 0; i < _xx.length; ++i )
       for( int j = 0; j < _xx[i].length; ++j )
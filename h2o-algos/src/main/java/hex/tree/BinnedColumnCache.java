@@ -0,0 +1,176 @@
+package hex.tree;
+
+import water.*;
+import water.fvec.Chunk;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.util.ArrayUtils;
+import water.util.Log;
+
+import java.util.Arrays;
+
+/**
+ * Cache of pre-binned (quantized) predictor columns for tree building.
+ *
+ * A numeric predictor is converted once into an integer column of top-level bin indices (0..nbins-1, NAs stay NAs),
+ * which compresses into 1 or 2 byte chunks instead of (typically) 8 byte doubles. The binned column is chunk-aligned
+ * with the original one, so it can replace it in the training frame, and it is kept in DKV and reused by every
+ * model trained on the same column with the same bin edges (eg. grid search, AutoML, cross-validation models).
+ *
+ * Tree building then happens in the bin-index space: the split points are bin indices, and they are mapped back
+ * to the original values via the bin edges when the trees are compressed (see {@link DTree#splitValue}). The split
+ * points are limited to the top-level bin edges - this is the price for the smaller memory footprint.
+ *
+ * The cache key is derived from the key of the original Vec and from the bin edges; an entry is rebuilt if the
+ * original Vec changes, and entries of deleted Vecs are swept whenever a new entry is made. {@link #clear()} drops
+ * the whole cache.
+ *
+ * Enabled with the system property {@code sys.ai.h2o.tree.prebin}.
+ */
+public final class BinnedColumnCache {
+
+  static final boolean ENABLED = H2O.getSysBoolProperty("tree.prebin", false);
+
+  // Keys of all the entries (entries are system keys, not visible in a KeySnapshot)
+  private static final Key INDEX = Key.makeSystem("binned_column_cache");
+
+  private BinnedColumnCache() {}
+
+  /** A cached binned column: the binned Vec and the lower bin edges it was made with */
+  static final class Entry extends Keyed<Entry> {
+    final Key<Vec> _src;
+    final long _checksum;       // Checksum of the original Vec
+    final Key<Vec> _binned;
+    final double[] _edges;
+    Entry(Key<Entry> key, Vec src, Vec binned, double[] edges) {
+      super(key);
+      _src = src._key; _checksum = src.checksum(); _binned = binned._key; _edges = edges;
+    }
+    @Override protected Futures remove_impl(Futures fs, boolean cascade) {
+      Keyed.remove(_binned, fs, true);
+      return super.remove_impl(fs, cascade);
+    }
+  }
+
+  /**
+   * Lower edges of nbins uniform bins over the range of the given column, or null if the column is not worth
+   * binning: non-numeric, binary or constant columns, and integer columns with fewer distinct values than bins
+   * (these already get one bin per value).
+   */
+  static double[] uniformEdges(Vec v, int nbins) {
+    if (!v.isNumeric() || v.isCategorical() || v.isBinary() || v.isConst() || v.naCnt() == v.length())
+      return null;
+    double min = v.min(), max = v.max();
+    if (Double.isInfinite(min) || Double.isInfinite(max)) return null;
+    if (v.isInt() && max - min < nbins) return null;
+    double maxEx = DHistogram.find_maxEx(max, v.isInt() ? 1 : 0);
+    double[] edges = new double[nbins];
+    for (int b = 0; b < nbins; b++)
+      edges[b] = min + b * (maxEx - min) / nbins;
+    return floatEdges(edges);
+  }
+
+  /**
+   * Edges rounded to float - trees store split points as floats, so only float edges map a split on bin indices
+   * exactly onto a split on the original values. Returns null if the rounded edges are not strictly increasing.
+   */
+  static double[] floatEdges(double[] edges) {
+    double[] res = new double[edges.length];
+    for (int b = 0; b < edges.length; b++) {
+      res[b] = (float) edges[b] + 0.0; // + 0.0: canonical zero, see bin()
+      if (b > 0 && !(res[b] > res[b - 1])) return null;
+    }
+    return res;
+  }
+
+  /** Bin index of the given value: the highest bin with its lower edge at or below the value */
+  static int bin(double[] edges, double d) {
+    int idx = Arrays.binarySearch(edges, d + 0.0 /* binarySearch does not find -0.0 */);
+    if (idx < 0) idx = -idx - 2;
+    return Math.max(idx, 0);
+  }
+
+  /**
+   * @return binned version of the given column, made with the given (float, strictly increasing) edges;
+   *         the Vec is owned by the cache, callers must not delete it
+   */
+  static Vec binned(Vec src, double[] edges) {
+    Key<Entry> key = Key.makeSystem("binned_" + src._key + "_" + Arrays.hashCode(edges));
+    Value old = DKV.get(key);
+    if (old != null) {
+      Entry e = old.get();
+      if (e._checksum == src.checksum() && Arrays.equals(e._edges, edges)) {
+        Vec v = DKV.getGet(e._binned);
+        if (v != null) return v;
+      }
+    }
+    sweep();
+    Vec binned = new BinTask(edges).doAll(Vec.T_NUM, src).outputFrame().anyVec();
+    Scope.untrack(binned._key);
+    Entry e = new Entry(key, src, binned, edges);
+    Futures fs = new Futures();
+    Value res = DKV.DputIfMatch(key, new Value(key, e), old, fs);
+    fs.blockForPending();
+    if (res == null ? old != null : !res.equals(old)) { // Lost a race with another model binning the same column
+      binned.remove();
+      return binned(src, edges);
+    }
+    if (old != null) Keyed.remove(((Entry) old.get())._binned); // Stale entry
+    else new Register(key, true).invoke(INDEX);
+    Log.info("Pre-binned column " + src._key + " into " + edges.length + " bins.");
+    return binned;
+  }
+
+  // Drop entries of Vecs which no longer exist
+  private static void sweep() {
+    for (Key<Entry> k : entries()) {
+      Entry e = DKV.getGet(k);
+      if (e != null && DKV.get(e._src) == null) {
+        e.remove();
+        new Register(k, false).invoke(INDEX);
+      }
+    }
+  }
+
+  /** Remove all cached binned columns */
+  public static void clear() {
+    for (Key<Entry> k : entries())
+      Keyed.remove(k);
+    DKV.remove(INDEX);
+  }
+
+  private static Key<Entry>[] entries() {
+    Index idx = DKV.getGet(INDEX);
+    return idx == null ? new Key[0] : idx._entries;
+  }
+
+  private static class Index extends Iced<Index> {
+    Key<Entry>[] _entries = new Key[0];
+  }
+
+  private static class Register extends TAtomic<Index> {
+    private final Key<Entry> _entry;
+    private final boolean _add;
+    Register(Key<Entry> entry, boolean add) { _entry = entry; _add = add; }
+    @Override protected Index atomic(Index old) {
+      Index idx = old == null ? new Index() : old;
+      int i = ArrayUtils.find(idx._entries, _entry);
+      if (_add == (i >= 0)) return null; // Nothing to do
+      idx._entries = _add ? ArrayUtils.append(idx._entries, _entry) : ArrayUtils.remove(idx._entries, i);
+      return idx;
+    }
+  }
+
+  private static class BinTask extends MRTask<BinTask> {
+    private final double[] _edges;
+    BinTask(double[] edges) { _edges = edges; }
+    @Override public void map(Chunk c, NewChunk nc) {
+      double[] vals = MemoryManager.malloc8d(c._len);
+      c.getDoubles(vals, 0, c._len);
+      for (double d : vals) {
+        if (Double.isNaN(d)) nc.addNA();
+        else nc.addNum(bin(_edges, d), 0);
+      }
+    }
+  }
+}
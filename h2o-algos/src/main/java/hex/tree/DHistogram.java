@@ -64,6 +64,14 @@ public final class DHistogram extends Iced {
                                  //      - 5 if gamma denominator is not needed
                                  //      - 6 if gamma denominator is needed
                                  // also see functions hasPreds() and hasDenominator()
+
+  // Sibling subtraction: histograms with _subtract set are not accumulated from the data (workers skip them),
+  // instead they are derived as parent minus sibling once the sibling is computed, see subtract().
+  // Not final, for testing
+  static boolean SUBTRACTION = H2O.getSysBoolProperty("tree.histo.subtraction", false);
+  public boolean _subtract;
+  private transient DHistogram _parentHisto, _siblingHisto;
+  private transient int _parentOff, _siblingOff; // bin offsets of this and of the sibling inside the parent bins
   private final Distribution _dist;
   public double w(int i){  return _vals[_vals_dim*i+0];}
   public double wY(int i){ return _vals[_vals_dim*i+1];}
@@ -373,6 +381,30 @@ public final class DHistogram extends Iced {
     if (_maxIn < dsh._maxIn) _maxIn = dsh._maxIn;
   }
 
+  // Set while the bins are handed over to a reduce-scatter
+  private transient boolean _scattered;
+
+  /** Hands over the bins to a reduce-scatter, see ScoreBuildHistogram#scatter. */
+  double[] scatterVals() {
+    double[] vals = _vals;
+    if (vals != null) {
+      _vals = null;
+      _scattered = true;
+    }
+    return vals;
+  }
+
+  /** Takes back the bins (and min/max) reduced over all the nodes. */
+  void gatherVals(double[] vals, double min2, double maxIn) {
+    if (_scattered) {
+      _vals = vals;
+      _scattered = false;
+    } else
+      init(vals);
+    if (_min2 > min2) _min2 = min2;
+    if (_maxIn < maxIn) _maxIn = maxIn;
+  }
+
   // Inclusive min & max
   public double find_min  () { return _min2 ; }
   public double find_maxIn() { return _maxIn; }
@@ -497,6 +529,74 @@ public final class DHistogram extends Iced {
     }
   }
 
+  /**
+   * Offset of this histogram's bins inside the bins of the given (parent) histogram.
+   * Bins align when both are integer histograms with one value per bin; a child histogram with aligned bins can be
+   * computed by subtraction. Other layouts are not derived, the exact min/max of a child (which set the bins of the
+   * next level) can't be recovered from its bins.
+   * @return bin offset, or -1 if the bins do not align
+   */
+  int alignedOffset(DHistogram parent) {
+    if (_histoType != SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive ||
+        parent._histoType != SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive ||
+        parent._splitPts != null || parent._vals == null)
+      return -1;
+    if (_vals_dim != 3 || parent._vals_dim != 3 || _step != parent._step)
+      return -1;
+    if (_isInt > 0 && parent._isInt > 0 && _step == 1) {
+      double off = _min - parent._min;
+      if (off >= 0 && off == Math.rint(off) && off + _nbin <= parent._nbin)
+        return (int) off;
+    }
+    return -1;
+  }
+
+  /**
+   * Mark this histogram to be derived as parent minus sibling instead of being computed from the data.
+   * The sibling must be computed from the data and both must be aligned with the parent.
+   */
+  void deriveFrom(DHistogram parent, int parentOff, DHistogram sibling, int siblingOff) {
+    assert _vals == null && !sibling._subtract;
+    _subtract = true;
+    _parentHisto = parent;
+    _parentOff = parentOff;
+    _siblingHisto = sibling;
+    _siblingOff = siblingOff;
+  }
+
+  /**
+   * Fill a histogram marked by {@link #deriveFrom} from its parent and sibling. Bins which come out as empty up to
+   * floating point error are cleared; the tracked min/max are the values of the first and last non-empty bins.
+   */
+  void subtract() {
+    DHistogram p = _parentHisto, s = _siblingHisto;
+    _subtract = false;
+    _parentHisto = _siblingHisto = null;
+    if (_vals != null) return; // Computed from the data after all
+    init();
+    final int dim = _vals_dim;
+    int first = -1, last = -1;
+    for (int b = 0; b <= _nbin; b++) {
+      int pb = b == _nbin ? p._nbin : b + _parentOff;   // NA bucket maps onto the parent's NA bucket
+      int sb = b == _nbin ? s._nbin : pb - _siblingOff;
+      boolean inSibling = s._vals != null && (b == _nbin || (sb >= 0 && sb < s._nbin));
+      for (int k = 0; k < dim; k++)
+        _vals[dim*b + k] = p._vals[dim*pb + k] - (inSibling ? s._vals[dim*sb + k] : 0);
+      if (_vals[dim*b] <= 1e-12 * Math.abs(p._vals[dim*pb])) {
+        Arrays.fill(_vals, dim*b, dim*b + dim, 0);
+      } else if (b < _nbin) {
+        if (first < 0) first = b;
+        last = b;
+      }
+    }
+    if (first >= 0) {
+      assert _isInt > 0 && _step == 1; // one value per bin, see alignedOffset()
+      _min2 = binAt(first);
+      _maxIn = binAt(last);
+    }
+    reducePrecision();
+  }
+
   public void updateSharedHistosAndReset(ScoreBuildHistogram.LocalHisto lh, double[] ws, double[] cs, double[] ys, int [] rows, int hi, int lo) {
     double minmax[] = new double[]{_min2,_maxIn};
     // Gather all the data for this set of rows, for 1 column and 1 split/NID
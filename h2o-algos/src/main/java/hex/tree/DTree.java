@@ -38,6 +38,8 @@ public class DTree extends Iced {
   public final transient Random _rand; // RNG for split decisions & sampling
   public final transient int[] _cols; // Per-tree selection of columns to consider for splits
   public transient SharedTreeModel.SharedTreeParameters _parms;
+  // Per-column lower bin edges of pre-binned columns (null if the column holds raw values), see BinnedColumnCache
+  public transient double[][] _binEdges;
 
 
   // compute the effective number of columns to sample
@@ -555,6 +557,26 @@ public class DTree extends Iced {
         // Assign a new (yet undecided) node to each child, and connect this (the parent) decided node and the newly made histograms to it
         _nids[way] = nhists == null ? ScoreBuildHistogram.UNDECIDED_CHILD_NODE_ID : makeUndecidedNode(nhists,ncs)._nid;
       }
+      if (DHistogram.SUBTRACTION && _nids[0] >= 0 && _nids[1] >= 0)
+        deriveLargerChildHistos(hs);
+    }
+
+    // Histogram subtraction: only the smaller child is computed from the data, the histograms of the larger child
+    // are derived as parent minus sibling, wherever the child bins line up with the parent bins
+    private void deriveLargerChildHistos(DHistogram[] hs) {
+      int small = _split._n0 <= _split._n1 ? 0 : 1;
+      UndecidedNode sn = _tree.undecided(_nids[small]), ln = _tree.undecided(_nids[1 - small]);
+      for (int j = 0; j < hs.length; j++) {
+        DHistogram ph = hs[j], sh = sn._hs[j], lh = ln._hs[j];
+        if (ph == null || sh == null || lh == null || !scores(sn, j) || !scores(ln, j)) continue;
+        int soff = sh.alignedOffset(ph), loff = lh.alignedOffset(ph);
+        if (soff >= 0 && loff >= 0)
+          lh.deriveFrom(ph, loff, sh, soff);
+      }
+    }
+
+    private static boolean scores(UndecidedNode n, int col) {
+      return n._scoreCols == null || ArrayUtils.find(n._scoreCols, col) >= 0;
     }
 
     public int getChildNodeID(Chunk [] chks, int row ) {
@@ -721,7 +743,7 @@ public class DTree extends Iced {
 
       // Save split-at-value or group
       if (_split._nasplit!= DHistogram.NASplitDir.NAvsREST) {
-        if (_split._equal == 0 || _split._equal == 1) ab.put4f(_splat);
+        if (_split._equal == 0 || _split._equal == 1) ab.put4f(_tree.splitValue(_split._col, _splat));
         else if(_split._equal == 2) _split._bs.compress2(ab);
         else _split._bs.compress3(ab);
       }
@@ -782,6 +804,15 @@ public class DTree extends Iced {
     }
   }
 
+  // Split point in terms of the original column values: for a pre-binned column the split on bin
+  // indices (idx >= splat) is the split on values at the lower edge of the first bin of the right side
+  float splitValue(int col, float splat) {
+    double[] edges = _binEdges == null ? null : _binEdges[col];
+    if (edges == null) return splat;
+    int b = (int) Math.ceil(splat);
+    return b >= edges.length ? Float.POSITIVE_INFINITY : (float) edges[Math.max(b, 0)];
+  }
+
   final static public int NO_PARENT = -1;
   static public boolean isRootNode(Node n)   { return n._pid == NO_PARENT; }
 
@@ -3,6 +3,8 @@ package hex.tree;
 import hex.genmodel.utils.DistributionFamily;
 import water.H2O.H2OCountedCompleter;
 import water.MRTask;
+import water.MemoryManager;
+import water.ReduceSlice;
 import water.fvec.C0DChunk;
 import water.fvec.Chunk;
 import water.fvec.Frame;
@@ -116,12 +118,15 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
     int nnids[] = new int[nids._len];
     if( _leaf > 0)            // Prior pass exists?
       score_decide(chks,nids,nnids);
-    else                      // Just flag all the NA rows
+    else {                    // Just flag all the NA rows
+      double ws[] = weight.getDoubles(MemoryManager.malloc8d(nids._len), 0, nids._len);
+      double ns[] = nids.getDoubles(MemoryManager.malloc8d(nids._len), 0, nids._len);
       for( int row=0; row<nids._len; row++ ) {
-        if( weight.atd(row) == 0) continue;
-        if( isDecidedRow((int)nids.atd(row)) )
+        if( ws[row] == 0) continue;
+        if( isDecidedRow((int)ns[row]) )
           nnids[row] = DECIDED_ROW;
       }
+    }
 
     // Pass 2: accumulate all rows, cols into histograms
 //    if (_subset)
@@ -146,6 +151,90 @@ public class ScoreBuildHistogram extends MRTask<ScoreBuildHistogram> {
     }
   }
 
+  // Minimal number of histogram cells worth a reduce-scatter
+  static final long SCATTER_MIN_CELLS = 1 << 16;
+
+  // The bins (and min/max) of the histograms [_lo, _lo + _vals.length) of _hcs, in row-major order
+  static final class HistoSlice extends ReduceSlice<HistoSlice> {
+    final int _lo;
+    final double[][] _vals;
+    final double[] _min2, _maxIn;
+    HistoSlice(int lo, int len) {
+      _lo = lo;
+      _vals = new double[len][];
+      _min2 = new double[len];
+      _maxIn = new double[len];
+    }
+    @Override public void reduce(HistoSlice s) {
+      for( int k=0; k<_vals.length; k++ ) {
+        if( s._vals[k] == null ) continue;
+        _vals[k] = ArrayUtils.add(_vals[k], s._vals[k]);
+        _min2[k] = Math.min(_min2[k], s._min2[k]);
+        _maxIn[k] = Math.max(_maxIn[k], s._maxIn[k]);
+      }
+    }
+  }
+
+  // Many leaves, columns and bins are reduced in slices on large clouds.  The
+  // histograms stay in place (the sibling subtraction of the home node refers
+  // to them), only their bins are handed over.
+  @Override protected ReduceSlice[] scatter(int n) {
+    DHistogram[] hs = flatHistos();
+    long cells = 0;
+    for( DHistogram h : hs ) cells += cells(h);
+    if( cells < SCATTER_MIN_CELLS ) return null;
+    ReduceSlice[] res = new ReduceSlice[n];
+    long sum = 0;
+    int k = 0;
+    for( int p=0; p<n; p++ ) {
+      int lo = k;
+      long end = cells*(p+1)/n;
+      while( k < hs.length && sum + cells(hs[k]) <= end ) sum += cells(hs[k++]);
+      if( p == n-1 ) k = hs.length;
+      HistoSlice slice = new HistoSlice(lo, k-lo);
+      for( int i=lo; i<k; i++ ) {
+        DHistogram h = hs[i];
+        if( h == null ) continue;
+        slice._vals[i-lo] = h.scatterVals();
+        slice._min2[i-lo] = h._min2;
+        slice._maxIn[i-lo] = h._maxIn;
+      }
+      res[p] = slice;
+    }
+    return res;
+  }
+
+  @Override protected void gather(ReduceSlice[] slices) {
+    DHistogram[] hs = flatHistos();
+    for( ReduceSlice rs : slices ) {
+      HistoSlice s = (HistoSlice)rs;
+      for( int i=0; i<s._vals.length; i++ ) {
+        DHistogram h = hs[s._lo+i];
+        if( h != null && s._vals[i] != null )
+          h.gatherVals(s._vals[i], s._min2[i], s._maxIn[i]);
+      }
+    }
+  }
+
+  // Size of a histogram, the same on every node whatever data it has seen
+  // (refined split points change the bin count of initialized histograms)
+  private long cells( DHistogram h ) {
+    return h == null ? 0 : (long)(Math.max(_nbins,_nbins_cats)+1)*h._vals_dim;
+  }
+
+  private DHistogram[] flatHistos() {
+    int len = 0;
+    for( DHistogram[] hs : _hcs ) if( hs != null ) len += hs.length;
+    DHistogram[] res = new DHistogram[len];
+    int k = 0;
+    for( DHistogram[] hs : _hcs )
+      if( hs != null ) {
+        System.arraycopy(hs, 0, res, k, hs.length);
+        k += hs.length;
+      }
+    return res;
+  }
+
   // Pass 1: Score a prior partially-built tree model, and make new Node
   // assignments to every row.  This involves pulling out the current
   // assigned DecidedNode, "scoring" the row against that Node's decision
@@ -56,6 +56,13 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  *    exp(nthreads-pre-column) = max(1,H2O.NUMCPUS - num_cols)
  *
+ * The number of private copies per column is further limited by the size of the column's histograms relative to the
+ * number of local rows (see {@link #workersPerColumn}): every copy has to be allocated and merged in the (binary tree)
+ * reduce of the per-column LocalMR, so it only pays off when each worker bins enough rows into it.
+ *
+ * With histogram subtraction enabled (sys.ai.h2o.tree.histo.subtraction), histograms marked by the parent split
+ * (see {@link DHistogram#_subtract}) are skipped in phase 2 and derived in postGlobal as parent minus sibling.
+ *
  */
 public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
   transient int []   _cids;
@@ -68,6 +75,11 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
   final int _numLeafs;
   final IcedBitSet _activeCols;
   final int _respIdx;
+  transient long _localRows;
+
+  // Minimal number of rows each private histogram copy has to accumulate per histogram cell (bin and statistic)
+  // to be worth its allocation and merge. Lower values mean more private copies on small data.
+  static final double MIN_ROWS_PER_HISTO_CELL = Double.parseDouble(H2O.getSysProperty("tree.histo.minRowsPerCell", "0.5"));
 
   public ScoreBuildHistogram2(H2O.H2OCountedCompleter cc, int k, int ncols, int nbins, int nbins_cats, DTree tree, int leaf, DHistogram[][] hcs, DistributionFamily family, int respIdx, int weightIdx, int workIdx, int nidIdxs) {
     super(cc, k, ncols, nbins, nbins_cats, tree, leaf, hcs, family, weightIdx, workIdx, nidIdxs);
@@ -168,6 +180,10 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       if(sz > largestChunkSz) largestChunkSz = sz;
     }
     final int fLargestChunkSz = largestChunkSz;
+    long localRows = 0;
+    for (int cid : _cids)
+      localRows += espc[cid + 1] - espc[cid];
+    _localRows = localRows;
     if(_weightIdx == -1){
       double [] ws = new double[largestChunkSz];
       Arrays.fill(ws,1);
@@ -258,13 +274,35 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
           @Override
           protected void map(int c) {
             c = active_cols == null?c:active_cols[c];
-            new LocalMR(new ComputeHistoThread(_hcs.length == 0?new DHistogram[0]:_hcs[c],c,fLargestChunkSz,new AtomicInteger()),numWrks + (c < rem?1:0),ScoreBuildHistogram2.this).fork();
+            DHistogram [] hcs = _hcs.length == 0?new DHistogram[0]:_hcs[c];
+            int nwrks = workersPerColumn(numWrks + (c < rem?1:0), _cids.length, _localRows, histoCells(hcs));
+            new LocalMR(new ComputeHistoThread(hcs,c,fLargestChunkSz,new AtomicInteger()),nwrks,ScoreBuildHistogram2.this).fork();
           }
         },nactive_cols,ScoreBuildHistogram2.this).fork();
       }
     }).fork();
   }
 
+  // Number of cells (bins x statistics per bin, including the NA bucket) a private copy of the given histograms has
+  static long histoCells(DHistogram [] hcs) {
+    long cells = 0;
+    for (DHistogram h : hcs)
+      if (h != null)
+        cells += (long) (h._nbin + 1) * h._vals_dim;
+    return cells;
+  }
+
+  /**
+   * Number of workers for the histograms of one column, each of them accumulating into its own private copy.
+   * Bounded by maxWrks (the thread budget for the column), by the number of local chunks (the unit of work) and by
+   * the number of copies the local rows can amortize: with few rows and many bins (deep trees, high nbins) we are
+   * better off with fewer copies than with more threads.
+   */
+  static int workersPerColumn(int maxWrks, int nchunks, long nrows, long histoCells) {
+    long byRows = (long) (nrows / (MIN_ROWS_PER_HISTO_CELL * Math.max(1, histoCells)));
+    return (int) Math.max(1, Math.min(Math.min(maxWrks, nchunks), byRows));
+  }
+
   private static void mergeHistos(DHistogram [] hcs, DHistogram [] hcs2){
     // Distributed histograms need a little work
     for( int i=0; i< hcs.length; i++ ) {
@@ -315,7 +353,6 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       Chunk resChk = _chks[id][_workIdx];
       int len = resChk._len;
       double [] ys = ScoreBuildHistogram2.this._ys[id];
-      if(_weightIdx != -1) _chks[id][_weightIdx].getDoubles(ws, 0, len);
       final int hcslen = _lh.length;
       boolean extracted = false;
       for (int n = 0; n < hcslen; n++) {
@@ -324,7 +361,7 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
           DHistogram h = _lh[n];
           int hi = nh[n];
           int lo = (n == 0 ? 0 : nh[n - 1]);
-          if (hi == lo || h == null) continue; // Ignore untracked columns in this split
+          if (hi == lo || h == null || h._subtract) continue; // Ignore untracked columns in this split, and derived histograms
           if (h._vals == null) h.init();
           if (! extracted) {
             _chks[id][_col].getDoubles(cs, 0, len);
@@ -352,5 +389,10 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
         if(dh == null) continue;
         dh.reducePrecision();
       }
+    // Histograms of the larger children are derived from the parent and the (now complete) sibling
+    for(DHistogram [] ary:_hcs)
+      for(DHistogram dh:ary)
+        if(dh != null && dh._subtract)
+          dh.subtract();
   }
 }
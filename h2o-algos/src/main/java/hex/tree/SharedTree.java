@@ -65,6 +65,9 @@ public abstract class SharedTree<
   // Initially predicted value (for zero trees)
   protected double _initialPrediction;
 
+  // Lower bin edges of the pre-binned predictor columns (null if none were pre-binned), see BinnedColumnCache
+  protected transient double[][] _binEdges;
+
   // Sum of variable empirical improvement in squared-error.  The value is not scaled.
   private transient float[/*nfeatures*/] _improvPerVar;
 
@@ -90,6 +93,10 @@ public abstract class SharedTree<
 
   public boolean scoreZeroTrees(){return true;}
 
+  /** Can the trees be built on pre-binned predictors? Requires the builder to never score the (compressed)
+   *  trees on the training frame. */
+  protected boolean supportsPreBinning() { return false; }
+
   @Override protected boolean computePriorClassDistribution(){ return true;}
 
   @Override
@@ -300,6 +307,10 @@ public abstract class SharedTree<
           DKV.remove(rndKey);
         }
 
+        // Build the trees on bin indices of the numeric predictors instead of the raw values
+        if (BinnedColumnCache.ENABLED && supportsPreBinning() && !_parms.hasCheckpoint())
+          _binEdges = preBinPredictors();
+
         // Also add to the basic working Frame these sets:
         //   nclass Vecs of current forest results (sum across all trees)
         //   nclass Vecs of working/temp data
@@ -382,6 +393,33 @@ public abstract class SharedTree<
               && _parms._histogram_type!= SharedTreeModel.SharedTreeParameters.HistogramType.RoundRobin) return null;
       return Key.makeSystem(_model._key+"_quantiles_col_"+i);
     }
+    // Replace the numeric predictors of the training frame by cached pre-binned columns; the top-level bins
+    // are uniform, or given by the global quantiles. Returns per-column bin edges, or null if nothing was binned.
+    private double[][] preBinPredictors() {
+      SharedTreeModel.SharedTreeParameters.HistogramType ht = _parms._histogram_type;
+      if (ht != SharedTreeModel.SharedTreeParameters.HistogramType.AUTO &&
+          ht != SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive &&
+          ht != SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal)
+        return null; // Random split points, nothing to pre-bin to
+      final int nbins = Math.max(_parms._nbins_top_level, _parms._nbins);
+      double[][] edges = new double[_ncols][];
+      boolean binned = false;
+      for (int i = 0; i < _ncols; i++) {
+        Vec v = _train.vec(i);
+        Key qkey = getGlobalQuantilesKey(i);
+        DHistogram.HistoQuantiles hq = qkey != null ? DKV.<DHistogram.HistoQuantiles>getGet(qkey) : null;
+        if (hq != null)
+          edges[i] = v.isInt() && v.max() - v.min() < nbins ? null : BinnedColumnCache.floatEdges(hq.splitPts);
+        else
+          edges[i] = BinnedColumnCache.uniformEdges(v, nbins);
+        if (edges[i] == null) continue;
+        _train.replace(i, BinnedColumnCache.binned(v, edges[i]));
+        if (qkey != null) Keyed.remove(qkey); // Bin indices of the quantiles are binned uniformly
+        binned = true;
+      }
+      return binned ? edges : null;
+    }
+
     protected Key[] getGlobalQuantilesKeys() {
       Key[] keys = new Key[_ncols];
       for (int i=0;i<keys.length;++i)
@@ -0,0 +1,87 @@
+package hex.gram;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.AutoBuffer;
+import water.ReduceSlice;
+import water.TestUtil;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GramTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() {
+    stall_till_cloudsize(1);
+  }
+
+  // Gram with a diagonal block of 10 and the given number of dense rows, filled with random values
+  private static Gram gram(long seed, int dense) {
+    Random r = new Random(seed);
+    Gram g = new Gram(10 + dense, 10, dense, 10, false);
+    for (int i = 0; i < g._diag.length; i++) g._diag[i] = r.nextDouble();
+    for (double[] row : g._xx)
+      for (int j = 0; j < row.length; j++) row[j] = r.nextDouble();
+    return g;
+  }
+
+  @Test
+  public void scatterGatherGram() {
+    Gram a = gram(1, 390), b = gram(2, 390);
+    Gram expected = a.deep_clone();
+    expected.add(b);
+
+    Gram.Slice[] sa = a.scatter(3), sb = b.scatter(3);
+    assertEquals(3, sa.length);
+    assertNull("the rows are handed over", a._xx);
+    assertNull("the diagonal is handed over", a._diag);
+    int rows = 0;
+    for (int p = 0; p < sa.length; p++) {
+      assertEquals(rows, sa[p]._lo);
+      rows += sa[p]._xx.length;
+      assertEquals(p == 0, sa[p]._diag != null);
+      Gram.Slice s = new AutoBuffer().put(sb[p]).flipForReading().get();
+      sa[p].reduce(s);
+    }
+    a.gather(sa);
+    assertArrayEquals(expected._diag, a._diag, 0);
+    assertEquals(expected._xx.length, a._xx.length);
+    for (int i = 0; i < expected._xx.length; i++)
+      assertArrayEquals(expected._xx[i], a._xx[i], 0);
+  }
+
+  @Test
+  public void smallGramIsNotScattered() {
+    Gram g = gram(1, 20);
+    assertNull(g.scatter(3));
+    assertNotNull(g._xx);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void gatherMissingSlice() {
+    Gram g = gram(1, 390);
+    ReduceSlice[] slices = g.scatter(3);
+    slices[1] = null;
+    g.gather(slices);
+  }
+
+  @Test
+  public void slicesOfEqualSize() {
+    Gram g = gram(1, 390);
+    long size = g._diag.length;
+    for (double[] row : g._xx) size += row.length;
+    Gram.Slice[] slices = g.scatter(4);
+    long total = 0;
+    for (Gram.Slice s : slices) {
+      long n = s._diag == null ? 0 : s._diag.length;
+      for (double[] row : s._xx) n += row.length;
+      // a slice is at most a row off its share
+      assertEquals(size / 4.0, n, 400);
+      total += n;
+    }
+    assertEquals(size, total);
+  }
+
+}
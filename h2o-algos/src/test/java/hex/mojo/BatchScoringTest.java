@@ -0,0 +1,98 @@
+package hex.mojo;
+
+import hex.Model;
+import hex.deeplearning.DeepLearning;
+import hex.deeplearning.DeepLearningModel;
+import hex.genmodel.MojoModel;
+import hex.tree.drf.DRF;
+import hex.tree.drf.DRFModel;
+import hex.tree.gbm.GBM;
+import hex.tree.gbm.GBMModel;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.TestFrameBuilder;
+import water.fvec.Vec;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BatchScoringTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() {
+    stall_till_cloudsize(1);
+  }
+
+  private static Frame makeFrame(int n, Random rnd) {
+    String[] cat = new String[n], y = new String[n];
+    double[] num1 = new double[n], num2 = new double[n];
+    for (int i = 0; i < n; i++) {
+      cat[i] = i % 31 == 0 ? null : "L" + rnd.nextInt(40);
+      num1[i] = i % 13 == 0 ? Double.NaN : rnd.nextGaussian();
+      num2[i] = rnd.nextDouble() * 10;
+      y[i] = num1[i] + num2[i] / 5 + rnd.nextGaussian() > 1 ? "yes" : "no";
+    }
+    return new TestFrameBuilder()
+            .withColNames("cat", "num1", "num2", "y")
+            .withVecTypes(Vec.T_CAT, Vec.T_NUM, Vec.T_NUM, Vec.T_CAT)
+            .withDataForCol(0, cat)
+            .withDataForCol(1, num1)
+            .withDataForCol(2, num2)
+            .withDataForCol(3, y)
+            .build();
+  }
+
+  @Test
+  public void batchScoringMatchesRowScoring() throws Exception {
+    Scope.enter();
+    try {
+      Random rnd = new Random(0xBA7C);
+      Frame fr = Scope.track(makeFrame(1000, rnd));
+
+      GBMModel.GBMParameters gbm = new GBMModel.GBMParameters();
+      gbm._ntrees = 20;
+      DRFModel.DRFParameters drf = new DRFModel.DRFParameters();
+      drf._ntrees = 10;
+      DeepLearningModel.DeepLearningParameters dl = new DeepLearningModel.DeepLearningParameters();
+      dl._hidden = new int[]{13, 5};
+      dl._epochs = 1;
+      dl._reproducible = true;
+      for (Model.Parameters p : new Model.Parameters[]{gbm, drf, dl}) {
+        p._train = fr._key;
+        p._response_column = "y";
+        p._seed = 42;
+      }
+      Model[] models = new Model[]{
+              new GBM(gbm).trainModel().get(),
+              new DRF(drf).trainModel().get(),
+              new DeepLearning(dl).trainModel().get()
+      };
+      for (Model m : models) {
+        Scope.track_generic(m);
+        MojoModel mojo = m.toMojo();
+        final int nrows = 300, ncols = mojo.nfeatures();
+        double[][] cols = new double[ncols][nrows];
+        for (int r = 0; r < nrows; r++) {
+          cols[0][r] = r % 17 == 0 ? Double.NaN : rnd.nextInt(45); // includes unseen levels
+          cols[1][r] = r % 11 == 0 ? Double.NaN : rnd.nextGaussian();
+          cols[2][r] = rnd.nextDouble() * 10;
+        }
+        double[][] preds = new double[nrows][mojo.getPredsSize()];
+        mojo.score0(cols, null, nrows, preds);
+        double[] row = new double[ncols];
+        for (int r = 0; r < nrows; r++) {
+          for (int c = 0; c < ncols; c++)
+            row[c] = cols[c][r];
+          assertArrayEquals(m._parms.algoName() + ", row #" + r, mojo.score0(row, new double[mojo.getPredsSize()]), preds[r], 0);
+        }
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
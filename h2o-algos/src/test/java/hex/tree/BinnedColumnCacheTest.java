@@ -0,0 +1,79 @@
+package hex.tree;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class BinnedColumnCacheTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() {
+    stall_till_cloudsize(1);
+  }
+
+  @Test
+  public void binsByLowerEdges() {
+    double[] edges = {-1, 0, 0.5, 2};
+    assertEquals(0, BinnedColumnCache.bin(edges, Double.NEGATIVE_INFINITY));
+    assertEquals(0, BinnedColumnCache.bin(edges, -1));
+    assertEquals(0, BinnedColumnCache.bin(edges, -0.5));
+    assertEquals(1, BinnedColumnCache.bin(edges, -0.0));
+    assertEquals(1, BinnedColumnCache.bin(edges, 0.0));
+    assertEquals(2, BinnedColumnCache.bin(edges, 1.99));
+    assertEquals(3, BinnedColumnCache.bin(edges, 2));
+    assertEquals(3, BinnedColumnCache.bin(edges, Double.POSITIVE_INFINITY));
+    assertNull(BinnedColumnCache.floatEdges(new double[]{0, 1, 1 + 1e-12}));
+  }
+
+  @Test
+  public void binnedColumnIsCachedAndReused() {
+    Scope.enter();
+    try {
+      Vec v = Scope.track(dvec(0.1, 3.7, Double.NaN, -2.5, 1e3, 42.42));
+      double[] edges = BinnedColumnCache.uniformEdges(v, 16);
+      assertNotNull(edges);
+      assertEquals(16, edges.length);
+      Vec b = BinnedColumnCache.binned(v, edges);
+      try {
+        assertTrue(b.isInt());
+        assertTrue(v.isCompatibleWith(b));
+        for (long r = 0; r < v.length(); r++) {
+          if (v.isNA(r)) assertTrue(b.isNA(r));
+          else assertEquals(BinnedColumnCache.bin(edges, v.at(r)), b.at8(r));
+        }
+        assertEquals(b._key, BinnedColumnCache.binned(v, edges)._key);
+      } finally {
+        BinnedColumnCache.clear();
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void skipsColumnsWithOneBinPerValue() {
+    Scope.enter();
+    try {
+      assertNull(BinnedColumnCache.uniformEdges(Scope.track(ivec(1, 2, 3, 4)), 16));
+      assertNull(BinnedColumnCache.uniformEdges(Scope.track(ivec(0, 1, 1, 0)), 16));
+      assertNotNull(BinnedColumnCache.uniformEdges(Scope.track(ivec(0, 1000)), 16));
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void splitValueMapsBinIndexSplitToEdges() {
+    DTree tree = new DTree(new water.fvec.Frame(), 0, 0, 0, 42L, null);
+    assertEquals(2.5f, tree.splitValue(0, 2.5f), 0);
+    tree._binEdges = new double[][]{null, {-1, 0, 0.5, 2}};
+    assertEquals(2.5f, tree.splitValue(0, 2.5f), 0);
+    assertEquals(0.5f, tree.splitValue(1, 1.5f), 0);
+    assertEquals(2f, tree.splitValue(1, 3f), 0);
+    assertEquals(Float.POSITIVE_INFINITY, tree.splitValue(1, 3.5f), 0);
+  }
+}
@@ -1,13 +1,19 @@
 package hex.tree;
 
+import hex.tree.gbm.GBM;
+import hex.tree.gbm.GBMModel;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import water.DKV;
 import water.Key;
 import water.Scope;
 import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.TestFrameBuilder;
+import water.fvec.Vec;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -71,4 +77,105 @@ public class DHistogramTest extends TestUtil {
     }
   }
 
+  @Test
+  public void subtractDerivesChildFromParentAndSibling() {
+    // integer column 0..9 with some NAs, split at 4 (NAs go left)
+    final int n = 1000;
+    double[] ws = new double[n], cs = new double[n], ys = new double[n];
+    int[] all = new int[n], left = new int[n], right = new int[n];
+    int nl = 0, nr = 0;
+    for (int i = 0; i < n; i++) {
+      ws[i] = 1 + i % 3;
+      cs[i] = i % 17 == 0 ? Double.NaN : i % 10;
+      ys[i] = Math.sin(i);
+      all[i] = i;
+      if (Double.isNaN(cs[i]) || cs[i] < 4) left[nl++] = i;
+      else right[nr++] = i;
+    }
+    DHistogram parent = makeIntHisto(0, 10);
+    parent.init();
+    parent.updateHisto(ws, null, cs, ys, all, n, 0);
+    parent.reducePrecision();
+    DHistogram small = makeIntHisto(0, 4);
+    small.init();
+    small.updateHisto(ws, null, cs, ys, left, nl, 0);
+    small.reducePrecision();
+    DHistogram expected = makeIntHisto(4, 10);
+    expected.init();
+    expected.updateHisto(ws, null, cs, ys, right, nr, 0);
+    expected.reducePrecision();
+
+    DHistogram derived = makeIntHisto(4, 10);
+    assertEquals(0, small.alignedOffset(parent));
+    assertEquals(4, derived.alignedOffset(parent));
+    derived.deriveFrom(parent, derived.alignedOffset(parent), small, small.alignedOffset(parent));
+    assertTrue(derived._subtract);
+    derived.subtract();
+    assertFalse(derived._subtract);
+    assertArrayEquals(expected._vals, derived._vals, 1e-4);
+    assertEquals(expected.find_min(), derived.find_min(), 0);
+    assertEquals(expected.find_maxIn(), derived.find_maxIn(), 0);
+  }
+
+  @Test
+  public void alignedOffsetRejectsRebinnedHistograms() {
+    DHistogram parent = new DHistogram("test", 20, 1024, (byte) 0, 0, 1, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    parent.init();
+    DHistogram same = new DHistogram("test", 20, 1024, (byte) 0, 0, 1, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 43L, null, null);
+    DHistogram rebinned = new DHistogram("test", 20, 1024, (byte) 0, 0.25, 1, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 43L, null, null);
+    assertEquals(-1, same.alignedOffset(parent)); // real column, the child bounds are not exact
+    assertEquals(-1, rebinned.alignedOffset(parent));
+  }
+
+  @Test
+  public void subtractionBuildsSameTrees() {
+    Scope.enter();
+    boolean subtraction = DHistogram.SUBTRACTION;
+    try {
+      final int n = 5000;
+      double[] x0 = new double[n], x1 = new double[n], x2 = new double[n], y = new double[n];
+      Random rnd = new Random(0xCAFE);
+      for (int i = 0; i < n; i++) {
+        x0[i] = rnd.nextInt(16);
+        x1[i] = rnd.nextInt(8);
+        x2[i] = rnd.nextDouble() < 0.05 ? Double.NaN : rnd.nextInt(12);
+        y[i] = x0[i] * (x1[i] > 3 ? 2 : -1) + (Double.isNaN(x2[i]) ? 5 : x2[i]) + rnd.nextInt(3);
+      }
+      Frame fr = Scope.track(new TestFrameBuilder()
+              .withColNames("x0", "x1", "x2", "y")
+              .withVecTypes(Vec.T_NUM, Vec.T_NUM, Vec.T_NUM, Vec.T_NUM)
+              .withDataForCol(0, x0).withDataForCol(1, x1).withDataForCol(2, x2).withDataForCol(3, y)
+              .build());
+      GBMModel.GBMParameters parms = new GBMModel.GBMParameters();
+      parms._train = fr._key;
+      parms._response_column = "y";
+      parms._ntrees = 5;
+      parms._max_depth = 6;
+      parms._seed = 42;
+
+      DHistogram.SUBTRACTION = false;
+      GBMModel direct = new GBM(parms).trainModel().get();
+      Scope.track_generic(direct);
+      Frame pd = Scope.track(direct.score(fr));
+      DHistogram.SUBTRACTION = true;
+      GBMModel derived = new GBM(parms).trainModel().get();
+      Scope.track_generic(derived);
+      Frame ps = Scope.track(derived.score(fr));
+
+      for (int i = 0; i < n; i++)
+        assertEquals(pd.vec(0).at(i), ps.vec(0).at(i), 1e-8);
+    } finally {
+      DHistogram.SUBTRACTION = subtraction;
+      Scope.exit();
+    }
+  }
+
+  private static DHistogram makeIntHisto(double min, double maxEx) {
+    return new DHistogram("test", 20, 1024, (byte) 1, min, maxEx, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+  }
+
 }
@@ -0,0 +1,78 @@
+package hex.tree;
+
+import hex.genmodel.algos.tree.FlatTree;
+import hex.genmodel.algos.tree.SharedTreeMojoModel;
+import hex.tree.gbm.GBM;
+import hex.tree.gbm.GBMModel;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Key;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.TestFrameBuilder;
+import water.fvec.Vec;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FlatTreeTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() {
+    stall_till_cloudsize(1);
+  }
+
+  @Test
+  public void scoresSameAsCompressedTrees() {
+    Scope.enter();
+    try {
+      final int n = 2000;
+      Random rnd = new Random(42);
+      String[] levels = new String[50];
+      for (int i = 0; i < levels.length; i++) levels[i] = "L" + i;
+      String[] cat = new String[n];
+      double[] num = new double[n], y = new double[n];
+      for (int i = 0; i < n; i++) {
+        cat[i] = i % 23 == 0 ? null : levels[rnd.nextInt(levels.length)];
+        num[i] = i % 17 == 0 ? Double.NaN : rnd.nextGaussian();
+        y[i] = (cat[i] != null && cat[i].hashCode() % 3 == 0 ? 1 : 0) + (Double.isNaN(num[i]) ? 2 : num[i]) + rnd.nextDouble();
+      }
+      Frame fr = new TestFrameBuilder()
+              .withColNames("cat", "num", "y")
+              .withVecTypes(Vec.T_CAT, Vec.T_NUM, Vec.T_NUM)
+              .withDataForCol(0, cat)
+              .withDataForCol(1, num)
+              .withDataForCol(2, y)
+              .build();
+      GBMModel.GBMParameters p = new GBMModel.GBMParameters();
+      p._train = fr._key;
+      p._response_column = "y";
+      p._ntrees = 10;
+      p._max_depth = 6;
+      p._seed = 42;
+      GBMModel model = new GBM(p).trainModel().get();
+      Scope.track_generic(model);
+
+      String[][] domains = model._output._domains;
+      double[] row = new double[2];
+      for (Key<CompressedTree>[] ktrees : model._output._treeKeys) {
+        for (Key<CompressedTree> k : ktrees) {
+          if (k == null) continue;
+          byte[] tree = k.get()._bits;
+          FlatTree flat = FlatTree.make(tree, domains);
+          for (int r = 0; r < 1000; r++) {
+            // include NAs and unseen categorical levels
+            row[0] = r % 10 == 0 ? Double.NaN : rnd.nextInt(levels.length + 5);
+            row[1] = r % 7 == 0 ? Double.NaN : rnd.nextGaussian() * 2;
+            assertEquals(SharedTreeMojoModel.scoreTree(tree, row, false, domains), flat.score(row), 0);
+          }
+        }
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+package hex.tree;
+
+import hex.genmodel.utils.DistributionFamily;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.AutoBuffer;
+import water.ReduceSlice;
+import water.TestUtil;
+import water.util.ArrayUtils;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ScoreBuildHistogram2Test extends TestUtil {
+
+  @BeforeClass
+  public static void setup() {
+    stall_till_cloudsize(1);
+  }
+
+  @Test
+  public void histoCellsCountsBinsAndNABucket() {
+    DHistogram h = new DHistogram("test", 20, 1024, (byte) 0, 0, 1, -0.001,
+            SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+    assertEquals(0, ScoreBuildHistogram2.histoCells(new DHistogram[]{null}));
+    assertEquals((h._nbin + 1) * h._vals_dim, ScoreBuildHistogram2.histoCells(new DHistogram[]{h, null}));
+    assertEquals(2 * (h._nbin + 1) * h._vals_dim, ScoreBuildHistogram2.histoCells(new DHistogram[]{h, h}));
+  }
+
+  @Test
+  public void workersPerColumnAdaptsToRowsAndBins() {
+    // plenty of rows: bounded by the thread budget and the number of chunks
+    assertEquals(8, ScoreBuildHistogram2.workersPerColumn(8, 100, 10_000_000, 1000));
+    assertEquals(3, ScoreBuildHistogram2.workersPerColumn(8, 3, 10_000_000, 1000));
+    // few rows, large histograms: fewer private copies
+    int wrks = ScoreBuildHistogram2.workersPerColumn(64, 100, 100_000, 60_000);
+    assertTrue(wrks >= 1 && wrks < 64);
+    // never less than one worker
+    assertEquals(1, ScoreBuildHistogram2.workersPerColumn(64, 100, 10, 1_000_000));
+    assertEquals(1, ScoreBuildHistogram2.workersPerColumn(64, 100, 0, 0));
+  }
+
+  // 8 leaves x 4 columns, the first histogram optionally without data
+  private static DHistogram[][] histos(long seed, boolean firstEmpty) {
+    Random r = new Random(seed);
+    DHistogram[][] hcs = new DHistogram[8][4];
+    for (int i = 0; i < hcs.length; i++)
+      for (int j = 0; j < hcs[i].length; j++) {
+        DHistogram h = new DHistogram("test", 1024, 1024, (byte) 0, 0, 1, -0.001,
+                SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, 42L, null, null);
+        if (!(firstEmpty && i == 0 && j == 0)) {
+          h.init();
+          for (int k = 0; k < h._vals.length; k++) h._vals[k] = r.nextInt(10);
+        }
+        hcs[i][j] = h;
+      }
+    return hcs;
+  }
+
+  private static ScoreBuildHistogram task(DHistogram[][] hcs) {
+    return new ScoreBuildHistogram(null, 0, 4, 1024, 1024, null, 0, hcs, DistributionFamily.gaussian, -1, -1, -1);
+  }
+
+  @Test
+  public void scatterGatherHistograms() {
+    DHistogram[][] a = histos(1, true), b = histos(2, false);
+    double[][][] expected = new double[a.length][a[0].length][];
+    for (int i = 0; i < a.length; i++)
+      for (int j = 0; j < a[i].length; j++)
+        expected[i][j] = a[i][j]._vals == null ? b[i][j]._vals.clone() : ArrayUtils.add(a[i][j]._vals.clone(), b[i][j]._vals);
+
+    ScoreBuildHistogram ta = task(a), tb = task(b);
+    ReduceSlice[] sa = ta.scatter(3), sb = tb.scatter(3);
+    assertEquals(3, sa.length);
+    assertNull("the bins are handed over", a[1][1]._vals);
+    for (int p = 0; p < sa.length; p++) {
+      ScoreBuildHistogram.HistoSlice s = new AutoBuffer().put(sb[p]).flipForReading().get();
+      ((ScoreBuildHistogram.HistoSlice) sa[p]).reduce(s);
+    }
+    ta.gather(sa);
+    for (int i = 0; i < a.length; i++)
+      for (int j = 0; j < a[i].length; j++)
+        assertArrayEquals(expected[i][j], a[i][j]._vals, 0);
+  }
+
+  @Test
+  public void smallHistogramsAreNotScattered() {
+    DHistogram[][] a = histos(1, false);
+    assertNull(new ScoreBuildHistogram(null, 0, 4, 20, 20, null, 0, a, DistributionFamily.gaussian, -1, -1, -1).scatter(3));
+    assertNotNull(a[0][0]._vals);
+  }
+}
@@ -0,0 +1,59 @@
+package water.fvec;
+
+import java.util.Random;
+
+/**
+ * Synthetic column shapes shared by the {@code water.fvec} micro-benchmarks.
+ * Each shape also names the chunk encoding {@link NewChunk#compress()} is
+ * expected to pick, so a change in the encoding choice fails the benchmark
+ * setup rather than silently measuring something else.
+ */
+public enum ChunkBenchData {
+  CONSTANT("C0LChunk") {
+    @Override double get(Random r, int i) { return 42; }
+  },
+  SPARSE("CXIChunk") {
+    @Override double get(Random r, int i) { return r.nextInt(50) == 0 ? 1 + r.nextInt(100) : 0; }
+  },
+  SPARSE_DOUBLE("CXFChunk") {
+    @Override double get(Random r, int i) { return r.nextInt(50) == 0 ? r.nextDouble() : 0; }
+  },
+  BINARY("CBSChunk") {
+    @Override double get(Random r, int i) { return r.nextBoolean() ? 1 : 0; }
+  },
+  SMALL_INT("C1NChunk") {
+    @Override double get(Random r, int i) { return r.nextInt(100); }
+  },
+  SMALL_INT_NA("C1Chunk") {
+    @Override double get(Random r, int i) { return r.nextInt(20) == 0 ? Double.NaN : r.nextInt(100); }
+  },
+  INT("C4Chunk") {
+    @Override double get(Random r, int i) { return r.nextInt(); }
+  },
+  HIGH_CARD_DOUBLE("C8DChunk") {
+    @Override double get(Random r, int i) { return r.nextGaussian(); }
+  };
+
+  public final String expectedChunk;
+
+  ChunkBenchData(String expectedChunk) { this.expectedChunk = expectedChunk; }
+
+  abstract double get(Random r, int i);
+
+  /** Raw values of this shape; same seed gives the same data. */
+  public double[] values(int rows, long seed) {
+    Random r = new Random(seed);
+    double[] vals = new double[rows];
+    for (int i = 0; i < rows; ++i)
+      vals[i] = get(r, i);
+    return vals;
+  }
+
+  /** Compressed chunk of this shape, checking the encoding picked by NewChunk. */
+  public Chunk chunk(int rows, long seed) {
+    Chunk c = new NewChunk(values(rows, seed)).compress();
+    if (!expectedChunk.equals(c.getClass().getSimpleName()))
+      throw new IllegalStateException(this + ": expected " + expectedChunk + ", got " + c.getClass().getSimpleName());
+    return c;
+  }
+}
@@ -0,0 +1,112 @@
+package water.fvec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import water.H2O;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row {@link Chunk#atd(int)} access vs. the bulk accessors, for the chunk
+ * encodings used in the hot training loops (GLM, GBM histograms, DL rows).
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkBulkReadBench {
+
+  @Param({"C1S", "C2S", "CUD", "C8D", "CBS", "CXI", "CXF", "C0L"})
+  private String type;
+  @Param({"100000"})
+  private int rows;
+
+  private Chunk chunk;
+  private double[] vals;
+  private int[] ids;
+
+  @Setup
+  public void setup() {
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < rows; ++i)
+      add(nc, i);
+    chunk = nc.compress();
+    if (!chunk.getClass().getSimpleName().startsWith(type))
+      throw new IllegalStateException("Expected " + type + " chunk, got " + chunk.getClass().getSimpleName());
+    vals = new double[rows];
+    ids = new int[rows];
+  }
+
+  private void add(NewChunk nc, int i) {
+    switch (type) {
+      case "C1S": nc.addNum((i * 7919) % 251, -1); break;
+      case "C2S": nc.addNum((i * 7919) % 30011, -2); break;
+      case "CUD": nc.addNum((i % 13) * Math.PI); break;
+      case "C8D": nc.addNum(i * Math.PI); break;
+      case "CBS": nc.addNum(i % 3 == 0 ? 1 : 0); break;
+      case "CXI": nc.addNum(i % 17 == 0 ? i % 100 + 1 : 0); break;
+      case "CXF": nc.addNum(i % 17 == 0 ? i * Math.E : 0); break;
+      case "C0L": nc.addNum(7); break;
+      default: throw H2O.unimpl();
+    }
+  }
+
+  @Benchmark
+  public double atdLoop() {
+    double sum = 0;
+    final Chunk c = chunk;
+    for (int i = 0; i < c._len; ++i)
+      sum += c.atd(i);
+    return sum;
+  }
+
+  @Benchmark
+  public double sparseAtdLoop() {
+    double sum = 0;
+    final Chunk c = chunk;
+    for (int i = c.nextNZ(-1); i < c._len; i = c.nextNZ(i))
+      sum += c.atd(i);
+    return sum;
+  }
+
+  @Benchmark
+  public double getDoubles() {
+    double sum = 0;
+    chunk.getDoubles(vals, 0, chunk._len);
+    for (int i = 0; i < chunk._len; ++i)
+      sum += vals[i];
+    return sum;
+  }
+
+  @Benchmark
+  public double getSparseDoubles() {
+    double sum = 0;
+    int n = chunk.getSparseDoubles(vals, ids);
+    for (int i = 0; i < n; ++i)
+      sum += vals[i];
+    return sum;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ChunkBulkReadBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
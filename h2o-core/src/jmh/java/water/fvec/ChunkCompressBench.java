@@ -0,0 +1,64 @@
+package water.fvec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link NewChunk#compress()} (encoding choice + compression) and of
+ * inflating a compressed chunk back into a {@link NewChunk}.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkCompressBench {
+
+  @Param({"CONSTANT", "SPARSE", "SPARSE_DOUBLE", "BINARY", "SMALL_INT", "SMALL_INT_NA", "INT", "HIGH_CARD_DOUBLE"})
+  private ChunkBenchData shape;
+  @Param({"10000", "1000000"})
+  private int rows;
+
+  private double[] raw;
+  private Chunk chunk;
+
+  @Setup
+  public void setup() {
+    raw = shape.values(rows, 0xCAFE);
+    chunk = shape.chunk(rows, 0xCAFE);
+  }
+
+  @Benchmark
+  public Chunk compress() {
+    return new NewChunk(raw).compress();
+  }
+
+  @Benchmark
+  public NewChunk inflate() {
+    return chunk.extractRows(new NewChunk(null, 0), 0, chunk._len);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ChunkCompressBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
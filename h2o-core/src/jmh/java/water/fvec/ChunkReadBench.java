@@ -0,0 +1,79 @@
+package water.fvec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-encoding read throughput of the row accessors {@link Chunk#atd(int)},
+ * {@link Chunk#at8(int)} and {@link Chunk#isNA(int)}.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkReadBench {
+
+  @Param({"CONSTANT", "SPARSE", "SPARSE_DOUBLE", "BINARY", "SMALL_INT", "SMALL_INT_NA", "INT", "HIGH_CARD_DOUBLE"})
+  private ChunkBenchData shape;
+  @Param({"100000"})
+  private int rows;
+
+  private Chunk chunk;
+
+  @Setup
+  public void setup() {
+    chunk = shape.chunk(rows, 0xCAFE);
+  }
+
+  @Benchmark
+  public double atd() {
+    double sum = 0;
+    final Chunk c = chunk;
+    for (int i = 0; i < c._len; ++i)
+      sum += c.atd(i);
+    return sum;
+  }
+
+  @Benchmark
+  public long at8() {
+    long sum = 0;
+    final Chunk c = chunk;
+    for (int i = 0; i < c._len; ++i)
+      if (!c.isNA(i)) sum += c.at8(i);
+    return sum;
+  }
+
+  @Benchmark
+  public int isNA() {
+    int cnt = 0;
+    final Chunk c = chunk;
+    for (int i = 0; i < c._len; ++i)
+      if (c.isNA(i)) cnt++;
+    return cnt;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ChunkReadBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
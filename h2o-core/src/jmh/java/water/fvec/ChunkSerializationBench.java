@@ -0,0 +1,69 @@
+package water.fvec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import water.AutoBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static water.TestUtil.stall_till_cloudsize;
+
+/**
+ * {@link AutoBuffer} serialization of compressed chunks, as done when chunks
+ * are sent between nodes or spilled to disk.  Needs a (single node) cloud
+ * for the type ids.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkSerializationBench {
+
+  @Param({"CONSTANT", "SPARSE", "BINARY", "SMALL_INT", "HIGH_CARD_DOUBLE"})
+  private ChunkBenchData shape;
+  @Param({"100000"})
+  private int rows;
+
+  private Chunk chunk;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    stall_till_cloudsize(1);
+    chunk = shape.chunk(rows, 0xCAFE);
+    bytes = new AutoBuffer().put(chunk).buf();
+  }
+
+  @Benchmark
+  public byte[] write() {
+    return new AutoBuffer().put(chunk).buf();
+  }
+
+  @Benchmark
+  public Chunk read() {
+    return new AutoBuffer(bytes).get();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(ChunkSerializationBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,76 @@
+package water.fvec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import water.DKV;
+import water.Futures;
+
+import java.util.concurrent.TimeUnit;
+
+import static water.TestUtil.stall_till_cloudsize;
+
+/**
+ * {@link RollupStats} computation over a single-node Vec, with and without
+ * the histogram pass.  The cached rollups are dropped before every call so
+ * each invocation recomputes them from the chunks.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RollupStatsBench {
+
+  @Param({"CONSTANT", "SPARSE", "BINARY", "SMALL_INT_NA", "HIGH_CARD_DOUBLE"})
+  private ChunkBenchData shape;
+  @Param({"1000000"})
+  private int rows;
+
+  private Vec vec;
+
+  @Setup
+  public void setup() {
+    stall_till_cloudsize(1);
+    vec = Vec.makeVec(shape.values(rows, 0xCAFE), Vec.newKey());
+  }
+
+  @Benchmark
+  public RollupStats rollups() {
+    DKV.remove(vec.rollupStatsKey());
+    return RollupStats.get(vec, false);
+  }
+
+  @Benchmark
+  public RollupStats rollupsWithHisto() {
+    DKV.remove(vec.rollupStatsKey());
+    return RollupStats.get(vec, true);
+  }
+
+  @TearDown
+  public void tearDown() {
+    vec.remove(new Futures()).blockForPending();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(RollupStatsBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
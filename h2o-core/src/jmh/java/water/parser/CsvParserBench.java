@@ -0,0 +1,104 @@
+package water.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import water.Iced;
+import water.util.StringUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link CsvParser#parseChunk} on a chunk of a wide numeric CSV file, with and without the numeric
+ * fast path. The parsed values go to a writer which only sums them up.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvParserBench {
+
+  @Param({"true", "false"})
+  private boolean fastPath;
+  @Param({"INT", "DOUBLE"})
+  private String values;
+
+  private static final int NCOLS = 500;
+  private static final int NROWS = 2000;
+
+  private CsvParser parser;
+  private byte[] bits;
+
+  @Setup
+  public void setup() {
+    Random rnd = new Random(0xCAFE);
+    StringBuilder sb = new StringBuilder();
+    for (int r = 0; r < NROWS; r++) {
+      for (int c = 0; c < NCOLS; c++) {
+        if (c > 0) sb.append(',');
+        if ("INT".equals(values)) sb.append(rnd.nextInt(100000));
+        else sb.append(String.format("%.6f", rnd.nextGaussian() * 100));
+      }
+      sb.append('\n');
+    }
+    bits = StringUtils.bytesOf(sb);
+    ParseSetup ps = new ParseSetup();
+    ps._parse_type = DefaultParserProviders.CSV_INFO;
+    ps._check_header = ParseSetup.NO_HEADER;
+    ps._separator = ',';
+    ps._number_columns = NCOLS;
+    parser = new CsvParser(ps, null);
+    parser._fastPath = fastPath;
+  }
+
+  @Benchmark
+  public double parseChunk() {
+    SumParseWriter dout = new SumParseWriter();
+    parser.parseChunk(0, new Parser.ByteAryData(bits, 0), dout);
+    return dout._sum;
+  }
+
+  private static class SumParseWriter extends Iced implements ParseWriter {
+    double _sum;
+    long _lines;
+    @Override public void setColumnNames(String[] names) {}
+    @Override public void newLine() { _lines++; }
+    @Override public boolean isString(int colIdx) { return false; }
+    @Override public void addNumCol(int colIdx, long number, int exp) { _sum += number + exp; }
+    @Override public void addNumCol(int colIdx, double d) { _sum += d; }
+    @Override public void addInvalidCol(int colIdx) {}
+    @Override public void addNAs(int colIdx, int nrow) {}
+    @Override public void addStrCol(int colIdx, BufferedString str) {}
+    @Override public void rollbackLine() {}
+    @Override public void invalidLine(ParseErr err) {}
+    @Override public void addError(ParseErr err) {}
+    @Override public void setIsAllASCII(int colIdx, boolean b) {}
+    @Override public boolean hasErrors() { return false; }
+    @Override public ParseErr[] removeErrors() { return new ParseErr[0]; }
+    @Override public long lineNum() { return _lines; }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(CsvParserBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+
+}
@@ -435,17 +435,21 @@ public final class AutoBuffer {
             assert x == 0xab : "AB.close instead of 0xab sentinel got "+x+", "+this;
             assert _chan != null; // chan set by incoming reader, since we KNOW it is a TCP
             // Write the reader-handshake-byte.
-            SocketChannelUtils.underlyingSocketChannel(_chan).socket().getOutputStream().write(0xcd);
+            if( _chan instanceof MuxConnection.Stream ) ((MuxConnection.Stream) _chan).handshake();
+            else SocketChannelUtils.underlyingSocketChannel(_chan).socket().getOutputStream().write(0xcd);
             // do not close actually reader socket; recycle it in TCPReader thread
           } else {              // Writer?
             put1(0xab);         // Write one-more byte  ; might set _chan from null to not-null
             sendPartial();      // Finish partial writes; might set _chan from null to not-null
             assert _chan != null; // _chan is set not-null now!
             // Read the writer-handshake-byte.
-            int x = SocketChannelUtils.underlyingSocketChannel(_chan).socket().getInputStream().read();
-            // either TCP con was dropped or other side closed connection without reading/confirming (e.g. task was cancelled).
-            if( x == -1 ) throw new IOException("Other side closed connection before handshake byte read");
-            assert x == 0xcd : "Handshake; writer expected a 0xcd from reader but got "+x;
+            if( _chan instanceof MuxConnection.Stream ) ((MuxConnection.Stream) _chan).handshake();
+            else {
+              int x = SocketChannelUtils.underlyingSocketChannel(_chan).socket().getInputStream().read();
+              // either TCP con was dropped or other side closed connection without reading/confirming (e.g. task was cancelled).
+              if( x == -1 ) throw new IOException("Other side closed connection before handshake byte read");
+              assert x == 0xcd : "Handshake; writer expected a 0xcd from reader but got "+x;
+            }
           }
         } catch( IOException ioe ) {
           try { _chan.close(); } catch( IOException ignore ) {} // Silently close
@@ -479,7 +483,7 @@ public final class AutoBuffer {
     assert _firstPage && _bb.limit() >= 1+2+2+4; // At least something written
     assert _chan == null;
 //    assert _bb.position()==0;
-    _chan = _h2o.getTCPSocket();
+    _chan = _h2o.getTCPSocket(_msg_priority);
     raisePriority();
   }
 
@@ -496,7 +500,7 @@ public final class AutoBuffer {
     if( chan != null ) {                  // Channel assumed sick from prior IOException
       try { chan.close(); } catch( IOException ignore ) {} // Silently close
       _chan = null;                       // No channel now!
-      if( !_read && SocketChannelUtils.isSocketChannel(chan)) _h2o.freeTCPSocket((ByteChannel) chan); // Recycle writable TCP channel
+      if( !_read && isTCP(chan)) _h2o.freeTCPSocket((ByteChannel) chan); // Recycle writable TCP channel
     }
     restorePriority();          // And if we raised priority, lower it back
     bbFree();
@@ -506,7 +510,12 @@ public final class AutoBuffer {
   }
 
   // True if we opened a TCP channel, or will open one to close-and-send
-  boolean hasTCP() { assert !isClosed(); return SocketChannelUtils.isSocketChannel(_chan) || (_h2o!=null && _bb.position() >= MTU); }
+  boolean hasTCP() { assert !isClosed(); return isTCP(_chan) || (_h2o!=null && _bb.position() >= MTU); }
+
+  // A socket, or a stream of a multiplexed connection
+  private static boolean isTCP( Channel chan ) {
+    return chan instanceof MuxConnection.Stream || SocketChannelUtils.isSocketChannel(chan);
+  }
 
   // Size in bytes sent, after a close()
   int size() { return _size; }
@@ -537,7 +546,7 @@ public final class AutoBuffer {
   // over with.
   private void raisePriority() {
     if(_oldPrior == -1){
-      assert SocketChannelUtils.isSocketChannel(_chan);
+      assert isTCP(_chan);
       _oldPrior = Thread.currentThread().getPriority();
       Thread.currentThread().setPriority(Thread.MAX_PRIORITY-1);
     }
@@ -673,8 +682,7 @@ public final class AutoBuffer {
       long ns = System.nanoTime();
       while( _bb.hasRemaining() ) {
         ((WritableByteChannel) _chan).write(_bb);
-        if( RANDOM_TCP_DROP != null && SocketChannelUtils.isSocketChannel(_chan) && RANDOM_TCP_DROP.nextInt(100) == 0 )
-          throw new IOException("Random TCP Write Fail");
+        randomTcpDrop();
       }
       _time_io_ns += (System.nanoTime()-ns);
     } catch( IOException e ) {  // Some kind of TCP fail?
@@ -1295,6 +1303,77 @@ public final class AutoBuffer {
     }
     return this;
   }
+  /** Put the remaining bytes of the buffer, read back by {@link #getA1()}.
+   *  Large direct buffers (e.g. Values held off-heap) written to a channel are
+   *  not copied into the AutoBuffer: the pending bytes and the payload are
+   *  handed to the channel together (gathering write).  Heap arrays take the
+   *  copying path of {@link #putA1(byte[])} - the JDK stages heap buffers in a
+   *  direct buffer anyway, so writing them in place would not save a copy. */
+  public AutoBuffer putA1( ByteBuffer src ) {
+    src = src.duplicate();      // Do not move the caller's position
+    putInt(src.remaining());
+    if( src.isDirect() && src.remaining() >= TCP_BUF_SIZ && (_h2o != null || _chan != null) )
+      return sendGathered(src);
+    if( src.remaining() > _bb.remaining() ) expandByteBuffer(src.remaining());
+    while( src.hasRemaining() ) {
+      int len = Math.min(src.remaining(), _bb.remaining());
+      ByteBuffer slice = src.duplicate();
+      slice.limit(slice.position() + len);
+      _bb.put(slice);
+      src.position(src.position() + len);
+      if( src.hasRemaining() ) sendPartial();
+    }
+    return this;
+  }
+
+  // Test hook: fail a TCP write now and then to exercise the retries
+  private void randomTcpDrop() throws IOException {
+    if( RANDOM_TCP_DROP != null && isTCP(_chan) && RANDOM_TCP_DROP.nextInt(100) == 0 )
+      throw new IOException("Random TCP Write Fail");
+  }
+
+  // Ship the pending bytes followed by the payload, like sendPartial() does
+  // for the pending bytes alone.  Channels which cannot gather (e.g. SSL or
+  // compressed sockets) get the payload in TCP-buffer sized pieces.
+  private AutoBuffer sendGathered( ByteBuffer payload ) {
+    assert !_read;
+    _size += _bb.position() + payload.remaining();
+    if( _chan == null )
+      TimeLine.record_send(this, true);
+    _bb.flip();                 // Prep for writing.
+    try {
+      if( _chan == null )
+        tcpOpen();              // Open a TCP socket as-needed.
+      long ns = System.nanoTime();
+      if( _chan instanceof GatheringByteChannel ) {
+        ByteBuffer[] srcs = new ByteBuffer[]{_bb, payload};
+        while( payload.hasRemaining() ) {
+          ((GatheringByteChannel) _chan).write(srcs);
+          randomTcpDrop();
+        }
+      } else {
+        while( _bb.hasRemaining() ) {
+          ((WritableByteChannel) _chan).write(_bb);
+          randomTcpDrop();
+        }
+        while( payload.hasRemaining() ) {
+          ByteBuffer slice = payload.duplicate();
+          slice.limit(slice.position() + Math.min(slice.remaining(), TCP_BUF_SIZ));
+          while( slice.hasRemaining() ) {
+            ((WritableByteChannel) _chan).write(slice);
+            randomTcpDrop();
+          }
+          payload.position(slice.position());
+        }
+      }
+      _time_io_ns += (System.nanoTime()-ns);
+    } catch( IOException e ) {  // Some kind of TCP fail, see sendPartial()
+      throw new AutoBufferException(e);
+    }
+    _firstPage = false;
+    _bb.clear();
+    return this;
+  }
   AutoBuffer putA2( short[] ary ) {
     //_arys++;
     if( ary == null ) return putInt(-1);
@@ -1535,7 +1614,7 @@ public final class AutoBuffer {
   // Note: These are heck-a-lot more expensive than their Freezable equivalents.
 
   @SuppressWarnings("unused") public AutoBuffer putSer( Object obj ) {
-    if (obj == null) return putA1(null);
+    if (obj == null) return putA1((byte[])null);
     return putA1(javaSerializeWritePojo(obj));
   }
 
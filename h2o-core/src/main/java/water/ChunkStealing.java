@@ -0,0 +1,122 @@
+package water;
+
+import water.fvec.Vec;
+import water.nbhm.NonBlockingHashMapLong;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Straggler mitigation for MRTasks over Frames, see {@link MRTask#canStealChunks()}.
+ *
+ * Every node registers the chunks it homes when it starts the task. The map calls of the node and the thieves claim
+ * the chunks one by one, a chunk is mapped by whoever claims it first. Once done with its own chunks (while its remote
+ * subtasks may still run), a node asks the other nodes for chunks they have not started yet, fetches them (they stay
+ * cached on the thief) and reduces them into its own result. A node gives away at most half of its unclaimed chunks
+ * per request, starting from the end of its list.
+ *
+ * Enabled by {@code sys.ai.h2o.mrtask.steal} (default false). The numbers of the exchanged chunks are reported
+ * by the WaterMeterIo endpoint.
+ */
+public final class ChunkStealing {
+
+  // Not final, for testing
+  static boolean ENABLED = H2O.getSysBoolProperty("mrtask.steal", false);
+
+  /** Chunks this node mapped for other nodes */
+  static final AtomicLong CHUNKS_STOLEN = new AtomicLong();
+  /** Chunks of this node mapped by other nodes */
+  static final AtomicLong CHUNKS_GIVEN = new AtomicLong();
+
+  /** @return number of chunks this node mapped for other nodes */
+  public static long chunksStolen() { return CHUNKS_STOLEN.get(); }
+
+  /** @return number of chunks of this node mapped by other nodes */
+  public static long chunksGiven() { return CHUNKS_GIVEN.get(); }
+
+  // Registered chunks of the running tasks, by the id of the task
+  private static final NonBlockingHashMapLong<Chunks> TASKS = new NonBlockingHashMapLong<>();
+
+  /** The chunks of a task homed on this node. */
+  static final class Chunks {
+    private final int[] _cidxs; // sorted
+    private final AtomicIntegerArray _claimed;
+    private final AtomicInteger _pending;   // Not claimed yet
+    private final AtomicInteger _unfinished; // Not done by the local map calls yet (mapped or found stolen)
+
+    Chunks(int[] cidxs) {
+      _cidxs = cidxs;
+      _claimed = new AtomicIntegerArray(cidxs.length);
+      _pending = new AtomicInteger(cidxs.length);
+      _unfinished = new AtomicInteger(cidxs.length);
+    }
+
+    boolean isEmpty() { return _cidxs.length == 0; }
+
+    /** @return true if the caller is to map the chunk, false if another node took it */
+    boolean claim(int cidx) {
+      int i = Arrays.binarySearch(_cidxs, cidx);
+      assert i >= 0 : "chunk " + cidx + " is not homed here";
+      return claimAt(i);
+    }
+
+    private boolean claimAt(int i) {
+      if( !_claimed.compareAndSet(i, 0, 1) ) return false;
+      _pending.decrementAndGet();
+      return true;
+    }
+
+    /** @return up to max chunks (and at most half of the unclaimed ones) claimed for another node */
+    synchronized int[] steal(int max) {
+      int n = Math.min(max, _pending.get() / 2);
+      int[] res = new int[n];
+      int k = 0;
+      for( int i = _cidxs.length - 1; i >= 0 && k < n; i-- )
+        if( claimAt(i) ) res[k++] = _cidxs[i];
+      return k == n ? res : Arrays.copyOf(res, k);
+    }
+
+    /** @return true for the last chunk done locally */
+    boolean finish() { return _unfinished.decrementAndGet() == 0; }
+
+    int pending() { return _pending.get(); }
+  }
+
+  /** Registers the chunks of the Vec homed on this node, before the map calls start. */
+  static Chunks register(long id, Vec v) {
+    int n = v.nChunks();
+    int[] cidxs = new int[n];
+    int k = 0;
+    for( int i = 0; i < n; i++ )
+      if( v.chunkKey(i).home() ) cidxs[k++] = i;
+    Chunks c = new Chunks(Arrays.copyOf(cidxs, k));
+    TASKS.put(id, c);
+    return c;
+  }
+
+  /** Unregisters the chunks of a task, once the node is done with them. */
+  static void done(long id) { TASKS.remove(id); }
+
+  /** @return chunks of the task homed on the node, claimed for this node; empty if it has none to give */
+  static int[] steal(H2ONode node, long id, int max) {
+    int[] cidxs = new RPC<>(node, new StealTask(id, max)).call().get()._cidxs;
+    CHUNKS_STOLEN.addAndGet(cidxs.length);
+    return cidxs;
+  }
+
+  private static class StealTask extends DTask<StealTask> {
+    private final long _id;
+    private final int _max;
+    int[] _cidxs;
+    StealTask(long id, int max) { _id = id; _max = max; }
+    @Override public void compute2() {
+      Chunks c = TASKS.get(_id);
+      _cidxs = c == null ? new int[0] : c.steal(_max);
+      CHUNKS_GIVEN.addAndGet(_cidxs.length);
+      tryComplete();
+    }
+  }
+
+}
@@ -113,6 +113,7 @@ class Cleaner extends Thread {
       long cleaned = 0;         // Disk i/o bytes
       long freed = 0;           // memory freed bytes
       long io_ns = 0;           // i/o ns writing
+      long offheaped = 0;       // net bytes moved into the off-heap tier
 
       // For faster K/V store walking get the NBHM raw backing array,
       // and walk it directly.
@@ -127,7 +128,22 @@ class Cleaner extends Thread {
         Value val = (Value)ov;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
-        if( m == null && p == null ) continue; // Nothing to throw out
+        if( m == null && p == null ) { // Nothing to throw out
+          // But an off-heap only Value may need draining to disk
+          if( val.isOffHeap() && OffHeapStore.isHigh() && H2O.ARGS.cleaner && !diskFull && ((Key)ok).home() && !val.isPersisted() ) {
+            long now_ns = System.nanoTime();
+            try { val.storePersist(); } // Reloads into the heap, writes to disk
+            catch( IOException e ) { diskFull = isDiskFull(); continue; }
+            val.freeMem();
+            if( val.isPersisted() ) {
+              val.freeOffHeap();
+              offheaped -= val._max;
+              cleaned += val._max;
+            }
+            io_ns += System.nanoTime() - now_ns;
+          }
+          continue;
+        }
         if( val.isLockable() ) continue; // we do not want to throw out Lockables.
         boolean isChunk = p instanceof Chunk && !((Chunk)p).isVolatile();
         // Ignore things younger than the required age.  In particular, do
@@ -143,8 +159,14 @@ class Cleaner extends Thread {
           dirty_store(touched); // But may write it out later
           continue;             // Too young
         }
+        // Under pressure, move cold Chunks into the off-heap tier first: no
+        // disk i/o, and the GC no longer has to walk them.  Works even with
+        // the disk spiller turned off.
+        if( isChunk && force && OffHeapStore.isEnabled() && !val.isOffHeap() && !val.isPersisted() && ((Key)ok).home() ) {
+          if( val.storeOffHeap() ) offheaped += val._max;
+        }
         // Spiller turned off?
-        if( !H2O.ARGS.cleaner ) continue;
+        if( !H2O.ARGS.cleaner && !val.isOffHeap() ) continue;
 
         // CNC - Memory cleaning turned off, except for Chunks
         // Too many POJOs are written to dynamically; cannot spill & reload
@@ -152,7 +174,9 @@ class Cleaner extends Thread {
 
         // Should I write this value out to disk?
         // Should I further force it from memory?
-        if( isChunk && !val.isPersisted() && !diskFull && ((Key)ok).home() ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
+        // Off-heap Values only go to disk once the off-heap tier fills up.
+        if( isChunk && !val.isPersisted() && !diskFull && ((Key)ok).home() && H2O.ARGS.cleaner &&
+            (!val.isOffHeap() || OffHeapStore.isHigh()) ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
           long now_ns = System.nanoTime();
           try { val.storePersist(); } // Write to disk
           catch( FileNotFoundException fnfe ) { continue; } // Can happen due to racing key delete/remove
@@ -167,9 +191,13 @@ class Cleaner extends Thread {
           if( m == null ) m = val.rawMem();
           if( m != null ) cleaned += m.length; // Accumulate i/o bytes
           io_ns += System.nanoTime() - now_ns; // Accumulate i/o time
+          if( val.isPersisted() && val.isOffHeap() ) { // Drained to disk; release the off-heap copy
+            val.freeOffHeap();
+            offheaped -= val._max;
+          }
         }
         // And, under pressure, free all
-        if( isChunk && force && (val.isPersisted() || !((Key)ok).home()) ) {
+        if( isChunk && force && (val.isPersisted() || val.isOffHeap() || !((Key)ok).home()) ) {
           val.freeMem ();  if( m != null ) freed += val._max;  m = null;
           val.freePOJO();  if( p != null ) freed += val._max;  p = null;
           if( isChunk ) freed -= val._max; // Double-counted freed mem for Chunks since val._pojo._mem & val._mem are the same.
@@ -191,7 +219,7 @@ class Cleaner extends Thread {
       h = Histo.current(true); // Force a new histogram
       MemoryManager.set_goals("postclean",false);
       // No logging if under memory pressure: can deadlock the cleaner thread
-      String s2 = h+" diski_o="+PrettyPrint.bytes(cleaned)+", freed="+(freed>>20)+"M, DESIRED="+(DESIRED>>20)+"M";
+      String s2 = h+" diski_o="+PrettyPrint.bytes(cleaned)+", offheap="+(offheaped>>20)+"M, freed="+(freed>>20)+"M, DESIRED="+(DESIRED>>20)+"M";
       if( MemoryManager.canAlloc() ) Log.debug(s1,s2);
       else                           System.err.println(s1+"\n"+s2);
       // For testing thread
@@ -226,6 +254,7 @@ class Cleaner extends Thread {
     // built nor blocking for one being in-progress.
     static long cached() { return H._cached; }
     static long swapped(){ return H._swapped;}
+    static long offheap(){ return H._offheap;}
 
     final long[] _hs = new long[128];
     long _oldest; // Time of the oldest K/V discovered this pass
@@ -235,6 +264,7 @@ class Cleaner extends Thread {
     long _total;  // Total data in local K/V
     long _when;   // When was this histogram computed
     long _swapped;// On-disk stuff
+    long _offheap;// Off-heap stuff
     Value _vold;  // For assertions: record the oldest Value
     boolean _clean; // Was "clean" K/V when built?
 
@@ -250,6 +280,7 @@ class Cleaner extends Thread {
       long cached = 0; // Total K/V cached in ram
       long total = 0;  // Total K/V in local node
       long swapped=0;  // Total K/V persisted
+      long offheap=0;  // Total K/V in the off-heap tier
       long oldest = Long.MAX_VALUE; // K/V with the longest time since being touched
       Value vold = null;
       // Start the walk at slot 2, because slots 0,1 hold meta-data
@@ -262,6 +293,7 @@ class Cleaner extends Thread {
         if( val.isNull() ) { Value.STORE_get(val._key); continue; } // Another flavor of NULL
         total += val._max;
         if( val.isPersisted() ) swapped += val._max;
+        if( val.isOffHeap() ) offheap += val._max;
         int len = 0;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
@@ -284,6 +316,7 @@ class Cleaner extends Thread {
       _cached = cached; // Total cached; NOTE: larger than sum of histogram buckets
       _total = total;   // Total used data
       _swapped = swapped;
+      _offheap = offheap;
       _oldest = oldest; // Oldest seen in this pass
       _vold = vold;
       _clean = clean && _dirty==Long.MAX_VALUE; // Looks like a clean K/V the whole time?
@@ -307,7 +340,7 @@ class Cleaner extends Thread {
     @Override public String toString() {
       long x = _eldest;
       long now = System.currentTimeMillis();
-      return "H(cached:"+(_cached>>20)+"M, eldest:"+x+"L < +"+(_oldest-x)+"ms <...{"+_hStep+"ms}...< +"+(_hStep*_hs.length)+"ms < +"+(now-x)+")";
+      return "H(cached:"+(_cached>>20)+"M, offheap:"+(_offheap>>20)+"M, eldest:"+x+"L < +"+(_oldest-x)+"ms <...{"+_hStep+"ms}...< +"+(_hStep*_hs.length)+"ms < +"+(now-x)+")";
     }
   }
 }
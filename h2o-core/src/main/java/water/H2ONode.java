@@ -2,6 +2,7 @@ package water;
 
 import water.nbhm.NonBlockingHashMap;
 import water.nbhm.NonBlockingHashMapLong;
+import water.network.CompressedSocketChannel;
 import water.network.SocketChannelFactory;
 import water.util.ArrayUtils;
 import water.util.Log;
@@ -429,8 +430,10 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     sock2.socket().setSendBufferSize(AutoBuffer.BBP_BIG._size);
     boolean res = sock2.connect( _key );
     assert res && !sock2.isConnectionPending() && sock2.isBlocking() && sock2.isConnected() && sock2.isOpen();
+    // Large messages are compressed if enabled on this node, the channel type tells the receiver to decode the frames
+    final boolean compressed = CompressedSocketChannel.isEnabled();
     ByteBuffer bb = ByteBuffer.allocate(6).order(ByteOrder.nativeOrder());
-    bb.put((byte)2);
+    bb.put(compressed ? TCPReceiverThread.TCP_BIG_COMPRESSED : TCPReceiverThread.TCP_BIG);
     bb.putShort(H2O.SELF._timestamp);
     bb.putChar((char)H2O.H2O_PORT);
     bb.put((byte)0xef);
@@ -440,9 +443,14 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
       wrappedSocket.write(bb);
     }
     TCPS.incrementAndGet();     // Cluster-wide counting
-    return wrappedSocket;
+    return compressed ? new CompressedSocketChannel(wrappedSocket, CompressedSocketChannel.CODEC) : wrappedSocket;
   }
   synchronized void freeTCPSocket( ByteChannel sock ) {
+    if( MuxConnection.ENABLED ) {
+      // Multiplexed streams are not pooled, just closed; null is a failed stream, closed already
+      if( sock != null ) ((MuxConnection.Stream) sock).close();
+      return;
+    }
     assert 0 <= _socksAvail && _socksAvail < _socks.length;
     assert TCPS.get() > 0;
     if( sock != null && !sock.isOpen() ) sock = null;
@@ -451,6 +459,39 @@ public final class H2ONode extends Iced<H2ONode> implements Comparable {
     notify();
   }
 
+  // ---------------
+  // Persistent connections carrying many big messages at once, used instead
+  // of the socket pool above when enabled (see MuxConnection).
+  private transient MuxConnection _muxConns[];
+
+  /** A channel for one big message of the given priority: a stream of a
+   *  multiplexed connection if enabled, else a socket of the pool. */
+  ByteChannel getTCPSocket( byte priority ) throws IOException {
+    return MuxConnection.ENABLED ? muxConnection().openStream(priority) : getTCPSocket();
+  }
+
+  // The least busy connection; missing and failed ones are (re)opened first
+  private MuxConnection muxConnection() throws IOException {
+    int idx = 0;
+    synchronized(this) {
+      if( _muxConns == null ) _muxConns = new MuxConnection[Math.max(1, MuxConnection.CONNECTIONS)];
+      for( int i = 0; i < _muxConns.length; i++ ) {
+        MuxConnection c = _muxConns[i];
+        if( c == null || !c.isOpen() ) { idx = i; break; }
+        if( c.streams() < _muxConns[idx].streams() ) idx = i;
+      }
+      MuxConnection c = _muxConns[idx];
+      if( c != null && c.isOpen() ) return c;
+    }
+    // Connect outside of the lock, like the pooled sockets
+    MuxConnection c = MuxConnection.open(this);
+    synchronized(this) {
+      MuxConnection old = _muxConns[idx];
+      if( old != null && old.isOpen() ) { c.close(); return old; } // Lost the race
+      return _muxConns[idx] = c;
+    }
+  }
+
   // ---------------
   // Send a message via batched TCP.  Note: has to happen out-of-band with the
   // standard AutoBuffer writing, which can hit the case of needing a TypeId
@@ -40,14 +40,17 @@ public class HeartBeat extends Iced<HeartBeat> {
   private long _pojo_mem;        // POJO used as of last FullGC
   private long _free_mem;        // Free memory as of last FullGC
   private long _swap_mem;        // Swapped K/V as of last FullGC
+  private long _offheap_mem;     // K/V held in the off-heap tier
   void   set_kv_mem (long n) { _kv_mem = n; }
   void set_pojo_mem (long n) { _pojo_mem = n; }
   void set_free_mem (long n) { _free_mem = n; }
   void set_swap_mem (long n) { _swap_mem = n; }
+  void set_offheap_mem(long n) { _offheap_mem = n; }
   public long get_kv_mem  () { return _kv_mem; }
   public long get_pojo_mem() { return _pojo_mem; }
   public long get_free_mem() { return _free_mem; }
   public long get_swap_mem() { return _swap_mem; }
+  public long get_offheap_mem() { return _offheap_mem; }
 
   public int _keys;       // Number of LOCAL keys in this node, cached or homed
 
@@ -77,6 +77,7 @@ public class HeartBeatThread extends Thread {
       hb.set_pojo_mem(pojo_mem);
       hb.set_free_mem(free_mem);
       hb.set_swap_mem(Cleaner.Histo.swapped());
+      hb.set_offheap_mem(OffHeapStore.used());
       hb._keys = H2O.STORE.size();
 
       try {
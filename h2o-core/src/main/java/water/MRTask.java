@@ -8,6 +8,7 @@ import water.util.PrettyPrint;
 import water.fvec.Vec.VectorGroup;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Map/Reduce style distributed computation.
@@ -179,6 +180,32 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   /** If true, run entirely local - which will pull all the data locally. */
   protected boolean _run_local;
 
+  /** Minimal cloud size to reduce-scatter the results, see {@link #scatter(int)}.  Not final, for testing. */
+  static int SCATTER_MIN_NODES = Integer.parseInt(H2O.getSysProperty("mrtask.scatter.min_nodes", "4"));
+
+  /** Id of the reduce-scatter of this task, 0 if the results are not scattered */
+  long _scatterId;
+
+  /** True if (a part of) the result was scattered */
+  boolean _scattered;
+
+  /** Id of the chunk stealing of this task, 0 if the nodes map only their own chunks */
+  long _stealId;
+
+  /** Number of chunks mapped by another node than their home */
+  int _nstolen;
+
+  /** Internal fields to track the chunks homed here (claimed by the map
+   *  calls and the thieves) and to map chunks stolen from other nodes */
+  transient private ChunkStealing.Chunks _stealChunks;
+  transient private MRTask<T> _stealTop; // The top-level local task
+  transient private T _stealTemplate, _stolenRes;
+  transient boolean _stolen;
+
+  private static final AtomicLong GLOBAL_IDS = new AtomicLong();
+  // A non-zero id, unique in the cloud
+  static long nextGlobalId() { return ((long)H2O.SELF.index() << 48) + GLOBAL_IDS.incrementAndGet(); }
+
   public String profString() { return _profile != null ? _profile.toString() : "Profiling turned off"; }
   MRProfile _profile;
 
@@ -519,6 +546,11 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         if(v.isVolatile())v.preWriting();
     }
     _topLocal = true;
+    if( _topGlobal ) {          // Reduce-scatter large results on large clouds
+      _scatterId = !_run_local && H2O.CLOUD.size() >= SCATTER_MIN_NODES ? nextGlobalId() : 0;
+      _stealId = ChunkStealing.ENABLED && _fr != null && _output_types == null && !_run_local &&
+        H2O.CLOUD.size() > 1 && canStealChunks() ? nextGlobalId() : 0;
+    }
     // Check for global vs local work
     int selfidx = selfidx();
     int nlo = subShift(selfidx);
@@ -549,6 +581,12 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // Setup any user's shared local structures for both normal cluster nodes
     // and any client; want this for possible reduction ONTO client
     setupLocal();
+    if( _stealId != 0 && !H2O.ARGS.client && _hi > 0 ) {
+      _stealTemplate = copyAndInit(); // Pristine copy to map the stolen chunks with
+      _stealTop = this;
+      _stealChunks = ChunkStealing.register(_stealId, _fr.anyVec());
+      if( _stealChunks.isEmpty() ) localDone();
+    }
     if(_profile!=null) _profile._localdone = System.currentTimeMillis();
   }
 
@@ -605,7 +643,9 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       }
     } else if( _hi > _lo ) {    // Frame, Single chunk?
       Vec v0 = _fr.anyVec();
-      if( _run_local || v0.chunkKey(_lo).home() ) { // And chunk is homed here?
+      boolean home = !_run_local && !_stolen && v0.chunkKey(_lo).home();
+      if( _run_local || _stolen ||
+          (home && (_stealChunks == null || _stealChunks.claim(_lo))) ) { // And chunk is homed (and not stolen) here?
         assert(_run_local || !H2O.ARGS.client) : "Client node should not process any keys in MRTask!";
 
         // Make decompression chunk headers for these chunks
@@ -614,7 +654,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         NewChunk [] appendableChunks = null;
         for( int i=0; i<vecs.length; i++ )
           if( vecs[i] != null ) {
-            assert _run_local || vecs[i].chunkKey(_lo).home()
+            assert _run_local || _stolen || vecs[i].chunkKey(_lo).home()
               : "Chunk="+_lo+" v0="+v0+", k="+v0.chunkKey(_lo)+"   v["+i+"]="+vecs[i]+", k="+vecs[i].chunkKey(_lo);
             bvs[i] = vecs[i].chunkForChunkIdx(_lo);
           }
@@ -664,6 +704,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         for( Chunk bv : bvs )  bv.close(_lo,_fs);
         if( _output_types != null) for(NewChunk nch:appendableChunks)nch.close(_lo, _fs);
       }
+      if( home && _stealChunks != null && _stealChunks.finish() )
+        _stealTop.localDone();  // Last local chunk, go help the other nodes
     }
     if(_profile!=null)
       _profile._mapdone = System.currentTimeMillis();
@@ -700,14 +742,123 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
 
   protected void postGlobal(){}
 
+  /** Override to reduce a large result in a reduce-scatter style on large
+   *  clouds (at least {@code sys.ai.h2o.mrtask.scatter.min_nodes} nodes,
+   *  default 4).  Called once per node, on the node-local result, before the
+   *  results of the other nodes are reduced into it.  The task hands over the
+   *  payload in n slices (and forgets it - the other reductions see this task
+   *  without it); slice p of every node is reduced on node p.  The reduced
+   *  slices are passed to {@link #gather} before {@link #postGlobal}.
+   *  <p>
+   *  Every node must make the same choice - decide on the shape of the result,
+   *  not on the data.
+   *  @param n number of slices, one per node of the cloud
+   *  @return the slices, or null to reduce the result as usual */
+  protected ReduceSlice[] scatter(int n) { return null; }
+
+  /** Takes back the payload reduced in slices, see {@link #scatter}.  Called
+   *  once, on the home node only.
+   *  @param slices the reduced slices, by node */
+  protected void gather(ReduceSlice[] slices) { }
+
+  /** Override to let the nodes done with their own chunks map the chunks
+   *  other nodes have not started yet (when enabled by {@code
+   *  sys.ai.h2o.mrtask.steal}), so a slow or overloaded node does not hold
+   *  back the whole task.  The stolen chunks are fetched from their home
+   *  node (and stay cached on the thief); only tasks which do not modify their
+   *  input chunks and make no new Vecs can allow it.
+   *  @return true if the chunks may be mapped on other nodes than their home */
+  protected boolean canStealChunks() { return false; }
+
+  /** @return number of chunks mapped by other nodes than their home, see
+   *  {@link #canStealChunks} */
+  public int stolenChunks() { return _nstolen; }
+
+  // Done with the local chunks, while the other nodes are not: map their
+  // chunks in a task the top-level local task waits for
+  private void localDone() {
+    ChunkStealing.done(_stealId);
+    addToPendingCount(1);
+    H2O.submitTask(new H2O.H2OCountedCompleter(this) {
+      @Override public void compute2() {
+        stealChunks();
+        tryComplete();
+      }
+    });
+  }
+
+  // Map chunks of the other nodes while they have some left, reduce them
+  // into _stolenRes
+  private void stealChunks() {
+    final H2ONode[] nodes = H2O.CLOUD.members();
+    final int self = H2O.SELF.index();
+    int misses = 0;
+    for( int i = self+1; misses < nodes.length-1; i++ ) {
+      H2ONode node = nodes[i % nodes.length];
+      if( node == H2O.SELF ) continue;
+      int[] cidxs = ChunkStealing.steal(node, _stealId, H2O.NUMCPUS);
+      if( cidxs.length == 0 ) { misses++; continue; }
+      misses = 0;
+      T res = mapStolen(cidxs);
+      res._nstolen += cidxs.length;
+      if( _stolenRes == null ) _stolenRes = res;
+      else _stolenRes.reduce4(res);
+    }
+  }
+
+  // Map the stolen chunks in parallel
+  private T mapStolen(int[] cidxs) {
+    StolenChunks f = new StolenChunks(cidxs);
+    H2O.submitTask(new LocalMR(f, cidxs.length)).join();
+    return f._res;
+  }
+
+  private class StolenChunks extends MrFun<StolenChunks> {
+    final int[] _cidxs;
+    T _res;
+    StolenChunks(int[] cidxs) { _cidxs = cidxs; }
+    @Override protected void map(int id) {
+      T x = _stealTemplate.clone();
+      x.setCompleter(null);   // Not part of the local execution tree
+      x._lo = _cidxs[id];
+      x._hi = x._lo+1;
+      x._stolen = true;
+      x._profile = null;
+      x.compute2();           // Runs the map and completes in this thread
+      reduce(((MRTask<T>)x)._res);
+    }
+    @Override protected void reduce(StolenChunks f) { reduce(f._res); }
+    private void reduce(T res) {
+      if( res == null ) return;
+      if( _res == null ) _res = res;
+      else _res.reduce4(res);
+    }
+    @Override protected MrFun<StolenChunks> makeCopy() { return new StolenChunks(_cidxs); }
+  }
+
+  // Hand over the payload of the local result to the reduce-scatter
+  private void scatter0() {
+    if( _scatterId == 0 || _res == null ) return;
+    ReduceSlice[] slices = _res.scatter(H2O.CLOUD.size());
+    if( slices == null ) return;
+    ReduceScatter.scatter(_scatterId, slices);
+    _res._scattered = true;
+  }
+
   // Work done after all the main local work is done.
   // Gather/reduce remote work.
   // User cleanup.
   // Block for other queued pending tasks.
   // Copy any final results into 'this', such that a return of 'this' has the results.
   private void postLocal0() {
+    if( _stolenRes != null ) {  // Chunks mapped for the slower nodes
+      if( _res == null ) _res = _stolenRes;
+      else _res.reduce4(_stolenRes);
+      _stolenRes = null;
+    }
     closeLocal();               // User's node-local cleanup
     if(_profile!=null) _profile._closeLocalDone = System.currentTimeMillis();
+    scatter0();                 // Reduce-scatter the local result, if asked for
     reduce3(_nleft);            // Reduce global results from neighbors.
     reduce3(_nrite);
     if(_profile!=null) _profile._remoteBlkDone = System.currentTimeMillis();
@@ -723,6 +874,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     if( _topGlobal ) {
       if (_fr != null)     // Do any post-writing work (zap rollup fields, etc)
         _fr.postWrite(_fs).blockForPending();
+      if( _scattered )          // Collect the reduced slices
+        gather(ReduceScatter.gather(_scatterId));
       postGlobal();             // User's continuation work
     }
 
@@ -753,6 +906,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       for( int i=0; i<_appendables.length; i++ )
         _appendables[i].reduce(mrt._appendables[i]);
     if( _ex == null ) _ex = mrt._ex;
+    _scattered |= mrt._scattered;
+    _nstolen += mrt._nstolen;
     // User's reduction
     reduce(mrt);
   }
@@ -779,6 +934,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // catch & ignore, keeping only the first one we already got.
     RPC<T> nl = _nleft; if( nl != null ) try { nl.get(); } catch( Throwable ignore ) { } _nleft = null;
     RPC<T> nr = _nrite; if( nr != null ) try { nr.get(); } catch( Throwable ignore ) { } _nrite = null;
+    if( _topGlobal && _scatterId != 0 ) ReduceScatter.discard(_scatterId);
+    if( _topLocal && _stealId != 0 ) ChunkStealing.done(_stealId);
     return true;
   }
 
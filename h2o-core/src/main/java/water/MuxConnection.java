@@ -0,0 +1,439 @@
+package water;
+
+import jsr166y.ForkJoinPool;
+import water.nbhm.NonBlockingHashMapLong;
+import water.network.CompressedSocketChannel;
+import water.network.SocketChannelUtils;
+import water.util.Log;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A persistent TCP connection to another node carrying many large messages at once.
+ *
+ * Without it a large message claims one socket of a small per-node pool for its whole transfer, and every
+ * accepted socket gets its own reader thread.  When {@code sys.ai.h2o.network.multiplex} is enabled, a node
+ * instead keeps {@link #CONNECTIONS} connections open to each peer and every large message becomes a stream on
+ * the least busy one:
+ * <ul>
+ *   <li>the sender cuts the stream into frames of at most {@link #FRAME_SIZE} bytes, a single writer thread per
+ *   connection ships the queued frames highest message priority first - a bulk transfer does not hold back
+ *   e.g. a large RPC ack queued behind it;</li>
+ *   <li>a stream may only have {@link #WINDOW} bytes in flight, the receiver hands out more credit as the
+ *   message is read - a slow reader stalls its own stream, never the connection;</li>
+ *   <li>the receiver demultiplexes the frames in one thread per connection and reads every message in a F/J
+ *   task, see {@link Receiver}.</li>
+ * </ul>
+ * Small messages (heartbeats, UDP-sized acks, ...) keep their own batched connection, see
+ * {@link H2ONode#sendMessage}.
+ *
+ * A frame is a header (type, stream id, length) followed by the length bytes of a DATA frame.  The frames going
+ * back from the receiver (CREDIT, ACK and RESET) are written directly to the socket, like the close handshake
+ * bytes of the pooled sockets are: ACK takes the place of the 0xcd handshake byte, RESET of closing the socket
+ * when a message is not read (or written) to its end.
+ */
+final class MuxConnection {
+
+  static final boolean ENABLED = H2O.getSysBoolProperty("network.multiplex", false);
+  static final int CONNECTIONS = Integer.parseInt(H2O.getSysProperty("network.multiplex.connections", "2"));
+  static final int WINDOW = Integer.parseInt(H2O.getSysProperty("network.multiplex.window", String.valueOf(256 << 10)));
+  static final int FRAME_SIZE = 16 << 10;
+
+  // Frame types; OPEN and DATA go to the receiver, CREDIT and ACK come back, RESET goes either way
+  static final byte OPEN = 1, DATA = 2, CREDIT = 3, ACK = 4, RESET = 5;
+  static final int HEADER_SIZE = 1 + 4 + 4;
+
+  private final String _name;
+  private final ByteChannel _out;       // Frames to the receiver, possibly SSL and/or compressed
+  private final SocketChannel _sock;    // Frames back from the receiver
+  private final PriorityBlockingQueue<Frame> _queue = new PriorityBlockingQueue<>();
+  private final NonBlockingHashMapLong<OutStream> _streams = new NonBlockingHashMapLong<>();
+  private final AtomicInteger _ids = new AtomicInteger();
+  private final AtomicLong _seqs = new AtomicLong();
+  private final Writer _writer;
+  private volatile IOException _failure;
+
+  MuxConnection( String name, ByteChannel out, SocketChannel sock ) {
+    _name = name;
+    _out = out;
+    _sock = sock;
+    H2ONode.TCPS.incrementAndGet();
+    (_writer = new Writer()).start();
+    new ControlReader().start();
+  }
+
+  /** Open a multiplexed connection to the given node; compressed if enabled on this node. */
+  static MuxConnection open( H2ONode h2o ) throws IOException {
+    final boolean compressed = CompressedSocketChannel.isEnabled();
+    ByteChannel chan = H2ONode.openChan(compressed ? TCPReceiverThread.TCP_MUX_COMPRESSED : TCPReceiverThread.TCP_MUX,
+            h2o.getSocketFactory(), h2o._key.getAddress(), h2o._key.getPort(), H2O.SELF.getTimestamp());
+    SocketChannel sock = SocketChannelUtils.underlyingSocketChannel(chan);
+    if( compressed ) chan = new CompressedSocketChannel(chan, CompressedSocketChannel.CODEC);
+    return new MuxConnection("TCP-MUX-" + h2o, chan, sock);
+  }
+
+  boolean isOpen() { return _failure == null; }
+
+  /** Number of messages being sent right now */
+  int streams() { return _streams.size(); }
+
+  /** Start a new message of the given priority */
+  OutStream openStream( byte priority ) throws IOException {
+    if( _failure != null ) throw new IOException("Connection " + _name + " failed", _failure);
+    OutStream s = new OutStream(_ids.incrementAndGet(), priority);
+    _streams.put(s._id, s);
+    _queue.put(new Frame(OPEN, s, null));
+    return s;
+  }
+
+  void close() { fail(new ClosedChannelException()); }
+
+  // Fail all the messages in flight; a new connection is opened for the next ones
+  private void fail( IOException e ) {
+    synchronized( this ) {
+      if( _failure != null ) return;
+      _failure = e;
+    }
+    if( !(e instanceof ClosedChannelException) && !H2O.getShutdownRequested() )
+      Log.warn("Multiplexed connection " + _name + " failed: " + e);
+    try { _sock.close(); } catch( IOException ignore ) { }
+    _writer.interrupt();
+    for( OutStream s : _streams.values() ) s.wake();
+    H2ONode.TCPS.decrementAndGet();
+  }
+
+  private final class Frame implements Comparable<Frame> {
+    final byte _type;
+    final OutStream _stream;
+    final ByteBuffer _data;
+    final long _seq = _seqs.getAndIncrement(); // FIFO within a priority, keeps the frames of a stream in order
+    Frame( byte type, OutStream stream, ByteBuffer data ) { _type = type; _stream = stream; _data = data; }
+    @Override public int compareTo( Frame f ) {
+      if( _stream._priority != f._stream._priority ) return f._stream._priority - _stream._priority;
+      return Long.compare(_seq, f._seq);
+    }
+  }
+
+  // Ships the queued frames, highest priority first
+  private final class Writer extends Thread {
+    Writer() {
+      super(_name + "-WRITE");
+      ThreadHelper.initCommonThreadProperties(this);
+      setPriority(MAX_PRIORITY - 1);
+    }
+
+    @Override public void run() {
+      final ByteBuffer header = ByteBuffer.allocateDirect(HEADER_SIZE);
+      try {
+        while( _failure == null ) {
+          Frame f = _queue.take();
+          int len = f._data == null ? 0 : f._data.remaining();
+          if( f._type == DATA && f._stream.isReset() ) { // Nobody is reading it anymore
+            f._stream.written(len);
+            continue;
+          }
+          header.clear();
+          header.put(f._type).putInt(f._stream._id).putInt(len).flip();
+          write(header, f._data);
+          if( f._type == DATA ) f._stream.written(len);
+        }
+      } catch( InterruptedException ignore ) { // Connection failed
+      } catch( IOException e ) {
+        fail(e);
+      }
+    }
+
+    private void write( ByteBuffer header, ByteBuffer data ) throws IOException {
+      if( data != null && _out instanceof GatheringByteChannel ) {
+        ByteBuffer[] srcs = new ByteBuffer[]{header, data};
+        while( data.hasRemaining() ) ((GatheringByteChannel) _out).write(srcs);
+        return;
+      }
+      while( header.hasRemaining() ) _out.write(header);
+      if( data != null )
+        while( data.hasRemaining() ) _out.write(data);
+    }
+  }
+
+  // Reads the credits, acks and resets sent back by the receiver
+  private final class ControlReader extends Thread {
+    ControlReader() {
+      super(_name + "-CONTROL");
+      ThreadHelper.initCommonThreadProperties(this);
+      setPriority(MAX_PRIORITY - 1);
+    }
+
+    @Override public void run() {
+      final ByteBuffer bb = ByteBuffer.allocate(HEADER_SIZE);
+      try {
+        while( true ) {
+          bb.clear();
+          while( bb.hasRemaining() )
+            if( _sock.read(bb) < 0 ) throw new EOFException("Connection closed by the receiver");
+          bb.flip();
+          byte type = bb.get();
+          int id = bb.getInt(), len = bb.getInt();
+          OutStream s = _streams.get(id);
+          if( s == null ) continue; // Already closed on this side
+          switch( type ) {
+          case CREDIT: s.credit(len); break;
+          case ACK:    s.acked();     break;
+          case RESET:  s.reset();     break;
+          default: throw new IOException("Communication protocol failure: unexpected frame type " + type + " from the receiver of " + _name);
+          }
+        }
+      } catch( IOException e ) {
+        fail(e);
+      }
+    }
+  }
+
+  /** A message on a multiplexed connection, as seen by the AutoBuffer writing or reading it. */
+  abstract static class Stream implements ByteChannel {
+    /** The close handshake: the reader acknowledges the whole message was read, the writer waits for that. */
+    abstract void handshake() throws IOException;
+    /** Abort the message unless its handshake is done; the other side fails with an IOException. */
+    @Override public abstract void close();
+  }
+
+  /** The sending side of a message. */
+  final class OutStream extends Stream {
+    final int _id;
+    final byte _priority;
+    // All guarded by this
+    private int _credits = WINDOW;
+    private long _queued, _written;
+    private boolean _acked, _reset, _closed;
+
+    private OutStream( int id, byte priority ) { _id = id; _priority = priority; }
+
+    /** Queue the bytes as frames, blocking while out of credit; returns once they are all written. */
+    @Override public int write( ByteBuffer src ) throws IOException {
+      final int n = src.remaining();
+      while( src.hasRemaining() ) {
+        int len;
+        synchronized( this ) {
+          while( _credits == 0 && isOpen() ) try { wait(); } catch( InterruptedException ignore ) { }
+          check();
+          len = Math.min(Math.min(src.remaining(), FRAME_SIZE), _credits);
+          _credits -= len;
+          _queued += len;
+        }
+        ByteBuffer data = src.duplicate();
+        data.limit(data.position() + len);
+        _queue.put(new Frame(DATA, this, data));
+        src.position(src.position() + len);
+      }
+      // The frames point into src, which belongs to the caller again once we return
+      synchronized( this ) {
+        while( _written < _queued && _failure == null ) try { wait(); } catch( InterruptedException ignore ) { }
+      }
+      check();
+      return n;
+    }
+
+    @Override synchronized void handshake() throws IOException {
+      while( !_acked && !_reset && _failure == null ) try { wait(); } catch( InterruptedException ignore ) { }
+      if( !_acked ) check();
+    }
+
+    private void check() throws IOException {
+      if( _failure != null ) throw new IOException("Connection " + _name + " failed", _failure);
+      if( _reset ) throw new IOException("Other side closed the message before reading it all");
+      if( _closed ) throw new ClosedChannelException();
+    }
+
+    synchronized void credit( int n ) { _credits += n; notifyAll(); }
+    synchronized void written( int n ) { _written += n; notifyAll(); }
+    synchronized void acked() { _acked = true; notifyAll(); }
+    synchronized void reset() { _reset = true; notifyAll(); }
+    synchronized boolean isReset() { return _reset; }
+    synchronized void wake() { notifyAll(); }
+
+    @Override public void close() {
+      synchronized( this ) {
+        if( _closed ) return;
+        _closed = true;
+        notifyAll();
+      }
+      _streams.remove(_id);
+      if( !_acked && !_reset && _failure == null ) _queue.put(new Frame(RESET, this, null));
+    }
+
+    @Override public synchronized boolean isOpen() { return !_closed && !_reset && _failure == null; }
+
+    @Override public int read( ByteBuffer dst ) { throw new UnsupportedOperationException("Write-only stream"); }
+  }
+
+  /** Reads the frames of an accepted multiplexed connection, and hands every new message to {@link #accept}. */
+  static class Receiver extends Thread {
+    private final ByteChannel _in;      // Possibly SSL and/or compressed
+    private final SocketChannel _sock;  // Frames back to the sender
+    private final H2ONode _h2o;
+    final InetAddress _address;
+    final short _timestamp;
+    private final NonBlockingHashMapLong<InStream> _streams = new NonBlockingHashMapLong<>();
+    private final ByteBuffer _control = ByteBuffer.allocate(HEADER_SIZE);
+
+    Receiver( ByteChannel in, SocketChannel sock, H2ONode h2o, InetAddress address, short timestamp ) {
+      super("TCP-MUX-READ-" + h2o);
+      ThreadHelper.initCommonThreadProperties(this);
+      _in = in;
+      _sock = sock;
+      _h2o = h2o;
+      _address = address;
+      _timestamp = timestamp;
+      setPriority(MAX_PRIORITY - 1);
+    }
+
+    @Override public void run() {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      try {
+        while( readFully(header) ) {
+          header.flip();
+          byte type = header.get();
+          int id = header.getInt(), len = header.getInt();
+          if( len < 0 || len > FRAME_SIZE || (type != DATA && len != 0) )
+            throw new IOException("Communication protocol failure: frame of type " + type + " and length " + len + " from " + _h2o);
+          _h2o._last_heard_from = System.currentTimeMillis();
+          switch( type ) {
+          case OPEN: {
+            InStream s = new InStream(this, id);
+            _streams.put(id, s);
+            accept(s);
+            break;
+          }
+          case DATA: {
+            byte[] data = MemoryManager.malloc1(len);
+            if( !readFully(ByteBuffer.wrap(data)) ) throw new EOFException("Connection closed in the middle of a frame");
+            InStream s = _streams.get(id);
+            if( s != null ) s.offer(data); // Else the reader gave up on the message
+            break;
+          }
+          case RESET: {
+            InStream s = _streams.remove(id);
+            if( s != null ) s.reset();
+            break;
+          }
+          default: throw new IOException("Communication protocol failure: unexpected frame type " + type + " from " + _h2o);
+          }
+        }
+      } catch( AsynchronousCloseException ignore ) { // Socket closed for shutdown
+      } catch( IOException e ) {
+        if( !H2O.getShutdownRequested() ) Log.err("IO error on multiplexed connection from " + _h2o + ": ", e);
+      } finally {
+        for( InStream s : _streams.values() ) s.reset();
+        try { _sock.close(); } catch( IOException ignore ) { }
+      }
+    }
+
+    // False at the end of the stream, before any byte of the header was read
+    private boolean readFully( ByteBuffer bb ) throws IOException {
+      bb.clear();
+      while( bb.hasRemaining() ) {
+        if( _in.read(bb) < 0 ) {
+          if( bb.position() == 0 ) return false;
+          throw new EOFException("Connection closed in the middle of a frame");
+        }
+      }
+      return true;
+    }
+
+    /** Read the new message, in a F/J task at the priority remote tasks are deserialized at. */
+    void accept( final InStream s ) {
+      H2O.submitTask(new H2O.H2OCountedCompleter(H2O.DESERIAL_PRIORITY) {
+        @Override public void compute2() {
+          try {
+            TCPReceiverThread.handle(new AutoBuffer(s, _address, _timestamp));
+          } catch( Throwable t ) {
+            if( !s.isReset() ) Log.err("Failed to read a message from " + _h2o + ": ", t);
+          } finally {
+            s.close();          // No-op once the message was read and acked
+          }
+          tryComplete();
+        }
+      });
+    }
+
+    synchronized void sendControl( byte type, int id, int len ) throws IOException {
+      _control.clear();
+      _control.put(type).putInt(id).putInt(len).flip();
+      while( _control.hasRemaining() ) _sock.write(_control);
+    }
+  }
+
+  /** The receiving side of a message, fed with its frames by the {@link Receiver}. */
+  static final class InStream extends Stream implements ForkJoinPool.ManagedBlocker {
+    private final Receiver _r;
+    private final int _id;
+    private final ArrayDeque<byte[]> _frames = new ArrayDeque<>(); // Guarded by this
+    private boolean _reset, _closed;                               // Guarded by this
+    private ByteBuffer _current;        // Frame being read
+    private int _consumed;              // Bytes read since the last credit was sent
+
+    InStream( Receiver r, int id ) { _r = r; _id = id; }
+
+    synchronized void offer( byte[] data ) { _frames.add(data); notifyAll(); }
+    synchronized void reset() { _reset = true; notifyAll(); }
+    synchronized boolean isReset() { return _reset; }
+
+    @Override public synchronized boolean isReleasable() { return _reset || !_frames.isEmpty(); }
+    @Override public synchronized boolean block() {
+      while( !isReleasable() ) try { wait(); } catch( InterruptedException ignore ) { }
+      return true;
+    }
+
+    @Override public int read( ByteBuffer dst ) throws IOException {
+      if( _current == null || !_current.hasRemaining() ) {
+        while( !isReleasable() ) try { ForkJoinPool.managedBlock(this); } catch( InterruptedException ignore ) { }
+        synchronized( this ) {
+          if( _reset ) throw new IOException("Other side closed the message before writing it all");
+          _current = ByteBuffer.wrap(_frames.poll());
+        }
+      }
+      int n = Math.min(dst.remaining(), _current.remaining());
+      ByteBuffer src = _current.duplicate();
+      src.limit(src.position() + n);
+      dst.put(src);
+      _current.position(_current.position() + n);
+      if( (_consumed += n) >= WINDOW / 2 ) {
+        _r.sendControl(CREDIT, _id, _consumed);
+        _consumed = 0;
+      }
+      return n;
+    }
+
+    @Override void handshake() throws IOException {
+      synchronized( this ) { _closed = true; }
+      _r._streams.remove(_id);
+      _r.sendControl(ACK, _id, 0);
+    }
+
+    @Override public void close() {
+      synchronized( this ) {
+        if( _closed ) return;
+        _closed = true;
+      }
+      _r._streams.remove(_id);
+      if( !isReset() )
+        try { _r.sendControl(RESET, _id, 0); } catch( IOException ignore ) { } // Connection is gone anyways
+    }
+
+    @Override public synchronized boolean isOpen() { return !_closed; }
+
+    @Override public int write( ByteBuffer src ) { throw new UnsupportedOperationException("Read-only stream"); }
+  }
+
+}
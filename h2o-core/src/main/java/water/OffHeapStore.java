@@ -0,0 +1,136 @@
+package water;
+
+import water.util.Log;
+import water.util.PrettyPrint;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-heap storage tier for the serialized bytes of K/V Values.
+ *
+ * The {@link Cleaner} moves cold Chunk payloads into large direct {@link
+ * ByteBuffer} slabs (outside of the Java heap, so never walked by the GC) and
+ * the {@link Value} keeps only a handle into the slab.  On the next access the
+ * bytes are copied back into the heap by {@link Value#memOrLoad()}, exactly as
+ * for a Value swapped to the ice directory - but without any disk i/o.
+ *
+ * Slabs use bump-pointer allocation; a slab is recycled once all the Values
+ * allocated in it have been released.  Values larger than a slab are never
+ * stored off-heap.  When the off-heap tier is full, the Cleaner falls back to
+ * spilling to disk, and it also drains off-heap Values to disk once the tier
+ * is above 7/8 of its capacity.
+ *
+ * The tier is disabled by default; enable it by setting the system property
+ * {@code sys.ai.h2o.offheap.max} to the maximal number of off-heap bytes.
+ */
+abstract public class OffHeapStore {
+
+  // Max off-heap capacity in bytes; 0 if the off-heap tier is disabled.
+  // Not final, only so it can be changed for testing.
+  static long MAX = Long.parseLong(H2O.getSysProperty("offheap.max", "0"));
+
+  // Size of a single direct-memory slab
+  static final int SLAB_SIZE = Integer.parseInt(H2O.getSysProperty("offheap.slab.size", String.valueOf(64 << 20)));
+
+  private static final ArrayList<Slab> _slabs = new ArrayList<>();
+  private static Slab _cur;     // Slab we are currently bump-allocating from
+
+  // Bytes of live Values currently held off-heap
+  private static final AtomicLong _used = new AtomicLong();
+
+  public static boolean isEnabled() { return MAX > 0; }
+  /** @return number of bytes of live Values stored off-heap */
+  public static long used() { return _used.get(); }
+  /** @return number of bytes of direct memory reserved by the off-heap slabs */
+  public static synchronized long reserved() { return (long) _slabs.size() * SLAB_SIZE; }
+  /** @return true if the tier is nearly full and should be drained to disk */
+  static boolean isHigh() { return _used.get() > MAX - (MAX >> 3); }
+
+  private static final class Slab {
+    final int _idx;
+    final ByteBuffer _bb;
+    int _top;                   // Bump-pointer
+    int _live;                  // Bytes of live Values in this slab
+    Slab(int idx) { _idx = idx; _bb = ByteBuffer.allocateDirect(SLAB_SIZE); }
+    boolean fits(int len) { return _top + len <= SLAB_SIZE; }
+  }
+
+  // Handles encode the 1-based slab index in the high word and the offset in
+  // the low word; 0 is reserved for "not off-heap".
+  private static long handle(Slab s, int off) { return ((long) (s._idx + 1) << 32) | off; }
+  private static int slabIdx(long handle) { return (int) (handle >>> 32) - 1; }
+  private static int offset(long handle) { return (int) handle; }
+
+  /** Copy the given bytes off-heap.
+   *  @return a non-zero handle, or 0 if the bytes do not fit in the off-heap tier */
+  static long store(byte[] mem) {
+    if( !isEnabled() || mem.length == 0 || mem.length > SLAB_SIZE ) return 0;
+    Slab s;
+    int off;
+    synchronized( OffHeapStore.class ) {
+      s = allocSlab(mem.length);
+      if( s == null ) return 0;
+      off = s._top;
+      s._top += mem.length;
+      s._live += mem.length;
+    }
+    ByteBuffer bb = s._bb.duplicate();
+    bb.position(off);
+    bb.put(mem);
+    _used.addAndGet(mem.length);
+    return handle(s, off);
+  }
+
+  // Find a slab with room for len bytes: the current one, a recycled empty
+  // one, or a freshly allocated one if we are below the MAX.
+  private static Slab allocSlab(int len) {
+    if( _cur != null && _cur.fits(len) ) return _cur;
+    for( Slab s : _slabs )
+      if( s._live == 0 ) { s._top = 0; return (_cur = s); }
+    if( reserved() + SLAB_SIZE > MAX ) return null;
+    try {
+      Slab s = new Slab(_slabs.size());
+      _slabs.add(s);
+      return (_cur = s);
+    } catch( OutOfMemoryError oom ) { // Direct memory exhausted (-XX:MaxDirectMemorySize)
+      Log.warn("Unable to allocate off-heap slab of " + PrettyPrint.bytes(SLAB_SIZE) + ", off-heap tier holds " + PrettyPrint.bytes(used()));
+      return null;
+    }
+  }
+
+  /** Copy len bytes at the given handle back into a new heap array. */
+  static byte[] load(long handle, int len) {
+    Slab s;
+    synchronized( OffHeapStore.class ) { s = _slabs.get(slabIdx(handle)); }
+    byte[] mem = MemoryManager.malloc1(len);
+    ByteBuffer bb = s._bb.duplicate();
+    bb.position(offset(handle));
+    bb.get(mem, 0, len);
+    return mem;
+  }
+
+  /** @return read-only view of the len bytes at the given handle, for writing them out without a heap copy */
+  static ByteBuffer slice(long handle, int len) {
+    Slab s;
+    synchronized( OffHeapStore.class ) { s = _slabs.get(slabIdx(handle)); }
+    ByteBuffer bb = s._bb.asReadOnlyBuffer();
+    bb.position(offset(handle)).limit(offset(handle) + len);
+    return bb;
+  }
+
+  /** Release len bytes at the given handle; the slab is recycled once empty. */
+  static void free(long handle, int len) {
+    synchronized( OffHeapStore.class ) {
+      Slab s = _slabs.get(slabIdx(handle));
+      s._live -= len;
+      assert s._live >= 0;
+    }
+    _used.addAndGet(-len);
+  }
+
+  static String stats() {
+    return "OFFHEAP:" + PrettyPrint.bytes(used()) + "/" + PrettyPrint.bytes(reserved());
+  }
+}
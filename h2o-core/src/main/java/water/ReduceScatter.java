@@ -0,0 +1,118 @@
+package water;
+
+import water.nbhm.NonBlockingHashMapLong;
+
+/**
+ * Reduce-scatter of large MRTask results, see {@link MRTask#scatter(int)}.
+ *
+ * Every node splits its node-local result in one slice per node of the cloud and sends slice p to node p, which
+ * reduces the slices of all the nodes into its own. When the task is done, the node which started it fetches
+ * the reduced slices directly from the nodes. Every node merges 1/N of the payload, and the payload no longer goes
+ * through the inner nodes of the reduction tree.
+ */
+final class ReduceScatter {
+
+  // Reduced slices homed on this node, by the id of the task
+  private static final NonBlockingHashMapLong<ReduceSlice> SLICES = new NonBlockingHashMapLong<>();
+
+  // Discarded tasks with the time of the discard: slices still on their way are dropped when they arrive
+  private static final NonBlockingHashMapLong<Long> DISCARDED = new NonBlockingHashMapLong<>();
+
+  // How long to remember a discarded task; the slices of a failed task arrive well before that
+  private static final long DISCARDED_TTL_MS = 10 * 60 * 1000;
+
+  /** Sends slice p to node p, blocks until all the slices are reduced. */
+  static void scatter(long id, ReduceSlice[] slices) {
+    assert slices.length == H2O.CLOUD.size();
+    RPC[] rpcs = new RPC[slices.length];
+    for( int p = 0; p < slices.length; p++ ) {
+      H2ONode node = H2O.CLOUD._memary[p];
+      if( node == H2O.SELF ) add(id, slices[p]);
+      else rpcs[p] = new RPC<>(node, new AddSliceTask(id, slices[p])).call();
+    }
+    for( RPC rpc : rpcs )
+      if( rpc != null ) rpc.get();
+  }
+
+  /** @return the reduced slices of all the nodes
+   *  @throws IllegalStateException if a node has no slice of the task (every node gets one from every node which
+   *  scattered its result) */
+  static ReduceSlice[] gather(long id) {
+    final int n = H2O.CLOUD.size();
+    ReduceSlice[] res = new ReduceSlice[n];
+    RPC<GetSliceTask>[] rpcs = new RPC[n];
+    for( int p = 0; p < n; p++ ) {
+      H2ONode node = H2O.CLOUD._memary[p];
+      if( node == H2O.SELF ) res[p] = SLICES.remove(id);
+      else rpcs[p] = new RPC<>(node, new GetSliceTask(id)).call();
+    }
+    for( int p = 0; p < n; p++ )
+      if( rpcs[p] != null ) res[p] = rpcs[p].get()._slice;
+    for( int p = 0; p < n; p++ )
+      if( res[p] == null )
+        throw new IllegalStateException("Reduce-scatter " + id + ": the slice of node " + H2O.CLOUD._memary[p] + " is missing");
+    return res;
+  }
+
+  /** Drops the slices of a failed task, does not block.  Slices added after
+   *  the discard (by nodes still scattering) are dropped as well. */
+  static void discard(long id) {
+    for( H2ONode node : H2O.CLOUD._memary ) {
+      if( node == H2O.SELF ) discard0(id);
+      else new RPC<>(node, new DiscardTask(id)).call();
+    }
+  }
+
+  private static void discard0(long id) {
+    long now = System.currentTimeMillis();
+    DISCARDED.put(id, Long.valueOf(now));
+    SLICES.remove(id);
+    for( long old : DISCARDED.keySetLong() ) { // Forget the old discards
+      Long t = DISCARDED.get(old);
+      if( t != null && now - t > DISCARDED_TTL_MS ) DISCARDED.remove(old);
+    }
+  }
+
+  private static void add(long id, ReduceSlice s) {
+    if( DISCARDED.containsKey(id) ) return; // Late slice of a failed task
+    ReduceSlice acc = SLICES.putIfAbsent(id, s);
+    if( acc != null )
+      synchronized( acc ) { acc.reduce(s); }
+    if( DISCARDED.containsKey(id) )         // Discarded meanwhile
+      SLICES.remove(id);
+  }
+
+  /** @return true if slices of the task are held on this node; for tests */
+  static boolean hasSlice(long id) { return SLICES.containsKey(id); }
+
+  private static class AddSliceTask extends DTask<AddSliceTask> {
+    private final long _id;
+    private ReduceSlice _slice;
+    AddSliceTask(long id, ReduceSlice slice) { _id = id; _slice = slice; }
+    @Override public void compute2() {
+      add(_id, _slice);
+      _slice = null;
+      tryComplete();
+    }
+  }
+
+  private static class DiscardTask extends DTask<DiscardTask> {
+    private final long _id;
+    DiscardTask(long id) { _id = id; }
+    @Override public void compute2() {
+      discard0(_id);
+      tryComplete();
+    }
+  }
+
+  private static class GetSliceTask extends DTask<GetSliceTask> {
+    private final long _id;
+    ReduceSlice _slice;
+    GetSliceTask(long id) { _id = id; }
+    @Override public void compute2() {
+      _slice = SLICES.remove(_id);
+      tryComplete();
+    }
+  }
+
+}
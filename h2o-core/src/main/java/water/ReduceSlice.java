@@ -0,0 +1,14 @@
+package water;
+
+/**
+ * A part of a large MRTask result, reduced on its own node of the cloud (see {@link MRTask#scatter(int)}).
+ *
+ * Slice p of every node is reduced on node p; the same slices of different nodes must cover the same part of the
+ * result.
+ */
+public abstract class ReduceSlice<S extends ReduceSlice<S>> extends Iced<S> {
+
+  /** Reduces the same slice of another node into this one. */
+  public abstract void reduce(S s);
+
+}
@@ -10,6 +10,7 @@ import java.nio.channels.SocketChannel;
 import java.util.Date;
 import java.util.Random;
 
+import water.network.CompressedSocketChannel;
 import water.network.SocketChannelFactory;
 import water.util.Log;
 import water.util.SB;
@@ -42,6 +43,17 @@ public class TCPReceiverThread extends Thread {
    */
   static final byte TCP_EXTERNAL = 3;
 
+  /**
+   * Byte representing TCP communication for big data, compressed by {@link CompressedSocketChannel}
+   */
+  static final byte TCP_BIG_COMPRESSED = 4;
+
+  /**
+   * Bytes representing a persistent connection carrying many big messages at once, see {@link MuxConnection}
+   */
+  static final byte TCP_MUX = 5;
+  static final byte TCP_MUX_COMPRESSED = 6;
+
   public TCPReceiverThread(
           ServerSocketChannel sock) {
     super("TCP-Accept");
@@ -87,7 +99,7 @@ public class TCPReceiverThread extends Thread {
           wrappedSocket.read(bb);
         }
         bb.flip();
-        int chanType = bb.get(); // 1 - small, 2 - big, 3 - external
+        int chanType = bb.get(); // 1 - small, 2 - big, 3 - external, 4 - big compressed, 5/6 - multiplexed (compressed)
         short timestamp = bb.getShort(); // read timestamp
                                          // Note: timestamp was not part of the original protocol, was added in 3.22.0.1, #a33de44)
         if (H2ONodeTimestamp.decodeIsClient(timestamp) && !H2O.ARGS.allow_clients) {
@@ -116,12 +128,22 @@ public class TCPReceiverThread extends Thread {
         case TCP_BIG:
           new TCPReaderThread(wrappedSocket, new AutoBuffer(wrappedSocket, inetAddress, timestamp), inetAddress, timestamp).start();
           break;
+        case TCP_BIG_COMPRESSED:
+          wrappedSocket = new CompressedSocketChannel(wrappedSocket, CompressedSocketChannel.Codec.NONE);
+          new TCPReaderThread(wrappedSocket, new AutoBuffer(wrappedSocket, inetAddress, timestamp), inetAddress, timestamp).start();
+          break;
+        case TCP_MUX:
+        case TCP_MUX_COMPRESSED:
+          if( chanType == TCP_MUX_COMPRESSED )
+            wrappedSocket = new CompressedSocketChannel(wrappedSocket, CompressedSocketChannel.Codec.NONE);
+          new MuxConnection.Receiver(wrappedSocket, sock, H2ONode.intern(inetAddress, port, timestamp), inetAddress, timestamp).start();
+          break;
         case TCP_EXTERNAL:
           new ExternalFrameHandlerThread(wrappedSocket, new AutoBuffer(wrappedSocket)).start();
           break;
         default:
           ListenerService.getInstance().report("protocol-failure", "channel-type", chanType);
-          throw new IOException("Communication protocol failure: Unexpected channel type " + chanType + ", only know 1 - Small, 2 - Big and 3 - ExternalFrameHandling");
+          throw new IOException("Communication protocol failure: Unexpected channel type " + chanType + ", only know 1 - Small, 2 - Big, 3 - ExternalFrameHandling, 4 - Big compressed and 5/6 - Multiplexed (compressed)");
         }
       } catch( java.nio.channels.AsynchronousCloseException ex ) {
         break;                  // Socket closed for shutdown
@@ -158,19 +180,7 @@ public class TCPReceiverThread extends Thread {
     public void run() {
       while( true ) { // Loop, reading fresh TCP requests until the sender closes
         try {
-          // Record the last time we heard from any given Node
-          _ab._h2o._last_heard_from = System.currentTimeMillis();
-          TimeLine.record_recv(_ab, true, 0);
-          // Hand off the TCP connection to the proper handler
-          int ctrl = _ab.getCtrl();
-          int x = ctrl;
-          if( ctrl < 0 || ctrl >= UDP.udp.UDPS.length ) x = 0;
-          switch( UDP.udp.UDPS[x] ) {
-          case exec:     RPC.remote_exec  (_ab); break;
-          case ack:      RPC.tcp_ack      (_ab); break;
-          case timeline: TimeLine.tcp_call(_ab); break;
-          default: throw new RuntimeException("Unknown TCP Type: " + ctrl+" "+_ab._h2o);
-          }
+          handle(_ab);
         } catch( java.nio.channels.AsynchronousCloseException ex ) {
           break;                // Socket closed for shutdown
         } catch( Throwable e ) {
@@ -195,6 +205,23 @@ public class TCPReceiverThread extends Thread {
   }
 
 
+  // Read one big message; also used for the messages of multiplexed connections
+  static void handle( AutoBuffer ab ) throws IOException {
+    // Record the last time we heard from any given Node
+    ab._h2o._last_heard_from = System.currentTimeMillis();
+    TimeLine.record_recv(ab, true, 0);
+    // Hand off the TCP connection to the proper handler
+    int ctrl = ab.getCtrl();
+    int x = ctrl;
+    if( ctrl < 0 || ctrl >= UDP.udp.UDPS.length ) x = 0;
+    switch( UDP.udp.UDPS[x] ) {
+    case exec:     RPC.remote_exec  (ab); break;
+    case ack:      RPC.tcp_ack      (ab); break;
+    case timeline: TimeLine.tcp_call(ab); break;
+    default: throw new RuntimeException("Unknown TCP Type: " + ctrl+" "+ab._h2o);
+    }
+  }
+
   /** A private thread reading small messages from a tcp channel.  The thread
    *  reads the raw bytes of a message from the channel, copies them into a
    *  byte array which is than passed on to FJQ.  Each message is expected to
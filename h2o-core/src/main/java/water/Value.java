@@ -2,6 +2,8 @@ package water;
 
 import java.io.IOException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import jsr166y.ForkJoinPool;
 import water.fvec.Frame;
@@ -97,13 +99,13 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   /** Invalidate byte[] cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freeMem() {
-    assert isPersisted() || _pojo != null || _key.isChunkKey();
+    assert isPersisted() || isOffHeap() || _pojo != null || _key.isChunkKey();
     _mem = null;
   }
   /** Invalidate POJO cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freePOJO() {
-    assert isPersisted() || _mem != null;
+    assert isPersisted() || isOffHeap() || _mem != null;
     _pojo = null;
   }
 
@@ -117,11 +119,86 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     if( pojo != null )          // Has the POJO, make raw bytes
       return _mem = pojo.asBytes();
     if( _max == 0 ) return (_mem = new byte[0]);
+    long offHeap = pinOffHeap();
+    if( offHeap != 0 ) {        // Has an off-heap copy, copy back into the heap
+      try { return (_mem = OffHeapStore.load(offHeap,_max)); }
+      finally { unpinOffHeap(); }
+    }
     return (_mem = loadPersist());
   }
   // Just an empty shell of a Value, no local data but the Value is "real".
   // Any attempt to look at the Value will require a remote fetch.
-  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && !isPersisted(); }
+  final boolean isEmpty() { return _max > 0 && _mem==null && _pojo == null && !isPersisted() && !isOffHeap(); }
+
+  // ---
+  // Handle of a copy of the _mem array in the off-heap tier, or 0 if there is
+  // no off-heap copy.  Like the on-disk copy it stays valid until the Value is
+  // removed or replaced, so the Cleaner can drop the heap copies at will.
+  private transient volatile long _offHeap;
+  private static final AtomicLongFieldUpdater<Value> OFFHEAP_UPDATER =
+    AtomicLongFieldUpdater.newUpdater(Value.class, "_offHeap");
+  // Number of threads reading the off-heap copy, plus the FREEING bit once the
+  // copy is to be released: the last reader releases it then.  A released
+  // region may be reused by the next Value stored off-heap.
+  private transient volatile int _offHeapReaders;
+  private static final int FREEING = 1 << 30;
+  private static final AtomicIntegerFieldUpdater<Value> READERS_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(Value.class, "_offHeapReaders");
+  /** Check if the backing byte[] has a copy in the {@link OffHeapStore} */
+  public final boolean isOffHeap() { return _offHeap != 0; }
+
+  /** Copy the byte[] form into the off-heap tier.  Only called by the Cleaner.
+   *  @return true if the Value now has an off-heap copy */
+  boolean storeOffHeap() {
+    if( isOffHeap() ) return true;
+    if( isDeleted() || !onICE() ) return false;
+    long h = OffHeapStore.store(memOrLoad());
+    if( h == 0 ) return false;  // Off-heap tier full
+    _offHeap = h;               // Not atomic, but only the Cleaner stores
+    if( isDeleted() )           // Check del bit AFTER setting handle; close race with deleting user thread
+      freeOffHeap();
+    return isOffHeap();
+  }
+
+  /** Release the off-heap copy, if any.  Only valid if the Value is either
+   *  being removed, or has some other copy (heap, POJO or disk).  The copy is
+   *  released once its current readers are done with it. */
+  void freeOffHeap() {
+    if( _offHeap == 0 ) return;
+    int r;
+    do r = _offHeapReaders;
+    while( !READERS_UPDATER.compareAndSet(this,r,r|FREEING) );
+    if( r == 0 ) releaseOffHeap(); // No reader, release now
+  }
+
+  // Release the off-heap copy; called by the freeing thread or the last reader
+  private void releaseOffHeap() {
+    long h = _offHeap;
+    if( h != 0 && OFFHEAP_UPDATER.compareAndSet(this,h,0) )
+      OffHeapStore.free(h,_max);
+    READERS_UPDATER.compareAndSet(this,FREEING,0);
+  }
+
+  /** Pin the off-heap copy for reading, it is not released (and its region is
+   *  not reused) until {@link #unpinOffHeap()}.
+   *  @return the handle of the off-heap copy, or 0 (and not pinned) if there
+   *  is none or it is being released */
+  long pinOffHeap() {
+    int r;
+    do {
+      r = _offHeapReaders;
+      if( (r & FREEING) != 0 ) return 0;
+    } while( !READERS_UPDATER.compareAndSet(this,r,r+1) );
+    long h = _offHeap;
+    if( h == 0 ) unpinOffHeap();
+    return h;
+  }
+
+  /** Done reading the off-heap copy pinned by {@link #pinOffHeap()} */
+  void unpinOffHeap() {
+    if( READERS_UPDATER.decrementAndGet(this) == FREEING )
+      releaseOffHeap();         // Last reader of a copy being freed
+  }
 
   /** The FAST path get-POJO as an {@link Iced} subclass - final method for
    *  speed.  Will (re)build the POJO from the _mem array.  Never returns NULL.
@@ -227,6 +304,7 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
     if( !onICE() ) return;      // Wrong filestore?
     if( isDeleted() ) return;   // Already deleted?
     setDel();                   // Set del bit BEFORE testing isPersist
+    freeOffHeap();              // and BEFORE releasing the off-heap copy
     if( !isPersisted() ) return;// Nothing there
     H2O.getPM().delete(backend(), this); // Possibly nothing to delete (race with writer)
   }
@@ -363,7 +441,19 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   // and the normal serializer then might ship over a null instead of the
   // intended byte[].  Also, the value is NOT on the deserialize'd machines disk
   public final AutoBuffer write_impl( AutoBuffer ab ) {
-    return ab.put1(_persist).put2(_type).putA1(memOrLoad());
+    ab.put1(_persist).put2(_type);
+    // A Value held only off-heap is written straight from its slab, without
+    // bringing the bytes back into the heap.  The copy stays pinned while the
+    // bytes are sent (putA1 consumes the whole buffer before returning), a
+    // concurrent free only releases the region once the write is done.
+    if( _mem == null && _pojo == null ) {
+      long offHeap = pinOffHeap();
+      if( offHeap != 0 ) {
+        try { return ab.putA1(OffHeapStore.slice(offHeap,_max)); }
+        finally { unpinOffHeap(); }
+      }
+    }
+    return ab.putA1(memOrLoad());
   }
   // Custom serializer: set _max from _mem length; set replicas & timestamp.
   public final Value read_impl(AutoBuffer bb) {
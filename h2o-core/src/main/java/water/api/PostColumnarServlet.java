@@ -0,0 +1,63 @@
+package water.api;
+
+import water.Key;
+import water.fvec.ColumnarBatches;
+import water.fvec.Frame;
+import water.server.ServletUtils;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+
+/**
+ * Creates a frame directly from a stream of columnar record batches (see {@link ColumnarBatches} for the format),
+ * without parsing. The batches are either the body of the request or a multipart file.
+ */
+public class PostColumnarServlet extends HttpServlet {
+
+  @Override
+  protected void doPost(HttpServletRequest request, HttpServletResponse response) {
+    String uri = ServletUtils.getDecodedUri(request);
+
+    try {
+      String destination_frame = request.getParameter("destination_frame");
+      if (destination_frame == null) {
+        destination_frame = "columnar" + Key.rand();
+      }
+
+      //
+      // Here is an example of how to upload the record batches from the command line.
+      //
+      // curl -v --data-binary "@batches.bin" -H "Content-Type: application/octet-stream" "http://localhost:54321/3/PostColumnar.bin?destination_frame=a.hex"
+      //
+      // JSON Payload returned is:
+      //     { "destination_frame": "key_name", "rows": nnn, "columns": nnn }
+      //
+      InputStream is;
+      String ct = request.getContentType();
+      if (ct != null && ct.startsWith("multipart/form-data")) {
+        is = ServletUtils.extractPartInputStream(request, response);
+        if (is == null) {
+          return;
+        }
+      } else {
+        is = request.getInputStream();
+      }
+
+      Frame fr = ColumnarBatches.readFrame(Key.<Frame>make(destination_frame), new BufferedInputStream(is));
+      String responsePayload = "{ " +
+          "\"destination_frame\": \"" + destination_frame + "\", " +
+          "\"rows\": " + fr.numRows() + ", " +
+          "\"columns\": " + fr.numCols() + " " +
+          "}\n";
+      response.setContentType("application/json");
+      response.getWriter().write(responsePayload);
+    } catch (Exception e) {
+      ServletUtils.sendErrorResponse(response, e, uri);
+    } finally {
+      ServletUtils.logRequest("POST", request, response);
+    }
+  }
+}
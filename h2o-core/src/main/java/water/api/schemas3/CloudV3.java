@@ -157,6 +157,8 @@ public class CloudV3 extends RequestSchemaV3<Iced, CloudV3> {
     public long max_mem;
     @API(help="Size of data on node's disk", direction=API.Direction.OUTPUT)
     public long swap_mem;
+    @API(help="Size of data in node's off-heap memory", direction=API.Direction.OUTPUT)
+    public long offheap_mem;
 
     @API(help="#local keys", direction=API.Direction.OUTPUT)
     public int num_keys;
@@ -204,6 +206,7 @@ public class CloudV3 extends RequestSchemaV3<Iced, CloudV3> {
       pojo_mem = hb.get_pojo_mem();
       free_mem = hb.get_free_mem();
       swap_mem = hb.get_swap_mem();
+      offheap_mem = hb.get_offheap_mem();
       max_mem = pojo_mem + free_mem + mem_value_size;
       num_keys = hb._keys;
 
@@ -2,6 +2,7 @@ package water.api.schemas3;
 
 import water.api.API;
 import water.api.FramesHandler.Frames;
+import water.fvec.ExportFormat;
 import water.fvec.Frame;
 
 public class FramesV3 extends RequestSchemaV3<Frames, FramesV3> {
@@ -46,6 +47,9 @@ public class FramesV3 extends RequestSchemaV3<Frames, FramesV3> {
   @API(help="Field separator (default ',')")
   public byte separator = Frame.CSVStreamParams.DEFAULT_SEPARATOR;
 
+  @API(help="Output format (default CSV; PARQUET available depending on runtime environment)")
+  public String format = ExportFormat.CSV;
+
   @API(help="Job for export file",direction=API.Direction.OUTPUT)
   public JobV3 job;
 
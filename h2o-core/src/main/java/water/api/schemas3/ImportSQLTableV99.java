@@ -35,4 +35,11 @@ public class ImportSQLTableV99 extends RequestSchemaV3<Iced,ImportSQLTableV99> {
   @API(help = "Mode for data loading. All modes may not be supported by all databases.")
   public String fetch_mode;
 
+  @API(help = "Numeric or date/time column used to split the table into ranges read in parallel (DISTRIBUTED mode only). " +
+          "If not given, the table is split by LIMIT/OFFSET.")
+  public String split_column;
+
+  @API(help = "Number of rows fetched from the database in a single round trip (0 = default).")
+  public int fetch_size;
+
 }
@@ -59,6 +59,11 @@ public class ParseV3 extends RequestSchemaV3<Iced, ParseV3> {
   @API(help="Custom characters to be treated as non-data line markers", direction=API.Direction.INPUT)
   public String custom_non_data_line_markers;
 
+  @API(help="Row filters, only the rows satisfying all of them are parsed (e.g. 'year >= 2015', 'month in (1, 2)'). " +
+          "Pushed down to row group statistics, currently supported by the Parquet parser only.",
+          direction=API.Direction.INPUT)
+  public String[] row_filters;
+
   // Output fields
   @API(help="Parse job", direction=API.Direction.OUTPUT)
   public JobV3 job;
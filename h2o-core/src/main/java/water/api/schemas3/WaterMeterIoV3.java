@@ -11,6 +11,12 @@ public class WaterMeterIoV3 extends RequestSchemaV3<WaterMeterIo, WaterMeterIoV3
   @API(help="array of IO info", direction = API.Direction.OUTPUT)
   public WaterMeterIo.IoStatsEntry persist_stats[];
 
+  @API(help="compression of the TCP traffic", direction = API.Direction.OUTPUT)
+  public WaterMeterIo.NetworkStatsEntry network_stats;
+
+  @API(help="chunks exchanged by the MRTask chunk stealing", direction = API.Direction.OUTPUT)
+  public WaterMeterIo.MRTaskStatsEntry mrtask_stats;
+
   // Version&Schema-specific filling into the implementation object
   public WaterMeterIo createImpl() {
     WaterMeterIo obj = new WaterMeterIo();
@@ -2,6 +2,8 @@ package water.fvec;
 
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 /**
  * The constant 'long' column.
  */
@@ -57,4 +59,27 @@ public class C0LChunk extends Chunk {
         v.addValue(_con);
     return v;
   }
+
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals,0,to-from,_con);
+    return vals;
+  }
+  @Override public double [] getDoubles(double [] vals, int [] ids){
+    Arrays.fill(vals,0,ids.length,_con);
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA){
+    if(Integer.MAX_VALUE < _con || _con < Integer.MIN_VALUE)
+      throw new RuntimeException(_con + " does not fit into int");
+    Arrays.fill(vals,0,to-from,(int)_con);
+    return vals;
+  }
+  @Override public int getSparseDoubles(double [] vals, int [] ids, double NA){
+    if(_con == 0) return 0;
+    for(int i = 0; i < _len; ++i) {
+      ids[i] = i;
+      vals[i] = _con;
+    }
+    return _len;
+  }
 }
@@ -54,6 +54,20 @@ public class C4FChunk extends Chunk {
     return v;
   }
 
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    for(int i = from; i < to; i++) {
+      float f = UnsafeUtils.get4f(_mem, i << 2);
+      vals[i - from] = Float.isNaN(f)?NA:f;
+    }
+    return vals;
+  }
+  @Override public double [] getDoubles(double [] vals, int [] ids){
+    int k = 0;
+    for(int i:ids)
+      vals[k++] = UnsafeUtils.get4f(_mem,i<<2);
+    return vals;
+  }
+
   // 3.3333333e33
 //  public int pformat_len0() { return 14; }
 //  public String pformat0() { return "% 13.7e"; }
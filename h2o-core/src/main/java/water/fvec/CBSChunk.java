@@ -120,6 +120,29 @@ public class CBSChunk extends Chunk {
     return v;
   }
 
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    for(int i = from; i < to; ++i) {
+      byte b = read(i);
+      vals[i - from] = b == _NA?NA:b;
+    }
+    return vals;
+  }
+  @Override public double [] getDoubles(double [] vals, int [] ids){
+    int k = 0;
+    for(int i:ids) {
+      byte b = read(i);
+      vals[k++] = b == _NA?Double.NaN:b;
+    }
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA){
+    for(int i = from; i < to; ++i) {
+      byte b = read(i);
+      vals[i - from] = b == _NA?NA:b;
+    }
+    return vals;
+  }
+
 //  /** Writes 1bit from value into b at given offset and return b */
 //  public static byte write1b(byte b, byte val, int off) {
 //    val = (byte) ((val & 0x1) << (7-off));
@@ -0,0 +1,248 @@
+package water.fvec;
+
+import water.parser.BufferedString;
+import water.util.PrettyPrint;
+import water.util.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * Formats rows of chunks as CSV lines directly into a byte buffer. The output is the same as the output of
+ * the original String based formatting of {@link Frame.CSVStream}: categorical levels and strings are quoted
+ * (with the quotes escaped), integer columns are written as longs, other numbers as {@link Double#toString(double)}
+ * (or the hex string).
+ *
+ * Categorical levels are encoded once per formatter, doubles with a short decimal representation are printed
+ * without going through Strings. The precomputed levels are shared by the copies of a formatter, the buffer is not:
+ * a single formatter must not be used by multiple threads.
+ */
+public class CSVChunkFormatter {
+
+  private static final byte CAT = 0, UUID = 1, INT = 2, STR = 3, REAL = 4;
+
+  // Powers of ten up to the precision of the fast path (all exactly representable as doubles)
+  private static final double[] POW10 = new double[16];
+  private static final long[] LONG_POW10 = new long[16];
+  static {
+    long p = 1;
+    for (int i = 0; i < POW10.length; i++) {
+      LONG_POW10[i] = p;
+      POW10[i] = p;
+      p *= 10;
+    }
+  }
+  private static final double FAST_PATH_MAX_DIGITS = 1e15;
+
+  private final byte[] _kinds;
+  private final byte[][][] _levels; // quoted, escaped and UTF-8 encoded categorical levels
+  private final byte _separator;
+  private final boolean _hexString;
+  private final BufferedString _tmpStr = new BufferedString();
+  private final byte[] _digits = new byte[20];
+  private byte[] _buf = new byte[1 << 12];
+  private int _len;
+
+  public CSVChunkFormatter(Vec[] vecs, Frame.CSVStreamParams parms) {
+    _kinds = new byte[vecs.length];
+    _levels = new byte[vecs.length][][];
+    for (int i = 0; i < vecs.length; i++) {
+      Vec v = vecs[i];
+      if (v.isCategorical()) {
+        _kinds[i] = CAT;
+        String[] domain = v.domain();
+        _levels[i] = new byte[domain.length][];
+        for (int l = 0; l < domain.length; l++)
+          _levels[i][l] = quoted(domain[l]);
+      } else if (v.isUUID()) _kinds[i] = UUID;
+      else if (v.isInt()) _kinds[i] = INT;
+      else if (v.isString()) _kinds[i] = STR;
+      else _kinds[i] = REAL;
+    }
+    _separator = (byte) parms._separator;
+    _hexString = parms._hex_string;
+  }
+
+  /** Makes a formatter sharing the precomputed column metadata, with its own buffer. */
+  public CSVChunkFormatter(CSVChunkFormatter f) {
+    _kinds = f._kinds;
+    _levels = f._levels;
+    _separator = f._separator;
+    _hexString = f._hexString;
+  }
+
+  /** @return header line with the quoted column names */
+  public static byte[] header(String[] names, Frame.CSVStreamParams parms) {
+    StringBuilder sb = new StringBuilder();
+    sb.append('"').append(names[0]).append('"');
+    for (int i = 1; i < names.length; i++)
+      sb.append(parms._separator).append('"').append(names[i]).append('"');
+    sb.append('\n');
+    return StringUtils.bytesOf(sb);
+  }
+
+  /** @return all the rows of the chunks as CSV lines */
+  public byte[] formatChunks(Chunk[] cs) {
+    _len = 0;
+    for (int row = 0; row < cs[0]._len; row++)
+      appendRow(cs, row);
+    return Arrays.copyOf(_buf, _len);
+  }
+
+  /** @return a single row of the chunks as a CSV line */
+  public byte[] formatRow(Chunk[] cs, int row) {
+    _len = 0;
+    appendRow(cs, row);
+    return Arrays.copyOf(_buf, _len);
+  }
+
+  private void appendRow(Chunk[] cs, int row) {
+    for (int i = 0; i < cs.length; i++) {
+      Chunk c = cs[i];
+      if (i > 0) append(_separator);
+      if (c.isNA(row)) continue;
+      switch (_kinds[i]) {
+        case CAT:
+          append(_levels[i][(int) c.at8(row)]);
+          break;
+        case UUID:
+          appendAscii(PrettyPrint.UUID(c.at16l(row), c.at16h(row)));
+          break;
+        case INT:
+          appendLong(c.at8(row));
+          break;
+        case STR:
+          BufferedString str = c.atStr(_tmpStr, row);
+          appendQuoted(str.getBuffer(), str.getOffset(), str.length());
+          break;
+        default:
+          appendDouble(c.atd(row));
+      }
+    }
+    append((byte) '\n');
+  }
+
+  private void ensureCapacity(int n) {
+    if (_len + n > _buf.length)
+      _buf = Arrays.copyOf(_buf, Math.max(_buf.length << 1, _len + n));
+  }
+
+  private void append(byte b) {
+    ensureCapacity(1);
+    _buf[_len++] = b;
+  }
+
+  private void append(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, _buf, _len, bytes.length);
+    _len += bytes.length;
+  }
+
+  private void appendAscii(String s) {
+    ensureCapacity(s.length());
+    for (int i = 0; i < s.length(); i++)
+      _buf[_len++] = (byte) s.charAt(i);
+  }
+
+  // Double quotes are escaped by doubling them, they never appear inside of a multi-byte UTF-8 character
+  private void appendQuoted(byte[] bytes, int off, int len) {
+    ensureCapacity(2 * len + 2);
+    _buf[_len++] = '"';
+    for (int i = off; i < off + len; i++) {
+      if (bytes[i] == '"') _buf[_len++] = '"';
+      _buf[_len++] = bytes[i];
+    }
+    _buf[_len++] = '"';
+  }
+
+  private static byte[] quoted(String s) {
+    byte[] bytes = StringUtils.bytesOf(s);
+    int quotes = 0;
+    for (byte b : bytes)
+      if (b == '"') quotes++;
+    byte[] res = new byte[bytes.length + quotes + 2];
+    int pos = 0;
+    res[pos++] = '"';
+    for (byte b : bytes) {
+      if (b == '"') res[pos++] = '"';
+      res[pos++] = b;
+    }
+    res[pos] = '"';
+    return res;
+  }
+
+  private void appendLong(long l) {
+    if (l == Long.MIN_VALUE) {
+      appendAscii(Long.toString(l));
+      return;
+    }
+    ensureCapacity(20);
+    if (l < 0) {
+      _buf[_len++] = '-';
+      l = -l;
+    }
+    int n = 0;
+    do {
+      _digits[n++] = (byte) ('0' + l % 10);
+      l /= 10;
+    } while (l > 0);
+    while (n > 0)
+      _buf[_len++] = _digits[--n];
+  }
+
+  private void appendDouble(double d) {
+    if (_hexString) {
+      appendAscii(Double.toHexString(d));
+    } else if (! appendShortDecimal(d)) {
+      // R 3.1 unfortunately changed the behavior of read.csv().
+      // (Really type.convert()).
+      //
+      // Numeric values with too much precision now trigger a type conversion in R 3.1 into a factor.
+      //
+      // See these discussions:
+      //   https://bugs.r-project.org/bugzilla/show_bug.cgi?id=15751
+      //   https://stat.ethz.ch/pipermail/r-devel/2014-April/068778.html
+      //   http://stackoverflow.com/questions/23072988/preserve-old-pre-3-1-0-type-convert-behavior
+      appendAscii(Double.toString(d));
+    }
+  }
+
+  /**
+   * Fast path for the doubles printed by {@link Double#toString(double)} in the plain notation (10^-3 <= |d| < 10^7)
+   * that have a short decimal representation. The shortest number of fraction digits k is found such that
+   * round(|d| * 10^k) / 10^k == |d| - the division is exact up to the final rounding (both operands are exactly
+   * representable) and so the printed decimal parses back to d.
+   *
+   * @return false if d has to be printed by {@link Double#toString(double)}
+   */
+  private boolean appendShortDecimal(double d) {
+    double a = Math.abs(d);
+    if (! (a >= 1e-3 && a < 1e7))
+      return false;
+    for (int k = 0; k < POW10.length; k++) {
+      double scaled = a * POW10[k];
+      if (scaled >= FAST_PATH_MAX_DIGITS)
+        return false;
+      long m = Math.round(scaled);
+      if (m / POW10[k] != a)
+        continue;
+      if (d < 0) append((byte) '-');
+      long intPart = m / LONG_POW10[k];
+      appendLong(intPart);
+      append((byte) '.');
+      if (k == 0) {
+        append((byte) '0');
+      } else {
+        long fraction = m - intPart * LONG_POW10[k];
+        ensureCapacity(k);
+        for (int i = k - 1; i >= 0; i--) {
+          _buf[_len + i] = (byte) ('0' + fraction % 10);
+          fraction /= 10;
+        }
+        _len += k;
+      }
+      return true;
+    }
+    return false;
+  }
+
+}
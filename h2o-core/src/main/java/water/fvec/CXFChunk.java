@@ -17,6 +17,8 @@ public class CXFChunk extends CXIChunk {
     }
   }
 
+  @Override protected double getFVal(int x){ return getVal(x); }
+
   @Override public long at8_impl(int idx){
     int x = findOffset(idx);
     if(x < 0) {
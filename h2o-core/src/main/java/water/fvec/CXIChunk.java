@@ -3,6 +3,8 @@ package water.fvec;
 import water.H2O;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 // Sparse chunk.
 public class CXIChunk extends Chunk {
   private static long [] _NAS = new long[]{-1/* not used, binary chunks can't have NAs */,/* not used*/-1,C2Chunk._NA,-1,C4Chunk._NA,-1,-1,-1,C8Chunk._NA};
@@ -42,7 +44,7 @@ public class CXIChunk extends Chunk {
       default: throw H2O.unimpl();
     }
   }
-  private double getFVal(int x){
+  protected double getFVal(int x){
     long ival = getVal(x);
     return ival == _NAS[_val_sz]?Double.NaN:ival;
   }
@@ -215,6 +217,46 @@ public class CXIChunk extends Chunk {
     return v;
   }
 
+  // Bulk accessors: fill with the implicit value, then scatter the stored
+  // entries; no per-row binary search and no visitor dispatch.
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals,0,to-from,_isNA?NA:0);
+    int x = from == 0?_OFF: findOffset(from);
+    if(x < 0) x = -x-1;
+    for(; x < _mem.length; x += _elem_sz){
+      int id = getId(x);
+      if(id >= to) break;
+      double d = getFVal(x);
+      vals[id-from] = Double.isNaN(d)?NA:d;
+    }
+    return vals;
+  }
+
+  @Override public double [] getDoubles(double [] vals, int [] ids){
+    int x = _OFF;
+    for(int k = 0; k < ids.length; ++k) {
+      assert ids[k] >= 0 && (k == 0 || ids[k] > ids[k-1]);
+      int id = _len;
+      while(x < _mem.length && (id = getId(x)) < ids[k]) x += _elem_sz;
+      if(id == ids[k]) {
+        vals[k] = getFVal(x);
+        x += _elem_sz;
+      } else
+        vals[k] = _isNA?Double.NaN:0;
+    }
+    return vals;
+  }
+
+  @Override public int getSparseDoubles(double [] vals, int [] ids, double NA){
+    int k = 0;
+    for(int x = _OFF; x < _mem.length; x += _elem_sz) {
+      double d = getFVal(x);
+      ids[k] = getId(x);
+      vals[k++] = Double.isNaN(d)?NA:d; // Stored entries as they are, also in NA-sparse chunks
+    }
+    return k;
+  }
+
   @Override
   public boolean hasFloat(){return false;}
 }
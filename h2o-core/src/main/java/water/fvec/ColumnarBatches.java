@@ -0,0 +1,463 @@
+package water.fvec;
+
+import water.H2O;
+import water.Key;
+import water.DKV;
+import water.Futures;
+import water.parser.BufferedString;
+import water.util.ByteStreams;
+import water.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Columnar binary bulk-ingest format. External clients (Python, Spark executors, ...) send the data as a stream
+ * of record batches laid out the same way as Arrow record batches, each batch is converted directly into one chunk
+ * per column - there is no parse setup guessing and no text parsing.
+ *
+ * All numbers are little-endian, strings are an int32 length followed by the UTF-8 bytes.
+ * <pre>
+ * stream := "H2OC" int32:version int32:headerLength header batch*
+ * header := int32:ncols (string:name byte:type [int32:nlevels string*nlevels if type == DICTIONARY])*ncols
+ * batch  := int32:nrows int32:bodyLength (validity values)*ncols
+ * </pre>
+ * The validity bitmap has ceil(nrows/8) bytes, bit (i % 8) of byte (i / 8) is set if row i is not missing.
+ * The values of the missing rows are ignored, the values buffer of a column is:
+ * <ul>
+ *   <li>BOOL - bit-packed like the validity bitmap</li>
+ *   <li>INT32, DICTIONARY (level indices) - nrows int32</li>
+ *   <li>INT64, TIMESTAMP (milliseconds since the epoch) - nrows int64</li>
+ *   <li>FLOAT64 - nrows doubles</li>
+ *   <li>UTF8 - nrows + 1 int32 offsets followed by offsets[nrows] bytes of the concatenated strings</li>
+ * </ul>
+ * The stream ends with the end of the input. The header is limited to 64 MB, a batch to 256 MB; a batch without
+ * strings has to be exactly as long as its rows.
+ */
+public class ColumnarBatches {
+
+  public static final byte BOOL = 0, INT32 = 1, INT64 = 2, FLOAT64 = 3, UTF8 = 4, DICTIONARY = 5, TIMESTAMP = 6;
+
+  static final byte[] MAGIC = StringUtils.bytesOf("H2OC");
+  static final int VERSION = 1;
+
+  /** Limits the number of batches held in memory while their chunks are being compressed */
+  private static final int MAX_PENDING_BATCHES = Math.max(2, H2O.NUMCPUS);
+
+  /** Limits of the lengths given by the client, in bytes.  Not final, for testing. */
+  static int MAX_HEADER_LENGTH = 64 << 20;
+  static int MAX_BATCH_LENGTH = 256 << 20;
+
+  /** Buffers of the declared lengths grow in steps as the bytes arrive, a short stream doesn't allocate much */
+  private static final int READ_STEP = 1 << 20;
+
+  private ColumnarBatches() {}
+
+  /**
+   * Reads the stream of record batches into a new frame, the i-th batch becomes the i-th chunk of the frame. The
+   * batches are converted to chunks in parallel while the next batches are being read.
+   *
+   * @param key destination key, an existing frame is replaced
+   * @param is stream of record batches
+   * @return the new frame
+   * @throws IllegalArgumentException if the stream is malformed
+   */
+  public static Frame readFrame(Key<Frame> key, InputStream is) throws IOException {
+    Header header = readHeader(is);
+    Frame fr = new Frame(key);
+    fr.preparePartialFrame(header._names);
+    fr.update(); // the chunks are created from the published frame
+    List<Long> espc = new ArrayList<>();
+    ArrayDeque<BatchToChunksTask> pending = new ArrayDeque<>();
+    try {
+      byte[] batchHeader = new byte[8];
+      int read;
+      while ((read = ByteStreams.read(is, batchHeader, 0, batchHeader.length)) > 0) {
+        if (read < batchHeader.length)
+          throw new IllegalArgumentException("Truncated record batch header.");
+        ByteBuffer bb = ByteBuffer.wrap(batchHeader).order(ByteOrder.LITTLE_ENDIAN);
+        int nrows = bb.getInt();
+        int bodyLength = bb.getInt();
+        if (nrows < 0 || !header.isValidLength(nrows, bodyLength))
+          throw new IllegalArgumentException("Invalid record batch header (rows: " + nrows + ", length: " + bodyLength + ").");
+        byte[] body = readBytes(is, bodyLength);
+        if (pending.size() >= MAX_PENDING_BATCHES)
+          pending.poll().join();
+        pending.add(H2O.submitTask(new BatchToChunksTask(key.toString(), header, espc.size(), nrows, body)));
+        espc.add((long) nrows);
+      }
+      while (!pending.isEmpty())
+        pending.poll().join();
+      if (espc.isEmpty())
+        throw new IllegalArgumentException("The stream doesn't contain any record batches.");
+    } catch (IOException | RuntimeException e) {
+      for (BatchToChunksTask t : pending) {
+        try { t.join(); } catch (RuntimeException ignored) { /* already failing */ }
+      }
+      Futures fs = new Futures();
+      for (Key<Vec> k : fr.keys())
+        for (int cidx = 0; cidx < espc.size(); cidx++)
+          DKV.remove(Vec.chunkKey(k, cidx), fs);
+      fs.blockForPending();
+      fr.unlock();
+      DKV.remove(key);
+      throw e;
+    }
+    long[] rowsPerChunk = new long[espc.size()];
+    for (int i = 0; i < rowsPerChunk.length; i++)
+      rowsPerChunk[i] = espc.get(i);
+    fr.finalizePartialFrame(rowsPerChunk, header._domains, header._vecTypes);
+    return fr;
+  }
+
+  private static Header readHeader(InputStream is) throws IOException {
+    byte[] prefix = new byte[12];
+    ByteStreams.readFully(is, prefix);
+    if (!Arrays.equals(Arrays.copyOf(prefix, MAGIC.length), MAGIC))
+      throw new IllegalArgumentException("The input is not a stream of columnar record batches.");
+    ByteBuffer bb = ByteBuffer.wrap(prefix, MAGIC.length, 8).order(ByteOrder.LITTLE_ENDIAN);
+    int version = bb.getInt();
+    if (version != VERSION)
+      throw new IllegalArgumentException("Unsupported version " + version + " of the columnar format.");
+    int headerLength = bb.getInt();
+    if (headerLength < 4 || headerLength > MAX_HEADER_LENGTH)
+      throw new IllegalArgumentException("Invalid length of the header: " + headerLength + ".");
+    byte[] headerBytes = readBytes(is, headerLength);
+    try {
+      return new Header(ByteBuffer.wrap(headerBytes).order(ByteOrder.LITTLE_ENDIAN));
+    } catch (BufferUnderflowException | NegativeArraySizeException e) {
+      throw new IllegalArgumentException("Malformed header of the columnar stream.");
+    }
+  }
+
+  // Reads the given number of bytes, the buffer grows with the bytes actually received
+  private static byte[] readBytes(InputStream is, int length) throws IOException {
+    byte[] buf = new byte[Math.min(length, READ_STEP)];
+    int pos = 0;
+    while (true) {
+      int read = ByteStreams.read(is, buf, pos, buf.length - pos);
+      pos += read;
+      if (pos < buf.length)
+        throw new EOFException("reached end of stream after reading " + pos + " bytes; " + length + " bytes expected");
+      if (pos == length)
+        return buf;
+      buf = Arrays.copyOf(buf, (int) Math.min(length, 2L * buf.length));
+    }
+  }
+
+  private static String getStr(ByteBuffer bb) {
+    int length = bb.getInt();
+    if (length < 0 || length > bb.remaining())
+      throw new BufferUnderflowException();
+    byte[] bytes = new byte[length];
+    bb.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int bitmapLength(int nrows) {
+    return (nrows + 7) >>> 3;
+  }
+
+  private static boolean isSet(byte[] body, int bitmapOffset, int i) {
+    return (body[bitmapOffset + (i >>> 3)] & (1 << (i & 7))) != 0;
+  }
+
+  private static final class Header {
+    final String[] _names;
+    final byte[] _types;
+    final byte[] _vecTypes;
+    final String[][] _domains;
+
+    Header(ByteBuffer bb) {
+      int ncols = bb.getInt();
+      if (ncols <= 0)
+        throw new IllegalArgumentException("The stream has to have at least one column.");
+      if (ncols > bb.remaining() / 5) // a name and a type per column
+        throw new BufferUnderflowException();
+      _names = new String[ncols];
+      _types = new byte[ncols];
+      _vecTypes = new byte[ncols];
+      _domains = new String[ncols][];
+      Set<String> names = new HashSet<>();
+      for (int i = 0; i < ncols; i++) {
+        _names[i] = getStr(bb);
+        if (!names.add(_names[i]))
+          throw new IllegalArgumentException("Duplicate column name '" + _names[i] + "'.");
+        _types[i] = bb.get();
+        switch (_types[i]) {
+          case BOOL: case INT32: case INT64: case FLOAT64: _vecTypes[i] = Vec.T_NUM; break;
+          case UTF8: _vecTypes[i] = Vec.T_STR; break;
+          case TIMESTAMP: _vecTypes[i] = Vec.T_TIME; break;
+          case DICTIONARY:
+            _vecTypes[i] = Vec.T_CAT;
+            int nlevels = bb.getInt();
+            if (nlevels < 0 || nlevels > bb.remaining() / 4) // a string per level
+              throw new BufferUnderflowException();
+            _domains[i] = new String[nlevels];
+            for (int l = 0; l < _domains[i].length; l++)
+              _domains[i][l] = getStr(bb);
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown type " + _types[i] + " of column '" + _names[i] + "'.");
+        }
+      }
+    }
+
+    /**
+     * @return true if a batch of nrows rows can be bodyLength bytes long: the length given by the types of the
+     * columns, plus the bytes of the strings (at most MAX_BATCH_LENGTH in total)
+     */
+    boolean isValidLength(int nrows, int bodyLength) {
+      long fixed = 0;
+      boolean strings = false;
+      for (byte type : _types) {
+        fixed += bitmapLength(nrows);
+        switch (type) {
+          case BOOL: fixed += bitmapLength(nrows); break;
+          case INT32: case DICTIONARY: fixed += 4L * nrows; break;
+          case INT64: case TIMESTAMP: case FLOAT64: fixed += 8L * nrows; break;
+          case UTF8: fixed += 4L * (nrows + 1); strings = true; break;
+          default: throw H2O.unimpl("Type " + type);
+        }
+      }
+      return bodyLength <= MAX_BATCH_LENGTH && (strings ? bodyLength >= fixed : bodyLength == fixed);
+    }
+  }
+
+  // Converts a single record batch into one NewChunk per column and closes them
+  private static class BatchToChunksTask extends H2O.H2OCountedCompleter<BatchToChunksTask> {
+    private final String _frameKey;
+    private final int _cidx;
+    private final int _nrows;
+    private transient Header _header;
+    private transient byte[] _body;
+
+    BatchToChunksTask(String frameKey, Header header, int cidx, int nrows, byte[] body) {
+      _frameKey = frameKey;
+      _header = header;
+      _cidx = cidx;
+      _nrows = nrows;
+      _body = body;
+    }
+
+    @Override
+    public void compute2() {
+      NewChunk[] ncs = Frame.createNewChunks(_frameKey, _header._vecTypes, _cidx);
+      ByteBuffer bb = ByteBuffer.wrap(_body).order(ByteOrder.LITTLE_ENDIAN);
+      try {
+        for (int c = 0; c < ncs.length; c++)
+          readColumn(bb, c, ncs[c]);
+      } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+        throw new IllegalArgumentException("Record batch " + _cidx + " is shorter than its columns.");
+      }
+      if (bb.hasRemaining())
+        throw new IllegalArgumentException("Record batch " + _cidx + " is longer than its columns.");
+      _body = null;
+      Frame.closeNewChunks(ncs);
+      tryComplete();
+    }
+
+    private void readColumn(ByteBuffer bb, int c, NewChunk nc) {
+      final int validity = bb.position();
+      bb.position(validity + bitmapLength(_nrows));
+      final byte type = _header._types[c];
+      switch (type) {
+        case BOOL: {
+          int values = bb.position();
+          bb.position(values + bitmapLength(_nrows));
+          for (int i = 0; i < _nrows; i++)
+            if (isSet(_body, validity, i)) nc.addNum(isSet(_body, values, i) ? 1 : 0, 0);
+            else nc.addNA();
+          break;
+        }
+        case INT32:
+        case DICTIONARY: {
+          int nlevels = type == DICTIONARY ? _header._domains[c].length : 0;
+          for (int i = 0; i < _nrows; i++) {
+            int v = bb.getInt();
+            if (!isSet(_body, validity, i)) nc.addNA();
+            else if (type == INT32) nc.addNum(v, 0);
+            else if (v >= 0 && v < nlevels) nc.addCategorical(v);
+            else throw new IllegalArgumentException("Level index " + v + " of column '" + _header._names[c] +
+                      "' is out of the range of its dictionary (" + nlevels + " levels).");
+          }
+          break;
+        }
+        case INT64:
+        case TIMESTAMP:
+          for (int i = 0; i < _nrows; i++) {
+            long v = bb.getLong();
+            if (isSet(_body, validity, i)) nc.addNum(v, 0);
+            else nc.addNA();
+          }
+          break;
+        case FLOAT64:
+          for (int i = 0; i < _nrows; i++) {
+            double v = bb.getDouble();
+            if (isSet(_body, validity, i)) nc.addNum(v);
+            else nc.addNA();
+          }
+          break;
+        case UTF8: {
+          int offsets = bb.position();
+          bb.position(offsets + 4 * (_nrows + 1));
+          int data = bb.position();
+          int dataLength = bb.getInt(offsets + 4 * _nrows);
+          if (dataLength < 0 || dataLength > bb.remaining())
+            throw new BufferUnderflowException();
+          BufferedString tmp = new BufferedString();
+          for (int i = 0; i < _nrows; i++) {
+            if (!isSet(_body, validity, i)) {
+              nc.addNA();
+              continue;
+            }
+            int start = bb.getInt(offsets + 4 * i);
+            int end = bb.getInt(offsets + 4 * (i + 1));
+            if (start < 0 || start > end || end > dataLength)
+              throw new IllegalArgumentException("Invalid offsets of the strings of column '" + _header._names[c] + "'.");
+            nc.addStr(tmp.set(_body, data + start, end - start));
+          }
+          bb.position(data + dataLength);
+          break;
+        }
+        default:
+          throw H2O.unimpl("Type " + type);
+      }
+    }
+  }
+
+  /**
+   * Writes a stream of record batches, meant for JVM clients and tests. The columns of a batch are passed as arrays
+   * of boxed values, null is a missing value: Boolean[] for BOOL, Integer[] for INT32 and DICTIONARY (level indices),
+   * Long[] for INT64 and TIMESTAMP, Double[] for FLOAT64 and String[] for UTF8.
+   */
+  public static class Writer implements Closeable {
+    private final OutputStream _os;
+    private final byte[] _types;
+
+    public Writer(OutputStream os, String[] names, byte[] types, String[][] domains) throws IOException {
+      _os = os;
+      _types = types.clone();
+      List<byte[]> strings = new ArrayList<>();
+      int headerLength = 4;
+      for (int i = 0; i < names.length; i++) {
+        headerLength += addStr(strings, names[i]) + 1;
+        if (types[i] == DICTIONARY) {
+          headerLength += 4;
+          for (String level : domains[i])
+            headerLength += addStr(strings, level);
+        }
+      }
+      ByteBuffer bb = ByteBuffer.allocate(12 + headerLength).order(ByteOrder.LITTLE_ENDIAN);
+      bb.put(MAGIC).putInt(VERSION).putInt(headerLength).putInt(names.length);
+      int s = 0;
+      for (int i = 0; i < names.length; i++) {
+        putStr(bb, strings.get(s++));
+        bb.put(types[i]);
+        if (types[i] == DICTIONARY) {
+          bb.putInt(domains[i].length);
+          for (int l = 0; l < domains[i].length; l++)
+            putStr(bb, strings.get(s++));
+        }
+      }
+      _os.write(bb.array());
+    }
+
+    private static int addStr(List<byte[]> strings, String s) {
+      byte[] bytes = StringUtils.bytesOf(s);
+      strings.add(bytes);
+      return 4 + bytes.length;
+    }
+
+    private static void putStr(ByteBuffer bb, byte[] bytes) {
+      bb.putInt(bytes.length).put(bytes);
+    }
+
+    /** Writes a record batch, all the columns have to have the same number of rows. */
+    public void writeBatch(Object[] columns) throws IOException {
+      if (columns.length != _types.length)
+        throw new IllegalArgumentException("Expected " + _types.length + " columns, got " + columns.length + ".");
+      final int nrows = ((Object[]) columns[0]).length;
+      byte[][][] strings = new byte[columns.length][][];
+      int bodyLength = 0;
+      for (int c = 0; c < columns.length; c++) {
+        Object[] values = (Object[]) columns[c];
+        if (values.length != nrows)
+          throw new IllegalArgumentException("Column " + c + " has " + values.length + " rows, expected " + nrows + ".");
+        bodyLength += bitmapLength(nrows);
+        switch (_types[c]) {
+          case BOOL: bodyLength += bitmapLength(nrows); break;
+          case INT32: case DICTIONARY: bodyLength += 4 * nrows; break;
+          case INT64: case TIMESTAMP: case FLOAT64: bodyLength += 8 * nrows; break;
+          case UTF8:
+            strings[c] = new byte[nrows][];
+            bodyLength += 4 * (nrows + 1);
+            for (int i = 0; i < nrows; i++) {
+              if (values[i] == null) continue;
+              strings[c][i] = StringUtils.bytesOf((String) values[i]);
+              bodyLength += strings[c][i].length;
+            }
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown type " + _types[c] + ".");
+        }
+      }
+      ByteBuffer bb = ByteBuffer.allocate(8 + bodyLength).order(ByteOrder.LITTLE_ENDIAN);
+      bb.putInt(nrows).putInt(bodyLength);
+      for (int c = 0; c < columns.length; c++) {
+        Object[] values = (Object[]) columns[c];
+        byte[] validity = new byte[bitmapLength(nrows)];
+        for (int i = 0; i < nrows; i++)
+          if (values[i] != null) validity[i >>> 3] |= 1 << (i & 7);
+        bb.put(validity);
+        switch (_types[c]) {
+          case BOOL:
+            byte[] bits = new byte[bitmapLength(nrows)];
+            for (int i = 0; i < nrows; i++)
+              if (values[i] != null && (Boolean) values[i]) bits[i >>> 3] |= 1 << (i & 7);
+            bb.put(bits);
+            break;
+          case INT32: case DICTIONARY:
+            for (Object v : values) bb.putInt(v == null ? 0 : (Integer) v);
+            break;
+          case INT64: case TIMESTAMP:
+            for (Object v : values) bb.putLong(v == null ? 0 : (Long) v);
+            break;
+          case FLOAT64:
+            for (Object v : values) bb.putDouble(v == null ? Double.NaN : (Double) v);
+            break;
+          case UTF8:
+            int offset = 0;
+            bb.putInt(offset);
+            for (byte[] str : strings[c]) {
+              if (str != null) offset += str.length;
+              bb.putInt(offset);
+            }
+            for (byte[] str : strings[c])
+              if (str != null) bb.put(str);
+            break;
+        }
+      }
+      _os.write(bb.array());
+    }
+
+    @Override
+    public void close() throws IOException {
+      _os.close();
+    }
+  }
+
+}
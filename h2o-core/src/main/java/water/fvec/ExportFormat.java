@@ -0,0 +1,52 @@
+package water.fvec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ServiceLoader;
+
+/**
+ * Optional columnar format of a Frame export (eg. Parquet). The data are written directly from the chunks, the
+ * exporter hands the writer of a part file its chunks in order. Implementations are registered as services
+ * (META-INF/services/water.fvec.ExportFormat) by the extension modules, CSV is the built-in default.
+ */
+public abstract class ExportFormat {
+
+  /** Built-in format, not provided by an extension. */
+  public static final String CSV = "CSV";
+
+  /** Service loader, all usages are synchronized (the loader is not thread-safe). */
+  private static final ServiceLoader<ExportFormat> LOADER = ServiceLoader.load(ExportFormat.class);
+
+  /** @return name of the format, eg. "PARQUET" */
+  public abstract String name();
+
+  /**
+   * Creates the writer of a single output file.
+   *
+   * @param fr frame being exported, defines the names and the types of the columns
+   * @param path target file
+   * @param overwrite allow to overwrite an existing file
+   * @param compression name of the compression codec (null for the default of the format)
+   */
+  public abstract PartWriter createWriter(Frame fr, String path, boolean overwrite, String compression) throws IOException;
+
+  public interface PartWriter extends Closeable {
+    /** Writes all the rows of the chunks (one chunk per column of the frame). */
+    void write(Chunk[] cs) throws IOException;
+  }
+
+  /** @return true if the format is the built-in CSV */
+  public static boolean isCSV(String format) {
+    return format == null || CSV.equalsIgnoreCase(format);
+  }
+
+  /** @return provider of the format, null if the format is not available */
+  public static synchronized ExportFormat getByName(String format) {
+    for (ExportFormat ef : LOADER) {
+      if (ef.name().equalsIgnoreCase(format))
+        return ef;
+    }
+    return null;
+  }
+
+}
@@ -7,14 +7,13 @@ import water.api.FramesHandler;
 import water.api.schemas3.KeyV3;
 import water.exceptions.H2OIllegalArgumentException;
 import water.parser.BufferedString;
+import water.parser.ParseSetup;
 import water.rapids.Merge;
 import water.util.*;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /** A collection of named {@link Vec}s, essentially an R-like Distributed Data Frame.
  *
@@ -68,6 +67,7 @@ public class Frame extends Lockable<Frame> {
   private Key<Vec>[] _keys;     // Keys for the vectors
   private transient Vec[] _vecs; // The Vectors (transient to avoid network traffic)
   private transient Vec _col0; // First readable vec; fast access to the VectorGroup's Chunk layout
+  private boolean _parsed;      // Parsed, with its ParseSetup kept in DKV
 
   /**
    * Given a temp Frame and a base Frame from which it was created, delete the
@@ -798,6 +798,12 @@ public class Frame extends Lockable<Frame> {
     return new Frame(Key.<Frame>make("subframe" + Key.make().toString()), names, vecs);
   }
 
+  /** Record that this Frame was parsed and that its setup is kept in DKV
+   *  under {@link ParseSetup#parsedWithKey}, to be removed with the Frame. */
+  public void setParsed() { _parsed = true; }
+  /** @return true if this Frame was parsed, see {@link #setParsed()} */
+  public boolean isParsed() { return _parsed; }
+
   /** Allow rollups for all written-into vecs; used by {@link MRTask} once
    *  writing is complete.
    *  @return the original Futures, for flow-coding */
@@ -809,6 +815,7 @@ public class Frame extends Lockable<Frame> {
   /** Actually remove/delete all Vecs from memory, not just from the Frame.
    *  @return the original Futures, for flow-coding */
   @Override protected Futures remove_impl(Futures fs, boolean cascade) {
+    if( _parsed && _key != null ) DKV.remove(ParseSetup.parsedWithKey(_key), fs);
     final Key[] keys = _keys;
     if( keys.length==0 ) return fs;
 
@@ -1522,6 +1529,24 @@ public class Frame extends Lockable<Frame> {
 
   public static Job export(Frame fr, String path, String frameName, boolean overwrite, int nParts, 
                            String compression, CSVStreamParams csvParms) {
+    return export(fr, path, frameName, overwrite, nParts, ExportFormat.CSV, compression, csvParms);
+  }
+
+  /**
+   * Exports the frame in the given format: CSV or one of the columnar formats provided by the extensions
+   * (eg. PARQUET). Columnar formats are written directly from the chunks, the compression is then the name
+   * of a codec of the format.
+   */
+  public static Job export(Frame fr, String path, String frameName, boolean overwrite, int nParts,
+                           String format, String compression, CSVStreamParams csvParms) {
+    ExportFormat exportFormat = null;
+    if (! ExportFormat.isCSV(format)) {
+      exportFormat = ExportFormat.getByName(format);
+      if (exportFormat == null) {
+        throw new H2OIllegalArgumentException(format, "exportFrame", "Export format " + format +
+                " is not available! Make sure the extension providing the format is on the classpath.");
+      }
+    }
     boolean forceSingle = nParts == 1;
     // Validate input
     if (forceSingle) {
@@ -1537,10 +1562,14 @@ public class Frame extends Lockable<Frame> {
                 " to store part files! The target needs to be either an existing empty directory or not exist yet.");
       }
     }
-    CompressionFactory compressionFactory = compression != null ? CompressionFactory.make(compression) : null;
     Job job =  new Job<>(fr._key, "water.fvec.Frame", "Export dataset");
-    FrameUtils.ExportTaskDriver t = new FrameUtils.ExportTaskDriver(
-            fr, path, frameName, overwrite, job, nParts, compressionFactory, csvParms);
+    FrameUtils.ExportTaskDriver t;
+    if (exportFormat == null) {
+      CompressionFactory compressionFactory = compression != null ? CompressionFactory.make(compression) : null;
+      t = new FrameUtils.ExportTaskDriver(fr, path, frameName, overwrite, job, nParts, compressionFactory, csvParms);
+    } else {
+      t = new FrameUtils.ExportTaskDriver(fr, path, frameName, overwrite, job, nParts, exportFormat.name(), compression);
+    }
     return job.start(t, fr.anyVec().nChunks());
   }
 
@@ -1578,6 +1607,10 @@ public class Frame extends Lockable<Frame> {
       return this;
     }
 
+    public boolean isHeaders() {
+      return _headers;
+    }
+
     public CSVStreamParams setHexString(boolean hex_string) {
       _hex_string = hex_string;
       return this;
@@ -1590,14 +1623,13 @@ public class Frame extends Lockable<Frame> {
   }
 
   public static class CSVStream extends InputStream {
-    private final CSVStreamParams _parms;
     byte[] _line;
     int _position;
     int _chkRow;
     Chunk[] _curChks;
     int _lastChkIdx;
     public volatile int _curChkIdx; // used only for progress reporting
-    private transient final String[][] _escapedCategoricalVecDomains;
+    private transient final CSVChunkFormatter _formatter;
 
     public CSVStream(Frame fr, CSVStreamParams parms) {
       this(firstChunks(fr), parms._headers ? fr.names() : null, fr.anyVec().nChunks(), parms);
@@ -1618,55 +1650,17 @@ public class Frame extends Lockable<Frame> {
     public CSVStream(Chunk[] chks, String[] names, int nChunks, CSVStreamParams parms) {
       if (chks == null) nChunks = 0;
       _lastChkIdx = (chks != null) ? chks[0].cidx() + nChunks - 1 : -1;
-      _parms = parms;
-      StringBuilder sb = new StringBuilder();
-      if (names != null) {
-        sb.append('"').append(names[0]).append('"');
-        for (int i = 1; i < names.length; i++)
-          sb.append(_parms._separator).append('"').append(names[i]).append('"');
-        sb.append('\n');
-      }
-      _line = StringUtils.bytesOf(sb);
+      _line = names != null ? CSVChunkFormatter.header(names, parms) : new byte[0];
       _chkRow = -1; // first process the header line
       _curChks = chks;
-      _escapedCategoricalVecDomains = escapeCategoricalVecDomains(_curChks);
+      _formatter = chks != null ? new CSVChunkFormatter(vecs(chks), parms) : null;
     }
 
-    /**
-     * Escapes categorical levels of vectors and puts them in a map of escaped categorical levels.
-     * Only the domains with at least one level with an escaped quote are saved. If a domain does not need
-     * any escaping, it is considered better practice to reach to the `vec.domain()` method itself and not duplicate entries
-     * in memory here.
-     *
-     * @param chunks
-     * @return A 2D array of String[][]. Elements can be null of give domain does not need escaping.
-     */
-    private String[][] escapeCategoricalVecDomains(final Chunk[] chunks) {
-      if(chunks == null) return null;
-      final String[][] localEscapedCategoricalVecDomains = new String[chunks.length][];
-
-      for (int i = 0; i < chunks.length; i++) {
-        final Vec vec = chunks[i].vec();
-        if (!vec.isCategorical()) continue;
-
-        final String[] originalDomain = vec.domain();
-        final String[] escapedDomain = new String[originalDomain.length];
-
-        boolean escapingRequired = false;
-        for (int level = 0; level < originalDomain.length; level++) {
-          escapedDomain[level] = escapeQuotesForCsv(originalDomain[level]);
-          escapingRequired = escapingRequired || !escapedDomain[level].equals(originalDomain[level]);
-        }
-
-        if (escapingRequired) {
-          localEscapedCategoricalVecDomains[i] = escapedDomain;
-        } else {
-          // If the domain does not need escaping, simply link to the original domain and drop the escaped array
-          localEscapedCategoricalVecDomains[i] = originalDomain;
-        }
-      }
-
-      return localEscapedCategoricalVecDomains;
+    private static Vec[] vecs(Chunk[] chks) {
+      Vec[] vecs = new Vec[chks.length];
+      for (int i = 0; i < chks.length; i++)
+        vecs[i] = chks[i].vec();
+      return vecs;
     }
 
     public int getCurrentRowSize() throws IOException {
@@ -1677,51 +1671,7 @@ public class Frame extends Lockable<Frame> {
 
 
     byte[] getBytesForRow() {
-      StringBuilder sb = new StringBuilder();
-      BufferedString tmpStr = new BufferedString();
-      for (int i = 0; i < _curChks.length; i++) {
-        Vec v = _curChks[i]._vec;
-        if (i > 0) sb.append(_parms._separator);
-        if (!_curChks[i].isNA(_chkRow)) {
-          if (v.isCategorical()) {
-            final String escapedString = _escapedCategoricalVecDomains[i][(int) _curChks[i].at8(_chkRow)];
-            sb.append('"').append(escapedString).append('"');
-          } else if (v.isUUID()) sb.append(PrettyPrint.UUID(_curChks[i].at16l(_chkRow), _curChks[i].at16h(_chkRow)));
-          else if (v.isInt()) sb.append(_curChks[i].at8(_chkRow));
-          else if (v.isString()) {
-            final String escapedString = escapeQuotesForCsv(_curChks[i].atStr(tmpStr, _chkRow).toString());
-            sb.append('"').append(escapedString).append('"');
-          } else {
-            double d = _curChks[i].atd(_chkRow);
-            // R 3.1 unfortunately changed the behavior of read.csv().
-            // (Really type.convert()).
-            //
-            // Numeric values with too much precision now trigger a type conversion in R 3.1 into a factor.
-            //
-            // See these discussions:
-            //   https://bugs.r-project.org/bugzilla/show_bug.cgi?id=15751
-            //   https://stat.ethz.ch/pipermail/r-devel/2014-April/068778.html
-            //   http://stackoverflow.com/questions/23072988/preserve-old-pre-3-1-0-type-convert-behavior
-            String s = _parms._hex_string ? Double.toHexString(d) : Double.toString(d);
-            sb.append(s);
-          }
-        }
-      }
-      sb.append('\n');
-      return StringUtils.bytesOf(sb);
-    }
-
-    private static final Pattern DOUBLE_QUOTE_PATTERN = Pattern.compile("\"");
-
-    /**
-     * Escapes  double-quotes (ASCII 34) in a String.
-     *
-     * @param unescapedString An unescaped {@link String} to escape
-     * @return String with escaped double-quotes, if found.
-     */
-    private static String escapeQuotesForCsv(final String unescapedString) {
-      final Matcher matcher = DOUBLE_QUOTE_PATTERN.matcher(unescapedString);
-      return matcher.replaceAll("\"\"");
+      return _formatter.formatRow(_curChks, _chkRow);
     }
 
     @Override
@@ -0,0 +1,126 @@
+package water.fvec;
+
+import water.DKV;
+import water.Futures;
+import water.Key;
+import water.MRTask;
+
+import java.util.Arrays;
+
+/**
+ * Utility to append the rows of a Frame to another Frame in place.
+ *
+ * The Chunks of the appended rows become new Chunks at the end of the Vecs of
+ * the Frame: the Vecs keep their Keys (and VectorGroup) and get a new row layout
+ * extending the old one, so none of the existing Chunks is copied or moved.
+ * Categorical levels are remapped to the merged domains - the existing Chunks
+ * only where the code of a level changed.  Rollups of the Vecs which kept their
+ * existing Chunks intact are updated incrementally from the new Chunks.
+ */
+public class FrameAppender {
+
+  private FrameAppender() {}
+
+  /**
+   * Append the rows to the Frame.  The Frame is expected to be write-locked by
+   * the caller, the rows Frame is consumed: its Chunks are moved into the Vecs
+   * of the Frame, the caller removes it afterwards.
+   *
+   * @param fr Frame to append to, its Vecs have to be plain (non-wrapped) Vecs
+   * @param rows rows to append, with the same columns as fr
+   * @param domains per column: the domain of the result (the merged domain for categoricals)
+   * @param oldMaps per column: the level map from the domain of fr to the merged domain, null if unchanged
+   * @param newMaps per column: the level map from the domain of rows to the merged domain, null if unchanged
+   * @return the new Vecs of the Frame (installed in DKV), with the same Keys as before
+   */
+  public static Vec[] append(Frame fr, Frame rows, String[][] domains, int[][] oldMaps, final int[][] newMaps) {
+    final Vec[] vecs = fr.vecs(), rvecs = rows.vecs();
+    if( vecs.length != rvecs.length )
+      throw new IllegalArgumentException("Expected "+vecs.length+" columns, got "+rvecs.length+".");
+    for( Vec v : vecs )
+      if( v.getClass() != Vec.class )
+        throw new IllegalArgumentException("Can not append rows to the Vec "+v._key+" of type "+v.getClass().getSimpleName()+".");
+    // Extend the row layout by the layout of the appended rows
+    final int n0 = fr.anyVec().nChunks(), n1 = rows.anyVec().nChunks();
+    final long[] espc0 = fr.anyVec().espc(), espc1 = rows.anyVec().espc();
+    long[] espc = Arrays.copyOf(espc0, n0 + n1 + 1);
+    for( int i = 1; i <= n1; i++ )
+      espc[n0 + i] = espc0[n0] + espc1[i];
+    final int rowLayout = Vec.ESPC.rowLayout(vecs[0]._key, espc);
+
+    // Current rollups which can be updated incrementally
+    final RollupStats[] rss = new RollupStats[vecs.length];
+    final Vec[] nvecs = new Vec[vecs.length];
+    for( int i = 0; i < vecs.length; i++ ) {
+      Vec v = vecs[i];
+      if( oldMaps[i] == null && v.get_type() == rvecs[i].get_type() )
+        rss[i] = RollupStats.getOrNull(v, v.rollupStatsKey());
+      byte type = v.isBad() ? rvecs[i].get_type() : v.get_type();
+      nvecs[i] = new Vec(v._key, rowLayout, domains[i], type);
+    }
+
+    // Move (or remap) the Chunks of the rows behind the existing Chunks
+    new MRTask() {
+      @Override public void map(Chunk[] cs) {
+        final int cidx = cs[0].cidx();
+        for( int i = 0; i < cs.length; i++ ) {
+          Chunk c = cs[i];
+          Key key = nvecs[i].chunkKey(n0 + cidx);
+          if( newMaps[i] == null || c instanceof CStrChunk ) {
+            DKV.put(key, c, _fs);
+            DKV.remove(c.vec().chunkKey(cidx), _fs);
+          } else {
+            NewChunk nc = new NewChunk(nvecs[i], n0 + cidx);
+            for( int j = 0; j < c._len; j++ )
+              if( c.isNA(j) ) nc.addNA();
+              else nc.addNum(newMaps[i][(int) c.at8(j)], 0);
+            DKV.put(key, nc.compress(), _fs);
+          }
+        }
+      }
+    }.doAll(rows);
+
+    // Install the new Vecs, rollups are locked out while the Chunks change
+    Futures fs = new Futures();
+    for( int i = 0; i < nvecs.length; i++ ) {
+      nvecs[i].preWriting();
+      DKV.put(nvecs[i], fs);
+    }
+    fs.blockForPending();
+
+    // Remap the existing Chunks holding levels whose codes changed
+    int ncols = 0;
+    int[] cols = new int[vecs.length];
+    for( int i = 0; i < vecs.length; i++ )
+      if( oldMaps[i] != null ) cols[ncols++] = i;
+    if( ncols > 0 ) {
+      final int[][] maps = new int[ncols][];
+      Vec[] rvs = new Vec[ncols];
+      for( int k = 0; k < ncols; k++ ) {
+        maps[k] = oldMaps[cols[k]];
+        rvs[k] = nvecs[cols[k]];
+      }
+      new MRTask() {
+        @Override public void map(Chunk[] cs) {
+          if( cs[0].cidx() >= n0 ) return;
+          for( int k = 0; k < cs.length; k++ ) {
+            Chunk c = cs[k];
+            // Chunks holding only unchanged levels are not modified (and so not written back)
+            for( int j = 0; j < c._len; j++ ) {
+              if( c.isNA(j) ) continue;
+              int old = (int) c.at8(j);
+              if( maps[k][old] != old ) c.set(j, maps[k][old]);
+            }
+          }
+        }
+      }.doAll(rvs);
+    }
+
+    // Rollups: merge the rollups of the new Chunks where possible, otherwise recompute them on demand
+    for( int i = 0; i < nvecs.length; i++ )
+      if( rss[i] != null ) RollupStats.appended(nvecs[i], vecs[i], rss[i], n0);
+      else nvecs[i].postWrite(fs);
+    fs.blockForPending();
+    return nvecs;
+  }
+}
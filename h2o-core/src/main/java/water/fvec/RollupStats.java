@@ -13,6 +13,7 @@ import water.parser.Categorical;
 import water.parser.BufferedString;
 import water.util.ArrayUtils;
 import water.util.Log;
+import water.util.UnsafeUtils;
 
 import java.util.Arrays;
 
@@ -256,15 +257,32 @@ final class RollupStats extends Iced {
 
   private static class Roll extends MRTask<Roll> {
     final Key _rskey;
+    final Vec _vec;               // Vec of the appended Chunks (run over their Keys), null when run over the whole Vec
+    final RollupStats _prefix;    // Rollups of the Chunks before the appended ones
     RollupStats _rs;
 
     @Override
     protected boolean modifiesVolatileVecs(){return false;}
 
-    Roll( H2OCountedCompleter cmp, Key rskey ) { super(cmp); _rskey=rskey; }
+    Roll( H2OCountedCompleter cmp, Key rskey ) { this(cmp, rskey, null, null); }
+    Roll( H2OCountedCompleter cmp, Key rskey, Vec vec, RollupStats prefix ) {
+      super(cmp); _rskey=rskey; _vec=vec; _prefix=prefix;
+    }
     @Override public void map( Chunk c ) { _rs = new RollupStats(0).map(c); }
-    @Override public void reduce( Roll roll ) { _rs.reduce(roll._rs); }
+    // An appended Chunk, on its home node: the Chunks before it are not loaded at all
+    @Override public void map( Key chkKey ) {
+      int cidx = UnsafeUtils.get4(chkKey._kb, 6); // see Vec.chunkKey
+      _rs = new RollupStats(0).map(_vec.chunkForChunkIdx(cidx));
+    }
+    @Override public void reduce( Roll roll ) {
+      if( _rs == null ) _rs = roll._rs;
+      else if( roll._rs != null ) _rs.reduce(roll._rs);
+    }
     @Override public void postGlobal() {
+      if( _prefix != null ) {
+        if( _rs == null ) _rs = new RollupStats(0);
+        _rs.reduce(_prefix);
+      }
       if( _rs == null )
         _rs = new RollupStats(0);
       else {
@@ -276,20 +294,11 @@ final class RollupStats extends Iced {
         }
       }
       // mean & sigma not allowed on more than 2 classes; for 2 classes the assumption is that it's true/false
-      Vec vec = _fr.anyVec();
+      Vec vec = vec();
       String[] ss = vec.domain();
       if( vec.isCategorical() && ss.length > 2 )
         _rs._mean = _rs._sigma = Double.NaN;
-      if( ss != null ) {
-        long dsz = (2/*hdr*/+1/*len*/+ss.length)*8;  // Size of base domain array
-        for( String s : vec.domain() )
-          if( s != null )
-            dsz += 2*s.length() + (2/*hdr*/+1/*value*/+1/*hash*/+2/*hdr*/+1/*len*/)*8;
-        _rs._size += dsz;             // Account for domain size in Vec size
-        // Account for Chunk key size
-        int keysize = (2/*hdr*/+1/*kb*/+1/*hash*/+2/*hdr*/+1/*len*/)*8+ vec._key._kb.length;
-        _rs._size += vec.nChunks()*(keysize*4/*key+value ptr in DKV, plus 50% fill rate*/);
-      }
+      _rs._size += metaSize(vec);
     }
     // Just toooo common to report always.  Drowning in multi-megabyte log file writes.
     @Override public boolean logVerbose() { return false; }
@@ -298,7 +307,47 @@ final class RollupStats extends Iced {
      * Added to avoid deadlocks when running from idea in debug mode (evaluating toSgtring on mr task causes rollups to be computed)
      * @return
      */
-    @Override public String toString(){return "Roll(" + _fr.anyVec()._key +")";}
+    @Override public String toString(){return "Roll(" + vec()._key +")";}
+
+    private Vec vec() { return _vec != null ? _vec : _fr.anyVec(); }
+  }
+
+  // Size of the domain and of the Chunk keys of a categorical Vec, accounted for in the Vec size
+  private static long metaSize( Vec vec ) {
+    String[] ss = vec.domain();
+    if( ss == null ) return 0;
+    long dsz = (2/*hdr*/+1/*len*/+ss.length)*8;  // Size of base domain array
+    for( String s : ss )
+      if( s != null )
+        dsz += 2*s.length() + (2/*hdr*/+1/*value*/+1/*hash*/+2/*hdr*/+1/*len*/)*8;
+    // Account for Chunk key size
+    int keysize = (2/*hdr*/+1/*kb*/+1/*hash*/+2/*hdr*/+1/*len*/)*8+ vec._key._kb.length;
+    return dsz + vec.nChunks()*(keysize*4/*key+value ptr in DKV, plus 50% fill rate*/);
+  }
+
+  /** Update the rollups of a Vec to which new Chunks were appended (from
+   *  chunk fromChunk on) incrementally: only the new Chunks are rolled up,
+   *  and merged with the given rollups of the Vec before the append.  The
+   *  histogram is not merged, it is recomputed on demand.  The Vec has to be
+   *  marked as mutating while its Chunks are being appended.
+   *  @param oldVec the Vec before the append (same Key)
+   *  @param old ready rollups of oldVec */
+  static void appended( Vec vec, Vec oldVec, RollupStats old, int fromChunk ) {
+    // Undo the finishing touches of Roll.postGlobal: back to sums of squares
+    RollupStats prefix = new RollupStats(0);
+    prefix.reduce(old);
+    prefix._sigma = old._rows > 1 ? old._sigma*old._sigma*(old._rows-1) : 0;
+    prefix._size -= metaSize(oldVec);
+    prefix._checksum ^= oldVec.length();
+    Key rskey = vec.rollupStatsKey();
+    // Only the appended Chunks are visited (on their home nodes), the old ones
+    // may well be swapped out
+    Key[] chkKeys = new Key[vec.nChunks() - fromChunk];
+    for( int i = 0; i < chkKeys.length; i++ )
+      chkKeys[i] = vec.chunkKey(fromChunk + i);
+    Roll r = new Roll(null, rskey, vec, prefix).doAll(chkKeys);
+    r._rs._checksum ^= vec.length();
+    DKV.put(rskey, r._rs);
   }
 
   static void start(final Vec vec, Futures fs, boolean computeHisto) {
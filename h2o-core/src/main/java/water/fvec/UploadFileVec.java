@@ -30,6 +30,32 @@ public class UploadFileVec extends FileVec {
     _len = l*_chunkSize +c._len;
   }
 
+  /**
+   * Make an open Vec with the given chunk size, the caller puts the chunks in with {@link #putChunk} (in any order)
+   * and then closes the Vec with {@link #close(long, Futures)}.
+   */
+  public static UploadFileVec make(Key<Vec> key, int chunkSize) {
+    UploadFileVec uv = new UploadFileVec(key);
+    uv._chunkSize = chunkSize;
+    return uv;
+  }
+
+  public void putChunk(int cidx, byte[] bytes, Futures fs) {
+    assert _len==-1 && bytes.length <= _chunkSize;
+    C1NChunk c = new C1NChunk(bytes);
+    c._vec = this;
+    DKV.put(chunkKey(cidx), c, fs, true);
+  }
+
+  /** Close the Vec (all chunks but the last one are full) and put it into DKV */
+  public Futures close(long len, Futures fs) {
+    assert _len==-1;
+    _len = len;
+    _nchunks = nChunks();
+    DKV.put(_key, this, fs);
+    return fs;
+  }
+
   private boolean checkMissing(int cidx, Value val) {
     if( val != null ) return true;
     Log.err("Missing chunk " + cidx + " for " + _key);
@@ -8,6 +8,7 @@ import water.util.Log;
 
 import java.math.BigDecimal;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.concurrent.ArrayBlockingQueue;
 
 public class SQLManager {
@@ -30,6 +31,9 @@ public class SQLManager {
 
   private static final String TMP_TABLE_ENABLED = H2O.OptArgs.SYSTEM_PROP_PREFIX + "sql.tmp_table.enabled";
 
+  //Default number of rows fetched in a single round trip when reading a range of the split column
+  private static final int DEFAULT_RANGE_FETCH_SIZE = 10000;
+
   /**
    * @param connection_url (Input)
    * @param table (Input)
@@ -44,6 +48,25 @@ public class SQLManager {
       final String username, final String password, final String columns,
       final Boolean useTempTable, final String tempTableName,
       final SqlFetchMode fetch_mode) {
+    return importSqlTable(connection_url, table, select_query, username, password, columns,
+        useTempTable, tempTableName, fetch_mode, null, 0);
+  }
+
+  /**
+   * @param split_column (Input) numeric or date/timestamp column used to split the table into ranges read in parallel
+   *                     (DISTRIBUTED mode only), the table is split by LIMIT/OFFSET if not given
+   * @param fetch_size (Input) number of rows fetched from the database in a single round trip, 0 for the default
+   */
+  public static Job<Frame> importSqlTable(
+      final String connection_url, final String table, final String select_query,
+      final String username, final String password, final String columns,
+      final Boolean useTempTable, final String tempTableName,
+      final SqlFetchMode fetch_mode, final String split_column, final int fetch_size) {
+
+    if (split_column != null && !SqlFetchMode.DISTRIBUTED.equals(fetch_mode))
+      throw new IllegalArgumentException("The split column can only be used in the DISTRIBUTED fetch mode.");
+    if (fetch_size < 0)
+      throw new IllegalArgumentException("The fetch size cannot be negative, got: " + fetch_size);
 
     final Key<Frame> destination_key = Key.make((table + "_sql_to_hex").replaceAll("\\W", "_"));
     final Job<Frame> j = new Job<>(destination_key, Frame.class.getName(), "Import SQL Table");
@@ -55,7 +78,7 @@ public class SQLManager {
         j, destination_key, databaseType, connection_url, 
         table, select_query, username, password, columns, 
         useTempTable, tempTableName,
-        fetch_mode
+        fetch_mode, split_column, fetch_size
     );
     j.start(importDriver, Job.WORK_UNKNOWN);
 
@@ -77,11 +100,13 @@ public class SQLManager {
     final boolean _useTempTable;
     final String _tempTableName;
     final SqlFetchMode _fetch_mode;
+    final String _split_column;
+    final int _fetch_size;
 
     SQLImportDriver(
         Job<Frame> job, Key<Frame> destination_key, String database_type, 
         String connection_url, String table, String select_query, String username, String password, String columns,
-        Boolean useTempTable, String tempTableName, SqlFetchMode fetch_mode
+        Boolean useTempTable, String tempTableName, SqlFetchMode fetch_mode, String split_column, int fetch_size
     ) {
       _j = job;
       _destination_key = destination_key;
@@ -95,6 +120,8 @@ public class SQLManager {
       _useTempTable = shouldUseTempTable(useTempTable);
       _tempTableName = getTempTableName(tempTableName);
       _fetch_mode = fetch_mode;
+      _split_column = split_column;
+      _fetch_size = fetch_size;
     }
 
     /*
@@ -130,6 +157,8 @@ public class SQLManager {
       String source_table = _table;
       final String[] columnNames;
       final byte[] columnH2OTypes;
+      final int[] columnSqlTypes;
+      SplitColumnRanges ranges = null;
       try {
         conn = getConnectionSafe(_connection_url, _username, _password);
         stmt = conn.createStatement();
@@ -162,10 +191,11 @@ public class SQLManager {
         }
         //get H2O column names and types
         _j.update(0L, "Getting table schema");
-        if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode)) {
+        if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode) && _split_column == null) {
           rs = stmt.executeQuery(buildSelectSingleRowSql(_database_type, source_table, _columns));
         } else {
           // we use a simpler SQL-dialect independent query in the `streaming` mode because the goal is to be dialect independent
+          // (the same holds for the ranges of a split column, they are read by standard SQL predicates)
           stmt.setMaxRows(1);
           rs = stmt.executeQuery("SELECT " + _columns + " FROM " + source_table);
         }
@@ -174,12 +204,14 @@ public class SQLManager {
 
         columnNames = new String[numCol];
         columnH2OTypes = new byte[numCol];
+        columnSqlTypes = new int[numCol];
 
         rs.next();
         for (int i = 0; i < numCol; i++) {
           columnNames[i] = rsmd.getColumnName(i + 1);
+          columnSqlTypes[i] = rsmd.getColumnType(i + 1);
           //must iterate through sql types instead of getObject bc object could be null
-          switch (rsmd.getColumnType(i + 1)) {
+          switch (columnSqlTypes[i]) {
             case Types.NUMERIC:
             case Types.REAL:
             case Types.DOUBLE:
@@ -220,6 +252,15 @@ public class SQLManager {
               columnH2OTypes[i] = Vec.T_BAD;
           }
         }
+        rs.close();
+
+        if (_split_column != null) {
+          _j.update(0L, "Getting range of the split column");
+          rs = stmt.executeQuery("SELECT MIN(" + _split_column + "), MAX(" + _split_column + ") FROM " + source_table);
+          rs.next();
+          ranges = SplitColumnRanges.fromMinMax(_split_column, rs, numPartitions(numRow, numCol, catcols + intcols,
+                  bincols, realcols + timecols + stringcols));
+        }
 
       } catch (SQLException ex) {
         throw new RuntimeException("SQLException: " + ex.getMessage() + "\nFailed to connect and read from SQL database with connection_url: " + _connection_url, ex);
@@ -247,27 +288,20 @@ public class SQLManager {
         }
       }
 
-      double binary_ones_fraction = 0.5; //estimate
-
-      //create template vectors in advance and run MR
-      final long totSize =
-              (long)((float)(catcols+intcols)*numRow*4 //4 bytes for categoricals and integers
-                      +(float)bincols          *numRow*1*binary_ones_fraction //sparse uses a fraction of one byte (or even less)
-                      +(float)(realcols+timecols+stringcols) *numRow*8); //8 bytes for real and time (long) values
-
       final Vec vec;
-      final int chunk_size = FileVec.calcOptimalChunkSize(totSize, numCol, numCol * 4,
-              H2O.ARGS.nthreads, H2O.getCloudSize(), false, false);
-      final double rows_per_chunk = chunk_size; //why not numRow * chunk_size / totSize; it's supposed to be rows per chunk, not the byte size
-      final int num_chunks = Vec.nChunksFor(numRow, (int) Math.ceil(Math.log1p(rows_per_chunk)), false);
-
-      if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode)) {
-        final int num_retrieval_chunks = ConnectionPoolProvider.estimateConcurrentConnections(H2O.getCloudSize(), H2O.ARGS.nthreads);
-        vec = num_retrieval_chunks >= num_chunks
-                ? Vec.makeConN(numRow, num_chunks)
-                : Vec.makeConN(numRow, num_retrieval_chunks);
+      if (ranges != null) {
+        // one chunk per range, the actual number of rows of a range is only known once it was read
+        vec = Vec.makeConN(ranges.nPartitions(), ranges.nPartitions());
       } else {
-        vec = Vec.makeConN(numRow, num_chunks);
+        final int num_chunks = numChunks(numRow, numCol, catcols + intcols, bincols, realcols + timecols + stringcols);
+        if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode)) {
+          final int num_retrieval_chunks = ConnectionPoolProvider.estimateConcurrentConnections(H2O.getCloudSize(), H2O.ARGS.nthreads);
+          vec = num_retrieval_chunks >= num_chunks
+                  ? Vec.makeConN(numRow, num_chunks)
+                  : Vec.makeConN(numRow, num_retrieval_chunks);
+        } else {
+          vec = Vec.makeConN(numRow, num_chunks);
+        }
       }
 
       Log.info("Number of chunks for data retrieval: " + vec.nChunks() + ", number of rows:" + numRow);
@@ -278,12 +312,16 @@ public class SQLManager {
       final ConnectionPoolProvider provider = new ConnectionPoolProvider(_connection_url, _username, _password, vec.nChunks());
       final Frame fr;
 
-      if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode)) {
-        fr = new SqlTableToH2OFrame(source_table, _database_type, _columns, columnNames, numCol, _j, provider)
+      if (ranges != null) {
+        fr = new SqlTableRangesToH2OFrame(source_table, _columns, columnSqlTypes, ranges, _fetch_size, _j, provider)
+                .doAll(columnH2OTypes, vec)
+                .outputFrame(_destination_key, columnNames, null);
+      } else if (SqlFetchMode.DISTRIBUTED.equals(_fetch_mode)) {
+        fr = new SqlTableToH2OFrame(source_table, _database_type, _columns, columnNames, columnSqlTypes, _fetch_size, _j, provider)
                 .doAll(columnH2OTypes, vec)
                 .outputFrame(_destination_key, columnNames, null);
       } else {
-        fr = new SqlTableToH2OFrameStreaming(source_table, _database_type, _columns, columnNames, numCol, _j, provider)
+        fr = new SqlTableToH2OFrameStreaming(source_table, _database_type, _columns, columnNames, columnSqlTypes, _fetch_size, _j, provider)
                 .readTable(vec, columnH2OTypes, _destination_key);
       }
       vec.remove();
@@ -295,6 +333,31 @@ public class SQLManager {
       tryComplete();
     }
 
+    private static int numChunks(long numRow, int numCol, int intcols, int bincols, int realcols) {
+      double binary_ones_fraction = 0.5; //estimate
+
+      //create template vectors in advance and run MR
+      final long totSize =
+              (long)((float)intcols*numRow*4 //4 bytes for categoricals and integers
+                      +(float)bincols          *numRow*1*binary_ones_fraction //sparse uses a fraction of one byte (or even less)
+                      +(float)realcols *numRow*8); //8 bytes for real and time (long) values
+
+      final int chunk_size = FileVec.calcOptimalChunkSize(totSize, numCol, numCol * 4,
+              H2O.ARGS.nthreads, H2O.getCloudSize(), false, false);
+      final double rows_per_chunk = chunk_size; //why not numRow * chunk_size / totSize; it's supposed to be rows per chunk, not the byte size
+      return Vec.nChunksFor(numRow, (int) Math.ceil(Math.log1p(rows_per_chunk)), false);
+    }
+
+    /**
+     * Ranges of the split column are read concurrently by all the connections of the cluster, there are at least
+     * as many ranges as connections (so that each connection reads a range) and at most one per row.
+     */
+    private static int numPartitions(long numRow, int numCol, int intcols, int bincols, int realcols) {
+      final int num_chunks = numChunks(numRow, numCol, intcols, bincols, realcols);
+      final int num_retrieval_chunks = ConnectionPoolProvider.estimateConcurrentConnections(H2O.getCloudSize(), H2O.ARGS.nthreads);
+      return (int) Math.max(1, Math.min(numRow, Math.max(num_chunks, num_retrieval_chunks)));
+    }
+
   }
   
   /**
@@ -548,19 +611,21 @@ public class SQLManager {
 
   static class SqlTableToH2OFrameStreaming {
     final String _table, _columns, _databaseType;
-    final int _numCol;
+    final int[] _columnSqlTypes;
+    final int _fetchSize;
     final Job _job;
     final ConnectionPoolProvider _poolProvider;
     final String[] _columnNames;
 
     SqlTableToH2OFrameStreaming(final String table, final String databaseType,
-                                final String columns, final String[] columnNames, final int numCol,
-                                final Job job, final ConnectionPoolProvider poolProvider) {
+                                final String columns, final String[] columnNames, final int[] columnSqlTypes,
+                                final int fetchSize, final Job job, final ConnectionPoolProvider poolProvider) {
       _table = table;
       _databaseType = databaseType;
       _columns = columns;
       _columnNames = columnNames;
-      _numCol = numCol;
+      _columnSqlTypes = columnSqlTypes;
+      _fetchSize = fetchSize;
       _job = job;
       _poolProvider = poolProvider;
     }
@@ -580,7 +645,7 @@ public class SQLManager {
       Futures fs = new Futures();
       try (Connection conn = _poolProvider.createConnection();
            Statement stmt = conn.createStatement()) {
-        final int fetchSize = (int) Math.min(blueprint.chunkLen(0), 1e5);
+        final int fetchSize = _fetchSize > 0 ? _fetchSize : (int) Math.min(blueprint.chunkLen(0), 1e5);
         stmt.setFetchSize(fetchSize);
         rs = stmt.executeQuery(query);
         chunks: for (int cidx = 0; cidx < blueprint.nChunks(); cidx++) {
@@ -597,7 +662,7 @@ public class SQLManager {
               Log.warn("Query `" + query + "` returned less rows than expected. Actual: " + totalLen + ", expected: " + blueprint.length());
               break chunks;
             }
-            SqlTableToH2OFrame.writeRow(rs, ncs);
+            SqlTableToH2OFrame.writeRow(rs, _columnSqlTypes, ncs);
             r++;
           }
           fs.add(H2O.submitTask(new FinalizeNewChunkTask(cidx, ncs)));
@@ -649,7 +714,8 @@ public class SQLManager {
 
   static class SqlTableToH2OFrame extends MRTask<SqlTableToH2OFrame> {
     final String _table, _columns, _databaseType;
-    final int _numCol;
+    final int[] _columnSqlTypes;
+    final int _fetchSize;
     final Job _job;
     final ConnectionPoolProvider _poolProvider;
     final String[] _columnNames;
@@ -657,13 +723,14 @@ public class SQLManager {
     transient ArrayBlockingQueue<Connection> sqlConn;
 
     public SqlTableToH2OFrame(final String table, final String databaseType,
-                              final String columns, final String[] columnNames, final int numCol,
-                              final Job job, final ConnectionPoolProvider poolProvider) {
+                              final String columns, final String[] columnNames, final int[] columnSqlTypes,
+                              final int fetchSize, final Job job, final ConnectionPoolProvider poolProvider) {
       _table = table;
       _databaseType = databaseType;
       _columns = columns;
       _columnNames = columnNames;
-      _numCol = numCol;
+      _columnSqlTypes = columnSqlTypes;
+      _fetchSize = fetchSize;
       _job = job;
       _poolProvider = poolProvider;
     }
@@ -686,10 +753,10 @@ public class SQLManager {
         conn = sqlConn.take();
         stmt = conn.createStatement();
         //set fetch size for best performance
-        stmt.setFetchSize(c0._len);
+        stmt.setFetchSize(_fetchSize > 0 ? _fetchSize : c0._len);
         rs = stmt.executeQuery(sqlText);
         while (rs.next()) {
-          writeRow(rs, ncs);
+          writeRow(rs, _columnSqlTypes, ncs);
         }
       } catch (SQLException ex) {
         throw new RuntimeException("SQLException: " + ex.getMessage() + "\nFailed to read SQL data", ex);
@@ -722,55 +789,71 @@ public class SQLManager {
       if (_job != null) _job.update(1);
     }
 
-    static void writeRow(ResultSet rs, NewChunk[] ncs) throws SQLException {
+    /**
+     * Writes the current row of the result set to the chunks. Values are read by the getters of the SQL types
+     * of the columns, NULLs are detected by {@link ResultSet#wasNull()}.
+     */
+    static void writeRow(ResultSet rs, int[] sqlTypes, NewChunk[] ncs) throws SQLException {
       for (int i = 0; i < ncs.length; i++) {
-        Object res = rs.getObject(i + 1);
-        if (res == null) ncs[i].addNA();
-        else {
-          switch (res.getClass().getSimpleName()) {
-            case "Double":
-              ncs[i].addNum((double) res);
-              break;
-            case "Integer":
-              ncs[i].addNum((long) (int) res, 0);
-              break;
-            case "Long":
-              ncs[i].addNum((long) res, 0);
-              break;
-            case "Float":
-              ncs[i].addNum((double) (float) res);
-              break;
-            case "Short":
-              ncs[i].addNum((long) (short) res, 0);
-              break;
-            case "Byte":
-              ncs[i].addNum((long) (byte) res, 0);
-              break;
-            case "BigDecimal":
-              ncs[i].addNum(((BigDecimal) res).doubleValue());
-              break;
-            case "Boolean":
-              ncs[i].addNum(((boolean) res ? 1 : 0), 0);
-              break;
-            case "String":
-              ncs[i].addStr(new BufferedString((String) res));
-              break;
-            case "Date":
-              ncs[i].addNum(((Date) res).getTime(), 0);
-              break;
-            case "Time":
-              ncs[i].addNum(((Time) res).getTime(), 0);
-              break;
-            case "Timestamp":
-              ncs[i].addNum(((Timestamp) res).getTime(), 0);
-              break;
-            default:
-              ncs[i].addNA();
+        final int col = i + 1;
+        switch (sqlTypes[i]) {
+          case Types.NUMERIC:
+          case Types.REAL:
+          case Types.DOUBLE:
+          case Types.FLOAT:
+          case Types.DECIMAL: {
+            double d = rs.getDouble(col);
+            if (rs.wasNull()) ncs[i].addNA();
+            else ncs[i].addNum(d);
+            break;
+          }
+          case Types.INTEGER:
+          case Types.TINYINT:
+          case Types.SMALLINT:
+          case Types.BIGINT: {
+            long l = rs.getLong(col);
+            if (rs.wasNull()) ncs[i].addNA();
+            else ncs[i].addNum(l, 0);
+            break;
+          }
+          case Types.BIT:
+          case Types.BOOLEAN: {
+            boolean b = rs.getBoolean(col);
+            if (rs.wasNull()) ncs[i].addNA();
+            else ncs[i].addNum(b ? 1 : 0, 0);
+            break;
+          }
+          case Types.VARCHAR:
+          case Types.NVARCHAR:
+          case Types.CHAR:
+          case Types.NCHAR:
+          case Types.LONGVARCHAR:
+          case Types.LONGNVARCHAR: {
+            String str = rs.getString(col);
+            if (str == null) ncs[i].addNA();
+            else ncs[i].addStr(str);
+            break;
           }
+          case Types.DATE:
+            addTime(ncs[i], rs.getDate(col));
+            break;
+          case Types.TIME:
+            addTime(ncs[i], rs.getTime(col));
+            break;
+          case Types.TIMESTAMP:
+            addTime(ncs[i], rs.getTimestamp(col));
+            break;
+          default:
+            ncs[i].addNA();
         }
       }
     }
 
+    private static void addTime(NewChunk nc, java.util.Date time) {
+      if (time == null) nc.addNA();
+      else nc.addNum(time.getTime(), 0);
+    }
+
     @Override
     protected void closeLocal() {
       try {
@@ -782,6 +865,225 @@ public class SQLManager {
     }
   }
 
+  /**
+   * Builds SQL SELECT to retrieve a range of rows of a table, the range is given by a predicate on the split column.
+   *
+   * @param table
+   * @param columns
+   * @param rangePredicate predicate with parameters for the bounds of the range, null to select all the rows
+   * @return String SQL SELECT statement
+   */
+  static String buildSelectRangeSql(String table, String columns, String rangePredicate) {
+    String sqlText = "SELECT " + columns + " FROM " + table;
+    if (rangePredicate != null)
+      sqlText += " WHERE " + rangePredicate;
+    return sqlText;
+  }
+
+  /**
+   * Equal-width ranges of the values of the split column between its minimum and maximum. Range i holds the rows
+   * with bounds[i-1] <= value < bounds[i], the first range is unbounded from below and holds the NULLs too, the last
+   * range is unbounded from above. Numbers, dates and times can be split, the bounds of dates and times are
+   * milliseconds since the epoch.
+   */
+  static class SplitColumnRanges extends Iced<SplitColumnRanges> {
+    final String _column;
+    final int _sqlType;
+    final long[] _longBounds;     // integer, date and time columns
+    final double[] _doubleBounds; // other numeric columns
+
+    SplitColumnRanges(String column, int sqlType, long[] longBounds, double[] doubleBounds) {
+      _column = column;
+      _sqlType = sqlType;
+      _longBounds = longBounds;
+      _doubleBounds = doubleBounds;
+    }
+
+    /**
+     * @param minMax result set positioned at the row with the minimum and the maximum of the split column
+     * @param nPartitions requested number of ranges, fewer ranges are made if the column has fewer distinct values
+     */
+    static SplitColumnRanges fromMinMax(String column, ResultSet minMax, int nPartitions) throws SQLException {
+      final int sqlType = minMax.getMetaData().getColumnType(1);
+      switch (sqlType) {
+        case Types.INTEGER:
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.BIGINT: {
+          long min = minMax.getLong(1), max = minMax.getLong(2);
+          return new SplitColumnRanges(column, sqlType, minMax.wasNull() ? new long[0] : longBounds(min, max, nPartitions), null);
+        }
+        case Types.NUMERIC:
+        case Types.REAL:
+        case Types.DOUBLE:
+        case Types.FLOAT:
+        case Types.DECIMAL: {
+          double min = minMax.getDouble(1), max = minMax.getDouble(2);
+          return new SplitColumnRanges(column, sqlType, null, minMax.wasNull() ? new double[0] : doubleBounds(min, max, nPartitions));
+        }
+        case Types.DATE:
+          return timeRanges(column, sqlType, minMax.getDate(1), minMax.getDate(2), nPartitions);
+        case Types.TIME:
+          return timeRanges(column, sqlType, minMax.getTime(1), minMax.getTime(2), nPartitions);
+        case Types.TIMESTAMP:
+          return timeRanges(column, sqlType, minMax.getTimestamp(1), minMax.getTimestamp(2), nPartitions);
+        default:
+          throw new IllegalArgumentException("The split column `" + column + "` has to be a numeric, date or time column, " +
+                  "but its type is " + minMax.getMetaData().getColumnTypeName(1) + ".");
+      }
+    }
+
+    private static SplitColumnRanges timeRanges(String column, int sqlType, java.util.Date min, java.util.Date max,
+                                                int nPartitions) {
+      long[] bounds = min == null || max == null ? new long[0] : longBounds(min.getTime(), max.getTime(), nPartitions);
+      return new SplitColumnRanges(column, sqlType, bounds, null);
+    }
+
+    static long[] longBounds(long min, long max, int nPartitions) {
+      final double width = ((double) max - (double) min + 1) / nPartitions;
+      long[] bounds = new long[Math.max(nPartitions - 1, 0)];
+      int n = 0;
+      long prev = min;
+      for (int i = 1; i < nPartitions; i++) {
+        long b = min + (long) Math.ceil(width * i);
+        if (b > prev && b <= max) bounds[n++] = prev = b;
+      }
+      return Arrays.copyOf(bounds, n);
+    }
+
+    static double[] doubleBounds(double min, double max, int nPartitions) {
+      double[] bounds = new double[Math.max(nPartitions - 1, 0)];
+      int n = 0;
+      double prev = min;
+      for (int i = 1; i < nPartitions; i++) {
+        double b = min + (max - min) * i / nPartitions;
+        if (b > prev && b <= max) bounds[n++] = prev = b;
+      }
+      return Arrays.copyOf(bounds, n);
+    }
+
+    private int nBounds() {
+      return _longBounds != null ? _longBounds.length : _doubleBounds.length;
+    }
+
+    int nPartitions() {
+      return nBounds() + 1;
+    }
+
+    /**
+     * @return predicate selecting the rows of the range, with a parameter for each of its bounds
+     */
+    String predicate(int partition) {
+      final int n = nPartitions();
+      if (n == 1)
+        return null;
+      if (partition == 0)
+        return "(" + _column + " < ? OR " + _column + " IS NULL)";
+      if (partition == n - 1)
+        return _column + " >= ?";
+      return _column + " >= ? AND " + _column + " < ?";
+    }
+
+    /**
+     * Sets the bounds of the range to the parameters of the predicate.
+     */
+    void bind(PreparedStatement stmt, int partition) throws SQLException {
+      int param = 1;
+      if (partition > 0)
+        setBound(stmt, param++, partition - 1);
+      if (partition < nPartitions() - 1)
+        setBound(stmt, param, partition);
+    }
+
+    private void setBound(PreparedStatement stmt, int param, int bound) throws SQLException {
+      switch (_sqlType) {
+        case Types.DATE:
+          stmt.setDate(param, new Date(_longBounds[bound]));
+          break;
+        case Types.TIME:
+          stmt.setTime(param, new Time(_longBounds[bound]));
+          break;
+        case Types.TIMESTAMP:
+          stmt.setTimestamp(param, new Timestamp(_longBounds[bound]));
+          break;
+        default:
+          if (_longBounds != null) stmt.setLong(param, _longBounds[bound]);
+          else stmt.setDouble(param, _doubleBounds[bound]);
+      }
+    }
+  }
+
+  /**
+   * Reads the ranges of the split column concurrently, each chunk of the input vec stands for a single range.
+   * Unlike LIMIT/OFFSET pagination, the database reads only the rows of the range (by an index of the split column
+   * if there is one).
+   */
+  static class SqlTableRangesToH2OFrame extends MRTask<SqlTableRangesToH2OFrame> {
+    final String _table, _columns;
+    final int[] _columnSqlTypes;
+    final SplitColumnRanges _ranges;
+    final int _fetchSize;
+    final Job _job;
+    final ConnectionPoolProvider _poolProvider;
+
+    transient ArrayBlockingQueue<Connection> _sqlConn;
+
+    SqlTableRangesToH2OFrame(final String table, final String columns, final int[] columnSqlTypes,
+                             final SplitColumnRanges ranges, final int fetchSize,
+                             final Job job, final ConnectionPoolProvider poolProvider) {
+      _table = table;
+      _columns = columns;
+      _columnSqlTypes = columnSqlTypes;
+      _ranges = ranges;
+      _fetchSize = fetchSize;
+      _job = job;
+      _poolProvider = poolProvider;
+    }
+
+    @Override
+    protected void setupLocal() {
+      _sqlConn = _poolProvider.createConnectionPool();
+    }
+
+    @Override
+    public void map(Chunk[] cs, NewChunk[] ncs) {
+      if (isCancelled() || _job != null && _job.stop_requested()) return;
+      final int partition = cs[0].cidx();
+      final String sqlText = buildSelectRangeSql(_table, _columns, _ranges.predicate(partition));
+      Connection conn = null;
+      try {
+        conn = _sqlConn.take();
+        try (PreparedStatement stmt = conn.prepareStatement(sqlText)) {
+          stmt.setFetchSize(_fetchSize > 0 ? _fetchSize : DEFAULT_RANGE_FETCH_SIZE);
+          _ranges.bind(stmt, partition);
+          try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+              SqlTableToH2OFrame.writeRow(rs, _columnSqlTypes, ncs);
+            }
+          }
+        }
+      } catch (SQLException ex) {
+        throw new RuntimeException("SQLException: " + ex.getMessage() + "\nFailed to read SQL data with query: " + sqlText, ex);
+      } catch (InterruptedException e) {
+        throw new RuntimeException("Interrupted exception when trying to take connection from pool", e);
+      } finally {
+        //return connection to pool
+        if (conn != null) _sqlConn.add(conn);
+      }
+      if (_job != null) _job.update(1);
+    }
+
+    @Override
+    protected void closeLocal() {
+      try {
+        for (Connection conn : _sqlConn) {
+          conn.close();
+        }
+      } catch (Exception ex) {
+      } // ignore
+    }
+  }
+
   private static void dropTempTable(String connection_url, String username, String password, String tableName) {
     Connection conn = null;
     Statement stmt = null;
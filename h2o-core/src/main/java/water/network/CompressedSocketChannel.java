@@ -0,0 +1,230 @@
+package water.network;
+
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import water.H2O;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps a (possibly SSL) socket channel carrying large AutoBuffer messages and compresses the written data.
+ *
+ * Every write becomes a frame: a header (codec, raw length, payload length) followed by the payload. Writes of at
+ * least {@link #THRESHOLD} bytes are compressed by the codec of the sender, smaller writes and writes that don't
+ * compress are sent as they are. The codec is recorded in every frame, the receiving side decodes the frames
+ * of any codec - the sender alone decides whether its connection is compressed (by announcing the
+ * compressed channel type when the connection is opened).
+ *
+ * Only the data sent from the writer to the reader is framed, the single byte handshakes going back are written
+ * directly to the underlying socket (see AutoBuffer.close()).
+ *
+ * The codec is set by the system property {@code sys.ai.h2o.network.compression} (none, lz4 or zstd, default none),
+ * the threshold by {@code sys.ai.h2o.network.compression.threshold} (default 16kB).
+ */
+public class CompressedSocketChannel implements ByteChannel {
+
+  public enum Codec {
+    NONE, LZ4, ZSTD;
+
+    static Codec fromName(String name) {
+      try {
+        return valueOf(name.toUpperCase());
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown network compression codec '" + name + "' (none, lz4 or zstd are available).");
+      }
+    }
+  }
+
+  public static final Codec CODEC = Codec.fromName(H2O.getSysProperty("network.compression", "none"));
+  static final int THRESHOLD = Integer.parseInt(H2O.getSysProperty("network.compression.threshold", String.valueOf(16 << 10)));
+  private static final int ZSTD_LEVEL = 1;
+
+  private static final int HEADER_SIZE = 1 + 4 + 4;
+
+  // Bytes before and after compression on the compressed connections of this node
+  public static final AtomicLong RAW_BYTES_SENT = new AtomicLong();
+  public static final AtomicLong WIRE_BYTES_SENT = new AtomicLong();
+  public static final AtomicLong RAW_BYTES_RECEIVED = new AtomicLong();
+  public static final AtomicLong WIRE_BYTES_RECEIVED = new AtomicLong();
+
+  private static final LZ4Compressor LZ4_COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+  private static final LZ4SafeDecompressor LZ4_DECOMPRESSOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+  private final ByteChannel _chan;
+  private final Codec _codec;
+  private final ByteBuffer _header = ByteBuffer.allocate(HEADER_SIZE);
+  // Writer: uncompressed data of a heap buffer (zstd compresses direct buffers only), compressed frame
+  private ByteBuffer _plain, _out;
+  // Reader: compressed payload, decompressed data not yet handed out
+  private ByteBuffer _in, _decoded;
+  // Reader: bytes left of the current uncompressed frame
+  private int _rawRemaining;
+
+  public CompressedSocketChannel(ByteChannel chan, Codec codec) {
+    _chan = chan;
+    _codec = codec;
+  }
+
+  /** @return true if the large messages sent by this node are compressed */
+  public static boolean isEnabled() {
+    return CODEC != Codec.NONE;
+  }
+
+  SocketChannel channel() {
+    return SocketChannelUtils.underlyingSocketChannel(_chan);
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+    final int n = src.remaining();
+    if (_codec != Codec.NONE && n >= THRESHOLD) {
+      int compressed = compress(src);
+      if (compressed < n) {
+        writeFully(_out);
+        src.position(src.limit());
+        RAW_BYTES_SENT.addAndGet(n);
+        WIRE_BYTES_SENT.addAndGet(HEADER_SIZE + compressed);
+        return n;
+      }
+    }
+    _header.clear();
+    _header.put((byte) Codec.NONE.ordinal()).putInt(n).putInt(n).flip();
+    writeFully(_header);
+    writeFully(src);
+    RAW_BYTES_SENT.addAndGet(n);
+    WIRE_BYTES_SENT.addAndGet(HEADER_SIZE + n);
+    return n;
+  }
+
+  // Compresses the remaining bytes of src into a frame in _out, src is left unchanged
+  private int compress(ByteBuffer src) {
+    final int n = src.remaining();
+    ByteBuffer plain = src;
+    if (!src.isDirect() && _codec == Codec.ZSTD) {
+      if (_plain == null || _plain.capacity() < n)
+        _plain = ByteBuffer.allocateDirect(n);
+      _plain.clear();
+      _plain.put(src.duplicate()).flip();
+      plain = _plain;
+    }
+    final int maxLen = _codec == Codec.LZ4 ? LZ4_COMPRESSOR.maxCompressedLength(n) : (int) Zstd.compressBound(n);
+    if (_out == null || _out.capacity() < HEADER_SIZE + maxLen)
+      _out = ByteBuffer.allocateDirect(HEADER_SIZE + maxLen);
+    _out.clear();
+    int compressed;
+    if (_codec == Codec.LZ4) {
+      compressed = LZ4_COMPRESSOR.compress(plain, plain.position(), n, _out, HEADER_SIZE, maxLen);
+    } else {
+      long res = Zstd.compressDirectByteBuffer(_out, HEADER_SIZE, maxLen, plain, plain.position(), n, ZSTD_LEVEL);
+      if (Zstd.isError(res))
+        return n; // send it as it is
+      compressed = (int) res;
+    }
+    _out.put((byte) _codec.ordinal()).putInt(n).putInt(compressed);
+    _out.position(0).limit(HEADER_SIZE + compressed);
+    return compressed;
+  }
+
+  private void writeFully(ByteBuffer bb) throws IOException {
+    while (bb.hasRemaining())
+      _chan.write(bb);
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    if (!dst.hasRemaining())
+      return 0;
+    while ((_decoded == null || !_decoded.hasRemaining()) && _rawRemaining == 0) {
+      if (!readFrame())
+        return -1;
+    }
+    if (_decoded != null && _decoded.hasRemaining())
+      return copyDecoded(dst);
+    // uncompressed frame, read straight into the destination
+    final int limit = dst.limit();
+    dst.limit(dst.position() + Math.min(dst.remaining(), _rawRemaining));
+    int read;
+    try {
+      read = _chan.read(dst);
+    } finally {
+      dst.limit(limit);
+    }
+    if (read < 0)
+      throw new EOFException("Connection closed in the middle of a frame.");
+    _rawRemaining -= read;
+    return read;
+  }
+
+  private int copyDecoded(ByteBuffer dst) {
+    int n = Math.min(dst.remaining(), _decoded.remaining());
+    ByteBuffer src = _decoded.duplicate();
+    src.limit(src.position() + n);
+    dst.put(src);
+    _decoded.position(_decoded.position() + n);
+    return n;
+  }
+
+  // Reads the next frame header, decompresses a compressed frame; returns false at the end of the stream
+  private boolean readFrame() throws IOException {
+    _header.clear();
+    while (_header.hasRemaining()) {
+      if (_chan.read(_header) < 0) {
+        if (_header.position() == 0) return false;
+        throw new EOFException("Connection closed in the middle of a frame header.");
+      }
+    }
+    _header.flip();
+    int codec = _header.get();
+    int rawLength = _header.getInt();
+    int payloadLength = _header.getInt();
+    if (codec < 0 || codec >= Codec.values().length || rawLength < 0 || payloadLength < 0)
+      throw new IOException("Corrupted frame header (codec " + codec + ", length " + rawLength + ", payload " + payloadLength + ").");
+    RAW_BYTES_RECEIVED.addAndGet(rawLength);
+    WIRE_BYTES_RECEIVED.addAndGet(HEADER_SIZE + payloadLength);
+    if (codec == Codec.NONE.ordinal()) {
+      _rawRemaining = rawLength;
+      return true;
+    }
+    if (_in == null || _in.capacity() < payloadLength)
+      _in = ByteBuffer.allocateDirect(payloadLength);
+    _in.clear().limit(payloadLength);
+    while (_in.hasRemaining()) {
+      if (_chan.read(_in) < 0)
+        throw new EOFException("Connection closed in the middle of a frame.");
+    }
+    if (_decoded == null || _decoded.capacity() < rawLength)
+      _decoded = ByteBuffer.allocateDirect(rawLength);
+    _decoded.clear();
+    int decoded;
+    if (codec == Codec.LZ4.ordinal()) {
+      decoded = LZ4_DECOMPRESSOR.decompress(_in, 0, payloadLength, _decoded, 0, rawLength);
+    } else {
+      long res = Zstd.decompressDirectByteBuffer(_decoded, 0, rawLength, _in, 0, payloadLength);
+      if (Zstd.isError(res))
+        throw new IOException("Failed to decompress a frame: " + Zstd.getErrorName(res));
+      decoded = (int) res;
+    }
+    if (decoded != rawLength)
+      throw new IOException("Corrupted frame, expected " + rawLength + " bytes, decompressed " + decoded + ".");
+    _decoded.limit(rawLength);
+    return true;
+  }
+
+  @Override
+  public boolean isOpen() {
+    return _chan.isOpen();
+  }
+
+  @Override
+  public void close() throws IOException {
+    _chan.close();
+  }
+
+}
@@ -1,5 +1,7 @@
 package water.parser;
 
+import java.util.ArrayList;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import water.Iced;
@@ -31,6 +33,16 @@ public final class Categorical extends Iced {
 
   Categorical() { _map = new IcedHashMap<>(); }
 
+  /** Categorical seeded with a known domain: the levels of the domain get
+   *  their index in the domain as id, other levels get ids from the domain
+   *  length up. */
+  Categorical(String[] domain) {
+    this();
+    for( int i = 0; i < domain.length; i++ )
+      _map.put(new BufferedString(domain[i]), i);
+    _id.set(domain.length - 1);
+  }
+
   /** Add key to this map (treated as hash set in this case). */
   int addKey(BufferedString str) {
     // _map is shared and be cast to null (if categorical is killed) -> grab local copy
@@ -60,6 +72,15 @@ public final class Categorical extends Iced {
     return  _map.keySet().toArray(new BufferedString[_map.size()]);
   }
 
+  /** Levels with ids from minId up (e.g. the levels missing in a known domain). */
+  BufferedString[] getColumnDomain(int minId) {
+    if( minId <= 0 ) return getColumnDomain();
+    ArrayList<BufferedString> res = new ArrayList<>();
+    for( Map.Entry<BufferedString, Integer> e : _map.entrySet() )
+      if( e.getValue() >= minId ) res.add(e.getKey());
+    return res.toArray(new BufferedString[res.size()]);
+  }
+
   /**
    * Converts domain values represented as BufferedStrings to UTF-8 encoding {@see BufferedString.toString()}.
    * If the source value is not actually in UTF-8, the characters will be represented in hexadecimal notation.
@@ -1,13 +1,16 @@
 package water.parser;
 
 import org.apache.commons.lang.math.NumberUtils;
+import water.H2O;
 import water.Key;
 import water.fvec.FileVec;
 import water.fvec.Vec;
 import water.util.ArrayUtils;
 import water.util.StringUtils;
+import water.util.UnsafeUtils;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -20,7 +23,14 @@ public class CsvParser extends Parser {
   private static final int HAS_HEADER = ParseSetup.HAS_HEADER;
   private static final byte[] NON_DATA_LINE_MARKERS_DEFAULT = {'#'};
 
+  // Fast path for lines of plain numbers, disabled with -Dsys.ai.h2o.parse.csv.fastpath=false
+  static final boolean FAST_PATH = H2O.getSysBoolProperty("parse.csv.fastpath", true);
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+  private static final int FAST_PATH_NA = Integer.MIN_VALUE; // Exponent of empty tokens
+  private static final int FAST_PATH_MAX_DIGITS = 18; // Digits which can't overflow LARGEST_DIGIT_NUMBER
+
   private final byte[] _nonDataLineMarkers; 
+  boolean _fastPath = FAST_PATH;
 
   CsvParser( ParseSetup ps, Key jobKey ) {
     this(ps, NON_DATA_LINE_MARKERS_DEFAULT, jobKey);
@@ -90,8 +100,30 @@ public class CsvParser extends Parser {
       _setup.setParseColumnIndices(_setup.getNumberColumns(), _setup.getSkippedColumns());
     }
     int parseIndexNum = _setup._parse_columns_indices.length-1;
+    boolean fastPath = fastPathApplies(dout);
+    long[] fastNums = null;
+    int[] fastExps = null;
+    int fastHits = 0, fastMisses = 0;
+    boolean fastRecheck = false; // Lines left to the general parser can turn columns into string columns
+    if (fastPath) {
+      fastNums = new long[_keepColumns.length];
+      fastExps = new int[_keepColumns.length];
+    }
 MAIN_LOOP:
     while (true) {
+      if (fastPath && state == POSSIBLE_EMPTY_LINE && firstChunk) {
+        if (fastRecheck) fastPath = fastPathApplies(dout);
+        // Parse the whole line at once if it's just plain numbers, continue at its end
+        int end = fastPath ? parseNumericLine(bits, offset, dout, parseIndexNum, fastNums, fastExps) : -1;
+        fastRecheck = end < 0;
+        if (end >= 0) {
+          offset = end;
+          c = bits[offset];
+          fastHits++;
+        } else if (++fastMisses > 64 && fastMisses > fastHits) {
+          fastPath = false; // Not worth trying for this chunk
+        }
+      }
       final boolean forcedCategorical = forceable && colIdx < _setup._column_types.length &&
               _setup._column_types[_setup._parse_columns_indices[parsedColumnCounter]] == Vec.T_CAT;
       final boolean forcedString = forceable && colIdx  < _setup._column_types.length &&
@@ -516,6 +548,144 @@ MAIN_LOOP:
     return dout;
   }
 
+  /**
+   * The numeric fast path applies to chunks written to a writer which doesn't treat any of the parsed columns as
+   * strings (and the separator is not a space, which has special handling, and no number starts a comment line).
+   */
+  private boolean fastPathApplies(ParseWriter dout) {
+    if (!_fastPath || CHAR_SEPARATOR == CHAR_SPACE || _keepColumns == null || _keepColumns.length == 0)
+      return false;
+    for (byte m : _nonDataLineMarkers) // Markers which could start a number
+      if ((m >= '0' && m <= '9') || m == '-' || m == '+' || m == CHAR_DECIMAL_SEP || m == CHAR_SEPARATOR)
+        return false;
+    final boolean forceable = dout instanceof FVecParseWriter && ((FVecParseWriter) dout)._ctypes != null &&
+            _setup._column_types != null;
+    for (int i = 0; i < _setup._parse_columns_indices.length; i++) {
+      if (dout.isString(i))
+        return false;
+      if (forceable && (_setup._column_types[_setup._parse_columns_indices[i]] == Vec.T_CAT ||
+              _setup._column_types[_setup._parse_columns_indices[i]] == Vec.T_STR))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Fast path of {@link #parseChunk} for lines made of plain numbers: [+-]digits[.digits][(e|E)[+-]digits] or empty
+   * tokens, separated by a single byte separator, one token per column. The end of the line is found by scanning
+   * 8 bytes at a time, and runs of 8 digits are converted at once.
+   *
+   * The line is parsed first and only written to dout if it is valid, any other byte (quotes, spaces, letters, too
+   * many digits, ...) leaves the line to the general parser. The values written are the same as the general parser
+   * would write.
+   *
+   * @return offset of the end of the line (its CR or LF), or -1 if the line has to be parsed by the general parser
+   */
+  private int parseNumericLine(byte[] bits, int offset, ParseWriter dout, int parseIndexNum, long[] nums, int[] exps) {
+    final int end = findLineEnd(bits, offset);
+    if (end <= offset) return -1; // Empty line, quotes or end of the chunk
+    final int ncols = nums.length;
+    final byte sep = CHAR_SEPARATOR;
+    int col = 0;
+    int pos = offset;
+    while (true) {
+      if (col == ncols) return -1; // More tokens than columns
+      if (pos == end || bits[pos] == sep) {
+        exps[col] = FAST_PATH_NA;
+      } else {
+        boolean neg = false;
+        if (bits[pos] == '-') { neg = true; pos++; }
+        else if (bits[pos] == '+') pos++;
+        long number = 0;
+        int digits = 0, fraction = 0;
+        // Integer part
+        if (LITTLE_ENDIAN)
+          for (long w; pos + 8 <= end && digits <= FAST_PATH_MAX_DIGITS - 8 && isEightDigits(w = UnsafeUtils.get8(bits, pos)); pos += 8, digits += 8)
+            number = number * 100000000 + eightDigits(w);
+        for (int d; pos < end && (d = bits[pos] - '0') >= 0 && d <= 9; pos++, digits++)
+          number = number * 10 + d;
+        // Fraction
+        if (pos < end && bits[pos] == CHAR_DECIMAL_SEP) {
+          int fstart = ++pos;
+          if (LITTLE_ENDIAN)
+            for (long w; pos + 8 <= end && digits <= FAST_PATH_MAX_DIGITS - 8 && isEightDigits(w = UnsafeUtils.get8(bits, pos)); pos += 8, digits += 8)
+              number = number * 100000000 + eightDigits(w);
+          for (int d; pos < end && (d = bits[pos] - '0') >= 0 && d <= 9; pos++, digits++)
+            number = number * 10 + d;
+          fraction = pos - fstart;
+        }
+        if (digits == 0 || digits > FAST_PATH_MAX_DIGITS) return -1;
+        // Exponent
+        int exp = 0;
+        if (pos < end && (bits[pos] == 'e' || bits[pos] == 'E')) {
+          pos++;
+          boolean negExp = false;
+          if (pos < end && bits[pos] == '-') { negExp = true; pos++; }
+          else if (pos < end && bits[pos] == '+') pos++;
+          int estart = pos;
+          for (int d; pos < end && (d = bits[pos] - '0') >= 0 && d <= 9; pos++)
+            exp = exp * 10 + d;
+          if (pos == estart || pos - estart > 9) return -1;
+          if (negExp) exp = -exp;
+        }
+        if (pos < end && bits[pos] != sep) return -1; // Anything else after the number
+        nums[col] = neg ? -number : number;
+        exps[col] = exp - fraction;
+      }
+      col++;
+      if (pos == end) break;
+      pos++; // Separator
+    }
+    if (col != ncols) return -1;
+    for (int i = 0, pcol = 0; i < ncols; i++) {
+      if (!_keepColumns[i]) continue;
+      if (exps[i] == FAST_PATH_NA) dout.addInvalidCol(pcol);
+      else dout.addNumCol(pcol, nums[i], exps[i]);
+      if (pcol < parseIndexNum) pcol++;
+    }
+    dout.newLine();
+    return end;
+  }
+
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGHS = 0x8080808080808080L;
+
+  // Offset of the CR or LF ending the line starting at offset; -1 if the line contains quotes or doesn't end in bits
+  private int findLineEnd(byte[] bits, int offset) {
+    final long lf = CHAR_LF * ONES, cr = CHAR_CR * ONES, dq = CHAR_DOUBLE_QUOTE * ONES;
+    final long sq = (_setup._single_quotes ? CHAR_SINGLE_QUOTE : CHAR_DOUBLE_QUOTE) * ONES;
+    int i = offset;
+    for (; i + 8 <= bits.length; i += 8) { // Skip the words without any special byte
+      long w = UnsafeUtils.get8(bits, i);
+      if ((hasZeroByte(w ^ lf) | hasZeroByte(w ^ cr) | hasZeroByte(w ^ dq) | hasZeroByte(w ^ sq)) != 0)
+        break;
+    }
+    for (; i < bits.length; i++) {
+      byte b = bits[i];
+      if (b == CHAR_LF || b == CHAR_CR) return i;
+      if (b == CHAR_DOUBLE_QUOTE || (b == CHAR_SINGLE_QUOTE && _setup._single_quotes)) return -1;
+    }
+    return -1;
+  }
+
+  // Non-zero if any byte of w is zero
+  private static long hasZeroByte(long w) {
+    return (w - ONES) & ~w & HIGHS;
+  }
+
+  // 8 ASCII digits, in memory order (little endian)
+  private static boolean isEightDigits(long w) {
+    return (((w & 0xF0F0F0F0F0F0F0F0L) | (((w + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L);
+  }
+
+  // Value of 8 ASCII digits, the first digit is in the lowest byte (little endian)
+  private static long eightDigits(long w) {
+    w -= 0x3030303030303030L;
+    w = (w * 10) + (w >>> 8);
+    return (((w & 0x000000FF000000FFL) * (100 + (1000000L << 32))) +
+            (((w >>> 16) & 0x000000FF000000FFL) * (1 + (10000L << 32)))) >>> 32;
+  }
+
   @Override protected int fileHasHeader(byte[] bits, ParseSetup ps) {
     boolean hasHdr = true;
     String[] lines = getFirstLines(bits, ps._single_quotes, _nonDataLineMarkers);
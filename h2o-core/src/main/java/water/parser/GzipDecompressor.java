@@ -0,0 +1,151 @@
+package water.parser;
+
+import water.H2O;
+import water.MRTask;
+import water.fvec.ByteVec;
+import water.fvec.Chunk;
+import water.util.ArrayUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Parallel decompression of gzip files, see {@link ParallelDecompressor}.
+ *
+ * BGZF files (blocked gzip, as made by bgzip) are split into their blocks: each block is a gzip member which
+ * records its compressed size in the header and its uncompressed size in the footer. The block boundaries are found
+ * by a parallel scan of the compressed chunks (candidate headers are validated by chaining the block sizes from the
+ * start of the file). Other gzip files (single or multi-member) are decompressed sequentially - resuming a plain
+ * deflate stream from a checkpoint needs bit-level access to the inflater state, which the JDK inflater doesn't
+ * provide.
+ *
+ * Enabled by default, disabled with the system property {@code sys.ai.h2o.parse.gzip.parallel=false}.
+ */
+final class GzipDecompressor extends ParallelDecompressor {
+
+  static final GzipDecompressor INSTANCE = new GzipDecompressor();
+
+  private static final boolean ENABLED = H2O.getSysBoolProperty("parse.gzip.parallel", true);
+
+  // BGZF block header: gzip magic, deflate, FEXTRA set, ..., XLEN = 6, subfield 'B','C' of length 2 (BSIZE)
+  private static final int BGZF_HEADER_LEN = 18;
+  private static final int GZIP_FOOTER_LEN = 8;
+
+  private GzipDecompressor() {}
+
+  @Override boolean isEnabled() { return ENABLED; }
+
+  @Override InputStream wrap(InputStream is) throws IOException { return new GZIPInputStream(is); }
+
+  @Override Frames findFrames(ByteVec vec) {
+    return isBgzfHeader(vec.getFirstBytes(), 0) ? findBgzfBlocks(vec) : null;
+  }
+
+  @Override void decodeFrame(byte[] src, byte[] dst) throws IOException {
+    int xlen = (src[10] & 0xFF) | (src[11] & 0xFF) << 8;
+    int hlen = 12 + xlen;
+    Inflater inf = new Inflater(true);
+    try {
+      inf.setInput(src, hlen, src.length - hlen - GZIP_FOOTER_LEN);
+      int n = 0;
+      while (n < dst.length && !inf.finished()) {
+        int k = inf.inflate(dst, n, dst.length - n);
+        if (k == 0 && (inf.needsInput() || inf.needsDictionary()))
+          break;
+        n += k;
+      }
+      if (n != dst.length)
+        throw new IOException("Corrupted BGZF block: expected " + dst.length + " bytes, got " + n + ".");
+    } catch (DataFormatException e) {
+      throw new IOException(e);
+    } finally {
+      inf.end();
+    }
+  }
+
+  static boolean isBgzfHeader(byte[] bs, int off) {
+    return off + BGZF_HEADER_LEN <= bs.length &&
+            (bs[off] & 0xFF) == 0x1f && (bs[off + 1] & 0xFF) == 0x8b && bs[off + 2] == 8 && (bs[off + 3] & 4) != 0 &&
+            bs[off + 10] == 6 && bs[off + 11] == 0 && bs[off + 12] == 'B' && bs[off + 13] == 'C' &&
+            bs[off + 14] == 2 && bs[off + 15] == 0;
+  }
+
+  /**
+   * All the BGZF blocks of the file, null if the file is not a valid BGZF file.
+   */
+  static Frames findBgzfBlocks(ByteVec vec) {
+    ScanTask scan = new ScanTask().doAll(vec);
+    final long[] cands = scan._offs == null ? new long[0] : scan._offs;
+    final long[] bsizes = scan._bsizes, isizes = scan._isizes;
+    // Sort the candidates by offset
+    Integer[] idx = new Integer[cands.length];
+    for (int i = 0; i < idx.length; i++) idx[i] = i;
+    Arrays.sort(idx, (a, b) -> Long.compare(cands[a], cands[b]));
+    long[] offs = new long[cands.length];
+    for (int i = 0; i < idx.length; i++) offs[i] = cands[idx[i]];
+    // Chain the blocks from the start of the file, false candidates are skipped
+    int n = 0;
+    long off = 0;
+    long[] blockOffs = new long[cands.length], blockSizes = new long[cands.length], blockISizes = new long[cands.length];
+    while (off < vec.length()) {
+      int i = Arrays.binarySearch(offs, off);
+      if (i < 0) return null; // Not a valid block chain
+      blockOffs[n] = off;
+      blockSizes[n] = bsizes[idx[i]];
+      blockISizes[n] = isizes[idx[i]];
+      n++;
+      off += bsizes[idx[i]];
+    }
+    if (off != vec.length()) return null;
+    return new Frames(Arrays.copyOf(blockOffs, n), Arrays.copyOf(blockSizes, n), Arrays.copyOf(blockISizes, n));
+  }
+
+  // Finds candidate BGZF block headers starting in each chunk
+  private static class ScanTask extends MRTask<ScanTask> {
+    long[] _offs, _bsizes, _isizes;
+    @Override public void map(Chunk c) {
+      final byte[] mem = c.asBytes();
+      final long start = c.start();
+      final ByteVec vec = (ByteVec) c.vec();
+      long[] offs = new long[4], bsizes = new long[4], isizes = new long[4];
+      int n = 0;
+      byte[] hdr = new byte[BGZF_HEADER_LEN];
+      for (int i = 0; i < mem.length; i++) {
+        if ((mem[i] & 0xFF) != 0x1f) continue;
+        byte[] bs = mem;
+        int off = i;
+        if (i + BGZF_HEADER_LEN > mem.length) { // Header crosses into the next chunk
+          if (readBytes(vec, start + i, hdr, BGZF_HEADER_LEN) < BGZF_HEADER_LEN) break;
+          bs = hdr;
+          off = 0;
+        }
+        if (!isBgzfHeader(bs, off)) continue;
+        long bsize = ((bs[off + 16] & 0xFF) | (bs[off + 17] & 0xFF) << 8) + 1;
+        long footer = start + i + bsize - 4;
+        if (bsize < BGZF_HEADER_LEN + GZIP_FOOTER_LEN || footer + 4 > vec.length()) continue;
+        byte[] isize = new byte[4];
+        readBytes(vec, footer, isize, 4);
+        if (n == offs.length) {
+          offs = Arrays.copyOf(offs, n << 1); bsizes = Arrays.copyOf(bsizes, n << 1); isizes = Arrays.copyOf(isizes, n << 1);
+        }
+        offs[n] = start + i;
+        bsizes[n] = bsize;
+        isizes[n] = getUInt(isize, 0);
+        n++;
+      }
+      _offs = Arrays.copyOf(offs, n);
+      _bsizes = Arrays.copyOf(bsizes, n);
+      _isizes = Arrays.copyOf(isizes, n);
+    }
+    @Override public void reduce(ScanTask st) {
+      _offs = ArrayUtils.append(_offs, st._offs);
+      _bsizes = ArrayUtils.append(_bsizes, st._bsizes);
+      _isizes = ArrayUtils.append(_isizes, st._isizes);
+    }
+  }
+
+}
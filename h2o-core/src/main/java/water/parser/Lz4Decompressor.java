@@ -0,0 +1,78 @@
+package water.parser;
+
+import net.jpountz.lz4.LZ4FrameInputStream;
+import water.H2O;
+import water.fvec.ByteVec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parallel decompression of LZ4 frame files, see {@link ParallelDecompressor}.
+ *
+ * A file of concatenated LZ4 frames is split into its frames by walking the frame and block headers from the start
+ * of the file; the frames have to record their content size (lz4 --content-size). Files with a single frame are
+ * still decoded by a single thread.
+ *
+ * Enabled by default, disabled with the system property {@code sys.ai.h2o.parse.lz4.parallel=false}.
+ */
+final class Lz4Decompressor extends ParallelDecompressor {
+
+  static final Lz4Decompressor INSTANCE = new Lz4Decompressor();
+
+  private static final boolean ENABLED = H2O.getSysBoolProperty("parse.lz4.parallel", true);
+
+  static final int MAGIC = 0x184D2204;
+  // Frame header: magic, FLG, BD, content size (8 bytes), dictionary id (4 bytes), header checksum
+  private static final int MAX_FRAME_HEADER_LEN = 19;
+  // FLG bits
+  private static final int FLG_BLOCK_CHECKSUM = 0x10;
+  private static final int FLG_CONTENT_SIZE = 0x08;
+  private static final int FLG_CONTENT_CHECKSUM = 0x04;
+  private static final int FLG_DICT_ID = 0x01;
+
+  private Lz4Decompressor() {}
+
+  @Override boolean isEnabled() { return ENABLED; }
+
+  @Override InputStream wrap(InputStream is) throws IOException { return new LZ4FrameInputStream(is); }
+
+  @Override Frames findFrames(ByteVec vec) { return walkFrames(vec); }
+
+  @Override void decodeFrame(byte[] src, byte[] dst) throws IOException {
+    try (InputStream is = wrap(new ByteArrayInputStream(src))) {
+      int n = readFully(is, dst);
+      if (n != dst.length || is.read() >= 0)
+        throw new IOException("Corrupted LZ4 frame: content size doesn't match the frame header.");
+    }
+  }
+
+  // Walks the blocks of the frame, the content size is taken from the frame header
+  @Override boolean readFrame(ByteVec vec, long off, int magic, long[] res) {
+    if (magic != MAGIC) return false;
+    byte[] hdr = new byte[MAX_FRAME_HEADER_LEN];
+    int hlen = readBytes(vec, off, hdr, hdr.length);
+    if (hlen < 7) return false;
+    final int flg = hdr[4] & 0xFF;
+    if ((flg >> 6) != 1) return false; // Version
+    if ((flg & FLG_CONTENT_SIZE) == 0) return false; // Unknown content size
+    int pos = 6 + 8 + ((flg & FLG_DICT_ID) != 0 ? 4 : 0) + 1;
+    if (pos > hlen) return false;
+    // Blocks: 4 byte size (the highest bit marks uncompressed blocks), block data, optional checksum; 0 ends the frame
+    long p = off + pos;
+    byte[] bh = new byte[4];
+    while (true) {
+      if (readBytes(vec, p, bh, 4) < 4) return false;
+      long word = getUInt(bh, 0);
+      p += 4;
+      if (word == 0) break; // EndMark
+      p += (word & 0x7FFFFFFFL) + ((flg & FLG_BLOCK_CHECKSUM) != 0 ? 4 : 0);
+    }
+    if ((flg & FLG_CONTENT_CHECKSUM) != 0) p += 4;
+    res[0] = p - off;
+    res[1] = getLong(hdr, 6);
+    return true;
+  }
+
+}
@@ -0,0 +1,283 @@
+package water.parser;
+
+import water.*;
+import water.fvec.ByteVec;
+import water.fvec.Chunk;
+import water.fvec.UploadFileVec;
+import water.fvec.Vec;
+import water.util.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Decompresses a compressed file into a temporary ByteVec, so that it can be parsed in parallel by a DistributedParse
+ * (instead of being stream-parsed by a single thread).
+ *
+ * Files made of independently decodable frames of known (uncompressed) sizes - BGZF blocks, zstd and LZ4 frames -
+ * are decompressed in parallel: every frame is decoded by its own task straight into the chunks of the output it
+ * overlaps. Other files can't be split without decompressing them, they are decompressed sequentially in a first
+ * pass - the (much more expensive) parse still runs in parallel in the second pass.
+ *
+ * The output has at most as many chunks as the compressed file, since the parse output is laid out by the chunks
+ * of the input file. The uncompressed data is held in DKV until the parse is done; the output chunks are put into
+ * DKV as they get filled, the whole uncompressed file is never held in the heap.
+ */
+abstract class ParallelDecompressor {
+
+  // Safety margin for the uncompressed size of non-splittable files estimated from the first chunk
+  private static final double CAPACITY_MARGIN = 4;
+  // Frames larger than this are not decoded as a whole, the file is decompressed sequentially instead
+  static final int MAX_FRAME_SIZE = 1 << 30;
+
+  static ParallelDecompressor forCompression(ZipUtil.Compression cpr) {
+    switch (cpr) {
+      case GZIP: return GzipDecompressor.INSTANCE;
+      case ZSTD: return ZstdDecompressor.INSTANCE;
+      case LZ4: return Lz4Decompressor.INSTANCE;
+      default: throw new IllegalArgumentException("No decompressor for " + cpr);
+    }
+  }
+
+  /** Independently decodable parts of a file: compressed offsets and sizes, and uncompressed sizes */
+  static final class Frames {
+    final long[] _offs, _csizes, _usizes;
+    Frames(long[] offs, long[] csizes, long[] usizes) { _offs = offs; _csizes = csizes; _usizes = usizes; }
+    int size() { return _offs.length; }
+  }
+
+  /** @return true if the parallel decompression of this format is enabled */
+  abstract boolean isEnabled();
+
+  /** @return decompressing stream over the given (compressed) stream */
+  abstract InputStream wrap(InputStream is) throws IOException;
+
+  /** @return frames of the file, or null if the file can't be split */
+  abstract Frames findFrames(ByteVec vec);
+
+  /** Decode a single frame, dst has the uncompressed size of the frame */
+  abstract void decodeFrame(byte[] src, byte[] dst) throws IOException;
+
+  /**
+   * Decompress the given file.
+   * @param vec compressed file
+   * @param jobKey parse job
+   * @return a new temporary ByteVec with the uncompressed data (the caller removes it), or null if the file should
+   *         be stream-parsed instead (empty, or too large for the chunk layout)
+   */
+  final ByteVec decompress(ByteVec vec, Key<Job> jobKey) throws IOException {
+    final int nchunks = vec.nChunks();
+    Frames frames = findFrames(vec);
+    if (frames != null) {
+      ByteVec res = decodeFrames(vec, frames, nchunks);
+      Log.info("Decompressed " + frames.size() + " frames of " + vec._key + " in parallel.");
+      return res;
+    }
+    return decompressSequentially(vec, jobKey, nchunks);
+  }
+
+  private ByteVec decodeFrames(final ByteVec vec, final Frames frames, int nchunks) {
+    // Uncompressed offsets of the frames
+    final long[] ustarts = new long[frames.size() + 1];
+    for (int i = 0; i < frames.size(); i++)
+      ustarts[i + 1] = ustarts[i] + frames._usizes[i];
+    final long len = ustarts[frames.size()];
+    if (len == 0) return null;
+    final int chunkSize = outputChunkSize(len, nchunks);
+    final int nouts = (int) ((len + chunkSize - 1) / chunkSize);
+    // An output chunk is allocated by the first frame copied into it, and put into DKV (and dropped) once the last
+    // one is in: only the chunks being filled are held in memory, not the whole uncompressed file
+    final AtomicReferenceArray<byte[]> outs = new AtomicReferenceArray<>(nouts);
+    final AtomicIntegerArray missing = new AtomicIntegerArray(nouts);
+    for (int i = 0; i < nouts; i++)
+      missing.set(i, chunkLen(i, chunkSize, len));
+    final UploadFileVec res = UploadFileVec.make(Vec.newKey(), chunkSize);
+    final Futures fs = new Futures();
+    boolean done = false;
+    try {
+      // Frames are decoded in parallel, each is copied into the (disjoint) ranges of the chunks it overlaps
+      H2O.submitTask(new LocalMR(new MrFun() {
+        @Override protected void map(int f) {
+          if (frames._usizes[f] == 0) return; // e.g. skippable frames, the BGZF EOF marker
+          byte[] src = new byte[(int) frames._csizes[f]];
+          readBytes(vec, frames._offs[f], src, src.length);
+          byte[] dst = new byte[(int) frames._usizes[f]];
+          try {
+            decodeFrame(src, dst);
+          } catch (IOException e) {
+            throw new RuntimeException("Failed to decompress the frame at offset " + frames._offs[f] + " of " + vec._key, e);
+          }
+          for (int n = 0; n < dst.length; ) {
+            long pos = ustarts[f] + n;
+            int cidx = (int) (pos / chunkSize), coff = (int) (pos % chunkSize);
+            byte[] out = outChunk(cidx);
+            int cnt = Math.min(dst.length - n, out.length - coff);
+            System.arraycopy(dst, n, out, coff, cnt);
+            n += cnt;
+            if (missing.addAndGet(cidx, -cnt) == 0) { // Complete, no other frame touches it
+              res.putChunk(cidx, out, fs);
+              outs.set(cidx, null);
+            }
+          }
+        }
+        private byte[] outChunk(int cidx) {
+          byte[] out = outs.get(cidx);
+          if (out == null && !outs.compareAndSet(cidx, null, out = MemoryManager.malloc1(chunkLen(cidx, chunkSize, len))))
+            out = outs.get(cidx); // Allocated by another frame
+          return out;
+        }
+      }, frames.size())).join();
+      done = true;
+    } finally {
+      fs.blockForPending();
+      res.close(len, fs).blockForPending();
+      if (!done) res.remove(); // Failed, drop the chunks written so far
+    }
+    return res;
+  }
+
+  // Length of the given output chunk
+  private static int chunkLen(int cidx, int chunkSize, long len) {
+    return (int) (Math.min(len, (long) (cidx + 1) * chunkSize) - (long) cidx * chunkSize);
+  }
+
+  // Files which are not splittable: decompress sequentially into a ByteVec with at most nchunks chunks.
+  // The uncompressed length is not known up front, the chunk size is estimated from the compression ratio of
+  // the first chunk (with a safety margin); returns null if the data doesn't fit.
+  private ByteVec decompressSequentially(ByteVec vec, Key<Job> jobKey, int nchunks) throws IOException {
+    final long estLen = (long) (vec.length() * compressionRatio(vec.getFirstBytes()) * CAPACITY_MARGIN);
+    final int chunkSize = outputChunkSize(Math.min(estLen, (long) nchunks << 30), nchunks);
+    final UploadFileVec res = UploadFileVec.make(Vec.newKey(), chunkSize);
+    final Futures fs = new Futures();
+    long len = 0;
+    boolean fits = true, done = false;
+    try (InputStream is = wrap(vec.openStream(jobKey))) {
+      for (int cidx = 0; ; cidx++) {
+        byte[] out = new byte[chunkSize];
+        int n = readFully(is, out);
+        if (n == 0) break;
+        if (cidx == nchunks) {
+          fits = false;
+          break;
+        }
+        res.putChunk(cidx, n < chunkSize ? Arrays.copyOf(out, n) : out, fs);
+        len += n;
+        if (n < chunkSize) break;
+      }
+      done = true;
+    } finally {
+      fs.blockForPending();
+      res.close(len, fs).blockForPending();
+      if (!done) res.remove(); // Failed, drop the chunks written so far
+    }
+    if (!fits || len == 0) {
+      Log.info("Uncompressed " + vec._key + " doesn't fit into " + nchunks + " chunks of " + chunkSize + " bytes.");
+      res.remove();
+      return null;
+    }
+    return res;
+  }
+
+  // Compression ratio of the given (first) bytes of a compressed file
+  final double compressionRatio(byte[] bs) {
+    long n = 0;
+    try (InputStream is = wrap(new ByteArrayInputStream(bs))) {
+      byte[] buf = new byte[1 << 16];
+      for (int k; (k = is.read(buf)) >= 0; ) n += k;
+    } catch (IOException e) {
+      // End of the input, the rest of the file is in the following chunks
+    }
+    return Math.max(1.0, (double) n / bs.length);
+  }
+
+  private static int outputChunkSize(long len, int nchunks) {
+    long chunkSize = Math.max(1, (len + nchunks - 1) / nchunks);
+    if (chunkSize > 1 << 30)
+      throw new IllegalArgumentException("Chunks of the uncompressed file would exceed 1G.");
+    return (int) chunkSize;
+  }
+
+  static int readFully(InputStream is, byte[] buf) throws IOException {
+    int n = 0;
+    for (int k; n < buf.length && (k = is.read(buf, n, buf.length - n)) >= 0; )
+      n += k;
+    return n;
+  }
+
+  // Read len bytes at the given offset of the vec (possibly across chunks), returns the number of bytes read
+  static int readBytes(ByteVec vec, long off, byte[] dst, int len) {
+    int n = 0;
+    while (n < len && off < vec.length()) {
+      int cidx = vec.elem2ChunkIdx(off);
+      Chunk c = vec.chunkForChunkIdx(cidx);
+      int coff = (int) (off - c.start());
+      int cnt = Math.min(len - n, c._len - coff);
+      System.arraycopy(c.asBytes(), coff, dst, n, cnt);
+      n += cnt;
+      off += cnt;
+    }
+    return n;
+  }
+
+  static int getInt(byte[] bs, int off) {
+    return (bs[off] & 0xFF) | (bs[off + 1] & 0xFF) << 8 | (bs[off + 2] & 0xFF) << 16 | (bs[off + 3] & 0xFF) << 24;
+  }
+
+  static long getUInt(byte[] bs, int off) {
+    return getInt(bs, off) & 0xFFFFFFFFL;
+  }
+
+  static long getLong(byte[] bs, int off) {
+    return getUInt(bs, off) | getUInt(bs, off + 4) << 32;
+  }
+
+  /**
+   * Walks a file made of a sequence of frames (zstd, LZ4), the subclass decodes the frame headers with
+   * {@link #readFrame}. Skippable frames are recognized here.
+   * @return frames of the file, null if a frame doesn't record its uncompressed size (or is not valid)
+   */
+  final Frames walkFrames(ByteVec vec) {
+    long[] offs = new long[16], csizes = new long[16], usizes = new long[16];
+    int n = 0;
+    long off = 0;
+    long[] frame = new long[2];
+    byte[] hdr = new byte[8];
+    while (off < vec.length()) {
+      if (readBytes(vec, off, hdr, hdr.length) < hdr.length) return null;
+      int magic = getInt(hdr, 0);
+      if ((magic & 0xFFFFFFF0) == SKIPPABLE_MAGIC) {
+        frame[0] = 8 + getUInt(hdr, 4);
+        frame[1] = 0;
+      } else if (!readFrame(vec, off, magic, frame)) {
+        return null;
+      }
+      if (off + frame[0] > vec.length() || frame[1] < 0 || frame[1] > MAX_FRAME_SIZE)
+        return null;
+      if (n == offs.length) {
+        offs = Arrays.copyOf(offs, n << 1); csizes = Arrays.copyOf(csizes, n << 1); usizes = Arrays.copyOf(usizes, n << 1);
+      }
+      offs[n] = off;
+      csizes[n] = frame[0];
+      usizes[n] = frame[1];
+      n++;
+      off += frame[0];
+    }
+    return new Frames(Arrays.copyOf(offs, n), Arrays.copyOf(csizes, n), Arrays.copyOf(usizes, n));
+  }
+
+  /**
+   * Reads the header of the frame at the given offset for {@link #walkFrames}, stores the compressed size of the
+   * frame and its uncompressed size (-1 if not known) in res.
+   * @param magic the first 4 bytes of the frame
+   * @return false if there is no valid frame at the offset
+   */
+  boolean readFrame(ByteVec vec, long off, int magic, long[] res) { return false; }
+
+  // Skippable frames (zstd, LZ4): magic 0x184D2A5?, frame size, user data
+  static final int SKIPPABLE_MAGIC = 0x184D2A50;
+
+}
@@ -20,7 +20,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -29,6 +28,7 @@ import static water.parser.DefaultParserProviders.SVMLight_INFO;
 public final class ParseDataset {
   public Job<Frame> _job;
   private MultiFileParseTask _mfpt; // Access to partially built vectors for cleanup after parser crash
+  private ParseSetup _parsedWith;   // Setup kept with the parsed Frame, for appending more files to it later
 
   // Keys are limited to ByteVec Keys and Frames-of-1-ByteVec Keys
   public static Frame parse(Key okey, Key... keys) {
@@ -137,6 +137,8 @@ public final class ParseDataset {
     for( String x : conflictingNames )
     if ( x != null && !x.equals(""))
       throw new IllegalArgumentException("Found duplicate column name "+x);
+    if (setup._row_filters != null && setup._row_filters.length > 0 && !setup.getParseType().name().equals("PARQUET"))
+      throw new IllegalArgumentException("Row filters are only supported by the Parquet parser.");
     // Some quick sanity checks: no overwriting your input key, and a resource check.
     long totalParseSize=0;
     for( int i=0; i<keys.length; i++ ) {
@@ -176,6 +178,8 @@ public final class ParseDataset {
 
     // Fire off the parse
     ParseDataset pds = new ParseDataset(dest);
+    pds._parsedWith = new ParseSetup(setup);
+    pds._parsedWith._data = null;
     new Frame(pds._job._result,new String[0],new Vec[0]).delete_and_lock(pds._job); // Write-Lock BEFORE returning
     for( Key k : keys ) Lockable.read_lock(k,pds._job); // Read-Lock BEFORE returning
     ParserFJTask fjt = new ParserFJTask(pds, keys, setup, deleteOnDone); // Fire off background parse
@@ -184,8 +188,181 @@ public final class ParseDataset {
   }
 
   // Setup a private background parse job
-  private ParseDataset(Key<Frame> dest) {
-    _job = new Job<>(dest, Frame.class.getName(), "Parse");
+  private ParseDataset(Key<Frame> dest) { this(dest, "Parse"); }
+  private ParseDataset(Key<Frame> dest, String desc) {
+    _job = new Job<>(dest, Frame.class.getName(), desc);
+  }
+
+  /**
+   * Parse more files into an existing Frame, the parsed rows are appended to the Frame.
+   * Blocks until the rows are appended, the input keys are deleted.
+   * @see #forkAppend
+   */
+  public static Frame append(Key<Frame> dest, Key... keys) {
+    return forkAppend(dest, keys, true)._job.get();
+  }
+
+  /**
+   * Parse more files into an existing Frame: the files are parsed with the setup the Frame was parsed with (or with
+   * a guessed setup, for Frames not made by a parse) and the rows are appended to the Vecs of the Frame as new
+   * chunks. Categorical domains are merged, existing chunks are only remapped if the codes of their levels change.
+   * Rollups are updated incrementally from the new chunks.
+   *
+   * @param dest  existing Frame
+   * @param keys  input keys
+   * @param deleteOnDone  delete input data when finished
+   * @return a new append job
+   */
+  public static ParseDataset forkAppend(final Key<Frame> dest, final Key[] keys, boolean deleteOnDone) {
+    Frame fr = DKV.getGet(dest);
+    if( fr == null )
+      throw new IllegalArgumentException("Frame "+dest+" not found, can not append to it");
+    for( Key k : keys )
+      if( dest.equals(k) )
+        throw new IllegalArgumentException("Destination key "+dest+" must be different from all sources");
+    final ParseSetup setup = appendSetup(fr, keys);
+    ParseDataset pds = new ParseDataset(dest, "Append");
+    fr.write_lock(pds._job); // Write-Lock BEFORE returning
+    pds._job.start(new AppendFJTask(pds, keys, setup, deleteOnDone), 2);
+    return pds;
+  }
+
+  // Setup to parse the appended files with: the setup kept with the Frame if any, otherwise a guessed setup. Types of
+  // the columns are taken from the Frame (except for the columns where the Frame has no values).
+  private static ParseSetup appendSetup(Frame fr, Key[] keys) {
+    ParseSetup parsedWith = DKV.getGet(ParseSetup.parsedWithKey(fr._key));
+    ParseSetup setup;
+    if( parsedWith != null ) {
+      setup = new ParseSetup(parsedWith);
+      setup._chunk_size = ParseSetup.guessSetup(keys, new ParseSetup(parsedWith))._chunk_size;
+    } else {
+      setup = ParseSetup.guessSetup(keys, false, ParseSetup.GUESS_HEADER);
+    }
+    int[] cols = setup._parse_columns_indices;
+    if( cols == null || cols.length != fr.numCols() )
+      throw new IllegalArgumentException("Expected "+fr.numCols()+" columns in the appended files, found "+
+              (cols == null ? 0 : cols.length)+" columns");
+    byte[] types = setup._column_types == null ? new byte[setup._number_columns] : setup._column_types.clone();
+    if( setup._column_types == null ) Arrays.fill(types, Vec.T_NUM);
+    for( int i = 0; i < cols.length; i++ )
+      if( !fr.vec(i).isBad() )
+        types[cols[i]] = fr.vec(i).get_type();
+    setup._column_types = types;
+    // The appended files are parsed with the domains of the Frame, the codes of the known levels are final right away
+    if( !setup.getParseType().isDomainProvided ) {
+      String[][] domains = new String[setup._number_columns][];
+      for( int i = 0; i < cols.length; i++ )
+        if( fr.vec(i).isCategorical() )
+          domains[cols[i]] = fr.vec(i).domain();
+      setup.setKnownDomains(domains);
+    }
+    return setup;
+  }
+
+  // Parses the appended files into a temporary Frame, and moves its rows into the Frame
+  private static class AppendFJTask extends H2OCountedCompleter<AppendFJTask> {
+    final ParseDataset _pds;
+    final Key[] _keys;
+    final ParseSetup _setup;
+    final boolean _deleteOnDone;
+    Key<Frame> _rowsKey;
+
+    AppendFJTask(ParseDataset pds, Key[] keys, ParseSetup setup, boolean deleteOnDone) {
+      _pds = pds;
+      _keys = keys;
+      _setup = setup;
+      _deleteOnDone = deleteOnDone;
+    }
+    @Override public void compute2() {
+      final Job<Frame> job = _pds._job;
+      job.update(0, "Parsing the appended files.");
+      _rowsKey = Key.make();
+      Frame rows = forkParseDataset(_rowsKey, _keys, _setup, _deleteOnDone)._job.get();
+      Frame fr = DKV.getGet(job._result);
+      if( !job.stop_requested() ) {
+        job.update(1, "Appending rows.");
+        boolean parsed = fr.isParsed();
+        fr = new Frame(fr._key, fr.names(), appendRows(fr, rows));
+        if( parsed ) fr.setParsed();
+        fr.update(job);
+        logParseResults(fr);
+        job.update(1);
+      }
+      fr.unlock(job);
+      tryComplete();
+    }
+
+    @Override public void onCompletion(CountedCompleter caller) {
+      Keyed.remove(_rowsKey);
+    }
+
+    // Took a crash somewhere in the parser or while appending.  Release the Frame.
+    @Override public boolean onExceptionalCompletion(Throwable ex, CountedCompleter caller){
+      if( _rowsKey != null ) Keyed.remove(_rowsKey);
+      Frame fr = DKV.getGet(_pds._job._result);
+      if( fr != null ) fr.unlock(_pds._job._key, false);
+      return true;
+    }
+  }
+
+  // Merges the categorical domains of the Frame and of the appended rows, and appends the rows
+  private static Vec[] appendRows(Frame fr, Frame rows) {
+    final int ncols = fr.numCols();
+    if( rows.numCols() != ncols )
+      throw new H2OParseException("Expected "+ncols+" columns in the appended files, parsed "+rows.numCols()+" columns.");
+    String[][] domains = new String[ncols][];
+    int[][] oldMaps = new int[ncols][], newMaps = new int[ncols][];
+    List<String> offendingColNames = new ArrayList<>();
+    for( int i = 0; i < ncols; i++ ) {
+      Vec v = fr.vec(i), rv = rows.vec(i);
+      if( !v.isBad() && !rv.isBad() && v.get_type() != rv.get_type() )
+        throw new H2OParseException("Column "+fr.name(i)+" of type "+v.get_type_str()+" parsed as "+
+                rv.get_type_str()+" from the appended files.");
+      if( v.isCategorical() && rv.isCategorical() ) {
+        String[] dom = mergeDomains(v.domain(), rv.domain());
+        if( dom.length >= Categorical.MAX_CATEGORICAL_COUNT ) offendingColNames.add(fr.name(i));
+        domains[i] = dom;
+        oldMaps[i] = levelMap(v.domain(), dom);
+        newMaps[i] = levelMap(rv.domain(), dom);
+      } else {
+        domains[i] = v.isBad() ? rv.domain() : v.domain();
+      }
+    }
+    if( offendingColNames.size() > 0 )
+      throw new H2OParseException("Exceeded categorical limit on columns "+ offendingColNames+" by the appended files.");
+    return FrameAppender.append(fr, rows, domains, oldMaps, newMaps);
+  }
+
+  // Union of the domains: sorted as the domains made by the parse, unless the old domain is not sorted - then the new
+  // levels are added at its end
+  static String[] mergeDomains(String[] oldDomain, String[] newDomain) {
+    BufferedString[] olds = BufferedString.toBufferedString(oldDomain);
+    boolean sorted = true;
+    for( int i = 1; i < olds.length && sorted; i++ )
+      sorted = olds[i - 1].compareTo(olds[i]) < 0;
+    if( sorted ) {
+      BufferedString[] news = BufferedString.toBufferedString(newDomain);
+      Arrays.sort(news);
+      return PackedDomains.unpackToStrings(PackedDomains.merge(PackedDomains.pack(olds), PackedDomains.pack(news)));
+    }
+    Set<String> levels = new HashSet<>(Arrays.asList(oldDomain));
+    List<String> res = new ArrayList<>(Arrays.asList(oldDomain));
+    for( String s : newDomain )
+      if( levels.add(s) ) res.add(s);
+    return res.toArray(new String[0]);
+  }
+
+  // Map of the levels of the domain to the levels of the merged domain, null if the codes don't change
+  static int[] levelMap(String[] domain, String[] merged) {
+    HashMap<String, Integer> idx = new HashMap<>();
+    for( int i = 0; i < merged.length; i++ ) idx.put(merged[i], i);
+    int[] map = new int[domain.length];
+    boolean same = true;
+    for( int i = 0; i < domain.length; i++ ) {
+      map[i] = idx.get(domain[i]);
+      same &= map[i] == i;
+    }
+    return same ? null : map;
   }
 
   // -------------------------------
@@ -237,7 +414,9 @@ public final class ParseDataset {
 
   private static class CategoricalUpdateMap extends Iced {
     final int [][] map;
-    public CategoricalUpdateMap(int[][] map){this.map = map;}
+    final int [] identity; // per column, codes below are final already (known domains), map covers the codes from here
+    public CategoricalUpdateMap(int[][] map){this(map, null);}
+    public CategoricalUpdateMap(int[][] map, int[] identity){this.map = map; this.identity = identity;}
   }
   // --------------------------------------------------------------------------
   // Top-level parser driver
@@ -302,63 +481,118 @@ public final class ParseDataset {
     final int[] ecols = Arrays.copyOf(ecols2, n); // skipped columns are excluded already
     Frame fr;
     ParseFinalizer finalizer = ParseFinalizer.get(setup);
+    int[] knownSizes = null, shardIdx = null; // per categorical column
+    int nsharded = 0;
+    ShardedCategoricalDomains scd = null;
+    boolean finalCodes = true; // Codes of all the categorical columns are final already (known domains)
     // If we have any, go gather unified categorical domains
     if( n > 0 ) {
-      if (!setup.getParseType().isDomainProvided) { // Domains are not provided via setup we need to collect them
-        job.update(0, "Collecting categorical domains across nodes.");
-        {
-          GatherCategoricalDomainsTask gcdt = new GatherCategoricalDomainsTask(mfpt._cKey, ecols,
-                  mfpt._parseSetup._parse_columns_indices).doAllNodes();
-          //Test domains for excessive length.
-          List<String> offendingColNames = new ArrayList<>();
+      try {
+        if (!setup.getParseType().isDomainProvided) { // Domains are not provided via setup we need to collect them
+          job.update(0, "Collecting categorical domains across nodes.");
+          {
+            final int[] pcols = mfpt._parseSetup._parse_columns_indices;
+            // Known domains (their codes are final already) are completed by the levels missing in them only, columns
+            // with very many levels are built by shards, the domains of the other columns are gathered on the driver
+            String[][] known = new String[ecols.length][];
+            knownSizes = new int[ecols.length];
+            shardIdx = new int[ecols.length];
+            Arrays.fill(shardIdx, -1);
+            int[] gcols = new int[ecols.length], gidx = new int[ecols.length];
+            int ng = 0;
+            if( setup._known_domains && setup._domains != null )
+              for( int i = 0; i < ecols.length; i++ )
+                if( (known[i] = setup._domains[pcols[ecols[i]]]) != null ) knownSizes[i] = known[i].length;
+            if( ShardedCategoricalDomains.isEnabled() ) {
+              int[] ccols = new int[ecols.length];
+              int nc = 0;
+              for( int i = 0; i < ecols.length; i++ )
+                if( known[i] == null ) ccols[nc++] = pcols[ecols[i]];
+              long[] sizes = nc == 0 ? new long[0] : ShardedCategoricalDomains.localSizes(mfpt._cKey, Arrays.copyOf(ccols, nc));
+              int[] scols = new int[ecols.length];
+              for( int i = 0, c = 0; i < ecols.length; i++ )
+                if( known[i] == null && ShardedCategoricalDomains.isSharded(sizes[c++]) ) {
+                  shardIdx[i] = nsharded;
+                  scols[nsharded++] = pcols[ecols[i]];
+                }
+              if( nsharded > 0 ) {
+                scd = new ShardedCategoricalDomains(mfpt._cKey, Arrays.copyOf(scols, nsharded), ShardedCategoricalDomains.shardCount());
+                scd.build();
+              }
+            }
+            for( int i = 0; i < ecols.length; i++ )
+              if( shardIdx[i] < 0 ) {
+                gidx[i] = ng;
+                gcols[ng++] = ecols[i];
+              }
+            GatherCategoricalDomainsTask gcdt = ng == 0 ? null : new GatherCategoricalDomainsTask(mfpt._cKey,
+                    Arrays.copyOf(gcols, ng), pcols, knownSizes(knownSizes, shardIdx, ng)).doAllNodes();
+            String[][] sdoms = scd == null ? null : scd.domains();
+            //Test domains for excessive length.
+            List<String> offendingColNames = new ArrayList<>();
+            for (int i = 0; i < ecols.length; i++) {
+              int len = shardIdx[i] >= 0 ? scd.domainLength(shardIdx[i]) : knownSizes[i] + gcdt.getDomainLength(gidx[i]);
+              if (len < Categorical.MAX_CATEGORICAL_COUNT) {
+                if( len==0 ) avs[ecols[i]].setBad(); // The all-NA column
+                else if( shardIdx[i] >= 0 ) avs[ecols[i]].setDomain(sdoms[shardIdx[i]]);
+                else if( known[i] == null ) avs[ecols[i]].setDomain(gcdt.getDomain(gidx[i]));
+                else {
+                  String[] unseen = gcdt.getDomainLength(gidx[i]) == 0 ? new String[0] : gcdt.getDomain(gidx[i]);
+                  avs[ecols[i]].setDomain(ArrayUtils.append(known[i], unseen));
+                  if( unseen.length > 0 ) finalCodes = false;
+                }
+              } else
+                offendingColNames.add(setup._column_names[ecols[i]]);
+              if( knownSizes[i] == 0 ) finalCodes = false;
+            }
+            if (offendingColNames.size() > 0) {
+              throw new H2OParseException("Exceeded categorical limit on columns "+ offendingColNames+".   " +
+                      "Consider reparsing these columns as a string or skip parsing the offending columns by setting" +
+                      " the skipped_columns list in Python/R/Java APIs.");
+            }
+          }
+          Log.trace("Done collecting categorical domains across nodes.");
+        } else {
+          // Ignore offending domains
           for (int i = 0; i < ecols.length; i++) {
-            if (gcdt.getDomainLength(i) < Categorical.MAX_CATEGORICAL_COUNT) {
-              if( gcdt.getDomainLength(i)==0 ) avs[ecols[i]].setBad(); // The all-NA column
-              else avs[ecols[i]].setDomain(gcdt.getDomain(i));
-            } else
-              offendingColNames.add(setup._column_names[ecols[i]]);
+            avs[ecols[i]].setDomain(setup._domains[ecols[i]]);
           }
-          if (offendingColNames.size() > 0)
-            throw new H2OParseException("Exceeded categorical limit on columns "+ offendingColNames+".   " +
-                    "Consider reparsing these columns as a string or skip parsing the offending columns by setting" +
-                    " the skipped_columns list in Python/R/Java APIs.");
         }
-        Log.trace("Done collecting categorical domains across nodes.");
-      } else {
-        // Ignore offending domains
-        for (int i = 0; i < ecols.length; i++) {
-          avs[ecols[i]].setDomain(setup._domains[ecols[i]]);
-        }
-      }
 
-      job.update(0, "Compressing data.");
+        job.update(0, "Compressing data.");
+
+        fr = finalizer.finalize(job, AppendableVec.closeAll(avs), setup, mfpt._fileChunkOffsets);
+        fr.update(job);
+
+        Log.trace("Done compressing data.");
+        if (!setup.getParseType().isDomainProvided) {
+          // Update categoricals to the globally agreed numbering
+          Vec[] evecs = new Vec[ecols.length];
+          for( int i = 0; i < evecs.length; ++i ) evecs[i] = fr.vecs()[ecols[i]];
+          job.update(0, "Unifying categorical domains across nodes.");
+          if( !finalCodes ) {
+            int[][] shardOffsets = scd == null ? null : scd.offsets();
+            // new CreateParse2GlobalCategoricalMaps(mfpt._cKey).doAll(evecs);
+            // Using Dtask since it starts and returns faster than an MRTask
+            CreateParse2GlobalCategoricalMaps[] fcdt = new CreateParse2GlobalCategoricalMaps[H2O.CLOUD.size()];
+            RPC[] rpcs = new RPC[H2O.CLOUD.size()];
+            for (int i = 0; i < fcdt.length; i++){
+              H2ONode[] nodes = H2O.CLOUD.members();
+              fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, fr._key, ecols, mfpt._parseSetup._parse_columns_indices,
+                      knownSizes, shardIdx, shardOffsets);
+              rpcs[i] = new RPC<>(nodes[i], fcdt[i]).call();
+            }
+            for (RPC rpc : rpcs)
+              rpc.get();
+            if( scd != null ) { scd.cleanup(); scd = null; } // Done with the shards
 
-      fr = finalizer.finalize(job, AppendableVec.closeAll(avs), setup, mfpt._fileChunkOffsets);
-      fr.update(job);
-
-      Log.trace("Done compressing data.");
-      if (!setup.getParseType().isDomainProvided) {
-        // Update categoricals to the globally agreed numbering
-        Vec[] evecs = new Vec[ecols.length];
-        for( int i = 0; i < evecs.length; ++i ) evecs[i] = fr.vecs()[ecols[i]];
-        job.update(0, "Unifying categorical domains across nodes.");
-        {
-          // new CreateParse2GlobalCategoricalMaps(mfpt._cKey).doAll(evecs);
-          // Using Dtask since it starts and returns faster than an MRTask
-          CreateParse2GlobalCategoricalMaps[] fcdt = new CreateParse2GlobalCategoricalMaps[H2O.CLOUD.size()];
-          RPC[] rpcs = new RPC[H2O.CLOUD.size()];
-          for (int i = 0; i < fcdt.length; i++){
-            H2ONode[] nodes = H2O.CLOUD.members();
-            fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, fr._key, ecols, mfpt._parseSetup._parse_columns_indices);
-            rpcs[i] = new RPC<>(nodes[i], fcdt[i]).call();
+            new UpdateCategoricalChunksTask(mfpt._cKey, mfpt._chunk2ParseNodeMap).doAll(evecs);
           }
-          for (RPC rpc : rpcs)
-            rpc.get();
-
-          new UpdateCategoricalChunksTask(mfpt._cKey, mfpt._chunk2ParseNodeMap).doAll(evecs);
           MultiFileParseTask._categoricals.remove(mfpt._cKey);
+          Log.trace("Done unifying categoricals across nodes.");
         }
-        Log.trace("Done unifying categoricals across nodes.");
+      } finally {
+        if( scd != null ) scd.cleanup(); // Failed, remove the state of the sharded domains on all nodes
       }
     } else {                    // No categoricals case
       job.update(0,"Compressing data.");
@@ -408,7 +642,10 @@ public final class ParseDataset {
     job.update(0,"Calculating data summary.");
     logParseResults(fr);
     // Release the frame for overwriting
+    if( pds._parsedWith != null ) fr.setParsed();
     fr.update(job);
+    if( pds._parsedWith != null )
+      DKV.put(ParseSetup.parsedWithKey(fr._key), pds._parsedWith);
     Frame fr2 = DKV.getGet(fr._key);
     assert fr2._names.length == fr2.numCols();
     fr.unlock(job);
@@ -420,17 +657,35 @@ public final class ParseDataset {
       }
     return pds;
   }
+  // Known domain sizes of the gathered (non-sharded) columns
+  private static int[] knownSizes(int[] knownSizes, int[] shardIdx, int ng) {
+    int[] res = new int[ng];
+    for( int i = 0, k = 0; i < knownSizes.length; i++ )
+      if( shardIdx[i] < 0 ) res[k++] = knownSizes[i];
+    return res;
+  }
+
+  // Node-local categoricals of a running parse, null if none were collected on this node
+  static Categorical[] localCategoricals(Key cKey) { return MultiFileParseTask._categoricals.get(cKey); }
+
   private static class CreateParse2GlobalCategoricalMaps extends DTask<CreateParse2GlobalCategoricalMaps> {
     private final Key   _parseCatMapsKey;
     private final Key   _frKey;
     private final int[] _ecol;
     private final int[] _parseColumns;
+    private final int[] _knownSizes;      // per column, the size of the known domain (0 if none)
+    private final int[] _shardIdx;        // per column, the index of the column in the sharded build (-1 if none)
+    private final int[][] _shardOffsets;  // see ShardedCategoricalDomains.offsets
 
-    private CreateParse2GlobalCategoricalMaps(Key parseCatMapsKey, Key key, int[] ecol, int[] parseColumns) {
+    private CreateParse2GlobalCategoricalMaps(Key parseCatMapsKey, Key key, int[] ecol, int[] parseColumns,
+                                              int[] knownSizes, int[] shardIdx, int[][] shardOffsets) {
       _parseCatMapsKey = parseCatMapsKey;
       _frKey = key;
       _ecol = ecol; // contains the categoricals column indices only
       _parseColumns = parseColumns;
+      _knownSizes = knownSizes;
+      _shardIdx = shardIdx;
+      _shardOffsets = shardOffsets;
     }
 
     @Override public void compute2() {
@@ -443,10 +698,33 @@ public final class ParseDataset {
         final Categorical[] parseCatMaps = MultiFileParseTask._categoricals.get(_parseCatMapsKey); // include skipped columns
         int[][] _nodeOrdMaps = new int[_ecol.length][];
 
+        // maps of the sharded columns come from the shards
+        if( _shardOffsets != null ) {
+          int[] scols = new int[_shardOffsets.length];
+          for (int eColIdx = 0; eColIdx < _ecol.length; eColIdx++)
+            if (_shardIdx[eColIdx] >= 0) scols[_shardIdx[eColIdx]] = _parseColumns[_ecol[eColIdx]];
+          int[][] smaps = ShardedCategoricalDomains.localMaps(_parseCatMapsKey, parseCatMaps, scols, _shardOffsets);
+          for (int eColIdx = 0; eColIdx < _ecol.length; eColIdx++)
+            if (_shardIdx[eColIdx] >= 0) _nodeOrdMaps[eColIdx] = smaps[_shardIdx[eColIdx]];
+        }
+
         // create old_ordinal->new_ordinal map for each cat column
         for (int eColIdx = 0; eColIdx < _ecol.length; eColIdx++) {
           int colIdx = _parseColumns[_ecol[eColIdx]];
-          if (parseCatMaps[colIdx].size() != 0) {
+          if (_shardIdx[eColIdx] >= 0) continue;
+          final int known = _knownSizes[eColIdx];
+          if (known > 0) {
+            // Known domain: codes of the known levels are final, the missing levels are at the end of the domain
+            if (parseCatMaps[colIdx].maxId() < known) continue; // No missing levels on this node
+            String[] domain = _fr.vec(_ecol[eColIdx]).domain();
+            _nodeOrdMaps[eColIdx] = MemoryManager.malloc4(parseCatMaps[colIdx].maxId() + 1 - known);
+            Arrays.fill(_nodeOrdMaps[eColIdx], -1);
+            for (int i = known; i < domain.length; i++) {
+              BufferedString cat = new BufferedString(domain[i]);
+              if (parseCatMaps[colIdx].containsKey(cat))
+                _nodeOrdMaps[eColIdx][parseCatMaps[colIdx].getTokenId(cat) - known] = i;
+            }
+          } else if (parseCatMaps[colIdx].size() != 0) {
             _nodeOrdMaps[eColIdx] = MemoryManager.malloc4(parseCatMaps[colIdx].maxId() + 1);
             Arrays.fill(_nodeOrdMaps[eColIdx], -1);
             //Bulk String->BufferedString conversion is slightly faster, but consumes memory
@@ -464,7 +742,8 @@ public final class ParseDataset {
           }
         }
         // Store the local->global ordinal maps in DKV by node parse categorical key and node index
-        DKV.put(Key.make(_parseCatMapsKey.toString() + "parseCatMapNode" + H2O.SELF.index()), new CategoricalUpdateMap(_nodeOrdMaps));
+        DKV.put(Key.make(_parseCatMapsKey.toString() + "parseCatMapNode" + H2O.SELF.index()),
+                new CategoricalUpdateMap(_nodeOrdMaps, _knownSizes));
       tryComplete();
     }
   }
@@ -494,10 +773,15 @@ public final class ParseDataset {
       final int cidx = chks[0].cidx();
       for(int i = 0; i < chks.length; ++i) {
         Chunk chk = chks[i];
+        // codes below are final already (known domain), a column without a map has no other codes then
+        final int identity = temp.identity == null ? 0 : temp.identity[i];
+        if (identity > 0 && _parse2GlobalCatMaps[i] == null) continue;
         if (!(chk instanceof CStrChunk)) {
           for( int j = 0; j < chk._len; ++j){
             if( chk.isNA(j) )continue;
-            final int old = (int) chk.at8(j);
+            final long code = chk.at8(j);
+            if( code < identity ) continue;
+            final int old = (int) code - identity;
             if (old < 0 || (_parse2GlobalCatMaps[i] != null && old >= _parse2GlobalCatMaps[i].length))
               chk.reportBrokenCategorical(i, j, old, _parse2GlobalCatMaps[i], _fr.vec(i).domain().length);
             if(_parse2GlobalCatMaps[i] != null && _parse2GlobalCatMaps[i][old] < 0)
@@ -505,7 +789,7 @@ public final class ParseDataset {
                   +"caused by unrecognized characters in the data.\n The problem categorical value "
                   +"occurred in the " + PrettyPrint.withOrdinalIndicator(i+1)+ " categorical col, "
                   +PrettyPrint.withOrdinalIndicator(chk.start() + j) +" row.");
-            if (_parse2GlobalCatMaps[i] != null)
+            if (_parse2GlobalCatMaps[i] != null && _parse2GlobalCatMaps[i][old] != old + identity)
               chk.set(j, _parse2GlobalCatMaps[i][old]);
           }
           Log.trace("Updated domains for "+PrettyPrint.withOrdinalIndicator(i+1)+ " categorical column.");
@@ -523,11 +807,13 @@ public final class ParseDataset {
     private final int[] _catColIdxs;
     private byte[][] _packedDomains;
     private final int[] _parseColumns;
+    private final int[] _knownSizes; // per column, the size of the known domain: only the levels missing in it are gathered
 
-    private GatherCategoricalDomainsTask(Key k, int[] ccols, int[] parseColumns) {
+    private GatherCategoricalDomainsTask(Key k, int[] ccols, int[] parseColumns, int[] knownSizes) {
       _k = k;
       _catColIdxs = ccols;
       _parseColumns = parseColumns;
+      _knownSizes = knownSizes;
     }
 
     @Override
@@ -539,7 +825,7 @@ public final class ParseDataset {
       int i = 0;
       for (int col : _catColIdxs) {
         _colCats[_parseColumns[col]].convertToUTF8(_parseColumns[col] + 1);
-        _perColDomains[i] = _colCats[_parseColumns[col]].getColumnDomain();
+        _perColDomains[i] = _colCats[_parseColumns[col]].getColumnDomain(_knownSizes[i]);
         Arrays.sort(_perColDomains[i]);
         _packedDomains[i] = PackedDomains.pack(_perColDomains[i]);
         i++;
@@ -729,11 +1015,15 @@ public final class ParseDataset {
     }
 
     // Fetch out the node-local Categorical[] using _cKey and _categoricals hashtable
-    private static Categorical[] categoricals(Key cKey, int ncols) {
+    // Categoricals of the columns with known domains are seeded with them (and so write the final codes)
+    private static Categorical[] categoricals(Key cKey, ParseSetup setup) {
       Categorical[] categoricals = _categoricals.get(cKey);
       if( categoricals != null ) return categoricals;
-      categoricals = new Categorical[ncols];
-      for( int i = 0; i < categoricals.length; ++i ) categoricals[i] = new Categorical();
+      categoricals = new Categorical[setup._number_columns];
+      for( int i = 0; i < categoricals.length; ++i ) {
+        String[] domain = setup.knownDomain(i);
+        categoricals[i] = domain == null ? new Categorical() : new Categorical(domain);
+      }
       _categoricals.putIfAbsent(cKey, categoricals);
       return _categoricals.get(cKey); // Re-get incase lost insertion race
     }
@@ -763,7 +1053,7 @@ public final class ParseDataset {
       return localSetup._parse_type.equals(SVMLight_INFO)
         ? new SVMLightFVecParseWriter(_vg, _vecIdStart,chunkOff, _parseSetup._chunk_size, avs,
               _parseSetup._parse_columns_indices)
-        : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup._number_columns),
+        : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup),
               localSetup._column_types, _parseSetup._chunk_size, avs, _parseSetup._parse_columns_indices);
     }
 
@@ -832,11 +1122,28 @@ public final class ParseDataset {
           chunksAreLocal(vec,chunkStartIdx,key);
           break;
         }
-        case GZIP: {
+        case GZIP:
+        case ZSTD:
+        case LZ4: {
           localSetup = ParserService.INSTANCE.getByInfo(localSetup._parse_type).setupLocal(vec,localSetup);
+          ParallelDecompressor pd = ParallelDecompressor.forCompression(cpr);
+          // Decompress into a temporary ByteVec and parse it in parallel
+          ByteVec dec = pd.isEnabled() &&
+                  _parseSetup.parseMethod(_keys.length, vec) == ParserInfo.ParseMethod.DistributedParse ?
+                  pd.decompress(vec, _jobKey) : null;
+          if (dec != null) {
+            try {
+              new DistributedParse(_vg, localSetup, _vecIdStart, chunkStartIdx, this, key, dec.nChunks()).dfork(dec).getResult(false);
+              for( int i = 0; i < dec.nChunks(); ++i )
+                _chunk2ParseNodeMap[chunkStartIdx + i] = dec.chunkKey(i).home_node().index();
+            } finally {
+              dec.remove();
+            }
+            break;
+          }
           InputStream bvs = vec.openStream(_jobKey);
-          // Zipped file; no parallel decompression;
-          _dout[_lo] = streamParse(decryptionTool.decryptInputStream(new GZIPInputStream(bvs)),
+          // Compressed file; no parallel decompression;
+          _dout[_lo] = streamParse(decryptionTool.decryptInputStream(pd.wrap(bvs)),
                   localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
           _errors = _dout[_lo].removeErrors();
           // set this node as the one which processed all the chunks
@@ -952,7 +1259,7 @@ public final class ParseDataset {
         case "ARFF":
         case "CSV":
         case "PARQUET":
-          Categorical [] categoricals = categoricals(_cKey, _setup._number_columns);
+          Categorical [] categoricals = categoricals(_cKey, _setup);
           dout = new FVecParseWriter(_vg,_startChunkIdx + in.cidx(), categoricals, _setup._column_types,
                   _setup._chunk_size, avs, _setup._parse_columns_indices); //TODO: use _setup._domains instead of categoricals
           break;
@@ -961,7 +1268,7 @@ public final class ParseDataset {
                   avs, _setup._parse_columns_indices);
           break;
         case "ORC":  // setup special case for ORC
-          Categorical [] orc_categoricals = categoricals(_cKey, _setup._number_columns);
+          Categorical [] orc_categoricals = categoricals(_cKey, _setup);
           dout = new FVecParseWriter(_vg, in.cidx() + _startChunkIdx, orc_categoricals, _setup._column_types,
                   _setup._chunk_size, avs, _setup._parse_columns_indices);
           break;
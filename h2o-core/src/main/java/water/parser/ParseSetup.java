@@ -37,10 +37,12 @@ public class ParseSetup extends Iced {
   byte[] _column_types;       // Column types
   int[] _skipped_columns;     // column indices that are to be skipped
   String[][] _domains;        // Domains for each column (null if numeric)
+  boolean _known_domains;     // _domains of categorical columns are final, see setKnownDomains
   String[][] _na_strings;       // Strings for NA in a given column
   String[][] _data;           // First few rows of parsed/tokenized data
   int[] _parse_columns_indices; // store column indices to be parsed into the final file
   byte[] _nonDataLineMarkers;
+  RowFilter[] _row_filters;   // Only the rows satisfying all the filters are parsed (pushed down to the file format)
 
   String[] _synthetic_column_names; // Columns with constant values to be added to parsed Frame
   String[][] _synthetic_column_values; // For each imported file contains array of values for each synthetic column
@@ -67,6 +69,16 @@ public class ParseSetup extends Iced {
          ps._column_names, ps._column_types, ps._domains, ps._na_strings, ps._data,
             new ParseWriter.ParseErr[0], ps._chunk_size, ps._decrypt_tool, ps._skipped_columns,
             ps._nonDataLineMarkers);
+    _known_domains = ps._known_domains;
+    _row_filters = ps._row_filters;
+  }
+
+  /**
+   * Key of the setup a Frame was parsed with, kept in DKV (and removed with the Frame) so that more files can be
+   * parsed into the Frame later, see {@link ParseDataset#append}.
+   */
+  public static Key parsedWithKey(Key<Frame> frameKey) {
+    return Key.makeUserHidden(frameKey + ".parseSetup");
   }
 
   public static ParseSetup makeSVMLightSetup(){
@@ -822,6 +834,13 @@ public class ParseSetup extends Iced {
     return this;
   }
 
+  public RowFilter[] getRowFilters() { return _row_filters; }
+
+  public ParseSetup setRowFilters(RowFilter... row_filters) {
+    this._row_filters = row_filters;
+    return this;
+  }
+
   public ParseSetup setColumnTypes(byte[] column_types) {
     this._column_types = column_types;
     return this;
@@ -832,6 +851,24 @@ public class ParseSetup extends Iced {
     return this;
   }
 
+  /**
+   * Set the known domains of the categorical columns (e.g. from a previous parse of the same kind of data): the parse
+   * writes the final categorical codes right away, levels missing in a known domain are added at its end (sorted).
+   * @param domains domains indexed by column (like the column types), null for the columns with domains to be collected
+   */
+  public ParseSetup setKnownDomains(String[][] domains) {
+    this._domains = domains;
+    this._known_domains = domains != null;
+    return this;
+  }
+
+  /** Known domain of the given column, see {@link #setKnownDomains} */
+  String[] knownDomain(int col) {
+    if( !_known_domains || _domains == null || col >= _domains.length ) return null;
+    if( _column_types == null || col >= _column_types.length || _column_types[col] != Vec.T_CAT ) return null;
+    return _domains[col];
+  }
+
   public ParseSetup setNAStrings(String[][] na_strings) {
     this._na_strings = na_strings;
     return this;
@@ -0,0 +1,103 @@
+package water.parser;
+
+import water.Iced;
+import water.exceptions.H2OIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Row filter of a parse: only the rows where the value of the column satisfies the comparison are parsed, all the
+ * filters of a parse have to be satisfied (missing values never do). Filters are pushed down to the file format
+ * (currently Parquet), a range is given by two filters.
+ *
+ * Filters are given as simple expressions: {@code year >= 2015}, {@code month == 7}, {@code state in (CA, "New York")}.
+ * Values are converted to the type of the column by the parser.
+ */
+public class RowFilter extends Iced<RowFilter> {
+
+  public enum Op {
+    EQ("=="), NE("!="), LT("<"), LE("<="), GT(">"), GE(">="), IN("in");
+
+    final String _symbol;
+    Op(String symbol) { _symbol = symbol; }
+  }
+
+  private static final Pattern EXPR = Pattern.compile("^\\s*(.+?)\\s*(==|=|!=|<=|>=|<|>|\\s(?i:in)\\s)\\s*(.+?)\\s*$");
+
+  public final String _column;
+  public final Op _op;
+  public final String[] _values; // a single value, except for IN
+
+  public RowFilter() { this(null, null, (String[]) null); }
+
+  public RowFilter(String column, Op op, String... values) {
+    _column = column;
+    _op = op;
+    _values = values;
+  }
+
+  public static RowFilter[] parse(String[] exprs) {
+    if (exprs == null) return null;
+    RowFilter[] res = new RowFilter[exprs.length];
+    for (int i = 0; i < exprs.length; i++) res[i] = parse(exprs[i]);
+    return res;
+  }
+
+  public static RowFilter parse(String expr) {
+    Matcher m = EXPR.matcher(expr);
+    if (!m.matches())
+      throw new H2OIllegalArgumentException("Invalid row filter '" + expr + "', expected e.g. 'year >= 2015' or 'month in (1, 2)'.");
+    String column = unquote(m.group(1));
+    String sym = m.group(2).trim().toLowerCase();
+    if (sym.equals("in")) {
+      String list = m.group(3);
+      if (!list.startsWith("(") || !list.endsWith(")"))
+        throw new H2OIllegalArgumentException("Invalid row filter '" + expr + "', expected a list of values in parentheses.");
+      return new RowFilter(column, Op.IN, splitValues(list.substring(1, list.length() - 1)));
+    }
+    Op op = null;
+    for (Op o : Op.values())
+      if (o._symbol.equals(sym)) op = o;
+    return new RowFilter(column, op == null ? Op.EQ : op, unquote(m.group(3)));
+  }
+
+  // Comma separated values, commas in quoted values are kept
+  private static String[] splitValues(String list) {
+    List<String> res = new ArrayList<>();
+    StringBuilder sb = new StringBuilder();
+    char quote = 0;
+    for (char c : list.toCharArray()) {
+      if (quote != 0) {
+        if (c == quote) quote = 0;
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == ',') {
+        res.add(unquote(sb.toString()));
+        sb.setLength(0);
+        continue;
+      }
+      sb.append(c);
+    }
+    if (sb.toString().trim().length() > 0 || !res.isEmpty()) res.add(unquote(sb.toString()));
+    return res.toArray(new String[0]);
+  }
+
+  private static String unquote(String s) {
+    s = s.trim();
+    if (s.length() >= 2 && (s.charAt(0) == '"' || s.charAt(0) == '\'') && s.charAt(s.length() - 1) == s.charAt(0))
+      return s.substring(1, s.length() - 1);
+    return s;
+  }
+
+  @Override
+  public String toString() {
+    if (_op != Op.IN) return _column + " " + _op._symbol + " " + _values[0];
+    StringBuilder sb = new StringBuilder(_column).append(" in (");
+    for (int i = 0; i < _values.length; i++) sb.append(i == 0 ? "" : ", ").append(_values[i]);
+    return sb.append(")").toString();
+  }
+
+}
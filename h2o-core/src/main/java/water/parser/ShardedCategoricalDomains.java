@@ -0,0 +1,337 @@
+package water.parser;
+
+import water.*;
+import water.nbhm.NonBlockingHashMap;
+import water.util.ArrayUtils;
+
+import java.util.Arrays;
+
+import static water.util.ArrayUtils.encodeAsInt;
+
+/**
+ * Builds the unified (sorted) domains of categorical columns with very many levels without merging all the levels on
+ * a single node, see {@link ParseDataset}.
+ *
+ * The levels are range-partitioned into shards by splitters sampled from the node-local domains, shard s is homed on
+ * the node s % cloud size:
+ * <ol>
+ *   <li>every node sorts its local levels and sends samples of them to the driver, which picks the splitters;</li>
+ *   <li>every node sends the slices of its sorted levels to the shards;</li>
+ *   <li>every shard merges the slices into its (sorted) part of the domain and ranks the levels of every node;</li>
+ *   <li>the driver concatenates the parts of the shards into the domain of the column; every node builds its
+ *   local-&gt;global categorical maps from its ranks and the offsets of the shards.</li>
+ * </ol>
+ * A node holds its own levels and the levels of its shards only (besides the domain of the Vec).
+ *
+ * Columns with at least {@code sys.ai.h2o.parse.categorical.shards.threshold} (default 1M, negative to disable)
+ * levels summed over the nodes are built by {@code sys.ai.h2o.parse.categorical.shards} shards (default one per node).
+ */
+final class ShardedCategoricalDomains {
+
+  // Not final, for testing
+  static long THRESHOLD = Long.parseLong(H2O.getSysProperty("parse.categorical.shards.threshold", "1000000"));
+  static int SHARDS = Integer.parseInt(H2O.getSysProperty("parse.categorical.shards", "0"));
+
+  // Number of samples of the local levels per shard and node
+  private static final int SAMPLES_PER_SHARD = 32;
+
+  // Node-local state of the builds, by the key of the node-local categoricals of the parse
+  private static final NonBlockingHashMap<Key, NodeState> STATES = new NonBlockingHashMap<>();
+
+  private final Key _cKey;
+  private final int[] _cols;  // Columns, indices into the node-local categoricals
+  private final int _nshards;
+  private int[][] _offsets;   // Per column, the start of every shard in the domain (and the domain length at the end)
+
+  ShardedCategoricalDomains(Key cKey, int[] cols, int nshards) {
+    _cKey = cKey;
+    _cols = cols;
+    _nshards = nshards;
+  }
+
+  static boolean isEnabled() { return THRESHOLD >= 0; }
+
+  /** @return true if columns with the given number of levels (summed over the nodes) should be sharded */
+  static boolean isSharded(long levels) { return isEnabled() && levels >= THRESHOLD; }
+
+  static int shardCount() { return SHARDS > 0 ? SHARDS : H2O.CLOUD.size(); }
+
+  /** @return number of node-local levels of the columns, summed over the nodes */
+  static long[] localSizes(Key cKey, int[] cols) {
+    return new LocalSizesTask(cKey, cols).doAllNodes()._sizes;
+  }
+
+  /** Runs the build up to the shard domains, their lengths are known afterwards */
+  void build() {
+    String[][] splitters = new String[_cols.length][_nshards - 1];
+    byte[][] samples = new SampleTask(_cKey, _cols, _nshards).doAllNodes()._samples;
+    for( int i = 0; i < _cols.length; i++ ) {
+      String[] smp = PackedDomains.unpackToStrings(samples[i]);
+      for( int s = 1; s < _nshards; s++ )
+        splitters[i][s - 1] = smp.length == 0 ? "" : smp[(int) ((long) s * smp.length / _nshards)];
+    }
+    new ExchangeTask(_cKey, splitters, _nshards).doAllNodes();
+    long[][] sizes = new MergeTask(_cKey, _cols.length, _nshards).doAllNodes()._sizes;
+    _offsets = new int[_cols.length][_nshards + 1];
+    for( int i = 0; i < _cols.length; i++ )
+      for( int s = 0; s < _nshards; s++ )
+        _offsets[i][s + 1] = (int) Math.min(Integer.MAX_VALUE, _offsets[i][s] + sizes[i][s]);
+  }
+
+  int domainLength(int i) { return _offsets[i][_nshards]; }
+
+  int[][] offsets() { return _offsets; }
+
+  /** @return the domains of the columns, concatenated from the shards */
+  String[][] domains() {
+    String[][] res = new String[_cols.length][];
+    for( int i = 0; i < _cols.length; i++ ) res[i] = new String[domainLength(i)];
+    RPC<GetDomainsTask>[] rpcs = new RPC[_nshards];
+    for( int s = 0; s < _nshards; s++ )
+      rpcs[s] = new RPC<>(home(s), new GetDomainsTask(_cKey, s)).call();
+    for( int s = 0; s < _nshards; s++ ) {
+      byte[][] doms = rpcs[s].get()._domains;
+      for( int i = 0; i < _cols.length; i++ ) {
+        String[] part = PackedDomains.unpackToStrings(doms[i]);
+        System.arraycopy(part, 0, res[i], _offsets[i][s], part.length);
+      }
+    }
+    return res;
+  }
+
+  /** Removes the state of the build on all nodes */
+  void cleanup() { new CleanupTask(_cKey).doAllNodes(); }
+
+  /**
+   * Local-&gt;global maps of the levels of this node, runs on every node after {@link #build}.
+   * @param cats the node-local categoricals of the parse
+   * @param cols columns, indices into the node-local categoricals
+   * @param offsets see {@link #offsets}
+   */
+  static int[][] localMaps(Key cKey, Categorical[] cats, int[] cols, int[][] offsets) {
+    NodeState st = STATES.get(cKey);
+    int nshards = offsets[0].length - 1;
+    RPC<GetRanksTask>[] rpcs = new RPC[nshards];
+    for( int s = 0; s < nshards; s++ )
+      rpcs[s] = new RPC<>(home(s), new GetRanksTask(cKey, s, H2O.SELF.index())).call();
+    int[][] maps = new int[cols.length][];
+    for( int i = 0; i < cols.length; i++ ) {
+      maps[i] = MemoryManager.malloc4(cats[cols[i]].maxId() + 1);
+      Arrays.fill(maps[i], -1);
+    }
+    for( int s = 0; s < nshards; s++ ) {
+      int[][] ranks = rpcs[s].get()._ranks;
+      for( int i = 0; i < cols.length; i++ ) {
+        BufferedString[] levels = st._sorted[i];
+        for( int k = 0; k < ranks[i].length; k++ )
+          maps[i][cats[cols[i]].getTokenId(levels[st._starts[i][s] + k])] = offsets[i][s] + ranks[i][k];
+      }
+    }
+    return maps;
+  }
+
+  private static H2ONode home(int shard) { return H2O.CLOUD.members()[shard % H2O.CLOUD.size()]; }
+
+  private static boolean isHome(int shard) { return home(shard) == H2O.SELF; }
+
+  private static final class NodeState {
+    final BufferedString[][] _sorted; // Per column, the local levels sorted
+    int[][] _starts;                  // Per column, the start of the slice of every shard in _sorted
+    final byte[][][][] _slices;       // Per (homed) shard and node, per column the packed slice of the node
+    final byte[][][] _domains;        // Per (homed) shard, per column the packed part of the domain
+    final int[][][][] _ranks;         // Per (homed) shard and node, per column the positions of the slice in the part
+    NodeState(BufferedString[][] sorted, int nshards) {
+      _sorted = sorted;
+      _slices = new byte[nshards][][][];
+      _domains = new byte[nshards][][];
+      _ranks = new int[nshards][][][];
+    }
+    synchronized void addSlice(int shard, int node, byte[][] slice) {
+      if( _slices[shard] == null ) _slices[shard] = new byte[H2O.CLOUD.size()][][];
+      _slices[shard][node] = slice;
+    }
+  }
+
+  private static class LocalSizesTask extends MRTask<LocalSizesTask> {
+    private final Key _cKey;
+    private final int[] _cols;
+    long[] _sizes;
+    LocalSizesTask(Key cKey, int[] cols) { _cKey = cKey; _cols = cols; }
+    @Override public void setupLocal() {
+      _sizes = new long[_cols.length];
+      Categorical[] cats = ParseDataset.localCategoricals(_cKey);
+      if( cats != null )
+        for( int i = 0; i < _cols.length; i++ ) _sizes[i] = cats[_cols[i]].size();
+    }
+    @Override public void reduce(LocalSizesTask other) { ArrayUtils.add(_sizes, other._sizes); }
+  }
+
+  // Sorts the local levels, returns samples of them
+  private static class SampleTask extends MRTask<SampleTask> {
+    private final Key _cKey;
+    private final int[] _cols;
+    private final int _nshards;
+    byte[][] _samples;
+    SampleTask(Key cKey, int[] cols, int nshards) { _cKey = cKey; _cols = cols; _nshards = nshards; }
+    @Override public void setupLocal() {
+      Categorical[] cats = ParseDataset.localCategoricals(_cKey);
+      BufferedString[][] sorted = new BufferedString[_cols.length][];
+      _samples = new byte[_cols.length][];
+      for( int i = 0; i < _cols.length; i++ ) {
+        BufferedString[] levels = new BufferedString[0];
+        if( cats != null ) {
+          cats[_cols[i]].convertToUTF8(_cols[i] + 1);
+          levels = cats[_cols[i]].getColumnDomain();
+        }
+        Arrays.sort(levels);
+        sorted[i] = levels;
+        BufferedString[] smp = new BufferedString[Math.min(levels.length, SAMPLES_PER_SHARD * _nshards)];
+        for( int k = 0; k < smp.length; k++ ) smp[k] = levels[(int) ((long) k * levels.length / smp.length)];
+        _samples[i] = PackedDomains.pack(smp);
+      }
+      STATES.put(_cKey, new NodeState(sorted, _nshards));
+    }
+    @Override public void reduce(SampleTask other) {
+      for( int i = 0; i < _samples.length; i++ ) _samples[i] = PackedDomains.merge(_samples[i], other._samples[i]);
+    }
+  }
+
+  // Sends the slices of the local levels to the shards
+  private static class ExchangeTask extends MRTask<ExchangeTask> {
+    private final Key _cKey;
+    private final String[][] _splitters;
+    private final int _nshards;
+    ExchangeTask(Key cKey, String[][] splitters, int nshards) { _cKey = cKey; _splitters = splitters; _nshards = nshards; }
+    @Override public void setupLocal() {
+      NodeState st = STATES.get(_cKey);
+      int ncols = _splitters.length;
+      st._starts = new int[ncols][_nshards + 1];
+      for( int i = 0; i < ncols; i++ ) {
+        BufferedString[] levels = st._sorted[i];
+        for( int s = 1; s < _nshards; s++ )
+          st._starts[i][s] = lowerBound(levels, new BufferedString(_splitters[i][s - 1]));
+        st._starts[i][_nshards] = levels.length;
+      }
+      RPC[] rpcs = new RPC[_nshards];
+      for( int s = 0; s < _nshards; s++ ) {
+        byte[][] slice = new byte[ncols][];
+        for( int i = 0; i < ncols; i++ )
+          slice[i] = PackedDomains.pack(Arrays.copyOfRange(st._sorted[i], st._starts[i][s], st._starts[i][s + 1]));
+        rpcs[s] = new RPC<>(home(s), new AddSliceTask(_cKey, s, H2O.SELF.index(), slice)).call();
+      }
+      for( RPC rpc : rpcs ) rpc.get();
+    }
+  }
+
+  private static class AddSliceTask extends DTask<AddSliceTask> {
+    private final Key _cKey;
+    private final int _shard, _node;
+    private byte[][] _slice;
+    AddSliceTask(Key cKey, int shard, int node, byte[][] slice) { _cKey = cKey; _shard = shard; _node = node; _slice = slice; }
+    @Override public void compute2() {
+      STATES.get(_cKey).addSlice(_shard, _node, _slice);
+      _slice = null;
+      tryComplete();
+    }
+  }
+
+  // Merges the slices of the homed shards, ranks the levels of every node
+  private static class MergeTask extends MRTask<MergeTask> {
+    private final Key _cKey;
+    private final int _ncols, _nshards;
+    long[][] _sizes;
+    MergeTask(Key cKey, int ncols, int nshards) { _cKey = cKey; _ncols = ncols; _nshards = nshards; }
+    @Override public void setupLocal() {
+      final NodeState st = STATES.get(_cKey);
+      _sizes = new long[_ncols][_nshards];
+      final int nnodes = H2O.CLOUD.size();
+      H2O.submitTask(new LocalMR(new MrFun() {
+        @Override protected void map(int id) {
+          int s = id / _ncols, i = id % _ncols;
+          if( !isHome(s) ) return;
+          byte[] dom = PackedDomains.pack(new BufferedString[0]);
+          for( int n = 0; n < nnodes; n++ ) dom = PackedDomains.merge(dom, st._slices[s][n][i]);
+          synchronized( st ) {
+            if( st._domains[s] == null ) {
+              st._domains[s] = new byte[_ncols][];
+              st._ranks[s] = new int[nnodes][_ncols][];
+            }
+          }
+          st._domains[s][i] = dom;
+          for( int n = 0; n < nnodes; n++ ) st._ranks[s][n][i] = ranks(dom, st._slices[s][n][i]);
+          _sizes[i][s] = PackedDomains.sizeOf(dom);
+        }
+      }, _nshards * _ncols)).join();
+      for( int s = 0; s < _nshards; s++ ) st._slices[s] = null;
+    }
+    @Override public void reduce(MergeTask other) {
+      for( int i = 0; i < _ncols; i++ ) ArrayUtils.add(_sizes[i], other._sizes[i]);
+    }
+  }
+
+  private static class GetDomainsTask extends DTask<GetDomainsTask> {
+    private final Key _cKey;
+    private final int _shard;
+    byte[][] _domains;
+    GetDomainsTask(Key cKey, int shard) { _cKey = cKey; _shard = shard; }
+    @Override public void compute2() {
+      NodeState st = STATES.get(_cKey);
+      _domains = st._domains[_shard];
+      st._domains[_shard] = null;
+      tryComplete();
+    }
+  }
+
+  private static class GetRanksTask extends DTask<GetRanksTask> {
+    private final Key _cKey;
+    private final int _shard, _node;
+    int[][] _ranks;
+    GetRanksTask(Key cKey, int shard, int node) { _cKey = cKey; _shard = shard; _node = node; }
+    @Override public void compute2() {
+      NodeState st = STATES.get(_cKey);
+      _ranks = st._ranks[_shard][_node];
+      st._ranks[_shard][_node] = null;
+      tryComplete();
+    }
+  }
+
+  private static class CleanupTask extends MRTask<CleanupTask> {
+    private final Key _cKey;
+    CleanupTask(Key cKey) { _cKey = cKey; }
+    @Override public void setupLocal() { STATES.remove(_cKey); }
+  }
+
+  // Index of the first level not smaller than the given one
+  static int lowerBound(BufferedString[] levels, BufferedString x) {
+    int lo = 0, hi = levels.length;
+    while( lo < hi ) {
+      int mid = (lo + hi) >>> 1;
+      if( levels[mid].compareTo(x) < 0 ) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  // Positions of the (sorted) levels in the (sorted) domain containing them, both packed
+  static int[] ranks(byte[] domain, byte[] levels) {
+    int[] res = new int[PackedDomains.sizeOf(levels)];
+    BufferedString d = new BufferedString(domain, 0, 0), l = new BufferedString(levels, 0, 0);
+    int pD = 4, pL = 4, rank = 0;
+    for( int k = 0; k < res.length; k++ ) {
+      int lenL = encodeAsInt(levels, pL);
+      l.setOff(pL + 4);
+      l.setLen(lenL);
+      while( true ) {
+        int lenD = encodeAsInt(domain, pD);
+        d.setOff(pD + 4);
+        d.setLen(lenD);
+        pD += lenD + 4;
+        if( d.compareTo(l) == 0 ) break;
+        rank++;
+      }
+      res[k] = rank++;
+      pL += lenL + 4;
+    }
+    return res;
+  }
+}
@@ -23,7 +23,7 @@ import static water.fvec.FileVec.getPathForKey;
 
 abstract class ZipUtil {
 
-  public enum Compression { NONE, ZIP, GZIP }
+  public enum Compression { NONE, ZIP, GZIP, ZSTD, LZ4 }
 
   /**
    * This method will attempt to read the few bytes off a file which will in turn be used
@@ -156,6 +156,11 @@ abstract class ZipUtil {
       return Compression.ZIP;
     if( bits.length > 2 && (UnsafeUtils.get2(bits,0)&0xffff) == GZIPInputStream.GZIP_MAGIC )
       return Compression.GZIP;
+    // Look for zstd and LZ4 frame magic
+    if( bits.length > 4 && UnsafeUtils.get4(bits, 0) == ZstdDecompressor.MAGIC )
+      return Compression.ZSTD;
+    if( bits.length > 4 && UnsafeUtils.get4(bits, 0) == Lz4Decompressor.MAGIC )
+      return Compression.LZ4;
     return Compression.NONE;
   }
 
@@ -194,7 +199,7 @@ abstract class ZipUtil {
     if( cmp == Compression.NONE ) return bs; // No compression
     // Wrap the bytes in a stream
     ByteArrayInputStream bais = new ByteArrayInputStream(bs);
-    InflaterInputStream is = null;
+    InputStream is = null;
     try {
       if (cmp == Compression.ZIP) {
         ZipInputStream zis = new ZipInputStream(bais);
@@ -204,8 +209,7 @@ abstract class ZipUtil {
           zis.getNextEntry(); // read the next entry which should be a file
         is = zis;
       } else {
-        assert cmp == Compression.GZIP;
-        is = new GZIPInputStream(bais);
+        is = ParallelDecompressor.forCompression(cmp).wrap(bais);
       }
 
       // If reading from a compressed stream, estimate we can read 2x uncompressed
@@ -228,7 +232,11 @@ abstract class ZipUtil {
       // There is generally no way to avod this exception, we have to ignore it here
       Log.trace(eof);
     } catch( IOException ioe ) {
-      throw Log.throwErr(ioe); 
+      // zstd and LZ4 streams report the end of the (truncated) input as a generic IOException
+      if (cmp == Compression.ZSTD || cmp == Compression.LZ4)
+        Log.trace(ioe);
+      else
+        throw Log.throwErr(ioe);
     } finally { 
       try { if( is != null ) is.close(); } catch( IOException ignore ) { }
     }
@@ -0,0 +1,123 @@
+package water.parser;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import water.H2O;
+import water.fvec.ByteVec;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parallel decompression of Zstandard files, see {@link ParallelDecompressor}.
+ *
+ * A zstd file is a sequence of frames, each of them can be decoded on its own. The frames are found either in the
+ * seek table of a seekable zstd file (the skippable frame at the end of the file written by the zstd seekable
+ * format), or by walking the frame and block headers from the start of the file - in the latter case all the frames
+ * have to record their content size. Files with a single frame are still decoded by a single thread.
+ *
+ * Enabled by default, disabled with the system property {@code sys.ai.h2o.parse.zstd.parallel=false}.
+ */
+final class ZstdDecompressor extends ParallelDecompressor {
+
+  static final ZstdDecompressor INSTANCE = new ZstdDecompressor();
+
+  private static final boolean ENABLED = H2O.getSysBoolProperty("parse.zstd.parallel", true);
+
+  static final int MAGIC = 0xFD2FB528;
+  // Seek table footer: number of frames (4 bytes), descriptor (1 byte), magic (4 bytes)
+  private static final int SEEKABLE_MAGIC = 0x8F92EAB1;
+  private static final int SEEK_TABLE_MAGIC = 0x184D2A5E;
+  private static final int SEEK_TABLE_FOOTER_LEN = 9;
+  // Frame header: magic, descriptor, window descriptor, dictionary id (up to 4 bytes), content size (up to 8 bytes)
+  private static final int MAX_FRAME_HEADER_LEN = 18;
+
+  private ZstdDecompressor() {}
+
+  @Override boolean isEnabled() { return ENABLED; }
+
+  @Override InputStream wrap(InputStream is) throws IOException { return new ZstdInputStream(is); }
+
+  @Override Frames findFrames(ByteVec vec) {
+    Frames frames = readSeekTable(vec);
+    return frames != null ? frames : walkFrames(vec);
+  }
+
+  @Override void decodeFrame(byte[] src, byte[] dst) throws IOException {
+    long n = Zstd.decompressByteArray(dst, 0, dst.length, src, 0, src.length);
+    if (Zstd.isError(n))
+      throw new IOException("Corrupted zstd frame: " + Zstd.getErrorName(n));
+    if (n != dst.length)
+      throw new IOException("Corrupted zstd frame: expected " + dst.length + " bytes, got " + n + ".");
+  }
+
+  /**
+   * Frames of a seekable zstd file, null if the file doesn't end with a (valid) seek table.
+   */
+  static Frames readSeekTable(ByteVec vec) {
+    final long len = vec.length();
+    byte[] footer = new byte[SEEK_TABLE_FOOTER_LEN];
+    if (len < 8 + SEEK_TABLE_FOOTER_LEN || readBytes(vec, len - footer.length, footer, footer.length) < footer.length ||
+            getInt(footer, 5) != SEEKABLE_MAGIC)
+      return null;
+    long nframes = getUInt(footer, 0);
+    int entrySize = (footer[4] & 0x80) != 0 ? 12 : 8; // Entries with checksums
+    long tableLen = 8 + nframes * entrySize + SEEK_TABLE_FOOTER_LEN;
+    if (tableLen > len || nframes * entrySize > Integer.MAX_VALUE) return null;
+    byte[] table = new byte[(int) (nframes * entrySize) + 8];
+    readBytes(vec, len - tableLen, table, table.length);
+    if (getInt(table, 0) != SEEK_TABLE_MAGIC || getUInt(table, 4) != tableLen - 8) return null;
+    long[] offs = new long[(int) nframes], csizes = new long[(int) nframes], usizes = new long[(int) nframes];
+    long off = 0;
+    for (int i = 0; i < nframes; i++) {
+      offs[i] = off;
+      csizes[i] = getUInt(table, 8 + i * entrySize);
+      usizes[i] = getUInt(table, 8 + i * entrySize + 4);
+      if (usizes[i] > MAX_FRAME_SIZE) return null;
+      off += csizes[i];
+    }
+    if (off + tableLen != len) return null;
+    return new Frames(offs, csizes, usizes);
+  }
+
+  // Walks the blocks of the frame, the content size is taken from the frame header
+  @Override boolean readFrame(ByteVec vec, long off, int magic, long[] res) {
+    if (magic != MAGIC) return false;
+    byte[] hdr = new byte[MAX_FRAME_HEADER_LEN];
+    int hlen = readBytes(vec, off, hdr, hdr.length);
+    if (hlen < 6) return false;
+    final int fhd = hdr[4] & 0xFF;
+    final int fcsFlag = fhd >> 6;
+    final boolean singleSegment = (fhd & 0x20) != 0, checksum = (fhd & 0x04) != 0;
+    final int dictIdLen = new int[]{0, 1, 2, 4}[fhd & 3];
+    final int fcsLen = fcsFlag == 0 ? (singleSegment ? 1 : 0) : 1 << fcsFlag;
+    int pos = 5 + (singleSegment ? 0 : 1) + dictIdLen;
+    if (pos + fcsLen > hlen) return false;
+    long usize;
+    switch (fcsLen) {
+      case 0: usize = -1; break; // Unknown content size
+      case 1: usize = hdr[pos] & 0xFF; break;
+      case 2: usize = ((hdr[pos] & 0xFF) | (hdr[pos + 1] & 0xFF) << 8) + 256; break;
+      case 4: usize = getUInt(hdr, pos); break;
+      default: usize = getLong(hdr, pos); break;
+    }
+    if (usize < 0) return false;
+    // Blocks: 3 byte header (last block flag, block type, block size), block content
+    long p = off + pos + fcsLen;
+    byte[] bh = new byte[3];
+    boolean last;
+    do {
+      if (readBytes(vec, p, bh, 3) < 3) return false;
+      int b = (bh[0] & 0xFF) | (bh[1] & 0xFF) << 8 | (bh[2] & 0xFF) << 16;
+      last = (b & 1) != 0;
+      int type = (b >> 1) & 3, size = b >>> 3;
+      if (type == 3) return false; // Reserved
+      p += 3 + (type == 1 ? 1 : size); // RLE blocks store a single byte
+    } while (!last);
+    if (checksum) p += 4;
+    res[0] = p - off;
+    res[1] = usize;
+    return true;
+  }
+
+}
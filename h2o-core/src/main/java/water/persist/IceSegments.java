@@ -0,0 +1,129 @@
+package water.persist;
+
+import water.H2O;
+import water.Key;
+import water.MemoryManager;
+import water.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only, memory-mapped spill segments for the ice directory.
+ *
+ * Instead of one file per swapped Value written and re-read through an
+ * {@link water.AutoBuffer} stream, Values are appended into large segment
+ * files which are mapped into memory once.  An in-memory index maps each Key
+ * to its (segment, offset, length).  Spilling is a single copy into the
+ * mapped region and reloading is a single copy out of the page cache - no
+ * stream buffers, no per-file open/close, no directory churn.
+ *
+ * A segment file is deleted once every Value appended to it has been deleted
+ * or re-spilled elsewhere.  Values larger than a segment are not handled here
+ * and use the plain file-per-Value path of {@link PersistFS}.
+ *
+ * Enabled with the system property {@code sys.ai.h2o.persist.ice.segments}.
+ */
+final class IceSegments {
+
+  static final boolean ENABLED = H2O.getSysBoolProperty("persist.ice.segments", false);
+  static final int SEGMENT_SIZE = Integer.parseInt(H2O.getSysProperty("persist.ice.segment.size", String.valueOf(256 << 20)));
+
+  private final File _dir;
+  private final ArrayList<Segment> _segs = new ArrayList<>();
+  private Segment _cur;         // Segment we are currently appending to
+  private final ConcurrentHashMap<Key, Entry> _index = new ConcurrentHashMap<>();
+
+  private static final class Segment {
+    final File _file;
+    final MappedByteBuffer _mbb;
+    int _top;                   // Append pointer
+    int _live;                  // Bytes of live Values
+    Segment(File file) throws IOException {
+      _file = file;
+      try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+        _mbb = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+      }
+    }
+  }
+
+  private static final class Entry {
+    final Segment _seg;
+    final int _off, _len;
+    Entry(Segment seg, int off, int len) { _seg = seg; _off = off; _len = len; }
+  }
+
+  IceSegments(File dir) { _dir = dir; }
+
+  static boolean fits(int len) { return len <= SEGMENT_SIZE; }
+
+  /** Append the bytes of the Value with the given Key; replaces any prior copy. */
+  void store(Key k, byte[] m) throws IOException {
+    assert fits(m.length);
+    Segment seg;
+    int off;
+    synchronized( this ) {
+      if( _cur == null || _cur._top + m.length > SEGMENT_SIZE ) {
+        if( !_dir.mkdirs() && !_dir.exists() )
+          throw new IOException("mkdirs failed making " + _dir);
+        Segment old = _cur;
+        _cur = new Segment(new File(_dir, "segment_" + _segs.size()));
+        _segs.add(_cur);
+        if( old != null && old._live == 0 ) deleteSegment(old);
+      }
+      seg = _cur;
+      off = seg._top;
+      seg._top += m.length;
+      seg._live += m.length;
+    }
+    ByteBuffer bb = seg._mbb.duplicate();
+    bb.position(off);
+    bb.put(m);
+    release(_index.put(k, new Entry(seg, off, m.length)));
+  }
+
+  /** @return the bytes of the Value with the given Key, or null if not spilled here */
+  byte[] load(Key k, int len) {
+    Entry e = _index.get(k);
+    if( e == null || e._len < len ) return null; // Racey delete of a spilled value
+    byte[] m = MemoryManager.malloc1(len);
+    ByteBuffer bb = e._seg._mbb.duplicate();
+    bb.position(e._off);
+    bb.get(m, 0, len);
+    return m;
+  }
+
+  boolean contains(Key k) { return _index.containsKey(k); }
+
+  void delete(Key k) { release(_index.remove(k)); }
+
+  // Account for a dead Value; delete the segment file once nothing lives in it
+  private void release(Entry e) {
+    if( e == null ) return;
+    synchronized( this ) {
+      Segment seg = e._seg;
+      seg._live -= e._len;
+      assert seg._live >= 0;
+      if( seg._live == 0 && seg != _cur )
+        deleteSegment(seg);
+    }
+  }
+
+  private void deleteSegment(Segment seg) {
+    _segs.set(_segs.indexOf(seg), null); // Keep file numbering unique
+    if( !seg._file.delete() )
+      Log.warn("Unable to delete ice segment " + seg._file);
+  }
+
+  synchronized void clear() {
+    _index.clear();
+    _segs.clear();
+    _cur = null;
+  }
+}
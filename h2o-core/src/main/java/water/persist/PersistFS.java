@@ -15,10 +15,12 @@ import water.util.Log;
 public final class PersistFS extends Persist {
   final File _root;
   final File _dir;
+  final IceSegments _segments; // Memory-mapped spill segments, or null if disabled
 
   PersistFS(File root) {
     _root = root;
     _dir = new File(root, "ice" + H2O.API_PORT);
+    _segments = IceSegments.ENABLED ? new IceSegments(new File(_dir, "segments")) : null;
     //deleteRecursive(_dir);
     // Make the directory as-needed
     root.mkdirs();
@@ -26,7 +28,10 @@ public final class PersistFS extends Persist {
       H2O.die("ice_root not a read/writable directory");
   }
 
-  public void cleanUp() { deleteRecursive(_dir); }
+  public void cleanUp() {
+    if( _segments != null ) _segments.clear();
+    deleteRecursive(_dir);
+  }
 
   private static void deleteRecursive(File path) {
     if( !path.exists() ) return;
@@ -47,6 +52,11 @@ public final class PersistFS extends Persist {
   }
 
   @Override public byte[] load(Value v) throws IOException {
+    if( _segments != null && _segments.contains(v._key) ) {
+      byte[] b = _segments.load(v._key, v._max);
+      assert b != null || !v.isPersisted(); // Racey delete of a spilled value
+      return b;
+    }
     File f = getFile(v);
     if( f.length() < v._max ) { // Should be fully on disk...
       // or it's a racey delete of a spilled value
@@ -64,6 +74,17 @@ public final class PersistFS extends Persist {
   // Store Value v to disk.
   @Override public void store(Value v) throws IOException {
     assert !v.isPersisted();
+    if( _segments != null && IceSegments.fits(v._max) ) {
+      byte[] m = v.memOrLoad();
+      if( m.length != v._max ) {
+        Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length+" v._max="+v._max);
+        v._max = m.length;
+      }
+      if( IceSegments.fits(m.length) ) {
+        _segments.store(v._key, m);
+        return;
+      }
+    }
     File dirs = new File(_dir, getIceDirectory(v._key));
     if( !dirs.mkdirs() && !dirs.exists() )
       throw new java.io.IOException("mkdirs failed making "+dirs);
@@ -85,6 +106,7 @@ public final class PersistFS extends Persist {
   }
 
   @Override public void delete(Value v) {
+    if( _segments != null ) _segments.delete(v._key);
     getFile(v).delete();        // Silently ignore errors
     // Attempt to delete empty containing directory
     new File(_dir, getIceDirectory(v._key)).delete();
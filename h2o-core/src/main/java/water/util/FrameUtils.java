@@ -334,7 +334,6 @@ public class FrameUtils {
   }
 
   public static class ExportTaskDriver extends H2O.H2OCountedCompleter<ExportTaskDriver> {
-    private static int BUFFER_SIZE = 4 * 1024 * 1024;
     private static long DEFAULT_TARGET_PART_SIZE = 134217728L; // 128MB, default HDFS block size
     private static int AUTO_PARTS_MAX = 128; // maximum number of parts if automatic determination is enabled
     final Frame _frame;
@@ -345,9 +344,23 @@ public class FrameUtils {
     int _nParts;
     final CompressionFactory _compressor;
     final Frame.CSVStreamParams _csv_parms;
+    final String _format; // columnar format, null for CSV
+    final String _compression; // codec of the columnar format
+    int _partsPerNode = 1; // part files written concurrently by a node, they share the node's cores
 
     public ExportTaskDriver(Frame frame, String path, String frameName, boolean overwrite, Job j, int nParts,
                             CompressionFactory compressor, Frame.CSVStreamParams csvParms) {
+      this(frame, path, frameName, overwrite, j, nParts, compressor, csvParms, null, null);
+    }
+
+    public ExportTaskDriver(Frame frame, String path, String frameName, boolean overwrite, Job j, int nParts,
+                            String format, String compression) {
+      this(frame, path, frameName, overwrite, j, nParts, null, new Frame.CSVStreamParams(), format, compression);
+    }
+
+    private ExportTaskDriver(Frame frame, String path, String frameName, boolean overwrite, Job j, int nParts,
+                             CompressionFactory compressor, Frame.CSVStreamParams csvParms,
+                             String format, String compression) {
       _frame = frame;
       _path = path;
       _frameName = frameName;
@@ -356,6 +369,8 @@ public class FrameUtils {
       _nParts = nParts;
       _compressor = compressor;
       _csv_parms = csvParms;
+      _format = format;
+      _compression = compression;
     }
 
     @Override
@@ -364,8 +379,11 @@ public class FrameUtils {
       if (_nParts == 1) {
         // Single file export, the file should be created by the node that was asked to export the data
         // (this is for non-distributed filesystems, we want the file to go to the local filesystem of the node)
-        Frame.CSVStream is = new Frame.CSVStream(_frame, _csv_parms);
-        exportCSVStream(is, _path, 0);
+        if (_format != null) {
+          exportChunks(_path, 0, _frame.anyVec().nChunks());
+        } else {
+          exportCSV(_path, 0, _frame.anyVec().nChunks(), _csv_parms.isHeaders() ? _frame.names() : null);
+        }
         tryComplete();
       } else {
         // Multi-part export
@@ -374,6 +392,7 @@ public class FrameUtils {
           assert _nParts > 0;
         }
         int nChunksPerPart = ((_frame.anyVec().nChunks() - 1) / _nParts) + 1;
+        _partsPerNode = Math.max(1, _nParts / H2O.CLOUD.size());
         new PartExportTask(this, _frame._names, nChunksPerPart, _csv_parms).dfork(_frame);
       }
     }
@@ -444,28 +463,14 @@ public class FrameUtils {
       }
     }
 
-    private long copyCSVStream(Frame.CSVStream is, OutputStream os, int firstChkIdx, int buffer_size) throws IOException {
-      long len = 0;
-      byte[] bytes = new byte[buffer_size];
-      int curChkIdx = firstChkIdx;
-      for (;;) {
-        int count = is.read(bytes, 0, buffer_size);
-        if (count <= 0) {
-          break;
-        }
-        len += count;
-        os.write(bytes, 0, count);
-        int workDone = is._curChkIdx - curChkIdx;
-        if (workDone > 0) {
-          if (_j.stop_requested()) throw new Job.JobCancelledException();
-          _j.update(workDone);
-          curChkIdx = is._curChkIdx;
-        }
-      }
-      return len;
-    }
-
-    private void exportCSVStream(Frame.CSVStream is, String path, int firstChkIdx) {
+    /**
+     * Writes the chunks [firstChkIdx, firstChkIdx + nChunks) of the frame to a single CSV file. Batches of chunks are
+     * formatted in parallel directly to bytes, the next batch is formatted while the current one is being written.
+     */
+    private void exportCSV(String path, int firstChkIdx, int nChunks, String[] names) {
+      CSVChunkFormatter formatter = new CSVChunkFormatter(_frame.vecs(), _csv_parms);
+      int lastChkIdx = Math.min(firstChkIdx + nChunks, _frame.anyVec().nChunks());
+      int batchSize = Math.max(1, H2O.NUMCPUS / _partsPerNode);
       OutputStream os = null;
       long written = -1;
       try {
@@ -473,7 +478,34 @@ public class FrameUtils {
         if (_compressor != null) {
           os = _compressor.wrapOutputStream(os);
         }
-        written = copyCSVStream(is, os, firstChkIdx, BUFFER_SIZE);
+        written = 0;
+        if (names != null) {
+          byte[] header = CSVChunkFormatter.header(names, _csv_parms);
+          os.write(header);
+          written += header.length;
+        }
+        FormatChunksFun batch = null;
+        LocalMR<FormatChunksFun> batchTask = null;
+        for (int cidx = firstChkIdx; cidx < lastChkIdx || batch != null; cidx += batchSize) {
+          FormatChunksFun nextBatch = null;
+          LocalMR<FormatChunksFun> nextBatchTask = null;
+          if (cidx < lastChkIdx) {
+            if (_j.stop_requested()) throw new Job.JobCancelledException();
+            nextBatch = new FormatChunksFun(formatter, _frame.vecs(), cidx, Math.min(batchSize, lastChkIdx - cidx));
+            nextBatchTask = new LocalMR<>(nextBatch, nextBatch._formatted.length);
+            H2O.submitTask(nextBatchTask);
+          }
+          if (batch != null) {
+            batchTask.join();
+            for (byte[] bytes : batch._formatted) {
+              os.write(bytes);
+              written += bytes.length;
+            }
+            _j.update(batch._formatted.length);
+          }
+          batch = nextBatch;
+          batchTask = nextBatchTask;
+        }
       } catch (IOException e) {
         throw new RuntimeException(e);
       } finally {
@@ -481,12 +513,82 @@ public class FrameUtils {
           try {
             os.flush(); // Seems redundant, but seeing a short-file-read on windows sometimes
             os.close();
-            Log.info("Written " + written + " bytes of key '" + _frameName + "' to " + _path + ".");
+            Log.info("Written " + written + " bytes of key '" + _frameName + "' to " + path + ".");
+          } catch (Exception e) {
+            Log.err(e);
+          }
+        }
+      }
+    }
+
+    /**
+     * Formats a batch of chunks to CSV lines, each chunk by a separate task.
+     * Remote chunks are dropped from the local cache once they were formatted.
+     */
+    private static class FormatChunksFun extends MrFun<FormatChunksFun> {
+      private final transient CSVChunkFormatter _formatter;
+      private final transient Vec[] _vecs;
+      private final int _firstChkIdx;
+      final transient byte[][] _formatted;
+
+      FormatChunksFun(CSVChunkFormatter formatter, Vec[] vecs, int firstChkIdx, int nChunks) {
+        _formatter = formatter;
+        _vecs = vecs;
+        _firstChkIdx = firstChkIdx;
+        _formatted = new byte[nChunks][];
+      }
+
+      @Override
+      protected void map(int id) {
+        int cidx = _firstChkIdx + id;
+        Chunk[] cs = new Chunk[_vecs.length];
+        for (int i = 0; i < cs.length; i++)
+          cs[i] = _vecs[i].chunkForChunkIdx(cidx);
+        _formatted[id] = new CSVChunkFormatter(_formatter).formatChunks(cs);
+        for (Vec v : _vecs) {
+          Key chkKey = v.chunkKey(cidx);
+          if (! chkKey.home()) H2O.raw_remove(chkKey);
+        }
+      }
+    }
+
+    /**
+     * Writes the chunks [firstChkIdx, firstChkIdx + nChunks) of the frame to a single file in the columnar format.
+     * Remote chunks are dropped from the local cache once they were written.
+     */
+    private void exportChunks(String path, int firstChkIdx, int nChunks) {
+      ExportFormat format = ExportFormat.getByName(_format);
+      if (format == null)
+        throw new IllegalStateException("Export format " + _format + " is not available on node " + H2O.SELF);
+      Vec[] vecs = _frame.vecs();
+      int lastChkIdx = Math.min(firstChkIdx + nChunks, _frame.anyVec().nChunks());
+      ExportFormat.PartWriter writer = null;
+      try {
+        writer = format.createWriter(_frame, path, _overwrite, _compression);
+        for (int cidx = firstChkIdx; cidx < lastChkIdx; cidx++) {
+          if (_j.stop_requested()) throw new Job.JobCancelledException();
+          Chunk[] cs = new Chunk[vecs.length];
+          for (int i = 0; i < cs.length; i++)
+            cs[i] = vecs[i].chunkForChunkIdx(cidx);
+          if (cs.length > 0 && cs[0]._len > 0)
+            writer.write(cs);
+          for (Vec v : vecs) {
+            Key chkKey = v.chunkKey(cidx);
+            if (! chkKey.home()) H2O.raw_remove(chkKey);
+          }
+          _j.update(1);
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      } finally {
+        if (writer != null) {
+          try {
+            writer.close();
+            Log.info("Written chunks " + firstChkIdx + "-" + (lastChkIdx - 1) + " of key '" + _frameName + "' to " + path + ".");
           } catch (Exception e) {
             Log.err(e);
           }
         }
-        try { is.close(); } catch (Exception e) { Log.err(e); }
       }
     }
 
@@ -510,8 +612,11 @@ public class FrameUtils {
         }
         int partIdx = anyChunk.cidx() / _length;
         String partPath = _path + "/part-m-" + String.valueOf(100000 + partIdx).substring(1);
-        Frame.CSVStream is = new Frame.CSVStream(cs, _colNames, _length, _csv_parms);
-        exportCSVStream(is, partPath, anyChunk.cidx());
+        if (_format != null) {
+          exportChunks(partPath, anyChunk.cidx(), _length);
+        } else {
+          exportCSV(partPath, anyChunk.cidx(), _length, _colNames);
+        }
       }
 
       @Override
@@ -3,6 +3,7 @@ package water.util;
 import water.*;
 import water.api.API;
 import water.api.schemas3.SchemaV3;
+import water.network.CompressedSocketChannel;
 import water.persist.PersistManager;
 
 public class WaterMeterIo extends Iced {
@@ -27,11 +28,38 @@ public class WaterMeterIo extends Iced {
     public long load_bytes;
   }
 
+  public static class NetworkStatsEntry extends SchemaV3<Iced, NetworkStatsEntry> {
+    @API(help="Compression codec of the large messages sent by the node(s)", direction = API.Direction.OUTPUT)
+    public String codec;
+
+    @API(help="Bytes sent over compressed TCP connections, before compression", direction = API.Direction.OUTPUT)
+    public long tcp_bytes_sent_raw;
+
+    @API(help="Bytes sent over compressed TCP connections, after compression", direction = API.Direction.OUTPUT)
+    public long tcp_bytes_sent_compressed;
+
+    @API(help="Bytes received over compressed TCP connections, after decompression", direction = API.Direction.OUTPUT)
+    public long tcp_bytes_received_raw;
+
+    @API(help="Bytes received over compressed TCP connections, before decompression", direction = API.Direction.OUTPUT)
+    public long tcp_bytes_received_compressed;
+  }
+
+  public static class MRTaskStatsEntry extends SchemaV3<Iced, MRTaskStatsEntry> {
+    @API(help="Chunks of other nodes mapped by the node(s), see sys.ai.h2o.mrtask.steal", direction = API.Direction.OUTPUT)
+    public long chunks_stolen;
+
+    @API(help="Chunks of the node(s) mapped by other nodes, see sys.ai.h2o.mrtask.steal", direction = API.Direction.OUTPUT)
+    public long chunks_given;
+  }
+
   // Input
   public int nodeidx;
 
   // Output
   public IoStatsEntry persist_stats[];
+  public NetworkStatsEntry network_stats;
+  public MRTaskStatsEntry mrtask_stats;
 
   public void doIt(boolean aggregateAllNodes) {
     if (! aggregateAllNodes) {
@@ -48,7 +76,18 @@ public class WaterMeterIo extends Iced {
           persist_stats[j] = new IoStatsEntry();
           persist_stats[j].backend    = io.persist_stats[j].backend;
         }
+        network_stats = new NetworkStatsEntry();
+        network_stats.codec = io.network_stats.codec;
+        mrtask_stats = new MRTaskStatsEntry();
       }
+      if (! network_stats.codec.equals(io.network_stats.codec))
+        network_stats.codec = "mixed";
+      network_stats.tcp_bytes_sent_raw += io.network_stats.tcp_bytes_sent_raw;
+      network_stats.tcp_bytes_sent_compressed += io.network_stats.tcp_bytes_sent_compressed;
+      network_stats.tcp_bytes_received_raw += io.network_stats.tcp_bytes_received_raw;
+      network_stats.tcp_bytes_received_compressed += io.network_stats.tcp_bytes_received_compressed;
+      mrtask_stats.chunks_stolen += io.mrtask_stats.chunks_stolen;
+      mrtask_stats.chunks_given += io.mrtask_stats.chunks_given;
 
       for (int j = 0; j < persist_stats.length; j++) {
         persist_stats[j].store_count += io.persist_stats[j].store_count;
@@ -68,10 +107,14 @@ public class WaterMeterIo extends Iced {
     new RPC<>(node, t).call().get();
     Log.trace("IO GetTask completed to node " + idx);
     persist_stats = t._persist_stats;
+    network_stats = t._network_stats;
+    mrtask_stats = t._mrtask_stats;
   }
 
   private static class GetTask extends DTask<GetTask> {
     private IoStatsEntry _persist_stats[];
+    private NetworkStatsEntry _network_stats;
+    private MRTaskStatsEntry _mrtask_stats;
 
     public GetTask() { super(H2O.MIN_HI_PRIORITY); _persist_stats = null; }
 
@@ -118,6 +161,17 @@ public class WaterMeterIo extends Iced {
         assert(src_e.load_bytes.get() == 0);
       }
 
+      _network_stats = new NetworkStatsEntry();
+      _network_stats.codec = CompressedSocketChannel.CODEC.name().toLowerCase();
+      _network_stats.tcp_bytes_sent_raw = CompressedSocketChannel.RAW_BYTES_SENT.get();
+      _network_stats.tcp_bytes_sent_compressed = CompressedSocketChannel.WIRE_BYTES_SENT.get();
+      _network_stats.tcp_bytes_received_raw = CompressedSocketChannel.RAW_BYTES_RECEIVED.get();
+      _network_stats.tcp_bytes_received_compressed = CompressedSocketChannel.WIRE_BYTES_RECEIVED.get();
+
+      _mrtask_stats = new MRTaskStatsEntry();
+      _mrtask_stats.chunks_stolen = ChunkStealing.chunksStolen();
+      _mrtask_stats.chunks_given = ChunkStealing.chunksGiven();
+
       tryComplete();
     }
   }
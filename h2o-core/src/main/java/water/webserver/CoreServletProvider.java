@@ -12,6 +12,8 @@ public class CoreServletProvider implements ServletProvider {
     new ServletMeta("/3/NodePersistentStorage.bin/*", NpsBinServlet.class),
     new ServletMeta("/3/PostFile.bin", PostFileServlet.class),
     new ServletMeta("/3/PostFile", PostFileServlet.class),
+    new ServletMeta("/3/PostColumnar.bin", PostColumnarServlet.class),
+    new ServletMeta("/3/PostColumnar", PostColumnarServlet.class),
     new ServletMeta("/3/DownloadDataset", DatasetServlet.class),
     new ServletMeta("/3/DownloadDataset.bin", DatasetServlet.class),
     new ServletMeta("/3/PutKey.bin", PutKeyServlet.class),
@@ -5,7 +5,10 @@ import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static org.junit.Assert.*;
@@ -90,6 +93,32 @@ public class AutoBufferTest extends TestUtil {
     ab.close();
   }
 
+  @Test
+  public void testPutA1DirectBuffer() {
+    byte[] data = new byte[AutoBuffer.BBP_BIG._size * 3 + 17];
+    for (int i = 0; i < data.length; i++) data[i] = (byte) (i * 31);
+    ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+    direct.put(data).flip();
+
+    // written to a stream the payload bypasses the buffer of the AutoBuffer
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    AutoBuffer ab = new AutoBuffer(os, false);
+    ab.put4(42).putA1(direct).put4(43);
+    ab.close();
+    assertEquals(data.length, direct.remaining());
+    AutoBuffer in = new AutoBuffer(new ByteArrayInputStream(os.toByteArray()));
+    assertEquals(42, in.get4());
+    assertArrayEquals(data, in.getA1());
+    assertEquals(43, in.get4());
+
+    // an in-memory AutoBuffer copies it
+    ab = new AutoBuffer().put4(42).putA1(direct).put4(43);
+    in = new AutoBuffer(ab.buf());
+    assertEquals(42, in.get4());
+    assertArrayEquals(data, in.getA1());
+    assertEquals(43, in.get4());
+  }
+
   static class XYZZY implements Serializable {
     int i = 1;
     String s = "hi";
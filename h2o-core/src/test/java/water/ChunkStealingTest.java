@@ -0,0 +1,116 @@
+package water;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+import water.util.WaterMeterIo;
+
+import static org.junit.Assert.*;
+
+public class ChunkStealingTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testClaimAndSteal() {
+    ChunkStealing.Chunks c = new ChunkStealing.Chunks(new int[]{1, 3, 5, 7, 9, 11});
+    // half of the unclaimed chunks, from the end
+    assertArrayEquals(new int[]{11, 9, 7}, c.steal(10));
+    assertFalse(c.claim(11));
+    assertTrue(c.claim(1));
+    assertFalse(c.claim(1));
+    assertEquals(2, c.pending());
+    assertArrayEquals(new int[]{5}, c.steal(10));
+    // the last chunk is not given away
+    assertEquals(0, c.steal(10).length);
+    assertTrue(c.claim(3));
+    assertEquals(0, c.pending());
+  }
+
+  @Test public void testStealLimit() {
+    ChunkStealing.Chunks c = new ChunkStealing.Chunks(new int[]{0, 1, 2, 3, 4, 5, 6, 7});
+    assertArrayEquals(new int[]{7, 6}, c.steal(2));
+    assertEquals(6, c.pending());
+  }
+
+  private static class SumTask extends MRTask<SumTask> {
+    long _sum;
+    @Override public void map(Chunk c) {
+      for (int i = 0; i < c._len; i++) _sum += c.at8(i);
+    }
+    @Override public void reduce(SumTask t) { _sum += t._sum; }
+    @Override protected boolean canStealChunks() { return true; }
+  }
+
+  // Sums the row numbers and the values, slowly on one node
+  private static class SlowSumTask extends MRTask<SlowSumTask> {
+    final int _slow; // index of the slow node
+    long _sum;
+    SlowSumTask(int slow) { _slow = slow; }
+    @Override public void map(Chunk c) {
+      if (H2O.SELF.index() == _slow)
+        try { Thread.sleep(10); } catch (InterruptedException ignore) { }
+      for (int i = 0; i < c._len; i++) _sum += c.start() + i + c.at8(i);
+    }
+    @Override public void reduce(SlowSumTask t) { _sum += t._sum; }
+    @Override protected boolean canStealChunks() { return true; }
+  }
+
+  // The other nodes take over the chunks of a slow node, the result is the same as without stealing
+  @Test public void testStealFromSlowNode() {
+    Assume.assumeTrue(H2O.getCloudSize() > 1);
+    boolean enabled = ChunkStealing.ENABLED;
+    Vec v = Vec.makeCon(7, 1000000, 12, true);
+    try {
+      int slow = (H2O.SELF.index() + 1) % H2O.getCloudSize();
+      WaterMeterIo before = new WaterMeterIo();
+      before.doIt(true);
+      ChunkStealing.ENABLED = true;
+      SlowSumTask stealing = new SlowSumTask(slow).doAll(v);
+      ChunkStealing.ENABLED = false;
+      SlowSumTask plain = new SlowSumTask(slow).doAll(v);
+      assertEquals(0, plain.stolenChunks());
+      assertTrue(stealing.stolenChunks() > 0);
+      assertEquals(plain._sum, stealing._sum);
+      assertEquals(1000000L * 999999 / 2 + 7 * 1000000L, stealing._sum);
+
+      WaterMeterIo after = new WaterMeterIo();
+      after.doIt(true);
+      long stolen = after.mrtask_stats.chunks_stolen - before.mrtask_stats.chunks_stolen;
+      assertEquals(stolen, after.mrtask_stats.chunks_given - before.mrtask_stats.chunks_given);
+      assertEquals(stealing.stolenChunks(), stolen);
+    } finally {
+      ChunkStealing.ENABLED = enabled;
+      v.remove();
+    }
+  }
+
+  @Test public void testRegister() {
+    Vec v = Vec.makeCon(0, 100000, 10, false);
+    try {
+      long id = MRTask.nextGlobalId();
+      ChunkStealing.Chunks c = ChunkStealing.register(id, v);
+      int homed = 0;
+      for (int i = 0; i < v.nChunks(); i++)
+        if (v.chunkKey(i).home()) homed++;
+      assertEquals(homed, c.pending()); // only the chunks homed on this node
+      ChunkStealing.done(id);
+    } finally {
+      v.remove();
+    }
+  }
+
+  @Test public void testMapWithStealingEnabled() {
+    boolean enabled = ChunkStealing.ENABLED;
+    ChunkStealing.ENABLED = true;
+    Vec v = Vec.makeSeq(100000, false);
+    try {
+      SumTask t = new SumTask().doAll(v);
+      assertEquals(100000L * 100001 / 2, t._sum);
+      assertEquals(0, t.stolenChunks()); // nobody to steal from
+    } finally {
+      ChunkStealing.ENABLED = enabled;
+      v.remove();
+    }
+  }
+}
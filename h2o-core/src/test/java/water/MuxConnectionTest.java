@@ -0,0 +1,158 @@
+package water;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class MuxConnectionTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private SocketChannel _client, _server;
+
+  @Before public void connect() throws IOException {
+    try (ServerSocketChannel ss = ServerSocketChannel.open()) {
+      ss.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      _client = SocketChannel.open(ss.socket().getLocalSocketAddress());
+      _server = ss.accept();
+    }
+  }
+
+  @After public void disconnect() throws IOException {
+    _client.close();
+    _server.close();
+  }
+
+  private static byte[] message(int seed, int len) {
+    byte[] b = new byte[len];
+    for (int i = 0; i < len; i++) b[i] = (byte) (i * seed + (i >> 10));
+    return b;
+  }
+
+  // Reads each message in its own thread, the first 4 bytes being the length; gives up after `limit` bytes
+  private class TestReceiver extends MuxConnection.Receiver {
+    final int _limit;
+    final AtomicReference<Throwable> _error = new AtomicReference<>();
+    TestReceiver(int limit) {
+      super(_server, _server, H2O.SELF, InetAddress.getLoopbackAddress(), H2O.SELF.getTimestamp());
+      _limit = limit;
+    }
+    @Override void accept(final MuxConnection.InStream s) {
+      new Thread() {
+        @Override public void run() {
+          try {
+            ByteBuffer len = ByteBuffer.allocate(4);
+            while (len.hasRemaining()) s.read(len);
+            int n = len.getInt(0);
+            ByteBuffer bb = ByteBuffer.allocate(Math.min(n, _limit));
+            while (bb.hasRemaining()) s.read(bb);
+            if (n > _limit) {
+              s.close();
+              return;
+            }
+            int seed = bb.get(1);
+            assertArrayEquals(message(seed, n), bb.array());
+            s.handshake();
+          } catch (Throwable t) {
+            _error.set(t);
+          }
+        }
+      }.start();
+    }
+  }
+
+  private static void send(MuxConnection c, int seed, int len, byte priority) throws IOException {
+    MuxConnection.OutStream s = c.openStream(priority);
+    try {
+      ByteBuffer bb = ByteBuffer.allocate(4);
+      bb.putInt(0, len);
+      s.write(bb);
+      // written in pages, like AutoBuffer does
+      ByteBuffer msg = ByteBuffer.wrap(message(seed, len));
+      while (msg.hasRemaining()) {
+        ByteBuffer page = msg.duplicate();
+        page.limit(Math.min(page.limit(), page.position() + AutoBuffer.BBP_BIG._size));
+        s.write(page);
+        msg.position(page.position());
+      }
+      s.handshake();
+    } finally {
+      s.close();
+    }
+  }
+
+  @Test public void testConcurrentMessages() throws Exception {
+    TestReceiver r = new TestReceiver(Integer.MAX_VALUE);
+    r.start();
+    final MuxConnection c = new MuxConnection("test", _client, _client);
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    Thread[] senders = new Thread[8];
+    for (int i = 0; i < senders.length; i++) {
+      final int seed = i + 1;
+      senders[i] = new Thread() {
+        @Override public void run() {
+          try {
+            for (int j = 0; j < 5; j++)
+              send(c, seed, 4 * MuxConnection.WINDOW + 1000 * j, (byte) seed);
+          } catch (Throwable t) {
+            error.set(t);
+          }
+        }
+      };
+      senders[i].start();
+    }
+    for (Thread t : senders) t.join();
+    if (error.get() != null) throw new AssertionError(error.get());
+    if (r._error.get() != null) throw new AssertionError(r._error.get());
+    assertTrue(c.isOpen());
+    assertEquals(0, c.streams());
+    c.close();
+    assertFalse(c.isOpen());
+  }
+
+  @Test public void testReaderGivesUp() throws Exception {
+    TestReceiver r = new TestReceiver(1000);
+    r.start();
+    MuxConnection c = new MuxConnection("test", _client, _client);
+    try {
+      send(c, 3, 4 * MuxConnection.WINDOW, (byte) 3);
+      fail("The message was not read to its end");
+    } catch (IOException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("closed the message"));
+    }
+    // the connection is still good for the next message
+    assertTrue(c.isOpen());
+    send(c, 5, 500, (byte) 5);
+    assertNull(r._error.get());
+    c.close();
+  }
+
+  @Test public void testConnectionLost() throws Exception {
+    // nobody reads the connection, the sender runs out of credit
+    MuxConnection c = new MuxConnection("test", _client, _client);
+    MuxConnection.OutStream s = c.openStream((byte) 1);
+    _server.close();
+    try {
+      s.write(ByteBuffer.allocate(2 * MuxConnection.WINDOW));
+      s.handshake();
+      fail("The connection is gone");
+    } catch (IOException e) {
+      assertFalse(c.isOpen());
+    }
+    try {
+      c.openStream((byte) 1);
+      fail("The connection is gone");
+    } catch (IOException expected) {
+    }
+  }
+}
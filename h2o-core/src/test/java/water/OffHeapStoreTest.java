@@ -0,0 +1,87 @@
+package water;
+
+import org.junit.*;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+import static water.fvec.VecHelper.*;
+
+public class OffHeapStoreTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private long _max;
+  @Before public void enable() { _max = OffHeapStore.MAX; OffHeapStore.MAX = 4L*OffHeapStore.SLAB_SIZE; }
+  @After public void restore() { OffHeapStore.MAX = _max; }
+
+  @Test public void testStoreLoadFree() {
+    byte[] a = new byte[1000];
+    for( int i=0; i<a.length; i++ ) a[i] = (byte)i;
+    long used = OffHeapStore.used();
+    long h = OffHeapStore.store(a);
+    assertNotEquals(0, h);
+    assertEquals(used+a.length, OffHeapStore.used());
+    assertArrayEquals(a, OffHeapStore.load(h, a.length));
+    OffHeapStore.free(h, a.length);
+    assertEquals(used, OffHeapStore.used());
+    assertEquals(0, OffHeapStore.store(new byte[OffHeapStore.SLAB_SIZE+1])); // Larger than a slab
+  }
+
+  @Test public void testChunkRoundTrip() {
+    Vec vcon = Vec.makeCon(0, 1024, 6);
+    Vec v = vcon.makeRand(0x123456L);
+    vcon.remove();
+    try {
+      Value val = vecChunkIdx(v, 0);
+      double d = v.at(7);
+      assertTrue(val.storeOffHeap());
+      assertTrue(val.isOffHeap());
+      val.freeMem();
+      val.freePOJO();
+      assertFalse(val.isEmpty());
+      assertEquals(d, ((water.fvec.Chunk) val.get()).atd(7), 0); // Reloaded from the off-heap tier
+      long used = OffHeapStore.used();
+      val.removePersist();
+      assertFalse(val.isOffHeap());
+      assertEquals(used-val._max, OffHeapStore.used());
+    } finally {
+      v.remove();
+    }
+  }
+
+  @Test public void testFreeWhilePinned() {
+    byte[] a = new byte[1000];
+    Value val = new Value(Key.make(), a);
+    assertTrue(val.storeOffHeap());
+    long used = OffHeapStore.used();
+    long h = val.pinOffHeap();
+    assertNotEquals(0, h);
+    val.freeOffHeap();           // e.g. replaced while being read
+    assertTrue(val.isOffHeap()); // Not released under the reader
+    assertEquals(0, val.pinOffHeap()); // No new readers
+    assertEquals(used, OffHeapStore.used());
+    val.unpinOffHeap();
+    assertFalse(val.isOffHeap()); // Released by the last reader
+    assertEquals(used-a.length, OffHeapStore.used());
+    assertEquals(0, val.pinOffHeap());
+  }
+
+  @Test public void testWriteFromSlab() {
+    byte[] a = new byte[3*AutoBuffer.BBP_BIG._size];
+    for( int i=0; i<a.length; i++ ) a[i] = (byte)(i*7);
+    Value val = new Value(Key.make(), a);
+    assertTrue(val.storeOffHeap());
+    val.freeMem();
+    try {
+      java.io.ByteArrayOutputStream os = new java.io.ByteArrayOutputStream();
+      AutoBuffer ab = new AutoBuffer(os, false);
+      val.write_impl(ab);
+      ab.close();
+      assertNull(val.rawMem());  // Written straight from the slab
+      AutoBuffer in = new AutoBuffer(new java.io.ByteArrayInputStream(os.toByteArray()));
+      in.get1(); in.get2();      // Persist and type, see Value.read_impl
+      assertArrayEquals(a, in.getA1());
+    } finally {
+      val.removePersist();
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package water;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+import water.util.ArrayUtils;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ReduceScatterTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private int _minNodes;
+
+  @Before public void scatterAlways() {
+    _minNodes = MRTask.SCATTER_MIN_NODES;
+    MRTask.SCATTER_MIN_NODES = 1;
+  }
+
+  @After public void restore() { MRTask.SCATTER_MIN_NODES = _minNodes; }
+
+  private static class Slice extends ReduceSlice<Slice> {
+    int _lo;
+    long[] _counts;
+    int _reducedOn = -1; // index of the node which reduced the slice
+    Slice(int lo, long[] counts) { _lo = lo; _counts = counts; }
+    @Override public void reduce(Slice s) {
+      ArrayUtils.add(_counts, s._counts);
+      _reducedOn = H2O.SELF.index();
+    }
+  }
+
+  // Counts the values modulo the number of bins
+  private static class CountTask extends MRTask<CountTask> {
+    final boolean _scatter;
+    long[] _counts;
+    boolean _gathered;
+    int[] _reducedOn;
+    CountTask(boolean scatter) { _scatter = scatter; }
+    @Override public void map(Chunk c) {
+      _counts = new long[1000];
+      for (int i = 0; i < c._len; i++) _counts[(int) (c.at8(i) % _counts.length)]++;
+    }
+    @Override public void reduce(CountTask t) {
+      assertEquals(_counts == null, t._counts == null);
+      if (_counts != null) ArrayUtils.add(_counts, t._counts);
+    }
+    @Override protected ReduceSlice[] scatter(int n) {
+      if (!_scatter) return null;
+      Slice[] slices = new Slice[n];
+      for (int p = 0; p < n; p++) {
+        int lo = (int) ((long) p * _counts.length / n), hi = (int) ((long) (p + 1) * _counts.length / n);
+        slices[p] = new Slice(lo, Arrays.copyOfRange(_counts, lo, hi));
+      }
+      _counts = null;
+      return slices;
+    }
+    @Override protected void gather(ReduceSlice[] slices) {
+      _counts = new long[1000];
+      _reducedOn = new int[slices.length];
+      for (int p = 0; p < slices.length; p++) {
+        Slice s = (Slice) slices[p];
+        System.arraycopy(s._counts, 0, _counts, s._lo, s._counts.length);
+        _reducedOn[p] = s._reducedOn;
+      }
+      _gathered = true;
+    }
+  }
+
+  @Test public void testScatterGather() {
+    Vec v = Vec.makeSeq(100000, false);
+    try {
+      CountTask scattered = new CountTask(true).doAll(v);
+      assertTrue(scattered._gathered);
+      CountTask plain = new CountTask(false).doAll(v);
+      assertFalse(plain._gathered);
+      assertArrayEquals(plain._counts, scattered._counts);
+      assertEquals(100, scattered._counts[0]);
+    } finally {
+      v.remove();
+    }
+  }
+
+  // Slice p is reduced on node p (on a multi-node cloud)
+  @Test public void testSlicesReducedOnTheirNodes() {
+    Vec v = Vec.makeCon(1, 100000, 10); // small chunks, spread over all the nodes
+    try {
+      CountTask t = new CountTask(true).doAll(v);
+      assertEquals(H2O.CLOUD.size(), t._reducedOn.length);
+      for (int p = 0; p < t._reducedOn.length; p++) {
+        int expected = H2O.CLOUD.size() > 1 ? p : -1;
+        assertEquals(expected, t._reducedOn[p]);
+      }
+    } finally {
+      v.remove();
+    }
+  }
+
+  @Test public void testLateSlicesOfDiscardedTask() {
+    long id = MRTask.nextGlobalId();
+    ReduceScatter.discard(id);
+    Slice[] slices = new Slice[H2O.CLOUD.size()];
+    for (int p = 0; p < slices.length; p++) slices[p] = new Slice(p, new long[]{1});
+    ReduceScatter.scatter(id, slices);
+    assertFalse(ReduceScatter.hasSlice(id));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMissingSlice() {
+    ReduceScatter.gather(MRTask.nextGlobalId());
+  }
+
+  @Test public void testSmallCloud() {
+    MRTask.SCATTER_MIN_NODES = H2O.CLOUD.size() + 1;
+    Vec v = Vec.makeSeq(1000, false);
+    try {
+      CountTask t = new CountTask(true).doAll(v);
+      assertFalse(t._gathered);
+      assertEquals(1, t._counts[0]);
+    } finally {
+      v.remove();
+    }
+  }
+}
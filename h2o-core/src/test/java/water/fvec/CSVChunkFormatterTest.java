@@ -0,0 +1,76 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Scope;
+import water.TestUtil;
+
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class CSVChunkFormatterTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static Chunk[] chunks(Frame fr) {
+    Chunk[] cs = new Chunk[fr.numCols()];
+    for (int i = 0; i < cs.length; i++) cs[i] = fr.vec(i).chunkForChunkIdx(0);
+    return cs;
+  }
+
+  @Test public void testDoublesMatchDoubleToString() {
+    Scope.enter();
+    try {
+      Random r = new Random(0xC5F);
+      double[] data = new double[20000];
+      for (int i = 0; i < data.length; i++) {
+        switch (i % 5) {
+          case 0: data[i] = r.nextDouble() * 1000; break;
+          case 1: data[i] = Math.round(r.nextDouble() * 1e6) / 100.0; break;
+          case 2: data[i] = (r.nextInt(2000000) - 1000000) / Math.pow(10, r.nextInt(8)); break;
+          case 3: data[i] = r.nextGaussian() * Math.pow(10, r.nextInt(30) - 15); break;
+          default: data[i] = Double.longBitsToDouble(r.nextLong());
+        }
+        if (Double.isNaN(data[i])) data[i] = 0.5;
+      }
+      data[0] = 0.001; data[1] = 9999999.5; data[2] = 1e7; data[3] = -0.0; data[4] = Double.MAX_VALUE; data[5] = 0.1;
+      Frame fr = new TestFrameBuilder()
+              .withColNames("d")
+              .withDataForCol(0, data)
+              .build();
+      assertFalse(fr.vec(0).isInt());
+      String csv = new String(new CSVChunkFormatter(fr.vecs(), new Frame.CSVStreamParams()).formatChunks(chunks(fr)));
+      String[] lines = csv.split("\n", -1);
+      assertEquals(data.length + 1, lines.length);
+      for (int i = 0; i < data.length; i++)
+        assertEquals(Double.toString(data[i]), lines[i]);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testRowFormatting() {
+    Scope.enter();
+    try {
+      Frame fr = new TestFrameBuilder()
+              .withColNames("c", "s", "i", "d")
+              .withVecTypes(Vec.T_CAT, Vec.T_STR, Vec.T_NUM, Vec.T_NUM)
+              .withDataForCol(0, new String[]{"a\"b", null, "é"})
+              .withDataForCol(1, new String[]{"x \"y\"", "über", null})
+              .withDataForCol(2, new double[]{-123456789012L, Double.NaN, 42})
+              .withDataForCol(3, new double[]{1.5, 2e-10, Double.NaN})
+              .build();
+      Frame.CSVStreamParams parms = new Frame.CSVStreamParams().setSeparator((byte) ';');
+      CSVChunkFormatter formatter = new CSVChunkFormatter(fr.vecs(), parms);
+      Chunk[] cs = chunks(fr);
+      assertEquals("\"a\"\"b\";\"x \"\"y\"\"\";-123456789012;1.5\n", new String(formatter.formatRow(cs, 0), UTF_8));
+      assertEquals(";\"über\";;2.0E-10\n", new String(formatter.formatRow(cs, 1), UTF_8));
+      assertEquals("\"é\";;42;\n", new String(new CSVChunkFormatter(formatter).formatRow(cs, 2), UTF_8));
+      assertEquals("\"c\";\"s\";\"i\";\"d\"\n", new String(CSVChunkFormatter.header(fr.names(), parms)));
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
@@ -0,0 +1,196 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Key;
+import water.Scope;
+import water.TestUtil;
+import water.parser.BufferedString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ColumnarBatchesTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static final String[] NAMES = {"b", "i", "l", "d", "s", "c", "t"};
+  private static final byte[] TYPES = {ColumnarBatches.BOOL, ColumnarBatches.INT32, ColumnarBatches.INT64,
+          ColumnarBatches.FLOAT64, ColumnarBatches.UTF8, ColumnarBatches.DICTIONARY, ColumnarBatches.TIMESTAMP};
+  private static final String[][] DOMAINS = {null, null, null, null, null, new String[]{"a", "b", "c"}, null};
+
+  private static Object[] batch(int offset, int nrows) {
+    Boolean[] b = new Boolean[nrows];
+    Integer[] i = new Integer[nrows];
+    Long[] l = new Long[nrows];
+    Double[] d = new Double[nrows];
+    String[] s = new String[nrows];
+    Integer[] c = new Integer[nrows];
+    Long[] t = new Long[nrows];
+    for (int r = 0; r < nrows; r++) {
+      int row = offset + r;
+      boolean na = row % 7 == 3;
+      b[r] = na ? null : row % 2 == 0;
+      i[r] = na ? null : row - 50;
+      l[r] = na ? null : row * 1000000007L;
+      d[r] = na ? null : row * 0.25;
+      s[r] = na ? null : row % 5 == 0 ? "" : "stré" + row;
+      c[r] = na ? null : row % 3;
+      t[r] = na ? null : 1500000000000L + row;
+    }
+    return new Object[]{b, i, l, d, s, c, t};
+  }
+
+  private static byte[] stream(int... batchSizes) throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (ColumnarBatches.Writer w = new ColumnarBatches.Writer(os, NAMES, TYPES, DOMAINS)) {
+      int offset = 0;
+      for (int n : batchSizes) {
+        w.writeBatch(batch(offset, n));
+        offset += n;
+      }
+    }
+    return os.toByteArray();
+  }
+
+  @Test public void testReadFrame() throws IOException {
+    Scope.enter();
+    try {
+      int[] batchSizes = {100, 0, 37, 1000};
+      Frame fr = ColumnarBatches.readFrame(Key.<Frame>make(), new ByteArrayInputStream(stream(batchSizes)));
+      Scope.track(fr);
+      assertArrayEquals(NAMES, fr.names());
+      assertEquals(1137, fr.numRows());
+      assertEquals(batchSizes.length, fr.anyVec().nChunks());
+      assertTrue(fr.vec("b").isNumeric());
+      assertTrue(fr.vec("s").isString());
+      assertTrue(fr.vec("c").isCategorical());
+      assertArrayEquals(DOMAINS[5], fr.vec("c").domain());
+      assertTrue(fr.vec("t").isTime());
+
+      Object[] expected = batch(0, (int) fr.numRows());
+      BufferedString tmp = new BufferedString();
+      for (int row = 0; row < fr.numRows(); row++) {
+        for (int c = 0; c < NAMES.length; c++) {
+          Object e = ((Object[]) expected[c])[row];
+          Vec v = fr.vec(c);
+          assertEquals("NA in column " + NAMES[c] + ", row " + row, e == null, v.isNA(row));
+          if (e == null) continue;
+          switch (TYPES[c]) {
+            case ColumnarBatches.BOOL: assertEquals((Boolean) e ? 1 : 0, v.at8(row)); break;
+            case ColumnarBatches.INT32: case ColumnarBatches.DICTIONARY: assertEquals((int) (Integer) e, v.at8(row)); break;
+            case ColumnarBatches.INT64: case ColumnarBatches.TIMESTAMP: assertEquals((long) (Long) e, v.at8(row)); break;
+            case ColumnarBatches.FLOAT64: assertEquals((Double) e, v.at(row), 0); break;
+            default: assertEquals(e, v.atStr(tmp, row).toString());
+          }
+        }
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testMalformedStream() throws IOException {
+    Key<Frame> key = Key.make();
+    byte[] bytes = stream(10, 10);
+    // the last batch is cut short
+    try {
+      ColumnarBatches.readFrame(key, new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+      fail("Truncated stream should fail");
+    } catch (IOException e) {
+      assertNull(DKV.get(key));
+    }
+    // not the columnar format
+    bytes[0] = 'X';
+    try {
+      ColumnarBatches.readFrame(key, new ByteArrayInputStream(bytes));
+      fail("Unknown stream should fail");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains("not a stream of columnar record batches"));
+    }
+  }
+
+  // Stream with the given header (after the header length) and the given batches
+  private static byte[] rawStream(int headerLength, byte[] header, byte[]... batches) {
+    int len = 12 + header.length;
+    for (byte[] b : batches) len += b.length;
+    ByteBuffer bb = ByteBuffer.allocate(len).order(ByteOrder.LITTLE_ENDIAN);
+    bb.put(ColumnarBatches.MAGIC).putInt(ColumnarBatches.VERSION).putInt(headerLength).put(header);
+    for (byte[] b : batches) bb.put(b);
+    return bb.array();
+  }
+
+  private static byte[] ints(int... values) {
+    ByteBuffer bb = ByteBuffer.allocate(4 * values.length).order(ByteOrder.LITTLE_ENDIAN);
+    for (int v : values) bb.putInt(v);
+    return bb.array();
+  }
+
+  private static void assertMalformed(byte[] stream, String message) throws IOException {
+    Key<Frame> key = Key.make();
+    try {
+      ColumnarBatches.readFrame(key, new ByteArrayInputStream(stream));
+      fail("Malformed stream should fail");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains(message));
+      assertNull(DKV.get(key));
+    }
+  }
+
+  // The lengths and the counts come from the client, they are checked before anything is allocated
+  @Test public void testMalformedLengths() throws IOException {
+    // header over the limit
+    assertMalformed(rawStream(Integer.MAX_VALUE, new byte[0]), "Invalid length of the header");
+    // more columns than the header can hold
+    assertMalformed(rawStream(8, ints(1 << 30, 0)), "Malformed header");
+    // a name longer than the header
+    assertMalformed(rawStream(9, ints(1, Integer.MAX_VALUE), new byte[1]), "Malformed header");
+    // more levels than the header can hold
+    ByteBuffer cat = ByteBuffer.allocate(18).order(ByteOrder.LITTLE_ENDIAN);
+    cat.putInt(1).putInt(1).put((byte) 'c').put(ColumnarBatches.DICTIONARY).putInt(1 << 28).putInt(0);
+    assertMalformed(rawStream(18, cat.array()), "Malformed header");
+
+    // a single INT32 column: a batch of 2 rows is 1 + 8 bytes long
+    byte[] header = ByteBuffer.allocate(10).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(1).putInt(1).put((byte) 'i').put(ColumnarBatches.INT32).array();
+    assertMalformed(rawStream(10, header, ints(2, Integer.MAX_VALUE)), "Invalid record batch header");
+    assertMalformed(rawStream(10, header, ints(2, 10), new byte[10]), "Invalid record batch header");
+    // batches with strings are limited in size
+    byte[] strHeader = ByteBuffer.allocate(10).order(ByteOrder.LITTLE_ENDIAN)
+            .putInt(1).putInt(1).put((byte) 's').put(ColumnarBatches.UTF8).array();
+    assertMalformed(rawStream(10, strHeader, ints(2, ColumnarBatches.MAX_BATCH_LENGTH + 1)), "Invalid record batch header");
+    assertMalformed(rawStream(10, strHeader, ints(2, 12)), "Invalid record batch header");
+    // a long batch cut short fails on the missing bytes
+    Key<Frame> key = Key.make();
+    try {
+      ColumnarBatches.readFrame(key, new ByteArrayInputStream(rawStream(10, strHeader, ints(2, ColumnarBatches.MAX_BATCH_LENGTH))));
+      fail("Truncated stream should fail");
+    } catch (IOException e) {
+      assertNull(DKV.get(key));
+    }
+  }
+
+  @Test public void testLevelOutOfRange() throws IOException {
+    Key<Frame> key = Key.make();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (ColumnarBatches.Writer w = new ColumnarBatches.Writer(os, new String[]{"c"},
+            new byte[]{ColumnarBatches.DICTIONARY}, new String[][]{{"a", "b"}})) {
+      w.writeBatch(new Object[]{new Integer[]{0, 1}});
+      w.writeBatch(new Object[]{new Integer[]{1, 2}});
+    }
+    try {
+      ColumnarBatches.readFrame(key, new ByteArrayInputStream(os.toByteArray()));
+      fail("Level out of the range of the dictionary should fail");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("Level index 2"));
+      assertNull(DKV.get(key));
+    }
+  }
+
+}
@@ -5,6 +5,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import water.*;
+import water.exceptions.H2OIllegalArgumentException;
+import water.parser.BufferedString;
 import water.parser.ParseDataset;
 import water.util.Log;
 
@@ -13,8 +15,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 public class ExportTest extends TestUtil {
 
@@ -66,6 +67,65 @@ public class ExportTest extends TestUtil {
     fr.delete();
   }
 
+  @Test public void testExportParallelParts() throws IOException {
+    Scope.enter();
+    try {
+      int nrows = 5000;
+      double[] x = new double[nrows];
+      String[] s = new String[nrows];
+      String[] c = new String[nrows];
+      for (int i = 0; i < nrows; i++) {
+        x[i] = i % 17 == 5 ? Double.NaN : i * 0.25 - 800;
+        s[i] = i % 19 == 7 ? null : "s" + i;
+        c[i] = "level," + (i % 7);
+      }
+      Frame fr = new TestFrameBuilder()
+              .withColNames("x", "s", "c")
+              .withVecTypes(Vec.T_NUM, Vec.T_STR, Vec.T_CAT)
+              .withDataForCol(0, x)
+              .withDataForCol(1, s)
+              .withDataForCol(2, c)
+              .withChunkLayout(1000, 0, 1500, 500, 1000, 1000)
+              .build();
+      for (int parts : new int[]{1, 4}) {
+        File folder = tmpFolder.newFolder("export_parallel_" + parts);
+        File target = (parts == 1) ? new File(folder, "data.csv") : folder;
+        Frame.export(fr, target.getPath(), "export", false, parts).get();
+        Frame imported = Scope.track(parseFolder(folder));
+        assertEquals("parts " + parts, nrows, imported.numRows());
+        for (int i = 0; i < nrows; i++) {
+          assertEquals(x[i], imported.vec("x").at(i), 0);
+          assertEquals(c[i], imported.vec("c").factor(imported.vec("c").at8(i)));
+          String actual = imported.vec("s").isNA(i) ? null : imported.vec("s").isCategorical() ?
+                  imported.vec("s").factor(imported.vec("s").at8(i)) : imported.vec("s").atStr(new BufferedString(), i).toString();
+          assertEquals(s[i], actual);
+        }
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testExportUnknownFormat() throws IOException {
+    Scope.enter();
+    try {
+      Frame fr = new TestFrameBuilder()
+              .withColNames("x")
+              .withDataForCol(0, new double[]{1, 2, 3})
+              .build();
+      File target = new File(tmpFolder.newFolder("export_unknown"), "data.xyz");
+      try {
+        Frame.export(fr, target.getPath(), "export", false, 1, "xyz", null, null);
+        fail("Expected the export to fail");
+      } catch (H2OIllegalArgumentException e) {
+        assertTrue(e.getMessage(), e.getMessage().contains("Export format xyz is not available"));
+      }
+      assertFalse(target.exists());
+    } finally {
+      Scope.exit();
+    }
+  }
+
   private static Frame rebalance(Frame fr, Key targetKey, int nChunks) {
     RebalanceDataSet rb = new RebalanceDataSet(fr, targetKey, nChunks);
     H2O.submitTask(rb);
@@ -0,0 +1,59 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Scope;
+import water.TestUtil;
+
+import static org.junit.Assert.*;
+
+public class FrameAppenderTest extends TestUtil {
+
+  @BeforeClass
+  public static void setup() {
+    stall_till_cloudsize(1);
+  }
+
+  @Test
+  public void testRollupsOfTheAppendedChunksOnly() {
+    Scope.enter();
+    try {
+      Frame fr = new TestFrameBuilder()
+              .withName("fr")
+              .withColNames("x")
+              .withVecTypes(Vec.T_NUM)
+              .withDataForCol(0, ard(1, 2, 3, 4))
+              .withChunkLayout(2, 2)
+              .build();
+      Frame rows = new TestFrameBuilder()
+              .withName("rows")
+              .withColNames("x")
+              .withVecTypes(Vec.T_NUM)
+              .withDataForCol(0, ard(5, 6, 7))
+              .withChunkLayout(2, 1)
+              .build();
+      Vec v = fr.anyVec();
+      assertEquals(2.5, v.mean(), 0);
+      // The rollups must not touch the existing Chunks
+      for( int i = 0; i < v.nChunks(); i++ )
+        DKV.remove(v.chunkKey(i));
+
+      Vec[] vecs = FrameAppender.append(fr, rows, new String[1][], new int[1][], new int[1][]);
+      // Clean up the appended Vecs, fr still holds the Vecs before the append
+      DKV.remove(fr._key);
+      Scope.track(new Frame(vecs));
+      Vec nv = vecs[0];
+      assertEquals(v._key, nv._key);
+      assertEquals(4, nv.nChunks());
+      assertEquals(7, nv.length());
+      assertEquals(4, nv.mean(), 1e-10);
+      assertEquals(Math.sqrt(28.0 / 6), nv.sigma(), 1e-10);
+      assertEquals(1, nv.min(), 0);
+      assertEquals(7, nv.max(), 0);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
@@ -75,6 +75,17 @@ public class SparseTest extends TestUtil {
       if(Double.isNaN(vals[i])){
           Assert.assertEquals(NA,x[i],0);
       } else Assert.assertEquals(vals[i],x[i],0);
+    // test sub-range and row-id based bulk reads
+    int from = vals.length/3, to = 2*vals.length/3;
+    Arrays.fill(x,-1);
+    c.getDoubles(x,from,to,NA);
+    for(int i = from; i < to; ++i)
+      Assert.assertEquals(Double.isNaN(vals[i])?NA:vals[i],x[i-from],0);
+    int [] rows = new int[(vals.length+2)/3];
+    for(int i = 0; i < rows.length; ++i) rows[i] = 3*i;
+    c.getDoubles(x,rows);
+    for(int i = 0; i < rows.length; ++i)
+      Assert.assertEquals(vals[rows[i]],x[i],0);
     // test sparse doubles
     if(isSparse) {
       int[] ids = new int[x.length];
@@ -84,6 +95,14 @@ public class SparseTest extends TestUtil {
       for (int i = 0; i < nzs; ++i) {
         Assert.assertEquals(vals[nzs_ary[i]], x[i], 0);
       }
+      // same entries as the generic visitor based extraction, NAs included
+      double[] y = new double[x.length];
+      int[] ids2 = new int[x.length];
+      nzs = c.getSparseDoubles(x, ids, NA);
+      int nzs2 = c.processRows(new ChunkVisitor.SparseDoubleAryVisitor(y, ids2, c.isSparseNA(), NA), 0, c._len).sparseLen();
+      Assert.assertEquals(nzs2, nzs);
+      Assert.assertArrayEquals(Arrays.copyOf(ids2, nzs), Arrays.copyOf(ids, nzs));
+      Assert.assertArrayEquals(Arrays.copyOf(y, nzs), Arrays.copyOf(x, nzs), 0);
     }
   }
   private static void test_extract_rows(Chunk c, double [] vals, int [] nzs_ary){
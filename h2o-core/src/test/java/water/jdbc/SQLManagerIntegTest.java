@@ -15,7 +15,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.Statement;
 
-import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.*;
 
 public class SQLManagerIntegTest extends TestUtil {
 
@@ -94,4 +94,53 @@ public class SQLManagerIntegTest extends TestUtil {
     }
   }
 
+  @Test
+  public void importSqlTableSplitColumn() throws Exception {
+    Scope.enter();
+    try (Connection conn = DriverManager.getConnection(connectionString);
+         Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE TABLE Events (ID INT, TS TIMESTAMP, V DOUBLE, FLAG BOOLEAN)");
+      StringBuilder sb = new StringBuilder("INSERT INTO Events VALUES ");
+      for (int i = 0; i < 500; i++) {
+        if (i > 0) sb.append(',');
+        String id = i % 50 == 7 ? "NULL" : Integer.toString(i * 3);
+        String ts = i % 40 == 3 ? "NULL" : "TIMESTAMP('2019-01-01 00:00:00')";
+        sb.append('(').append(id).append(',').append(ts).append(',')
+                .append(i % 11 == 5 ? "NULL" : Double.toString(i / 4.0)).append(',')
+                .append(i % 13 == 2 ? "NULL" : Boolean.toString(i % 2 == 0)).append(')');
+      }
+      stmt.executeUpdate(sb.toString());
+      stmt.executeUpdate("UPDATE Events SET TS = {fn TIMESTAMPADD(SQL_TSI_HOUR, ID, TS)} WHERE ID IS NOT NULL");
+
+      Frame expected = Scope.track(SQLManager.importSqlTable(
+          connectionString, "Events", "", "", "", "*", null, null, SqlFetchMode.SINGLE).get());
+      for (String splitColumn : new String[]{"ID", "TS", "V"}) {
+        Frame fr = Scope.track(SQLManager.importSqlTable(
+            connectionString, "Events", "", "", "", "*", null, null, SqlFetchMode.DISTRIBUTED, splitColumn, 7).get());
+        assertArrayEquals(expected._names, fr._names);
+        assertEquals(expected.numRows(), fr.numRows());
+        // rows are ordered by the ranges, compare the sorted frames
+        Frame expectedSorted = Scope.track(expected.sort(new int[]{1, 2}));
+        Frame sorted = Scope.track(fr.sort(new int[]{1, 2}));
+        assertFrameEquals(expectedSorted, sorted, 0);
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test
+  public void importSqlTableSplitColumnUnsupportedType() {
+    Scope.enter();
+    try {
+      SQLManager.importSqlTable(
+          connectionString, "TestData", "", "", "", "*", null, null, SqlFetchMode.DISTRIBUTED, "NAME", 0).get();
+      fail("Expected the import to fail");
+    } catch (Exception e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("The split column `NAME` has to be a numeric, date or time column"));
+    } finally {
+      Scope.exit();
+    }
+  }
+
 }
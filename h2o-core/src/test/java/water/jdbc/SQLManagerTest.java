@@ -12,6 +12,7 @@ import water.H2O;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.concurrent.ArrayBlockingQueue;
 
 public class SQLManagerTest {
@@ -133,4 +134,29 @@ public class SQLManagerTest {
     Assert.assertEquals("SELECT * FROM mytable LIMIT 1310 OFFSET 0",
             SQLManager.buildSelectChunkSql("", "mytable", 0, 1310, "*", null));
   }
+
+  @Test
+  public void testBuildSelectRangeSql() {
+    SQLManager.SplitColumnRanges ranges = new SQLManager.SplitColumnRanges("id", Types.INTEGER, new long[]{10, 20}, null);
+    Assert.assertEquals(3, ranges.nPartitions());
+    Assert.assertEquals("SELECT * FROM mytable WHERE (id < ? OR id IS NULL)",
+            SQLManager.buildSelectRangeSql("mytable", "*", ranges.predicate(0)));
+    Assert.assertEquals("SELECT * FROM mytable WHERE id >= ? AND id < ?",
+            SQLManager.buildSelectRangeSql("mytable", "*", ranges.predicate(1)));
+    Assert.assertEquals("SELECT * FROM mytable WHERE id >= ?",
+            SQLManager.buildSelectRangeSql("mytable", "*", ranges.predicate(2)));
+
+    SQLManager.SplitColumnRanges single = new SQLManager.SplitColumnRanges("id", Types.INTEGER, new long[0], null);
+    Assert.assertEquals("SELECT * FROM mytable", SQLManager.buildSelectRangeSql("mytable", "*", single.predicate(0)));
+  }
+
+  @Test
+  public void testSplitColumnBounds() {
+    Assert.assertArrayEquals(new long[]{4, 7}, SQLManager.SplitColumnRanges.longBounds(1, 9, 3));
+    // fewer distinct values than requested ranges
+    Assert.assertArrayEquals(new long[]{2, 3}, SQLManager.SplitColumnRanges.longBounds(1, 3, 10));
+    Assert.assertArrayEquals(new long[0], SQLManager.SplitColumnRanges.longBounds(5, 5, 4));
+    Assert.assertArrayEquals(new double[]{0.25, 0.5, 0.75}, SQLManager.SplitColumnRanges.doubleBounds(0, 1, 4), 0);
+    Assert.assertArrayEquals(new double[0], SQLManager.SplitColumnRanges.doubleBounds(2.5, 2.5, 4), 0);
+  }
 }
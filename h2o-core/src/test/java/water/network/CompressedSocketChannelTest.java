@@ -0,0 +1,111 @@
+package water.network;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CompressedSocketChannelTest {
+
+    @Test
+    public void testRoundTripLZ4() throws Exception {
+        roundTrip(CompressedSocketChannel.Codec.LZ4);
+    }
+
+    @Test
+    public void testRoundTripZstd() throws Exception {
+        roundTrip(CompressedSocketChannel.Codec.ZSTD);
+    }
+
+    private static void roundTrip(CompressedSocketChannel.Codec codec) throws Exception {
+        final byte[][] messages = messages();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            final SocketChannel client = SocketChannel.open(server.socket().getLocalSocketAddress());
+            final AtomicReference<Throwable> error = new AtomicReference<>();
+            Thread writer = new Thread() {
+                @Override
+                public void run() {
+                    try (CompressedSocketChannel out = new CompressedSocketChannel(client, codec)) {
+                        assertSame(client, SocketChannelUtils.underlyingSocketChannel(out));
+                        for (int i = 0; i < messages.length; i++) {
+                            // alternate the kinds of buffers AutoBuffer writes
+                            ByteBuffer bb = i % 2 == 0 ? ByteBuffer.allocateDirect(messages[i].length) : ByteBuffer.allocate(messages[i].length);
+                            bb.put(messages[i]).flip();
+                            assertEquals(messages[i].length, out.write(bb));
+                            assertFalse(bb.hasRemaining());
+                        }
+                    } catch (Throwable t) {
+                        error.set(t);
+                    }
+                }
+            };
+            long rawSent = CompressedSocketChannel.RAW_BYTES_SENT.get();
+            long wireSent = CompressedSocketChannel.WIRE_BYTES_SENT.get();
+            writer.start();
+
+            long total = 0;
+            for (byte[] m : messages) total += m.length;
+            byte[] received = new byte[(int) total];
+            try (CompressedSocketChannel in = new CompressedSocketChannel(server.accept(), CompressedSocketChannel.Codec.NONE)) {
+                ByteBuffer dst = ByteBuffer.allocate(1000); // reads smaller than the frames
+                int pos = 0;
+                int read;
+                while ((read = in.read(dst)) != -1) {
+                    assertTrue(read > 0);
+                    dst.flip();
+                    dst.get(received, pos, read);
+                    pos += read;
+                    dst.clear();
+                }
+                assertEquals(total, pos);
+            }
+            writer.join();
+            if (error.get() != null)
+                throw new AssertionError(error.get());
+
+            int pos = 0;
+            for (byte[] m : messages)
+                for (byte b : m)
+                    assertEquals(b, received[pos++]);
+            assertEquals(total, CompressedSocketChannel.RAW_BYTES_SENT.get() - rawSent);
+            assertTrue("compressible data should shrink", CompressedSocketChannel.WIRE_BYTES_SENT.get() - wireSent < total);
+        }
+    }
+
+    // compressible pages, small writes under the threshold and incompressible pages
+    private static byte[][] messages() {
+        Random r = new Random(0xC0FFEE);
+        byte[][] messages = new byte[12][];
+        for (int i = 0; i < messages.length; i++) {
+            switch (i % 3) {
+                case 0:
+                    messages[i] = new byte[64 << 10];
+                    for (int j = 0; j < messages[i].length; j++) messages[i][j] = (byte) (j / 64 + r.nextInt(2));
+                    break;
+                case 1:
+                    messages[i] = new byte[r.nextInt(CompressedSocketChannel.THRESHOLD)];
+                    r.nextBytes(messages[i]);
+                    break;
+                default:
+                    messages[i] = new byte[64 << 10];
+                    r.nextBytes(messages[i]);
+            }
+        }
+        return messages;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownCodec() {
+        CompressedSocketChannel.Codec.fromName("brotli");
+    }
+
+}
@@ -5,11 +5,13 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import water.Iced;
 import water.Scope;
 import water.TestUtil;
 import water.fvec.FileVec;
 import water.fvec.Frame;
 import water.fvec.Vec;
+import water.util.ArrayUtils;
 import water.util.Log;
 import water.util.RandomUtils;
 import water.util.StringUtils;
@@ -625,6 +627,131 @@ public class CsvParserTest extends TestUtil {
 
   }
 
+  public static final class CsvNumericFastPathTest extends CsvParserTest {
+
+    // Records the calls of the parser
+    private static class RecordingParseWriter extends Iced implements ParseWriter {
+      final StringBuilder _sb = new StringBuilder();
+      final boolean[] _strCols;
+      RecordingParseWriter(boolean[] strCols) { _strCols = strCols; }
+      @Override public void setColumnNames(String[] names) {}
+      @Override public void newLine() { _sb.append("|\n"); }
+      @Override public boolean isString(int colIdx) { return colIdx < _strCols.length && _strCols[colIdx]; }
+      @Override public void addNumCol(int colIdx, long number, int exp) { _sb.append(colIdx).append(':').append(number).append('e').append(exp).append(' '); }
+      @Override public void addNumCol(int colIdx, double d) { _sb.append(colIdx).append(':').append(d).append(' '); }
+      @Override public void addInvalidCol(int colIdx) { _sb.append(colIdx).append(":NA "); }
+      @Override public void addNAs(int colIdx, int nrow) { _sb.append(colIdx).append(":NAs").append(nrow).append(' '); }
+      @Override public void addStrCol(int colIdx, BufferedString str) { _sb.append(colIdx).append(":'").append(str).append("' "); }
+      @Override public void rollbackLine() { _sb.append("R\n"); }
+      @Override public void invalidLine(ParseErr err) { _sb.append("INVALID\n"); }
+      @Override public void addError(ParseErr err) {}
+      @Override public void setIsAllASCII(int colIdx, boolean b) {}
+      @Override public boolean hasErrors() { return false; }
+      @Override public ParseErr[] removeErrors() { return new ParseErr[0]; }
+      @Override public long lineNum() { return 0; }
+    }
+
+    // Data split into chunks, parsed chunk by chunk like in a distributed parse
+    private static class ChunkedData implements ParseReader {
+      final byte[][] _chunks;
+      ChunkedData(byte[] bits, int chunkSize) {
+        _chunks = new byte[(bits.length + chunkSize - 1) / chunkSize][];
+        for (int i = 0; i < _chunks.length; i++)
+          _chunks[i] = Arrays.copyOfRange(bits, i * chunkSize, Math.min(bits.length, (i + 1) * chunkSize));
+      }
+      @Override public byte[] getChunkData(int cidx) { return cidx < _chunks.length ? _chunks[cidx] : null; }
+      @Override public int getChunkDataStart(int cidx) { return -1; }
+      @Override public void setChunkDataStart(int cidx, int offset) {}
+      @Override public long getGlobalByteOffset() { return 0; }
+    }
+
+    private static String parse(String data, int ncols, boolean fastPath, int chunkSize, boolean[] skipped, boolean[] strCols) {
+      ParseSetup ps = new ParseSetup();
+      ps._parse_type = DefaultParserProviders.CSV_INFO;
+      ps._check_header = ParseSetup.NO_HEADER;
+      ps._separator = ',';
+      ps._number_columns = ncols;
+      if (skipped != null) {
+        int[] skippedCols = new int[0];
+        for (int i = 0; i < skipped.length; i++)
+          if (skipped[i]) skippedCols = ArrayUtils.append(skippedCols, i);
+        ps._skipped_columns = skippedCols;
+      }
+      CsvParser parser = new CsvParser(ps, null);
+      parser._fastPath = fastPath;
+      ChunkedData din = new ChunkedData(StringUtils.bytesOf(data), chunkSize);
+      RecordingParseWriter dout = new RecordingParseWriter(strCols == null ? new boolean[0] : strCols);
+      for (int cidx = 0; cidx < din._chunks.length; cidx++) {
+        dout._sb.append("#").append(cidx).append('\n');
+        parser.parseChunk(cidx, din, dout);
+      }
+      return dout._sb.toString();
+    }
+
+    private static void assertSameAsGeneralParser(String data, int ncols, boolean[] skipped, boolean[] strCols) {
+      for (int chunkSize : new int[]{data.length() + 1, 64, 17}) {
+        String expected = parse(data, ncols, false, chunkSize, skipped, strCols);
+        String actual = parse(data, ncols, true, chunkSize, skipped, strCols);
+        assertEquals("chunk size " + chunkSize, expected, actual);
+      }
+    }
+
+    @Test
+    public void testNumbers() {
+      String data = "1,2,3\n" +
+              "-1,+2,-0\n" +
+              "1.5,-.25,3.\n" +
+              "1e5,-2.5E-3,7e+2\n" +
+              "0001,000.0100,123456789012345678\n" +
+              "1234567890123456789,12345678.87654321,-98765432.123\n" + // Too many digits for the fast path
+              ",,\n" +
+              "1,,3\n" +
+              "1,2,\r\n" +
+              "\r\n" +
+              "\n" +
+              "1,2\n" +                // Too few columns
+              "1,2,3,4\n" +            // Too many columns
+              "1, 2,3\n" +             // Spaces
+              "\"1\",2,3\n" +          // Quotes
+              "1e,2,3\n" +             // Broken exponent
+              "1.2.3,-,.\n" +          // Not numbers
+              "abc,2,3\n" +
+              "1%,$2,3\n" +
+              "# comment\n" +
+              "4,5,6";                  // No line end
+      assertSameAsGeneralParser(data, 3, null, null);
+      assertSameAsGeneralParser(data, 3, new boolean[]{false, true, false}, null);
+    }
+
+    @Test
+    public void testStringColumns() {
+      String data = "1,2,3\n4,5,6\n7,a,9\n";
+      assertSameAsGeneralParser(data, 3, null, new boolean[]{false, true, false});
+    }
+
+    @Test
+    public void testRandomNumbers() {
+      Random rnd = RandomUtils.getRNG(0xF00D);
+      StringBuilder sb = new StringBuilder();
+      for (int r = 0; r < 2000; r++) {
+        for (int c = 0; c < 10; c++) {
+          if (c > 0) sb.append(',');
+          switch (rnd.nextInt(6)) {
+            case 0: sb.append(rnd.nextInt(50) == 0 ? rnd.nextLong() : rnd.nextLong() % 1000000000000000L); break;
+            case 1: sb.append(rnd.nextInt(1000)); break;
+            case 2: sb.append(rnd.nextDouble() * 1e6); break;
+            case 3: sb.append(rnd.nextGaussian()); break;
+            case 4: sb.append(String.format("%.3f", rnd.nextDouble() - 0.5)); break;
+            default: if (rnd.nextInt(50) == 0) sb.append("NaN"); break;
+          }
+        }
+        sb.append(rnd.nextInt(20) == 0 ? "\r\n" : "\n");
+      }
+      assertSameAsGeneralParser(sb.toString(), 10, null, null);
+    }
+
+  }
+
   
   @Test
   public void testPubdev7149() {
@@ -0,0 +1,291 @@
+package water.parser;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdOutputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.*;
+import water.fvec.ByteVec;
+import water.fvec.C1NChunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+import water.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ParallelDecompressorTest extends TestUtil {
+
+  @BeforeClass
+  static public void setup() { stall_till_cloudsize(1); }
+
+  private static String makeCsv(int nrows) {
+    StringBuilder sb = new StringBuilder("id,x,cat\n");
+    for (int i = 0; i < nrows; i++)
+      sb.append(i).append(',').append(i * 0.5).append(",level").append(i % 7).append('\n');
+    return sb.toString();
+  }
+
+  // ByteVec with the given bytes split into nchunks chunks
+  private static Key<ByteVec> makeByteVec(byte[] bytes, int nchunks) {
+    Futures fs = new Futures();
+    long[] espc = new long[nchunks + 1];
+    for (int i = 1; i <= nchunks; i++) espc[i] = (long) bytes.length * i / nchunks;
+    Key k = Vec.newKey();
+    ByteVec bv = new ByteVec(k, Vec.ESPC.rowLayout(k, espc));
+    DKV.put(k, bv, fs);
+    for (int i = 0; i < nchunks; i++) {
+      Key ck = bv.chunkKey(i);
+      DKV.put(ck, new Value(ck, new C1NChunk(Arrays.copyOfRange(bytes, (int) espc[i], (int) espc[i + 1]))), fs);
+    }
+    fs.blockForPending();
+    return k;
+  }
+
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (GZIPOutputStream os = new GZIPOutputStream(bos)) {
+      os.write(data);
+    }
+    return bos.toByteArray();
+  }
+
+  // Same format as written by bgzip: blocks of at most 64K of input, each a gzip member with the BC extra field,
+  // followed by an empty EOF block
+  private static byte[] bgzip(byte[] data, int blockSize) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    Deflater def = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    byte[] buf = new byte[1 << 17];
+    for (int off = 0; ; off = Math.min(off + blockSize, data.length)) {
+      int len = Math.min(blockSize, data.length - off);
+      def.reset();
+      def.setInput(data, off, len);
+      def.finish();
+      int clen = 0;
+      while (!def.finished()) clen += def.deflate(buf, clen, buf.length - clen);
+      int bsize = 18 + clen + 8 - 1;
+      bos.write(new byte[]{0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0,
+              (byte) bsize, (byte) (bsize >> 8)}, 0, 18);
+      bos.write(buf, 0, clen);
+      CRC32 crc = new CRC32();
+      crc.update(data, off, len);
+      writeInt(bos, (int) crc.getValue());
+      writeInt(bos, len);
+      if (len == 0) break; // EOF block
+    }
+    def.end();
+    return bos.toByteArray();
+  }
+
+  // Concatenated zstd frames of at most frameSize bytes of input, optionally followed by a seek table
+  private static byte[] zstdFrames(byte[] data, int frameSize, boolean seekTable) {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    ByteArrayOutputStream table = new ByteArrayOutputStream();
+    int nframes = 0;
+    for (int off = 0; off < data.length; off += frameSize, nframes++) {
+      byte[] frame = Zstd.compress(Arrays.copyOfRange(data, off, Math.min(data.length, off + frameSize)));
+      bos.write(frame, 0, frame.length);
+      writeInt(table, frame.length);
+      writeInt(table, Math.min(frameSize, data.length - off));
+    }
+    if (seekTable) {
+      writeInt(bos, 0x184D2A5E);
+      writeInt(bos, table.size() + 9);
+      bos.write(table.toByteArray(), 0, table.size());
+      writeInt(bos, nframes);
+      bos.write(0);
+      writeInt(bos, 0x8F92EAB1);
+    }
+    return bos.toByteArray();
+  }
+
+  // Concatenated LZ4 frames of at most frameSize bytes of input, with (or without) the content size
+  private static byte[] lz4Frames(byte[] data, int frameSize, boolean contentSize) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    for (int off = 0; off < data.length; off += frameSize) {
+      int len = Math.min(data.length - off, frameSize);
+      try (LZ4FrameOutputStream os = contentSize ?
+              new LZ4FrameOutputStream(bos, LZ4FrameOutputStream.BLOCKSIZE.SIZE_64KB, len,
+                      LZ4FrameOutputStream.FLG.Bits.BLOCK_INDEPENDENCE, LZ4FrameOutputStream.FLG.Bits.CONTENT_SIZE,
+                      LZ4FrameOutputStream.FLG.Bits.CONTENT_CHECKSUM) :
+              new LZ4FrameOutputStream(bos, LZ4FrameOutputStream.BLOCKSIZE.SIZE_64KB)) {
+        os.write(data, off, len);
+      }
+    }
+    return bos.toByteArray();
+  }
+
+  private static void writeInt(ByteArrayOutputStream bos, int v) {
+    bos.write(v); bos.write(v >> 8); bos.write(v >> 16); bos.write(v >> 24);
+  }
+
+  private static void checkParse(byte[] compressed, int nchunks, String csv) {
+    Frame expected = null, actual = null;
+    try {
+      expected = ParseDataset.parse(Key.make(), ParserTest.makeByteVec(csv));
+      actual = ParseDataset.parse(Key.make(), makeByteVec(compressed, nchunks));
+      assertEquals(20000, actual.numRows());
+      assertBitIdentical(expected, actual);
+    } finally {
+      if (expected != null) expected.delete();
+      if (actual != null) actual.delete();
+    }
+  }
+
+  @Test
+  public void testBgzfBlocksAreFound() {
+    byte[] data = StringUtils.bytesOf(makeCsv(20000));
+    byte[] bgzf = bgzip(data, 4096);
+    Key<ByteVec> k = makeByteVec(bgzf, 7);
+    try {
+      ParallelDecompressor.Frames blocks = GzipDecompressor.findBgzfBlocks(k.get());
+      assertNotNull(blocks);
+      int nblocks = (data.length + 4095) / 4096 + 1;
+      assertEquals(nblocks, blocks.size());
+      assertEquals(0, blocks._offs[0]);
+      assertEquals(bgzf.length, Arrays.stream(blocks._csizes).sum());
+      assertEquals(data.length, Arrays.stream(blocks._usizes).sum());
+      assertEquals(0, blocks._usizes[nblocks - 1]); // EOF block
+      // Not a BGZF file
+      Key<ByteVec> gz = makeByteVec(Arrays.copyOf(bgzf, bgzf.length - 1), 3);
+      try {
+        assertNull(GzipDecompressor.findBgzfBlocks(gz.get()));
+      } finally {
+        Keyed.remove(gz);
+      }
+    } finally {
+      Keyed.remove(k);
+    }
+  }
+
+  @Test
+  public void testParseBgzf() {
+    String csv = makeCsv(20000);
+    checkParse(bgzip(StringUtils.bytesOf(csv), 4096), 7, csv);
+  }
+
+  @Test
+  public void testParseGzip() throws IOException {
+    String csv = makeCsv(20000);
+    checkParse(gzip(StringUtils.bytesOf(csv)), 5, csv);
+  }
+
+  @Test
+  public void testTruncatedGzipLeavesNoKeys() throws IOException {
+    byte[] gz = gzip(StringUtils.bytesOf(makeCsv(20000)));
+    Key<ByteVec> k = makeByteVec(Arrays.copyOf(gz, gz.length * 9 / 10), 5);
+    try {
+      int nkeys = H2O.store_size();
+      try {
+        GzipDecompressor.INSTANCE.decompress(k.get(), null);
+        fail("Truncated input should fail");
+      } catch (IOException expected) {
+        // Unexpected end of the stream
+      }
+      assertEquals(nkeys, H2O.store_size()); // Nothing written before the failure is left behind
+    } finally {
+      Keyed.remove(k);
+    }
+  }
+
+  @Test
+  public void testParseMultiMemberGzip() throws IOException {
+    String csv = makeCsv(20000);
+    byte[] data = StringUtils.bytesOf(csv);
+    int half = data.length / 2 + 3;
+    byte[] first = gzip(Arrays.copyOf(data, half)), second = gzip(Arrays.copyOfRange(data, half, data.length));
+    byte[] both = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, both, first.length, second.length);
+    checkParse(both, 4, csv);
+  }
+
+  @Test
+  public void testZstdFramesAreFound() {
+    byte[] data = StringUtils.bytesOf(makeCsv(20000));
+    int nframes = (data.length + 19999) / 20000;
+    for (boolean seekTable : new boolean[]{false, true}) {
+      byte[] zst = zstdFrames(data, 20000, seekTable);
+      Key<ByteVec> k = makeByteVec(zst, 5);
+      try {
+        ParallelDecompressor.Frames frames = ZstdDecompressor.INSTANCE.findFrames(k.get());
+        assertNotNull(frames);
+        assertEquals(nframes, frames.size());
+        assertEquals(data.length, Arrays.stream(frames._usizes).sum());
+        assertEquals(0, frames._offs[0]);
+        for (int i = 1; i < frames.size(); i++)
+          assertEquals(frames._offs[i - 1] + frames._csizes[i - 1], frames._offs[i]);
+        if (seekTable) assertNotNull(ZstdDecompressor.readSeekTable(k.get()));
+        else assertNull(ZstdDecompressor.readSeekTable(k.get()));
+      } finally {
+        Keyed.remove(k);
+      }
+    }
+  }
+
+  @Test
+  public void testParseZstd() throws IOException {
+    String csv = makeCsv(20000);
+    byte[] data = StringUtils.bytesOf(csv);
+    checkParse(zstdFrames(data, 20000, false), 5, csv);
+    checkParse(zstdFrames(data, 20000, true), 5, csv);
+    // Single streamed frame without the content size
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try (ZstdOutputStream os = new ZstdOutputStream(bos)) {
+      os.write(data);
+    }
+    Key<ByteVec> k = makeByteVec(bos.toByteArray(), 2);
+    try {
+      assertNull(ZstdDecompressor.INSTANCE.findFrames(k.get()));
+    } finally {
+      Keyed.remove(k);
+    }
+    checkParse(bos.toByteArray(), 2, csv);
+  }
+
+  @Test
+  public void testCorruptedFrameLeavesNoKeys() {
+    byte[] data = StringUtils.bytesOf(makeCsv(20000));
+    byte[] zst = zstdFrames(data, 20000, false);
+    int last = zst.length - Zstd.compress(Arrays.copyOfRange(data, (data.length - 1) / 20000 * 20000, data.length)).length;
+    Arrays.fill(zst, last + 12, last + 40, (byte) 0x55); // Payload of the last frame, after its header
+    Key<ByteVec> k = makeByteVec(zst, 5);
+    try {
+      int nkeys = H2O.store_size();
+      try {
+        ZstdDecompressor.INSTANCE.decompress(k.get(), null);
+        fail("Corrupted frame should fail");
+      } catch (Exception expected) {
+        // Failed to decompress the last frame
+      }
+      assertEquals(nkeys, H2O.store_size()); // Chunks completed by the other frames are removed
+    } finally {
+      Keyed.remove(k);
+    }
+  }
+
+  @Test
+  public void testParseLz4() throws IOException {
+    String csv = makeCsv(20000);
+    byte[] data = StringUtils.bytesOf(csv);
+    byte[] lz4 = lz4Frames(data, 20000, true);
+    Key<ByteVec> k = makeByteVec(lz4, 5);
+    try {
+      ParallelDecompressor.Frames frames = Lz4Decompressor.INSTANCE.findFrames(k.get());
+      assertNotNull(frames);
+      assertEquals((data.length + 19999) / 20000, frames.size());
+      assertEquals(data.length, Arrays.stream(frames._usizes).sum());
+    } finally {
+      Keyed.remove(k);
+    }
+    checkParse(lz4, 5, csv);
+    checkParse(lz4Frames(data, data.length, false), 4, csv);
+  }
+
+}
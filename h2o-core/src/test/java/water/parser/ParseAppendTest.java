@@ -0,0 +1,161 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Key;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.Vec;
+import water.util.ArrayUtils;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static water.parser.ParserTest.makeByteVec;
+
+public class ParseAppendTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static final String HEADER = "x,y,s\n";
+
+  private static String[] rows(int from, int n, String[] levels, int nchunks) {
+    String[] chunks = new String[nchunks];
+    StringBuilder sb = new StringBuilder(from == 0 ? HEADER : "");
+    int perChunk = (n + nchunks - 1) / nchunks;
+    for (int i = 0, c = 0; i < n; i++) {
+      int r = from + i;
+      sb.append(r % 7 == 3 ? "" : Integer.toString(r)).append(',')
+        .append(r % 11 == 5 ? "NA" : Double.toString(r * 0.25 - 100)).append(',')
+        .append(levels[r % levels.length]).append('\n');
+      if ((i + 1) % perChunk == 0 || i == n - 1) {
+        chunks[c++] = sb.toString();
+        sb.setLength(0);
+      }
+    }
+    return chunks;
+  }
+
+  private static Frame parse(String name, String[] chunks) {
+    return ParseDataset.parse(Key.make(name), makeByteVec(chunks));
+  }
+
+  private static String[] withHeader(String[] chunks) {
+    chunks = chunks.clone();
+    chunks[0] = HEADER + chunks[0];
+    return chunks;
+  }
+
+  private static void assertAppended(Frame expected, Frame actual) {
+    assertArrayEquals(expected.names(), actual.names());
+    assertArrayEquals(expected.types(), actual.types());
+    for (int i = 0; i < expected.numCols(); i++) {
+      Vec ev = expected.vec(i), av = actual.vec(i);
+      assertArrayEquals(ev.domain(), av.domain());
+      assertEquals(ev.naCnt(), av.naCnt());
+      assertEquals(ev.nzCnt(), av.nzCnt());
+      assertEquals(ev.isInt(), av.isInt());
+      assertEquals(ev.mean(), av.mean(), 1e-10);
+      assertEquals(ev.sigma(), av.sigma(), 1e-10);
+      assertArrayEquals(ev.mins(), av.mins(), 0);
+      assertArrayEquals(ev.maxs(), av.maxs(), 0);
+      assertEquals(av.length() - av.naCnt(), ArrayUtils.sum(av.bins()));
+    }
+    assertFrameEquals(expected, actual, 0);
+  }
+
+  @Test public void testAppend() {
+    Scope.enter();
+    try {
+      String[] levels1 = {"d", "b", "f"}, levels2 = {"a", "g", "d", "c"};
+      Frame fr = Scope.track(parse("append_day1", rows(0, 1000, levels1, 3)));
+      Key<Vec>[] keys = fr.keys().clone();
+      fr.vec("y").mean(); // Rollups of y and s are updated incrementally, x is rolled up from scratch
+      fr.vec("s").mean();
+      Frame appended = ParseDataset.append(fr._key, makeByteVec(withHeader(rows(1000, 500, levels2, 2))));
+      assertEquals(1500, appended.numRows());
+      assertEquals(5, appended.anyVec().nChunks());
+      assertArrayEquals(keys, appended.keys());
+      assertArrayEquals(new String[]{"a", "b", "c", "d", "f", "g"}, appended.vec("s").domain());
+
+      String[] all = ArrayUtils.append(rows(0, 1000, levels1, 3), rows(1000, 500, levels2, 2));
+      Frame expected = Scope.track(parse("append_expected", all));
+      assertAppended(expected, appended);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testAppendKeepsCategoricalCodes() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse("append_codes", rows(0, 300, new String[]{"a", "b"}, 2)));
+      double[] codes = new double[300];
+      for (int i = 0; i < codes.length; i++) codes[i] = fr.vec("s").at(i);
+      double mean = fr.vec("s").mean();
+      Frame appended = ParseDataset.append(fr._key, makeByteVec(withHeader(rows(300, 100, new String[]{"b", "c"}, 1))));
+      Vec s = appended.vec("s");
+      assertArrayEquals(new String[]{"a", "b", "c"}, s.domain());
+      for (int i = 0; i < codes.length; i++) assertEquals(codes[i], s.at(i), 0);
+      assertTrue(Double.isNaN(s.mean())); // More than 2 levels
+      assertFalse(Double.isNaN(mean));
+      Frame expected = Scope.track(parse("append_codes_expected",
+              ArrayUtils.append(rows(0, 300, new String[]{"a", "b"}, 2), rows(300, 100, new String[]{"b", "c"}, 1))));
+      assertAppended(expected, appended);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testParseSetupRemovedWithFrame() {
+    Frame fr = parse("append_setup", rows(0, 100, new String[]{"a"}, 1));
+    Key setupKey = ParseSetup.parsedWithKey(fr._key);
+    assertTrue(fr.isParsed());
+    assertNotNull(DKV.get(setupKey));
+    Frame appended = ParseDataset.append(fr._key, makeByteVec(withHeader(rows(100, 100, new String[]{"b"}, 1))));
+    assertTrue(appended.isParsed());
+    appended.delete();
+    assertNull(DKV.get(setupKey));
+    Frame copy = new Frame(Key.<Frame>make(), new String[]{"x"}, new Vec[]{Vec.makeZero(10)});
+    assertFalse(copy.isParsed()); // Not parsed, nothing to remove with it
+    copy.delete();
+  }
+
+  @Test public void testAppendGuessedSetup() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse("append_guess", rows(0, 200, new String[]{"a"}, 1)));
+      DKV.remove(ParseSetup.parsedWithKey(fr._key));
+      Frame appended = ParseDataset.append(fr._key, makeByteVec(withHeader(rows(200, 200, new String[]{"b"}, 2))));
+      assertEquals(400, appended.numRows());
+      assertArrayEquals(new String[]{"a", "b"}, appended.vec("s").domain());
+      assertEquals(1, appended.vec("s").at8(200));
+      Frame expected = Scope.track(parse("append_guess_expected",
+              ArrayUtils.append(rows(0, 200, new String[]{"a"}, 1), rows(200, 200, new String[]{"b"}, 2))));
+      assertAppended(expected, appended);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testAppendDifferentColumns() {
+    Scope.enter();
+    try {
+      Frame fr = Scope.track(parse("append_cols", rows(0, 100, new String[]{"a"}, 1)));
+      try {
+        ParseDataset.append(fr._key, makeByteVec("x,y\n1,2\n3,4\n"));
+        fail("Expected the append to fail");
+      } catch (RuntimeException e) {
+        assertTrue(e.getMessage(), e.getMessage().contains("3 column"));
+      }
+      Frame fr2 = DKV.getGet(fr._key);
+      assertEquals(100, fr2.numRows());
+      fr2.write_lock().unlock(); // Not left locked
+      assertTrue(Arrays.equals(fr.keys(), fr2.keys()));
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
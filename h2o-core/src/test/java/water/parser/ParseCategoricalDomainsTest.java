@@ -0,0 +1,115 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Key;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+import static water.parser.ParserTest.makeByteVec;
+
+public class ParseCategoricalDomainsTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  private static String[] chunks(int nchunks, int nrows, int nlevels) {
+    String[] chunks = new String[nchunks];
+    for (int c = 0; c < nchunks; c++) {
+      StringBuilder sb = new StringBuilder(c == 0 ? "x,s\n" : "");
+      for (int i = 0; i < nrows; i++) {
+        int r = c * nrows + i;
+        sb.append(r).append(',').append(r % 13 == 0 ? "" : "lvl" + (r * 7919L % nlevels)).append('\n');
+      }
+      chunks[c] = sb.toString();
+    }
+    return chunks;
+  }
+
+  private static Frame parseSharded(String name, String[] chunks, long threshold, int shards) {
+    long oldThreshold = ShardedCategoricalDomains.THRESHOLD;
+    int oldShards = ShardedCategoricalDomains.SHARDS;
+    try {
+      ShardedCategoricalDomains.THRESHOLD = threshold;
+      ShardedCategoricalDomains.SHARDS = shards;
+      Key[] keys = {makeByteVec(chunks)};
+      ParseSetup setup = ParseSetup.guessSetup(keys, false, ParseSetup.HAS_HEADER);
+      setup._column_types = new byte[]{Vec.T_NUM, Vec.T_CAT};
+      return ParseDataset.parse(Key.make(name), keys, true, setup);
+    } finally {
+      ShardedCategoricalDomains.THRESHOLD = oldThreshold;
+      ShardedCategoricalDomains.SHARDS = oldShards;
+    }
+  }
+
+  private static Frame parseKnown(String name, String[] chunks, String[] known) {
+    Key[] keys = {makeByteVec(chunks)};
+    ParseSetup setup = ParseSetup.guessSetup(keys, false, ParseSetup.HAS_HEADER);
+    setup._column_types = new byte[]{Vec.T_NUM, Vec.T_CAT};
+    setup.setKnownDomains(new String[][]{null, known});
+    return ParseDataset.parse(Key.make(name), keys, true, setup);
+  }
+
+  @Test public void testShardedDomains() {
+    Scope.enter();
+    try {
+      String[] data = chunks(5, 400, 700);
+      Frame expected = Scope.track(parseSharded("sharded_expected", data, -1, 0));
+      for (int shards : new int[]{1, 3, 8}) {
+        Frame fr = Scope.track(parseSharded("sharded_" + shards, data, 0, shards));
+        assertArrayEquals(expected.vec("s").domain(), fr.vec("s").domain());
+        assertFrameEquals(expected, fr, 0);
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testShardedDomainsBelowThreshold() {
+    Scope.enter();
+    try {
+      String[] data = chunks(3, 100, 50);
+      Frame expected = Scope.track(parseSharded("threshold_expected", data, -1, 0));
+      Frame fr = Scope.track(parseSharded("threshold", data, 51, 4)); // 50 levels per node
+      assertFrameEquals(expected, fr, 0);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testKnownDomains() {
+    Scope.enter();
+    try {
+      String[] known = {"lvl9", "lvl3", "lvl0", "lvl5"};
+      Frame fr = Scope.track(parseKnown("known_complete", chunks(3, 100, 10), known));
+      // Known levels keep their codes, the missing levels follow (sorted)
+      String[] domain = fr.vec("s").domain();
+      assertArrayEquals(new String[]{"lvl9", "lvl3", "lvl0", "lvl5", "lvl1", "lvl2", "lvl4", "lvl6", "lvl7", "lvl8"}, domain);
+      Frame expected = Scope.track(parseSharded("known_expected", chunks(3, 100, 10), -1, 0));
+      Vec s = fr.vec("s"), es = expected.vec("s");
+      for (long r = 0; r < fr.numRows(); r++) {
+        assertEquals(es.isNA(r), s.isNA(r));
+        if (!es.isNA(r)) assertEquals(es.domain()[(int) es.at8(r)], domain[(int) s.at8(r)]);
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testKnownDomainsOnePass() {
+    Scope.enter();
+    try {
+      String[] known = {"lvl3", "lvl1", "lvl2", "lvl0", "unused"};
+      Frame fr = Scope.track(parseKnown("known_final", chunks(4, 50, 4), known));
+      Vec s = fr.vec("s");
+      assertArrayEquals(known, s.domain());
+      for (long r = 0; r < fr.numRows(); r++)
+        if (r % 13 == 0) assertTrue(s.isNA(r));
+        else assertEquals("lvl" + (r * 7919L % 4), known[(int) s.at8(r)]);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+package water.parser;
+
+import org.junit.Test;
+import water.exceptions.H2OIllegalArgumentException;
+
+import static org.junit.Assert.*;
+
+public class RowFilterTest {
+
+  @Test
+  public void testParseComparisons() {
+    RowFilter f = RowFilter.parse("year >= 2015");
+    assertEquals("year", f._column);
+    assertEquals(RowFilter.Op.GE, f._op);
+    assertArrayEquals(new String[]{"2015"}, f._values);
+
+    assertEquals(RowFilter.Op.EQ, RowFilter.parse("month = 7")._op);
+    assertEquals(RowFilter.Op.EQ, RowFilter.parse("month==7")._op);
+    assertEquals(RowFilter.Op.NE, RowFilter.parse("month != 7")._op);
+    assertEquals(RowFilter.Op.LT, RowFilter.parse("month < 7")._op);
+    assertEquals(RowFilter.Op.LE, RowFilter.parse("month <= 7")._op);
+    assertEquals(RowFilter.Op.GT, RowFilter.parse("month > 7")._op);
+
+    f = RowFilter.parse("'first name' == \"John Smith\"");
+    assertEquals("first name", f._column);
+    assertArrayEquals(new String[]{"John Smith"}, f._values);
+  }
+
+  @Test
+  public void testParseIn() {
+    RowFilter f = RowFilter.parse("state IN (CA, \"New York\", 'a,b')");
+    assertEquals("state", f._column);
+    assertEquals(RowFilter.Op.IN, f._op);
+    assertArrayEquals(new String[]{"CA", "New York", "a,b"}, f._values);
+    assertEquals("state in (CA, New York, a,b)", f.toString());
+
+    f = RowFilter.parse("min in (1)"); // 'in' inside of the column name
+    assertEquals("min", f._column);
+    assertArrayEquals(new String[]{"1"}, f._values);
+  }
+
+  @Test(expected = H2OIllegalArgumentException.class)
+  public void testParseInvalid() {
+    RowFilter.parse("year 2015");
+  }
+
+  @Test(expected = H2OIllegalArgumentException.class)
+  public void testParseInWithoutParentheses() {
+    RowFilter.parse("year in 2015, 2016");
+  }
+
+}
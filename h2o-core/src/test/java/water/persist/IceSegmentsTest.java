@@ -0,0 +1,46 @@
+package water.persist;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import water.Key;
+import water.TestUtil;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class IceSegmentsTest extends TestUtil {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @BeforeClass
+  public static void setup() { stall_till_cloudsize(1); }
+
+  @Test
+  public void testStoreLoadDelete() throws Exception {
+    File dir = tmp.newFolder("segments");
+    IceSegments segs = new IceSegments(dir);
+    Key k1 = Key.make(), k2 = Key.make();
+    byte[] a = new byte[]{1, 2, 3, 4, 5};
+    byte[] b = new byte[]{6, 7, 8};
+    segs.store(k1, a);
+    segs.store(k2, b);
+    assertTrue(segs.contains(k1));
+    assertArrayEquals(a, segs.load(k1, a.length));
+    assertArrayEquals(b, segs.load(k2, b.length));
+    assertNull(segs.load(k2, b.length + 1)); // Shorter than expected
+
+    byte[] c = new byte[]{9, 9};
+    segs.store(k1, c); // Re-spill replaces the prior copy
+    assertArrayEquals(c, segs.load(k1, c.length));
+
+    segs.delete(k1);
+    segs.delete(k2);
+    assertFalse(segs.contains(k1));
+    assertNull(segs.load(k1, c.length));
+    assertEquals(1, dir.listFiles().length); // Current segment is kept for appends
+  }
+}
@@ -262,6 +262,30 @@ public abstract class GenModel implements IGenModel, IGeneratedModel, Serializab
     throw new UnsupportedOperationException("`offset` column is not supported");
   }
 
+  /**
+   * Scores a block of rows given in a columnar layout. The result is the same as calling
+   * {@link #score0(double[], double, double[])} (or {@link #score0(double[], double[])} if there are no offsets)
+   * for every row of the block, but models can override this to score the whole block at once - and avoid
+   * the per-row overhead.
+   *
+   * @param cols input columns in the order the model expects them (the same as the row passed to score0):
+   *             cols[c][r] is the value of column c in row r; the columns are not modified
+   * @param offsets per-row offsets, or null if the model doesn't use an offset column
+   * @param nrows number of rows to score (the first nrows values of every column)
+   * @param preds pre-allocated output, preds[r] is filled in with the predictions of row r (same as by score0)
+   */
+  public void score0(double[][] cols, double[] offsets, int nrows, double[][] preds) {
+    final double[] row = new double[cols.length];
+    for (int r = 0; r < nrows; r++) {
+      for (int c = 0; c < row.length; c++)
+        row[c] = cols[c][r];
+      if (offsets != null)
+        score0(row, offsets[r], preds[r]);
+      else
+        score0(row, preds[r]);
+    }
+  }
+
   /** Subclasses implement calibration of class probabilities. The input is array of
    *  predictions returned by the scoring function (score0). Supports classification
    *  models that were trained with calibration enabled. Original probabilities
@@ -77,6 +77,44 @@ public class DeeplearningMojoModel extends MojoModel {
     return modifyOutputs(neuronsInput, preds, dataRow);
   }
 
+  /**
+   * Scores the block layer by layer, see {@link NeuralNetwork#formNNInputs(StoreWeightsBias, double[][], int, int)}.
+   * Maxout layers are evaluated row by row.
+   */
+  @Override
+  public void score0(double[][] cols, double[] offsets, int nrows, double[][] preds) {
+    if (nrows == 0) return;
+    final double[] row = new double[cols.length];
+    double[][] neuronsInput = new double[nrows][_units[0]];
+    double[] _numsA = new double[_nums];
+    int[] _catsA = new int[_cats];
+    for (int r = 0; r < nrows; r++) {
+      for (int c = 0; c < row.length; c++)
+        row[c] = cols[c][r];
+      setInput(row, neuronsInput[r], _numsA, _catsA, _nums, _cats, _catoffsets, _normmul, _normsub, _use_all_factor_levels, true);
+    }
+    for (int layer=0; layer < _numLayers; layer++) {
+      NeuralNetwork oneLayer = new NeuralNetwork(_allActivations[layer], _all_drop_out_ratios[layer],
+              _weightsAndBias[layer], neuronsInput[0], _units[layer + 1]);
+      ActivationUtils.ActivationFunctions actFun = oneLayer.createActFuns(_allActivations[layer]);
+      if (oneLayer._maxK == 1) {
+        double[][] input2ActFun = NeuralNetwork.formNNInputs(_weightsAndBias[layer], neuronsInput, nrows, _units[layer + 1]);
+        for (int r = 0; r < nrows; r++)
+          neuronsInput[r] = actFun.eval(input2ActFun[r], _all_drop_out_ratios[layer], 1);
+      } else {
+        for (int r = 0; r < nrows; r++) {
+          oneLayer._inputs = neuronsInput[r];
+          neuronsInput[r] = oneLayer.fprop1Layer();
+        }
+      }
+    }
+    for (int r = 0; r < nrows; r++) {
+      for (int c = 0; c < row.length; c++)
+        row[c] = cols[c][r];
+      modifyOutputs(neuronsInput[r], preds[r], row);
+    }
+  }
+
   public double[] modifyOutputs(double[] out, double[] preds, double[] dataRow) {
     if (this.isAutoEncoder()) { // only perform unscale numerical value if need
       if (_normmul != null && _normmul.length > 0) { // undo the standardization on output
@@ -44,37 +44,62 @@ public class NeuralNetwork {  // represent one layer of neural network
    */
   public double[] formNNInputs() {
     double[] input2ActFun = new double[_outSize];
-    int cols = _inputs.length;
-    int rows = input2ActFun.length;
-    int extra=cols-cols%8;
-    int multiple = (cols/8)*8-1;
     int idx = 0;
-    for (int row = 0; row < rows; row++) {
-      double psum0 = 0, psum1 = 0, psum2 = 0, psum3 = 0, psum4 = 0, psum5 = 0, psum6 = 0, psum7 = 0;
-
-      for (int col=0; col < multiple; col+=8) {
-        int off=idx+col;
-        psum0 += _weightsAndBias._wValues[off    ] * _inputs[col    ];
-        psum1 += _weightsAndBias._wValues[off + 1] * _inputs[col + 1];
-        psum2 += _weightsAndBias._wValues[off + 2] * _inputs[col + 2];
-        psum3 += _weightsAndBias._wValues[off + 3] * _inputs[col + 3];
-        psum4 += _weightsAndBias._wValues[off + 4] * _inputs[col + 4];
-        psum5 += _weightsAndBias._wValues[off + 5] * _inputs[col + 5];
-        psum6 += _weightsAndBias._wValues[off + 6] * _inputs[col + 6];
-        psum7 += _weightsAndBias._wValues[off + 7] * _inputs[col + 7];
-      }
-      input2ActFun[row] += psum0+psum1+psum2+psum3;
-      input2ActFun[row] += psum4+psum5+psum6+psum7;
+    for (int row = 0; row < input2ActFun.length; row++) {
+      input2ActFun[row] = dot(_weightsAndBias, row, idx, _inputs);
+      idx += _inputs.length;
+    }
+    return input2ActFun;
+  }
 
-      for (int col = extra; col<cols;col++) {
-        input2ActFun[row] += _weightsAndBias._wValues[idx+col]*_inputs[col];
-      }
-      input2ActFun[row] += _weightsAndBias._bValues[row];
+  /**
+   * Same as {@link #formNNInputs()} for a block of input rows: the outputs of each neuron are computed for all
+   * the rows before moving on to the next neuron, so the weights of the neuron are read from the cache.
+   */
+  static double[][] formNNInputs(DeeplearningMojoModel.StoreWeightsBias weightsAndBias, double[][] inputs, int nrows,
+                                 int outSize) {
+    double[][] input2ActFun = new double[nrows][outSize];
+    int cols = inputs[0].length;
+    int idx = 0;
+    for (int row = 0; row < outSize; row++) {
+      for (int r = 0; r < nrows; r++)
+        input2ActFun[r][row] = dot(weightsAndBias, row, idx, inputs[r]);
       idx += cols;
     }
     return input2ActFun;
   }
 
+  // Input of a neuron (weights starting at idx): matches the exact operation of gemv_row_optimized in order to match
+  // all the bits
+  private static double dot(DeeplearningMojoModel.StoreWeightsBias weightsAndBias, int row, int idx, double[] inputs) {
+    final float[] w = weightsAndBias._wValues;
+    int cols = inputs.length;
+    int extra=cols-cols%8;
+    int multiple = (cols/8)*8-1;
+    double psum0 = 0, psum1 = 0, psum2 = 0, psum3 = 0, psum4 = 0, psum5 = 0, psum6 = 0, psum7 = 0;
+
+    for (int col=0; col < multiple; col+=8) {
+      int off=idx+col;
+      psum0 += w[off    ] * inputs[col    ];
+      psum1 += w[off + 1] * inputs[col + 1];
+      psum2 += w[off + 2] * inputs[col + 2];
+      psum3 += w[off + 3] * inputs[col + 3];
+      psum4 += w[off + 4] * inputs[col + 4];
+      psum5 += w[off + 5] * inputs[col + 5];
+      psum6 += w[off + 6] * inputs[col + 6];
+      psum7 += w[off + 7] * inputs[col + 7];
+    }
+    double res = 0;
+    res += psum0+psum1+psum2+psum3;
+    res += psum4+psum5+psum6+psum7;
+
+    for (int col = extra; col<cols;col++) {
+      res += w[idx+col]*inputs[col];
+    }
+    res += weightsAndBias._bValues[row];
+    return res;
+  }
+
   public double[] formNNInputsMaxOut() {
     double[] input2ActFun = new double[_outSize*_maxK];
 
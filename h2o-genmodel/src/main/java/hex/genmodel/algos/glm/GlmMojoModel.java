@@ -27,29 +27,71 @@ public class GlmMojoModel extends GlmMojoModelBase {
   double[] glmScore0(double[] data, double[] preds) {
     double eta = 0.0;
 
-    if (!_useAllFactorLevels) { // skip level 0 of all factors
-      for(int i = 0; i < _catOffsets.length-1; ++i) if(data[i] != 0) {
-        int ival = (int) data[i] - 1;
-        if (ival != data[i] - 1) throw new IllegalArgumentException("categorical value out of range");
-        ival += _catOffsets[i];
-        if (ival < _catOffsets[i + 1])
-          eta += _beta[ival];
-      }
-    } else { // do not skip any levels
-      for(int i = 0; i < _catOffsets.length-1; ++i) {
-        int ival = (int) data[i];
-        if (ival != data[i]) throw new IllegalArgumentException("categorical value out of range");
-        ival += _catOffsets[i];
-        if (ival < _catOffsets[i + 1])
-          eta += _beta[ival];
-      }
-    }
+    for(int i = 0; i < _catOffsets.length-1; ++i)
+      eta += catBeta(i, data[i]);
 
     int noff = _catOffsets[_cats] - _cats;
     for(int i = _cats; i < _beta.length - 1 - noff; ++i)
       eta += _beta[noff + i] * data[i];
     eta += _beta[_beta.length - 1]; // reduce intercept
 
+    return link(eta, preds);
+  }
+
+  /**
+   * Scores the block column by column: the linear predictors of all the rows are accumulated one coefficient
+   * at a time.
+   */
+  @Override
+  public void score0(double[][] cols, double[] offsets, int nrows, double[][] preds) {
+    if (offsets != null) { // not supported, let score0 complain
+      super.score0(cols, offsets, nrows, preds);
+      return;
+    }
+    double[] eta = new double[nrows];
+    for (int i = 0; i < _catOffsets.length-1; ++i) {
+      final double[] col = cols[i];
+      for (int r = 0; r < nrows; r++) {
+        double d = col[r];
+        if (_meanImputation && Double.isNaN(d)) d = _catModes[i];
+        eta[r] += catBeta(i, d);
+      }
+    }
+    int noff = _catOffsets[_cats] - _cats;
+    for (int i = _cats; i < _beta.length - 1 - noff; ++i) {
+      final double[] col = cols[i];
+      final double b = _beta[noff + i];
+      if (_meanImputation) {
+        final double mean = _numMeans[i - _cats];
+        for (int r = 0; r < nrows; r++)
+          eta[r] += b * (Double.isNaN(col[r]) ? mean : col[r]);
+      } else {
+        for (int r = 0; r < nrows; r++)
+          eta[r] += b * col[r];
+      }
+    }
+    final double icpt = _beta[_beta.length - 1];
+    for (int r = 0; r < nrows; r++)
+      link(eta[r] + icpt, preds[r]);
+  }
+
+  // Coefficient of the given level of the i-th categorical column
+  private double catBeta(int i, double d) {
+    if (!_useAllFactorLevels) { // skip level 0 of all factors
+      if (d == 0) return 0;
+      int ival = (int) d - 1;
+      if (ival != d - 1) throw new IllegalArgumentException("categorical value out of range");
+      ival += _catOffsets[i];
+      return ival < _catOffsets[i + 1] ? _beta[ival] : 0;
+    } else { // do not skip any levels
+      int ival = (int) d;
+      if (ival != d) throw new IllegalArgumentException("categorical value out of range");
+      ival += _catOffsets[i];
+      return ival < _catOffsets[i + 1] ? _beta[ival] : 0;
+    }
+  }
+
+  private double[] link(double eta, double[] preds) {
     double mu = _linkFn.eval(eta);
 
     if (_binomial) {
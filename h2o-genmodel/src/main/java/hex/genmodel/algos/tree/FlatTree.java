@@ -0,0 +1,221 @@
+package hex.genmodel.algos.tree;
+
+import hex.genmodel.utils.ByteBufferWrapper;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * Decoded form of a compressed tree (MOJO version 1.2 and newer, see {@link ScoreTree2}) for fast scoring.
+ *
+ * The nodes are stored in flat parallel arrays laid out breadth-first, so the top of the tree - which every row
+ * visits - occupies a few cache lines. Scoring a row is a plain loop over array lookups, with none of the
+ * per-node decoding of {@link SharedTreeMojoModel#scoreTree(byte[], double[], boolean, String[][])}. Child
+ * references are node indices; a negative reference {@code ~i} refers to the i-th leaf value.
+ *
+ * Only computes the predictions; leaf assignment and decision paths are still computed from the compressed trees.
+ */
+public final class FlatTree implements Serializable {
+
+  private static final int NsdNaVsRest = NaSplitDir.NAvsREST.value();
+  private static final int NsdNaLeft = NaSplitDir.NALeft.value();
+  private static final int NsdLeft = NaSplitDir.Left.value();
+
+  // Node flags
+  private static final byte NA_LEFT = 1;      // NAs (and out of range values) go left
+  private static final byte NA_VS_REST = 2;   // Non-NAs go left
+  private static final byte BITSET = 4;       // Group split, otherwise a numeric split
+
+  private final int[] _colIds;
+  private final float[] _splitVals;
+  private final byte[] _flags;
+  private final int[] _left, _right;
+  private final float[] _leaves;
+  // Bitsets of the group splits: offset of the bits in _bits, bit offset and number of bits; per node
+  private final int[] _bitsOff, _bitOff, _nbits;
+  private final byte[] _bits;
+  // Number of levels of categorical columns (-1 for numeric columns), levels not seen in training are NAs
+  private final int[] _domainLens;
+
+  private FlatTree(int[] colIds, float[] splitVals, byte[] flags, int[] left, int[] right, float[] leaves,
+                   int[] bitsOff, int[] bitOff, int[] nbits, byte[] bits, int[] domainLens) {
+    _colIds = colIds; _splitVals = splitVals; _flags = flags; _left = left; _right = right; _leaves = leaves;
+    _bitsOff = bitsOff; _bitOff = bitOff; _nbits = nbits; _bits = bits; _domainLens = domainLens;
+  }
+
+  /**
+   * Prediction of this tree for the given row; same as
+   * {@link SharedTreeMojoModel#scoreTree(byte[], double[], boolean, String[][]) scoreTree(tree, row, false, domains)}.
+   */
+  public double score(double[] row) {
+    if (_colIds.length == 0) return _leaves[0]; // Stump
+    int n = 0;
+    do {
+      n = next(n, row[_colIds[n]]);
+    } while (n >= 0);
+    return _leaves[~n];
+  }
+
+  /**
+   * Adds the predictions of this tree for a block of rows given in a columnar layout (cols[c][r]) to preds[r][k].
+   */
+  public void score(double[][] cols, int nrows, double[][] preds, int k) {
+    if (_colIds.length == 0) { // Stump
+      for (int r = 0; r < nrows; r++)
+        preds[r][k] += _leaves[0];
+      return;
+    }
+    for (int r = 0; r < nrows; r++) {
+      int n = 0;
+      do {
+        n = next(n, cols[_colIds[n]][r]);
+      } while (n >= 0);
+      preds[r][k] += _leaves[~n];
+    }
+  }
+
+  // Child of node n the given value of the split column leads to
+  private int next(int n, double d) {
+    final int col = _colIds[n];
+    final int flags = _flags[n];
+    boolean right;
+    if (Double.isNaN(d) || (_domainLens[col] >= 0 && _domainLens[col] <= (int) d)) {
+      right = (flags & NA_LEFT) == 0;
+    } else if ((flags & NA_VS_REST) != 0) {
+      right = false;
+    } else if ((flags & BITSET) == 0) {
+      right = d >= _splitVals[n];
+    } else {
+      int idx = (int) d - _bitOff[n];
+      if (idx < 0 || idx >= _nbits[n])
+        right = (flags & NA_LEFT) == 0;
+      else
+        right = (_bits[_bitsOff[n] + (idx >> 3)] & ((byte) 1 << (idx & 7))) != 0;
+    }
+    return right ? _right[n] : _left[n];
+  }
+
+  public int numNodes() { return _colIds.length; }
+
+  /**
+   * Decode a compressed tree.
+   * @param tree tree in the format of MOJO version 1.2 and newer
+   * @param domains domains of the model columns
+   */
+  public static FlatTree make(byte[] tree, String[][] domains) {
+    ByteBufferWrapper ab = new ByteBufferWrapper(tree);
+    ArrayList<Node> nodes = new ArrayList<>();
+    ArrayList<Float> leaves = new ArrayList<>();
+    // Parse in the (depth-first) stored order, then lay out breadth-first
+    int root = parse(tree, ab, nodes, leaves);
+    int n = nodes.size();
+    int[] order = new int[n], newIdx = new int[n];
+    int[] leafOrder = new int[leaves.size()], newLeaf = new int[leaves.size()];
+    int head = 0, tail = 0, nleaves = 0;
+    if (root >= 0) order[tail++] = root;
+    else leafOrder[nleaves++] = ~root;
+    while (head < tail) {
+      Node nd = nodes.get(order[head++]);
+      for (int c : new int[]{nd._left, nd._right})
+        if (c >= 0) order[tail++] = c;
+        else leafOrder[nleaves++] = ~c;
+    }
+    for (int i = 0; i < n; i++) newIdx[order[i]] = i;
+    for (int i = 0; i < nleaves; i++) newLeaf[leafOrder[i]] = i;
+
+    int[] colIds = new int[n], left = new int[n], right = new int[n], bitsOff = new int[n], bitOff = new int[n], nbits = new int[n];
+    float[] splitVals = new float[n];
+    byte[] flags = new byte[n];
+    int nbytes = 0;
+    for (Node nd : nodes) nbytes += nd._bits == null ? 0 : nd._bits.length;
+    byte[] bits = new byte[nbytes];
+    int maxCol = -1;
+    for (int i = 0, boff = 0; i < n; i++) {
+      Node nd = nodes.get(order[i]);
+      colIds[i] = nd._col;
+      maxCol = Math.max(maxCol, nd._col);
+      splitVals[i] = nd._splitVal;
+      flags[i] = nd._flags;
+      left[i] = nd._left >= 0 ? newIdx[nd._left] : ~newLeaf[~nd._left];
+      right[i] = nd._right >= 0 ? newIdx[nd._right] : ~newLeaf[~nd._right];
+      if (nd._bits != null) {
+        System.arraycopy(nd._bits, 0, bits, boff, nd._bits.length);
+        bitsOff[i] = boff;
+        bitOff[i] = nd._bitOff;
+        nbits[i] = nd._nbits;
+        boff += nd._bits.length;
+      }
+    }
+    float[] leafVals = new float[nleaves];
+    for (int i = 0; i < nleaves; i++) leafVals[newLeaf[i]] = leaves.get(i);
+    int[] domainLens = new int[maxCol + 1];
+    for (int c = 0; c <= maxCol; c++)
+      domainLens[c] = domains != null && c < domains.length && domains[c] != null ? domains[c].length : -1;
+    return new FlatTree(colIds, splitVals, flags, left, right, leafVals, bitsOff, bitOff, nbits, bits, domainLens);
+  }
+
+  private static final class Node {
+    int _col;
+    float _splitVal;
+    byte _flags;
+    int _left, _right;
+    byte[] _bits;
+    int _bitOff, _nbits;
+  }
+
+  // Parse the node at the current position (and its subtrees), return its reference
+  private static int parse(byte[] tree, ByteBufferWrapper ab, ArrayList<Node> nodes, ArrayList<Float> leaves) {
+    int nodeType = ab.get1U();
+    int colId = ab.get2();
+    if (colId == 65535) { // Stump
+      leaves.add(ab.get4f());
+      return ~(leaves.size() - 1);
+    }
+    Node nd = new Node();
+    int id = nodes.size();
+    nodes.add(nd);
+    nd._col = colId;
+    int naSplitDir = ab.get1U();
+    boolean naVsRest = naSplitDir == NsdNaVsRest;
+    if (naSplitDir == NsdNaLeft || naSplitDir == NsdLeft) nd._flags |= NA_LEFT;
+    if (naVsRest) nd._flags |= NA_VS_REST;
+    int equal = (nodeType & 12);
+    if (!naVsRest) {
+      if (equal == 0) {
+        nd._splitVal = ab.get4f();
+      } else {
+        nd._flags |= BITSET;
+        int nbits = 32, bitOff = 0;
+        if (equal != 8) {
+          bitOff = ab.get2();
+          nbits = ab.get4();
+        }
+        int nbytes = ((nbits - 1) >> 3) + 1;
+        nd._bits = new byte[nbytes];
+        System.arraycopy(tree, ab.position(), nd._bits, 0, nbytes);
+        ab.skip(nbytes);
+        nd._bitOff = bitOff;
+        nd._nbits = nbits;
+      }
+    }
+    int lmask = (nodeType & 51);
+    switch (lmask) { // Size of the left subtree - not needed, we parse it anyway
+      case 0: ab.skip(1); break;
+      case 1: ab.skip(2); break;
+      case 2: ab.skip(3); break;
+      case 3: ab.skip(4); break;
+      default: break;
+    }
+    nd._left = child(tree, ab, lmask, nodes, leaves);
+    nd._right = child(tree, ab, (nodeType & 0xC0) >> 2, nodes, leaves);
+    return id;
+  }
+
+  private static int child(byte[] tree, ByteBufferWrapper ab, int mask, ArrayList<Node> nodes, ArrayList<Float> leaves) {
+    if ((mask & 16) != 0) {
+      leaves.add(ab.get4f());
+      return ~(leaves.size() - 1);
+    }
+    return parse(tree, ab, nodes, leaves);
+  }
+}
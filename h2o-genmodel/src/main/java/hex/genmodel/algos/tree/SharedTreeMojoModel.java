@@ -53,6 +53,13 @@ public abstract class SharedTreeMojoModel extends MojoModel implements TreeBacke
      */
     protected byte[][] _compressed_trees_aux;
 
+    /**
+     * Decoded trees used for computing predictions, in the same layout as {@link #_compressed_trees}; null if the
+     * predictions are computed directly from the compressed trees (old MOJO versions, or if disabled by setting
+     * the system property {@code sys.ai.h2o.genmodel.tree.flat} to false).
+     */
+    protected FlatTree[] _flat_trees;
+
     /**
      * GLM's beta used for calibrating output probabilities using Platt Scaling.
      */
@@ -68,6 +75,16 @@ public abstract class SharedTreeMojoModel extends MojoModel implements TreeBacke
         _scoreTree = new ScoreTree1(); // Second version
       } else
         _scoreTree = new ScoreTree2(); // Current version
+      if (_mojo_version >= 1.2 && Boolean.parseBoolean(System.getProperty("sys.ai.h2o.genmodel.tree.flat", "true")))
+        _flat_trees = makeFlatTrees(_compressed_trees, _domains);
+    }
+
+    static FlatTree[] makeFlatTrees(byte[][] trees, String[][] domains) {
+      FlatTree[] flat = new FlatTree[trees.length];
+      for (int i = 0; i < trees.length; i++)
+        if (trees[i] != null)
+          flat[i] = FlatTree.make(trees[i], domains);
+      return flat;
     }
 
     @Override
@@ -694,6 +711,35 @@ public abstract class SharedTreeMojoModel extends MojoModel implements TreeBacke
         scoreTreeRange(row, 0, _ntree_groups, preds);
     }
 
+    /**
+     * Scores the block tree by tree - each tree is walked for all the rows of the block before moving on to the next
+     * tree, so the tree stays in the cache.
+     */
+    @Override
+    public void score0(double[][] cols, double[] offsets, int nrows, double[][] preds) {
+        if (_flat_trees == null) {
+            super.score0(cols, offsets, nrows, preds);
+            return;
+        }
+        for (int r = 0; r < nrows; r++)
+            java.util.Arrays.fill(preds[r], 0);
+        final int clOffset = _nclasses == 1 ? 0 : 1;
+        for (int classIndex = 0; classIndex < _ntrees_per_group; classIndex++) {
+            int k = clOffset + classIndex;
+            for (int groupIndex = 0; groupIndex < _ntree_groups; groupIndex++) {
+                FlatTree tree = _flat_trees[treeIndex(groupIndex, classIndex)];
+                if (tree != null) // Skip all empty trees
+                    tree.score(cols, nrows, preds, k);
+            }
+        }
+        final double[] row = new double[cols.length];
+        for (int r = 0; r < nrows; r++) {
+            for (int c = 0; c < row.length; c++)
+                row[c] = cols[c][r];
+            unifyPreds(row, offsets != null ? offsets[r] : 0, preds[r]);
+        }
+    }
+
     /**
      * Transforms tree predictions into the final model predictions.
      * For classification: converts tree preds into probability distribution and picks predicted class.
@@ -729,7 +775,10 @@ public abstract class SharedTreeMojoModel extends MojoModel implements TreeBacke
             int k = clOffset + classIndex;
             int itree = treeIndex(fromIndex, classIndex);
             for (int groupIndex = fromIndex; groupIndex < toIndex; groupIndex++) {
-                if (_compressed_trees[itree] != null) { // Skip all empty trees
+                if (_flat_trees != null) {
+                  if (_flat_trees[itree] != null) // Skip all empty trees
+                    preds[k] += _flat_trees[itree].score(row);
+                } else if (_compressed_trees[itree] != null) { // Skip all empty trees
                   preds[k] += _scoreTree.scoreTree(_compressed_trees[itree], row, false, _domains);
                 }
                 itree++;
@@ -51,6 +51,8 @@ import java.util.*;
  * See the top-of-tree master version of this file <a href="https://github.com/h2oai/h2o-3/blob/master/h2o-genmodel/src/main/java/hex/genmodel/easy/EasyPredictModelWrapper.java" target="_blank">here on github</a>.
  */
 public class EasyPredictModelWrapper implements Serializable {
+  private static final String[] QUASIBINOMIAL_DOMAIN = new String[]{"0", "1"};
+
   // These private members are read-only after the constructor.
   public final GenModel m;
   private final RowToRawDataConverter rowDataConverter;
@@ -61,6 +63,7 @@ public class EasyPredictModelWrapper implements Serializable {
   private final boolean enableStagedProbabilities; // if set true, staged probabilities from tree agos are returned
   private final boolean enableContributions; // if set to true, will return prediction contributions (SHAP values) - for GBM & XGBoost
   private final int glrmIterNumber; // allow user to set GLRM mojo iteration number in constructing x.
+  private final boolean customFillRawData; // a subclass overrides fillRawData(RowData, double[]), see fillRawData(ReusableRow)
 
   private final PredictContributions predictContributions;
   
@@ -307,6 +310,19 @@ public class EasyPredictModelWrapper implements Serializable {
     Map<Integer, CategoricalEncoder> domainMap = categoricalEncoding.createCategoricalEncoders(m, columnMapping);
 
     rowDataConverter = RowDataConverterFactory.makeConverter(m, columnMapping, domainMap, errorConsumer, config);
+    customFillRawData = overridesFillRawData(getClass());
+  }
+
+  private static boolean overridesFillRawData(Class<?> c) {
+    for (; c != EasyPredictModelWrapper.class; c = c.getSuperclass()) {
+      try {
+        c.getDeclaredMethod("fillRawData", RowData.class, double[].class);
+        return true;
+      } catch (NoSuchMethodException e) {
+        // Not overridden at this level
+      }
+    }
+    return false;
   }
 
   /**
@@ -582,6 +598,55 @@ public class EasyPredictModelWrapper implements Serializable {
     return p;
   }
 
+  /**
+   * Make a prediction on a new data point using a Binomial model, without allocating (see {@link ReusableRow}).
+   *
+   * The optional outputs enabled in the {@link Config} (leaf node assignment, staged probabilities, contributions)
+   * are still computed, but they are freshly allocated for every prediction.
+   *
+   * @param row A new data point, made by {@link #makeReusableRow(String...)}.
+   * @param p Prediction to fill in, it can be reused for every call; its class probability arrays are reused
+   *          if they have the right size.
+   * @return The prediction `p`.
+   * @throws PredictException
+   */
+  public BinomialModelPrediction predictBinomial(ReusableRow row, BinomialModelPrediction p) throws PredictException {
+    return predictBinomial(row, 0.0, p);
+  }
+
+  /**
+   * Make a prediction on a new data point using a Binomial model, without allocating (see {@link ReusableRow}).
+   *
+   * @param row A new data point, made by {@link #makeReusableRow(String...)}.
+   * @param offset An offset for the prediction.
+   * @param p Prediction to fill in, it can be reused for every call.
+   * @return The prediction `p`.
+   * @throws PredictException
+   */
+  public BinomialModelPrediction predictBinomial(ReusableRow row, double offset, BinomialModelPrediction p) throws PredictException {
+    double[] preds = predict(ModelCategory.Binomial, row, offset);
+
+    p.leafNodeAssignments = null;
+    p.leafNodeAssignmentIds = null;
+    if (enableLeafAssignment) { // only get leaf node assignment if enabled
+      SharedTreeMojoModel.LeafNodeAssignments assignments = ((SharedTreeMojoModel) m).getLeafNodeAssignments(fillRawData(row));
+      p.leafNodeAssignments = assignments._paths;
+      p.leafNodeAssignmentIds = assignments._nodeIds;
+    }
+    p.labelIndex = (int) preds[0];
+    String[] domainValues = m.getDomainValues(m.getResponseIdx());
+    if (domainValues == null && m.getNumResponseClasses() == 2)
+      domainValues = QUASIBINOMIAL_DOMAIN;
+    p.label = domainValues[p.labelIndex];
+    p.classProbabilities = copyOf(preds, 1, m.getNumResponseClasses(), p.classProbabilities);
+    p.calibratedClassProbabilities = m.calibrateClassProbabilities(preds) ?
+            copyOf(preds, 1, m.getNumResponseClasses(), p.calibratedClassProbabilities) : null;
+    p.stageProbabilities = enableStagedProbabilities ?
+            ((SharedTreeMojoModel) m).scoreStagedPredictions(fillRawData(row), preds.length) : null;
+    p.contributions = enableContributions ? predictContributions.calculateContributions(fillRawData(row)) : null;
+    return p;
+  }
+
   /**
    * Perform target encoding based on TargetEncoderMojoModel
    * @param data RowData structure with data for which we want to produce transformations
@@ -785,6 +850,58 @@ public class EasyPredictModelWrapper implements Serializable {
     return p;
   }
 
+  /**
+   * Make a prediction on a new data point using a Regression model, without allocating (see {@link ReusableRow}).
+   *
+   * @param row A new data point, made by {@link #makeReusableRow(String...)}.
+   * @param p Prediction to fill in, it can be reused for every call.
+   * @return The prediction `p`.
+   * @throws PredictException
+   */
+  public RegressionModelPrediction predictRegression(ReusableRow row, RegressionModelPrediction p) throws PredictException {
+    return predictRegression(row, 0D, p);
+  }
+
+  /**
+   * Make a prediction on a new data point using a Regression model, without allocating (see {@link ReusableRow}).
+   *
+   * The optional outputs enabled in the {@link Config} (leaf node assignment, staged probabilities, contributions)
+   * are still computed, but they are freshly allocated for every prediction.
+   *
+   * @param row A new data point, made by {@link #makeReusableRow(String...)}.
+   * @param offset Prediction offset
+   * @param p Prediction to fill in, it can be reused for every call.
+   * @return The prediction `p`.
+   * @throws PredictException
+   */
+  public RegressionModelPrediction predictRegression(ReusableRow row, double offset, RegressionModelPrediction p) throws PredictException {
+    double[] preds = predict(ModelCategory.Regression, row, offset);
+
+    p.leafNodeAssignments = null;
+    p.leafNodeAssignmentIds = null;
+    if (enableLeafAssignment) { // only get leaf node assignment if enabled
+      SharedTreeMojoModel.LeafNodeAssignments assignments = ((SharedTreeMojoModel) m).getLeafNodeAssignments(fillRawData(row));
+      p.leafNodeAssignments = assignments._paths;
+      p.leafNodeAssignmentIds = assignments._nodeIds;
+    }
+    p.value = preds[0];
+    p.stageProbabilities = enableStagedProbabilities ?
+            ((SharedTreeMojoModel) m).scoreStagedPredictions(fillRawData(row), preds.length) : null;
+    p.contributions = enableContributions ? predictContributions.calculateContributions(fillRawData(row)) : null;
+    return p;
+  }
+
+  /**
+   * Make a reusable input row for the given columns, the column names are resolved to the model columns once
+   * (columns not used by the model are ignored). See {@link ReusableRow}.
+   *
+   * @param columnNames Names of the input columns, in the order used by the caller.
+   * @return A new row with no value set.
+   */
+  public ReusableRow makeReusableRow(String... columnNames) {
+    return rowDataConverter.makeReusableRow(columnNames, m.nfeatures(), m.getPredsSize(m.getModelCategory()));
+  }
+
   //----------------------------------------------------------------------
   // Transparent methods passed through to GenModel.
   //----------------------------------------------------------------------
@@ -838,6 +955,35 @@ public class EasyPredictModelWrapper implements Serializable {
     return predict(data, offset, new double[predsSize]);
   }
 
+  private double[] predict(ModelCategory c, ReusableRow row, double offset) throws PredictException {
+    if (c != m.getModelCategory()) // avoids allocating the set of model categories in the common case
+      validateModelCategory(c);
+    double[] rawData = fillRawData(row);
+    if (m.requiresOffset() || offset != 0) {
+      return m.score0(rawData, offset, row._preds);
+    }
+    else {
+      return m.score0(rawData, row._preds);
+    }
+  }
+
+  // Fast path unless a subclass customizes fillRawData(RowData, double[]), the row is then converted to a RowData
+  private double[] fillRawData(ReusableRow row) throws PredictException {
+    if (customFillRawData) {
+      Arrays.fill(row._rawData, Double.NaN);
+      return fillRawData(row.toRowData(), row._rawData);
+    }
+    return rowDataConverter.convert(row, row._rawData);
+  }
+
+  // Copy of preds[from..from+len), reuses the target if it has the right length
+  private static double[] copyOf(double[] preds, int from, int len, double[] target) {
+    if (target == null || target.length != len)
+      target = new double[len];
+    System.arraycopy(preds, from, target, 0, len);
+    return target;
+  }
+
   private static double[] nanArray(int len) {
     double[] arr = new double[len];
     for (int i = 0; i < len; i++) {
@@ -0,0 +1,89 @@
+package hex.genmodel.easy;
+
+import java.util.Arrays;
+
+/**
+ * A caller-owned, reusable input row for a fixed set of columns - an allocation-free alternative to {@link RowData}.
+ *
+ * Create it once with {@link EasyPredictModelWrapper#makeReusableRow(String...)}, which resolves the column names
+ * to the model columns (and their categorical encoders) up front. For every new data point set the values by
+ * position and pass the row to one of the predict methods taking a ReusableRow - they reuse the buffers of the row
+ * and don't look up any column names.
+ *
+ * Numerical values are set as primitive doubles, categorical levels as Strings. Values which were not set are missing,
+ * like the columns absent from a RowData; a value set to NaN is handled like a NaN put into a RowData.
+ * A row is not thread-safe, use one row per thread.
+ */
+public final class ReusableRow {
+
+  final String[] _names;
+  final int[] _indices;                 // Model column index of each column, -1 if not used by the model
+  final CategoricalEncoder[] _encoders; // null for numerical columns
+  final double[] _nums;
+  final String[] _strs;                 // If set, the value of the column is a String
+  final boolean[] _set;                 // Was the value of the column set (since the last clear)?
+
+  // Scoring buffers
+  final double[] _rawData;
+  final double[] _preds;
+
+  ReusableRow(String[] names, int[] indices, CategoricalEncoder[] encoders, int nfeatures, int predsSize) {
+    _names = names;
+    _indices = indices;
+    _encoders = encoders;
+    _nums = new double[names.length];
+    _strs = new String[names.length];
+    _set = new boolean[names.length];
+    _rawData = new double[nfeatures];
+    _preds = new double[predsSize];
+    clear();
+  }
+
+  /** Number of columns of the row */
+  public int size() { return _names.length; }
+
+  /** Name of the column at the given position */
+  public String getName(int pos) { return _names[pos]; }
+
+  /** @return true if the column at the given position is used by the model */
+  public boolean isUsed(int pos) { return _indices[pos] >= 0; }
+
+  /** Set a numerical value (categorical columns only accept NaN) */
+  public ReusableRow setNumber(int pos, double value) {
+    _nums[pos] = value;
+    _strs[pos] = null;
+    _set[pos] = true;
+    return this;
+  }
+
+  /** Set a categorical level, or a numerical value to be parsed */
+  public ReusableRow setString(int pos, String value) {
+    _strs[pos] = value;
+    _nums[pos] = Double.NaN;
+    _set[pos] = true;
+    return this;
+  }
+
+  /** Set the column at the given position to NA */
+  public ReusableRow setNA(int pos) {
+    return setNumber(pos, Double.NaN);
+  }
+
+  /** Unset all the columns */
+  public ReusableRow clear() {
+    Arrays.fill(_nums, Double.NaN);
+    Arrays.fill(_strs, null);
+    Arrays.fill(_set, false);
+    return this;
+  }
+
+  /** @return the values set in this row as a (newly allocated) RowData */
+  RowData toRowData() {
+    RowData data = new RowData();
+    for (int i = 0; i < _names.length; i++)
+      if (_set[i])
+        data.put(_names[i], _strs[i] != null ? _strs[i] : (Object) _nums[i]);
+    return data;
+  }
+
+}
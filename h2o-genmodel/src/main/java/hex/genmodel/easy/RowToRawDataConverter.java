@@ -7,6 +7,7 @@ import hex.genmodel.easy.exception.PredictUnknownCategoricalLevelException;
 import hex.genmodel.easy.exception.PredictUnknownTypeException;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -14,6 +15,8 @@ import java.util.Map;
  */
 public class RowToRawDataConverter implements Serializable {
 
+  private static final Double NA = Double.NaN; // Boxed once, see convert(ReusableRow, double[])
+
   private final Map<String, Integer> _modelColumnNameToIndexMap;
   private final Map<Integer, CategoricalEncoder> _domainMap;
   private final EasyPredictModelWrapper.ErrorConsumer _errorConsumer;
@@ -59,6 +62,53 @@ public class RowToRawDataConverter implements Serializable {
     return rawData;
   }
 
+  /**
+   * Resolves the given column names to the model columns, see {@link ReusableRow}.
+   */
+  ReusableRow makeReusableRow(String[] columnNames, int nfeatures, int predsSize) {
+    int[] indices = new int[columnNames.length];
+    CategoricalEncoder[] encoders = new CategoricalEncoder[columnNames.length];
+    for (int i = 0; i < columnNames.length; i++) {
+      Integer index = _modelColumnNameToIndexMap.get(columnNames[i]);
+      // Skip unknown columns and the response column, same as convert(RowData, double[])
+      indices[i] = index == null || index >= nfeatures ? -1 : index;
+      encoders[i] = indices[i] >= 0 ? _domainMap.get(index) : null;
+    }
+    return new ReusableRow(columnNames.clone(), indices, encoders, nfeatures, predsSize);
+  }
+
+  /**
+   * Same as {@link #convert(RowData, double[])} for a {@link ReusableRow}; doesn't allocate unless an error
+   * is reported.
+   *
+   * @param row row with the values
+   * @param rawData array that will be filled up from the row and returned
+   */
+  public double[] convert(ReusableRow row, double[] rawData) throws PredictException {
+    Arrays.fill(rawData, Double.NaN);
+    for (int i = 0; i < row._indices.length; i++) {
+      final int index = row._indices[i];
+      // Skip the columns not used by the model, and the ones not set (same as the columns absent from a RowData)
+      if (index < 0 || !row._set[i]) continue;
+      final String s = row._strs[i];
+      final boolean stop;
+      if (s != null) {
+        stop = convertValue(row._names[i], s, row._encoders[i], index, rawData);
+      } else if (Double.isNaN(row._nums[i])) {
+        stop = convertValue(row._names[i], NA, row._encoders[i], index, rawData);
+      } else if (row._encoders[i] == null) {
+        rawData[index] = row._nums[i];
+        stop = false;
+      } else {
+        _errorConsumer.dataTransformError(row._names[i], row._nums[i], "Unknown categorical variable type.");
+        throw new PredictUnknownTypeException(
+                "Unexpected numerical value " + row._nums[i] + " for categorical column " + row._names[i]);
+      }
+      if (stop) return rawData;
+    }
+    return rawData;
+  }
+
   protected boolean convertValue(String columnName, Object o, CategoricalEncoder catEncoder,
                                  int targetIndex, double[] rawData) throws PredictException {
     if (catEncoder == null) {
@@ -47,10 +47,21 @@ public class GlmMojoModelTest {
 
     GlmMojoModel mojo = (GlmMojoModel) ModelMojoReader.readFrom(new ClasspathReaderBackend());
 
+    double[][] cols = new double[data[0].length][data.length];
+    for (int i = 0; i < data.length; i++)
+      for (int c = 0; c < cols.length; c++)
+        cols[c][i] = data[i][c];
+
     for (int i = 0; i < data.length; i++) {
       double preds[] = mojo.score0(data[i], new double[3]);
       assertArrayEquals("Predictions for row #" + i, expPreds[i], preds, 0.0000001);
     }
+
+    double[][] batchPreds = new double[data.length][3];
+    mojo.score0(cols, null, data.length, batchPreds);
+    for (int i = 0; i < data.length; i++)
+      assertArrayEquals("Batch predictions for row #" + i, expPreds[i], batchPreds[i], 0.0000001);
+    assertTrue("Input columns are not modified", Double.isNaN(cols[1][data.length - 1]));
   }
 
   private static class ClasspathReaderBackend implements MojoReaderBackend {
@@ -24,6 +24,9 @@ public class SharedTreeMojoModelTest {
     // Leaf Node Assignment
     final double path = SharedTreeMojoModel.scoreTree(tree, null, true, null);
     assertEquals("", SharedTreeMojoModel.getDecisionPath(path));
+
+    // Flat Tree Prediction
+    assertEquals(4.2f, FlatTree.make(tree, null).score(null), 0.0);
   }
 
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import hex.genmodel.MojoModel;
 import hex.genmodel.algos.word2vec.WordEmbeddingModel;
 import hex.genmodel.easy.error.CountingErrorConsumer;
 import hex.genmodel.easy.error.VoidErrorConsumer;
+import hex.genmodel.easy.exception.PredictException;
 import hex.genmodel.easy.exception.PredictUnknownCategoricalLevelException;
 import hex.genmodel.easy.prediction.*;
 import org.junit.Assert;
@@ -185,6 +186,96 @@ public class EasyPredictModelWrapperTest {
 
   }
 
+  @Test
+  public void testPredictBinomialReusableRow() throws Exception {
+    final List<double[]> scored = new ArrayList<>();
+    SupervisedModel rawModel = new SupervisedModel(new String[]{"C1", "C2", "RESPONSE"},
+            new String[][]{{"c1level1", "c1level2"}, null, {"NO", "YES"}}) {
+      @Override
+      public double[] score0(double[] data, double[] preds) {
+        scored.add(data.clone());
+        return super.score0(data, preds);
+      }
+    };
+    EasyPredictModelWrapper m = new EasyPredictModelWrapper(rawModel);
+
+    ReusableRow row = m.makeReusableRow("C2", "UNKNOWN", "C1");
+    Assert.assertTrue(row.isUsed(0));
+    Assert.assertFalse(row.isUsed(1));
+    Assert.assertTrue(row.isUsed(2));
+
+    BinomialModelPrediction p = new BinomialModelPrediction();
+    row.setNumber(0, 4.2).setString(1, "whatever").setString(2, "c1level2");
+    Assert.assertSame(p, m.predictBinomial(row, p));
+    double[] probs = p.classProbabilities;
+    Assert.assertEquals("NO", p.label);
+    Assert.assertArrayEquals(new double[]{1.0, 0.0}, probs, 0);
+
+    row.clear().setString(0, "1.5");
+    m.predictBinomial(row, p);
+    Assert.assertSame(probs, p.classProbabilities);
+
+    RowData rowData = new RowData();
+    rowData.put("C1", "c1level2");
+    rowData.put("C2", 4.2);
+    m.predictBinomial(rowData);
+
+    Assert.assertEquals(3, scored.size());
+    Assert.assertEquals(1, scored.get(0)[0], 0);
+    Assert.assertEquals(4.2, scored.get(0)[1], 0);
+    Assert.assertTrue(Double.isNaN(scored.get(1)[0]));
+    Assert.assertEquals(1.5, scored.get(1)[1], 0);
+    Assert.assertArrayEquals(scored.get(2), scored.get(0), 0);
+  }
+
+  @Test
+  public void testReusableRowMissingValuesLikeRowData() throws Exception {
+    SupervisedModel rawModel = makeSupervisedModel();
+    CountingErrorConsumer errors = new CountingErrorConsumer(rawModel);
+    EasyPredictModelWrapper m = new EasyPredictModelWrapper(new EasyPredictModelWrapper.Config()
+            .setModel(rawModel)
+            .setErrorConsumer(errors));
+    ReusableRow row = m.makeReusableRow("C1", "C2");
+    BinomialModelPrediction p = new BinomialModelPrediction();
+
+    m.predictBinomial(row.setString(1, "c2level2"), p); // C1 not set, same as absent from a RowData
+    Assert.assertEquals(0, errors.getDataTransformationErrorsCount());
+    RowData rowData = new RowData();
+    rowData.put("C2", "c2level2");
+    m.predictBinomial(rowData);
+    Assert.assertEquals(0, errors.getDataTransformationErrorsCount());
+
+    m.predictBinomial(row.setNA(0), p); // C1 set to NaN, same as a NaN in a RowData
+    Assert.assertEquals(1, errors.getDataTransformationErrorsCount());
+    rowData.put("C1", Double.NaN);
+    m.predictBinomial(rowData);
+    Assert.assertEquals(2, errors.getDataTransformationErrorsCount());
+  }
+
+  @Test
+  public void testReusableRowGoesThroughFillRawData() throws Exception {
+    final List<RowData> filled = new ArrayList<>();
+    EasyPredictModelWrapper m = new EasyPredictModelWrapper(makeSupervisedModel()) {
+      @Override
+      protected double[] fillRawData(RowData data, double[] rawData) throws PredictException {
+        filled.add(data);
+        return super.fillRawData(data, rawData);
+      }
+    };
+    ReusableRow row = m.makeReusableRow("C1", "C2");
+    m.predictBinomial(row.setString(0, "c1level2"), new BinomialModelPrediction());
+    Assert.assertEquals(1, filled.size());
+    Assert.assertEquals("c1level2", filled.get(0).get("C1"));
+    Assert.assertFalse(filled.get(0).containsKey("C2"));
+  }
+
+  @Test(expected = PredictUnknownCategoricalLevelException.class)
+  public void testPredictBinomialReusableRowUnknownLevel() throws Exception {
+    EasyPredictModelWrapper m = new EasyPredictModelWrapper(makeSupervisedModel());
+    ReusableRow row = m.makeReusableRow("C1");
+    m.predictBinomial(row.setString(0, "c1level3"), new BinomialModelPrediction());
+  }
+
   @Test
   public void testSerializeWrapper() throws Exception {
     SupervisedModel rawModel = makeSupervisedModel();
@@ -32,20 +32,31 @@ class ChunkConverter extends GroupConverter {
   private long _currentRecordIdx = -1;
 
   ChunkConverter(MessageType parquetSchema, byte[] chunkSchema, WriterDelegate writer, boolean[] keepcolumns) {
+    this(parquetSchema, parquetSchema, chunkSchema, writer, keepcolumns);
+  }
+
+  /**
+   * @param parquetSchema schema of the file
+   * @param requestedSchema projection of the file schema actually read (converters are indexed by its fields)
+   */
+  ChunkConverter(MessageType parquetSchema, MessageType requestedSchema, byte[] chunkSchema, WriterDelegate writer,
+                 boolean[] keepcolumns) {
     _writer = writer;
     _keepColumns = keepcolumns;
 
     int colIdx = 0; // index to columns actually parsed
-    _converters = new Converter[chunkSchema.length];
+    _converters = new Converter[requestedSchema.getFieldCount()];
+    int requestedIdx = 0; // index to columns actually read
     int trueColumnIndex = 0;  // count all columns including the skipped ones
     for (Type parquetField : parquetSchema.getFields()) {
       assert parquetField.isPrimitive();
-      if (_keepColumns[trueColumnIndex]) {
-        _converters[trueColumnIndex] = newConverter(colIdx, chunkSchema[trueColumnIndex], parquetField.asPrimitiveType());
-        colIdx++;
-      } else {
-        _converters[trueColumnIndex] = nullConverter(chunkSchema[trueColumnIndex], parquetField.asPrimitiveType());
+      boolean keep = _keepColumns == null || _keepColumns[trueColumnIndex];
+      if (requestedSchema.containsField(parquetField.getName())) {
+        _converters[requestedIdx++] = keep ?
+                newConverter(colIdx, chunkSchema[trueColumnIndex], parquetField.asPrimitiveType()) :
+                nullConverter(chunkSchema[trueColumnIndex], parquetField.asPrimitiveType());
       }
+      if (keep) colIdx++;
 
       trueColumnIndex++;
     }
@@ -71,6 +82,10 @@ class ChunkConverter extends GroupConverter {
     return _currentRecordIdx;
   }
 
+  void commitRecord() {
+    _writer.commitLine();
+  }
+
   private PrimitiveConverter nullConverter(byte vecType, PrimitiveType parquetType) {
     switch (vecType) {
       case Vec.T_BAD:
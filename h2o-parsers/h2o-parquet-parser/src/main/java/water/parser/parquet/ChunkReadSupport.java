@@ -5,30 +5,54 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class ChunkReadSupport extends ReadSupport<Long> {
 
   private WriterDelegate _writer;
   private byte[] _chunkSchema;
   private boolean[] _keepColumns;
+  private Set<String> _filterColumns; // columns the row filters need, read even if skipped
 
   public ChunkReadSupport(WriterDelegate writer, byte[] chunkSchema, boolean[] keepcolumns) {
+    this(writer, chunkSchema, keepcolumns, Collections.<String>emptySet());
+  }
+
+  ChunkReadSupport(WriterDelegate writer, byte[] chunkSchema, boolean[] keepcolumns, Set<String> filterColumns) {
     _writer = writer;
     _chunkSchema = chunkSchema;
     _keepColumns = keepcolumns;
+    _filterColumns = filterColumns;
   }
 
+  /**
+   * Requests only the parsed columns (and the columns needed by the row filters), the column chunks of the skipped
+   * columns are not read at all.
+   */
   @Override
   public ReadContext init(InitContext context) {
-    return new ReadContext(context.getFileSchema());
+    MessageType fileSchema = context.getFileSchema();
+    if (_keepColumns == null)
+      return new ReadContext(fileSchema);
+    List<Type> fields = new ArrayList<>();
+    for (int i = 0; i < fileSchema.getFieldCount(); i++) {
+      Type field = fileSchema.getType(i);
+      if (_keepColumns[i] || _filterColumns.contains(field.getName()))
+        fields.add(field);
+    }
+    return new ReadContext(new MessageType(fileSchema.getName(), fields));
   }
 
   @Override
   public RecordMaterializer<Long> prepareForRead(Configuration configuration, Map<String, String> keyValueMetaData,
                                                     MessageType fileSchema, ReadContext readContext) {
-    return new ChunkRecordMaterializer(fileSchema, _chunkSchema, _writer, _keepColumns);
+    return new ChunkRecordMaterializer(fileSchema, readContext.getRequestedSchema(), _chunkSchema, _writer, _keepColumns);
   }
 
 }
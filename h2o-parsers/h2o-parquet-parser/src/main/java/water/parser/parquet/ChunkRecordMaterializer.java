@@ -9,18 +9,21 @@ import org.apache.parquet.schema.MessageType;
  *
  * This implementation doesn't directly return any records. The rows are written to Chunks
  * indirectly using a ParseWriter and function getCurrentRecord returns the index of the record
- * in the current chunk.
+ * in the current chunk. With row filters the materializer is only asked for the records passing the
+ * filters, the lines are committed to the ParseWriter at that point.
  */
 class ChunkRecordMaterializer extends RecordMaterializer<Long> {
 
   private ChunkConverter _converter;
 
-  ChunkRecordMaterializer(MessageType parquetSchema, byte[] chunkSchema, WriterDelegate writer, boolean[] keepColumns) {
-    _converter = new ChunkConverter(parquetSchema, chunkSchema, writer, keepColumns);
+  ChunkRecordMaterializer(MessageType parquetSchema, MessageType requestedSchema, byte[] chunkSchema,
+                          WriterDelegate writer, boolean[] keepColumns) {
+    _converter = new ChunkConverter(parquetSchema, requestedSchema, chunkSchema, writer, keepColumns);
   }
 
   @Override
   public Long getCurrentRecord() {
+    _converter.commitRecord();
     return _converter.getCurrentRecordIdx();
   }
 
@@ -0,0 +1,126 @@
+package water.parser.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.Vec;
+import water.parser.BufferedString;
+import water.util.PrettyPrint;
+
+import java.util.HashMap;
+
+/**
+ * Writes the rows of the current chunks to Parquet records, the record given to the writer is the row of the chunks.
+ * All the columns are optional, missing values are not written:
+ *   categoricals - UTF-8 binaries annotated as ENUM (dictionary encoded by the writer),
+ *   strings and UUIDs - UTF-8 binaries,
+ *   times - int64 TIMESTAMP_MILLIS,
+ *   integer numbers - int64, other numbers - double.
+ */
+class ChunkWriteSupport extends WriteSupport<Integer> {
+
+  private static final int CAT = 0, STR = 1, UUID = 2, LONG = 3, DOUBLE = 4;
+
+  private final MessageType _schema;
+  private final String[] _names;
+  private final int[] _kinds;
+  private final Binary[][] _domains;
+  private final BufferedString _tmpStr = new BufferedString();
+
+  private RecordConsumer _consumer;
+  private Chunk[] _cs;
+
+  ChunkWriteSupport(Frame fr) {
+    _names = fr.names();
+    _kinds = new int[_names.length];
+    _domains = new Binary[_names.length][];
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    for (int i = 0; i < _names.length; i++) {
+      Vec v = fr.vec(i);
+      if (v.isCategorical()) {
+        _kinds[i] = CAT;
+        _domains[i] = new Binary[v.domain().length];
+        for (int l = 0; l < _domains[i].length; l++)
+          _domains[i][l] = Binary.fromString(v.domain()[l]);
+        builder.optional(PrimitiveTypeName.BINARY).as(OriginalType.ENUM).named(_names[i]);
+      } else if (v.isString() || v.isUUID()) {
+        _kinds[i] = v.isString() ? STR : UUID;
+        builder.optional(PrimitiveTypeName.BINARY).as(OriginalType.UTF8).named(_names[i]);
+      } else if (v.isTime()) {
+        _kinds[i] = LONG;
+        builder.optional(PrimitiveTypeName.INT64).as(OriginalType.TIMESTAMP_MILLIS).named(_names[i]);
+      } else if (v.isNumeric() && v.isInt()) {
+        _kinds[i] = LONG;
+        builder.optional(PrimitiveTypeName.INT64).named(_names[i]);
+      } else {
+        _kinds[i] = DOUBLE;
+        builder.optional(PrimitiveTypeName.DOUBLE).named(_names[i]);
+      }
+    }
+    _schema = builder.named("h2o_frame");
+  }
+
+  /** @return size in bytes of the largest categorical domain */
+  int maxDomainBytes() {
+    int max = 0;
+    for (Binary[] domain : _domains) {
+      if (domain == null) continue;
+      int size = 0;
+      for (Binary b : domain) size += b.length() + 4;
+      max = Math.max(max, size);
+    }
+    return max;
+  }
+
+  void setChunks(Chunk[] cs) {
+    _cs = cs;
+  }
+
+  @Override
+  public WriteContext init(Configuration configuration) {
+    return new WriteContext(_schema, new HashMap<String, String>());
+  }
+
+  @Override
+  public void prepareForWrite(RecordConsumer recordConsumer) {
+    _consumer = recordConsumer;
+  }
+
+  @Override
+  public void write(Integer record) {
+    int row = record;
+    _consumer.startMessage();
+    for (int i = 0; i < _cs.length; i++) {
+      Chunk c = _cs[i];
+      if (c.isNA(row)) continue;
+      _consumer.startField(_names[i], i);
+      switch (_kinds[i]) {
+        case CAT:
+          _consumer.addBinary(_domains[i][(int) c.at8(row)]);
+          break;
+        case STR:
+          BufferedString str = c.atStr(_tmpStr, row);
+          _consumer.addBinary(Binary.fromReusedByteArray(str.getBuffer(), str.getOffset(), str.length()));
+          break;
+        case UUID:
+          _consumer.addBinary(Binary.fromString(PrettyPrint.UUID(c.at16l(row), c.at16h(row))));
+          break;
+        case LONG:
+          _consumer.addLong(c.at8(row));
+          break;
+        default:
+          _consumer.addDouble(c.atd(row));
+      }
+      _consumer.endField(_names[i], i);
+    }
+    _consumer.endMessage();
+  }
+
+}
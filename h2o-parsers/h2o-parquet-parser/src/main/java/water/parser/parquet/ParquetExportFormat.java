@@ -0,0 +1,72 @@
+package water.parser.parquet;
+
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import water.exceptions.H2OIllegalArgumentException;
+import water.fvec.Chunk;
+import water.fvec.ExportFormat;
+import water.fvec.Frame;
+
+import java.io.IOException;
+
+/**
+ * Exports frames to Parquet files, see {@link ChunkWriteSupport} for the mapping of the column types.
+ */
+public class ParquetExportFormat extends ExportFormat {
+
+  static final CompressionCodecName DEFAULT_CODEC = CompressionCodecName.SNAPPY;
+
+  @Override
+  public String name() {
+    return ParquetParserProvider.PARQUET_INFO.name();
+  }
+
+  @Override
+  public PartWriter createWriter(Frame fr, String path, boolean overwrite, String compression) throws IOException {
+    return new ParquetPartWriter(fr, path, overwrite, codec(compression));
+  }
+
+  static CompressionCodecName codec(String compression) {
+    if (compression == null)
+      return DEFAULT_CODEC;
+    if ("none".equalsIgnoreCase(compression))
+      return CompressionCodecName.UNCOMPRESSED;
+    try {
+      return CompressionCodecName.valueOf(compression.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new H2OIllegalArgumentException("compression", "exportFrame",
+              "Unsupported Parquet compression " + compression + " (none, gzip and snappy are available).");
+    }
+  }
+
+  private static class ParquetPartWriter implements PartWriter {
+    private final ChunkWriteSupport _writeSupport;
+    private final ParquetWriter<Integer> _writer;
+
+    ParquetPartWriter(Frame fr, String path, boolean overwrite, CompressionCodecName codec) throws IOException {
+      _writeSupport = new ChunkWriteSupport(fr);
+      // the dictionary page has to fit the largest domain, otherwise the categorical column falls back to plain encoding
+      int dictionaryPageSize = Math.max(ParquetWriter.DEFAULT_PAGE_SIZE, _writeSupport.maxDomainBytes());
+      // the file is created through the PersistManager, see PersistFileSystem
+      _writer = new ParquetWriter<>(PersistFileSystem.TARGET_PATH,
+              overwrite ? ParquetFileWriter.Mode.OVERWRITE : ParquetFileWriter.Mode.CREATE,
+              _writeSupport, codec, ParquetWriter.DEFAULT_BLOCK_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE,
+              dictionaryPageSize, true, false, ParquetProperties.WriterVersion.PARQUET_1_0, PersistFileSystem.makeConfiguration(path));
+    }
+
+    @Override
+    public void write(Chunk[] cs) throws IOException {
+      _writeSupport.setChunks(cs);
+      for (int row = 0; row < cs[0]._len; row++)
+        _writer.write(row);
+    }
+
+    @Override
+    public void close() throws IOException {
+      _writer.close();
+    }
+  }
+
+}
@@ -48,7 +48,8 @@ public class ParquetParser extends Parser {
     }
 
     final WriterDelegate w = new WriterDelegate(dout, _setup.getColumnTypes().length);
-    final VecParquetReader reader = new VecParquetReader(vec, metadata, w, _setup.getColumnTypes(), _keepColumns);
+    final VecParquetReader reader = new VecParquetReader(vec, metadata, w, _setup.getColumnTypes(), _keepColumns)
+            .withRowFilters(_setup.getRowFilters());
 
     StreamParseWriter nextChunk = dout;
     try {
@@ -67,7 +68,7 @@ public class ParquetParser extends Parser {
         nextChunk = nextChunk.nextChunk();
         w.setWriter(nextChunk);
       }
-      assert parsedRecs == totalRecs;
+      assert parsedRecs == totalRecs || _setup.getRowFilters() != null;
     } catch (IOException e) {
       throw new RuntimeException("Failed to parse records", e);
     }
@@ -99,7 +100,8 @@ public class ParquetParser extends Parser {
       return dout;
     }
     Log.info("Processing ", metadata.getBlocks().size(), " blocks of chunk #", cidx);
-    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes(), _keepColumns, _setup.get_parse_columns_indices().length);
+    VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes(), _keepColumns, _setup.get_parse_columns_indices().length)
+            .withRowFilters(_setup.getRowFilters());
     try {
       Long recordNumber;
       do {
@@ -0,0 +1,123 @@
+package water.parser.parquet;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import water.exceptions.H2OIllegalArgumentException;
+import water.parser.RowFilter;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Converts the row filters of a parse to a Parquet filter predicate. The predicate is used to drop the row groups
+ * ruled out by their statistics, and to drop the non-matching records of the remaining row groups before they are
+ * written to the chunks.
+ */
+final class ParquetRowFilters {
+
+  private ParquetRowFilters() {}
+
+  /**
+   * @return predicate satisfied by the rows satisfying all the filters, null if there are no filters
+   */
+  static FilterPredicate toPredicate(RowFilter[] filters, MessageType schema) {
+    if (filters == null || filters.length == 0) return null;
+    FilterPredicate res = null;
+    for (RowFilter f : filters) {
+      FilterPredicate p = toPredicate(f, schema);
+      res = res == null ? p : FilterApi.and(res, p);
+    }
+    return res;
+  }
+
+  /**
+   * @return names of the columns the filters refer to
+   */
+  static Set<String> columns(RowFilter[] filters) {
+    Set<String> res = new HashSet<>();
+    if (filters != null)
+      for (RowFilter f : filters) res.add(f._column);
+    return res;
+  }
+
+  private static FilterPredicate toPredicate(RowFilter f, MessageType schema) {
+    if (!schema.containsField(f._column))
+      throw new H2OIllegalArgumentException("Row filter '" + f + "' refers to a column not present in the Parquet file.");
+    PrimitiveType type = schema.getType(f._column).asPrimitiveType();
+    try {
+      if (f._op != RowFilter.Op.IN)
+        return compare(f._column, f._op, type, f._values[0]);
+      if (f._values.length == 0)
+        throw new H2OIllegalArgumentException("Row filter '" + f + "' has an empty list of values.");
+      FilterPredicate res = null;
+      for (String v : f._values) {
+        FilterPredicate p = compare(f._column, RowFilter.Op.EQ, type, v);
+        res = res == null ? p : FilterApi.or(res, p);
+      }
+      return res;
+    } catch (NumberFormatException | ArithmeticException e) {
+      throw new H2OIllegalArgumentException("Row filter '" + f + "' has a value not matching the type of the column (" +
+              type.getPrimitiveTypeName() + ").");
+    }
+  }
+
+  private static FilterPredicate compare(String col, RowFilter.Op op, PrimitiveType type, String value) {
+    switch (type.getPrimitiveTypeName()) {
+      case INT32:
+        return compare(FilterApi.intColumn(col), op, Math.toIntExact(integral(type, value)));
+      case INT64:
+        return compare(FilterApi.longColumn(col), op, integral(type, value));
+      case FLOAT:
+        return compare(FilterApi.floatColumn(col), op, Float.parseFloat(value));
+      case DOUBLE:
+        return compare(FilterApi.doubleColumn(col), op, Double.parseDouble(value));
+      case BINARY:
+      case FIXED_LEN_BYTE_ARRAY:
+        // binary decimals are unscaled two's-complement numbers, they don't compare as the bytes of the value
+        if (type.getOriginalType() == OriginalType.DECIMAL)
+          throw new H2OIllegalArgumentException("Row filters are not supported on the decimal column '" + col +
+                  "' of type " + type.getPrimitiveTypeName() + ".");
+        return compare(FilterApi.binaryColumn(col), op, Binary.fromString(value));
+      case BOOLEAN:
+        Operators.BooleanColumn c = FilterApi.booleanColumn(col);
+        if (op == RowFilter.Op.EQ) return FilterApi.eq(c, Boolean.parseBoolean(value));
+        if (op == RowFilter.Op.NE) return notEq(c, Boolean.parseBoolean(value));
+        throw new H2OIllegalArgumentException("Boolean column '" + col + "' can only be compared for (in)equality.");
+      default:
+        throw new H2OIllegalArgumentException("Row filters are not supported on the column '" + col + "' of type " +
+                type.getPrimitiveTypeName() + ".");
+    }
+  }
+
+  // Value of an integer column, decimals are stored unscaled
+  private static long integral(PrimitiveType type, String value) {
+    if (type.getOriginalType() != OriginalType.DECIMAL) return Long.parseLong(value);
+    return new BigDecimal(value).movePointRight(type.getDecimalMetadata().getScale()).longValueExact();
+  }
+
+  // Parquet's notEq keeps the nulls, missing values never satisfy a filter
+  private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsEqNotEq>
+  FilterPredicate notEq(C c, T v) {
+    return FilterApi.and(FilterApi.notEq(c, v), FilterApi.notEq(c, (T) null));
+  }
+
+  private static <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+  FilterPredicate compare(C c, RowFilter.Op op, T v) {
+    switch (op) {
+      case EQ: return FilterApi.eq(c, v);
+      case NE: return notEq(c, v);
+      case LT: return FilterApi.lt(c, v);
+      case LE: return FilterApi.ltEq(c, v);
+      case GT: return FilterApi.gt(c, v);
+      case GE: return FilterApi.gtEq(c, v);
+      default: throw new IllegalArgumentException("Unexpected operator " + op);
+    }
+  }
+
+}
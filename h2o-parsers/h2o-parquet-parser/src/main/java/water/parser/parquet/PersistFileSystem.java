@@ -0,0 +1,102 @@
+package water.parser.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.*;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.util.Progressable;
+import water.H2O;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Virtual implementation of a Hadoop FileSystem backed by H2O's PersistManager.
+ * Instances of this class provide write-only access to a single target file, the file is created by the Persist
+ * backend handling the target path (the same way the CSV export creates its files). This makes the Parquet writer
+ * available for all the backends supported by H2O, not just for the ones known to Hadoop.
+ * The target path is injected using the configuration (see {@link #makeConfiguration(String)}).
+ */
+class PersistFileSystem extends FileSystem {
+
+  private static final String TARGET_PROP = "fs.h2opm.target.path";
+
+  static Path TARGET_PATH = new Path("h2opm:/target");
+
+  private String _target;
+
+  @Override
+  public void initialize(URI name, Configuration conf) throws IOException {
+    _target = conf.get(TARGET_PROP);
+    if (_target == null) {
+      throw new IllegalArgumentException("Configuration needs to a reference to a target path (set property '" + TARGET_PROP + "').");
+    }
+    super.initialize(name, conf);
+  }
+
+  @Override
+  public URI getUri() {
+    return URI.create("h2opm:/");
+  }
+
+  @Override
+  public FSDataOutputStream create(Path f, FsPermission permission, boolean overwrite, int bufferSize, short replication, long blockSize, Progressable progress) throws IOException {
+    if (! f.equals(TARGET_PATH)) {
+      throw new IllegalArgumentException("Invalid path specified, expected " + TARGET_PATH);
+    }
+    return new FSDataOutputStream(H2O.getPM().create(_target, overwrite), statistics);
+  }
+
+  @Override
+  public FSDataInputStream open(Path f, int bufferSize) throws IOException {
+    throw new UnsupportedOperationException("This is a virtual write-only file system, 'open' not supported!");
+  }
+
+  @Override
+  public FSDataOutputStream append(Path f, int bufferSize, Progressable progress) throws IOException {
+    throw new UnsupportedOperationException("This is a virtual write-only file system, 'append' not supported!");
+  }
+
+  @Override
+  public boolean rename(Path src, Path dst) throws IOException {
+    throw new UnsupportedOperationException("This is a virtual write-only file system, 'rename' not supported!");
+  }
+
+  @Override
+  public boolean delete(Path f, boolean recursive) throws IOException {
+    throw new UnsupportedOperationException("This is a virtual write-only file system, 'delete' not supported!");
+  }
+
+  @Override
+  public FileStatus[] listStatus(Path f) throws IOException {
+    throw new UnsupportedOperationException("This is a virtual write-only file system, 'listStatus' not supported!");
+  }
+
+  @Override
+  public boolean mkdirs(Path f, FsPermission permission) throws IOException {
+    throw new UnsupportedOperationException("This is a virtual write-only file system, 'mkdirs' not supported!");
+  }
+
+  @Override
+  public FileStatus getFileStatus(Path f) throws IOException {
+    throw new UnsupportedOperationException("This is a virtual write-only file system, 'getFileStatus' not supported!");
+  }
+
+  @Override
+  public void setWorkingDirectory(Path newDir) {
+
+  }
+
+  @Override
+  public Path getWorkingDirectory() {
+    return null;
+  }
+
+  static Configuration makeConfiguration(String target) {
+    Configuration conf = new Configuration(false);
+    conf.setBoolean("fs.h2opm.impl.disable.cache", true);
+    conf.setClass("fs.h2opm.impl", PersistFileSystem.class, FileSystem.class);
+    conf.set(TARGET_PROP, target);
+    return conf;
+  }
+
+}
@@ -22,11 +22,13 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import water.fvec.Vec;
 import water.parser.ParseWriter;
+import water.parser.RowFilter;
 import water.persist.VecDataInputStream;
 import water.persist.VecFileSystem;
 import water.util.Log;
@@ -60,6 +62,7 @@ public class VecParquetReader implements Closeable {
 
   private ParquetReader<Long> reader;
   private boolean[] _keepColumns;
+  private RowFilter[] _rowFilters;
 
   public VecParquetReader(Vec vec, ParquetMetadata metadata, ParseWriter writer, byte[] chunkSchema, boolean[] keepcolumns, int parseColumnNumber) {
     this(vec, metadata, new WriterDelegate(writer, parseColumnNumber), chunkSchema, keepcolumns);
@@ -73,6 +76,16 @@ public class VecParquetReader implements Closeable {
     _keepColumns = keepcolumns;
   }
 
+  /**
+   * Reads only the rows satisfying the given filters: row groups ruled out by their statistics are skipped, records
+   * of the other row groups not matching the filters are dropped before they reach the ParseWriter.
+   */
+  public VecParquetReader withRowFilters(RowFilter[] rowFilters) {
+    assert reader == null;
+    _rowFilters = rowFilters;
+    return this;
+  }
+
   /**
    * @return the index of added Chunk record or null if finished
    * @throws IOException
@@ -89,17 +102,26 @@ public class VecParquetReader implements Closeable {
     assert reader == null;
     Configuration conf = VecFileSystem.makeConfiguration(vec);
     conf.setInt(PARQUET_READ_PARALLELISM, 1); // disable parallelism (just one virtual file!)
-    ChunkReadSupport crSupport = new ChunkReadSupport(writer, chunkSchema, _keepColumns);
+    final FilterPredicate predicate = ParquetRowFilters.toPredicate(_rowFilters, metadata.getFileMetaData().getSchema());
+    final FilterCompat.Filter rowFilter = predicate == null ? FilterCompat.NOOP : FilterCompat.get(predicate);
+    if (predicate != null)
+      writer.bufferLines(); // lines are written once they pass the filter
+    ChunkReadSupport crSupport = new ChunkReadSupport(writer, chunkSchema, _keepColumns,
+            ParquetRowFilters.columns(_rowFilters));
     ParquetReader.Builder<Long> prBuilder = ParquetReader.builder(crSupport, VecFileSystem.VEC_PATH)
             .withConf(conf)
             .withFilter(new FilterCompat.Filter() {
               @Override
               @SuppressWarnings("unchecked")
               public <R> R accept(FilterCompat.Visitor<R> visitor) {
-                if (visitor instanceof RowGroupFilter) // inject already filtered metadata on RowGroup level
-                  return (R) metadata.getBlocks();
-                else // no other filtering otherwise
-                  return visitor.visit((FilterCompat.NoOpFilter) FilterCompat.NOOP);
+                if (visitor instanceof RowGroupFilter) { // inject already filtered metadata on RowGroup level
+                  if (predicate == null)
+                    return (R) metadata.getBlocks();
+                  // drop the row groups ruled out by their statistics
+                  return (R) RowGroupFilter.filterRowGroups(rowFilter, metadata.getBlocks(),
+                          metadata.getFileMetaData().getSchema());
+                } else // record level filtering (no filtering without row filters)
+                  return rowFilter.accept(visitor);
               }
             });
     reader = prBuilder.build();
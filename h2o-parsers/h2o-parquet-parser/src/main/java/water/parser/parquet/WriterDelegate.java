@@ -20,6 +20,7 @@ final class WriterDelegate {
 
   private ParseWriter _writer;
   private int _col;
+  private Line _line; // values of the current line held back until the line passes the row filters (null if no filters)
 
   WriterDelegate(ParseWriter writer, int numCols) {
     _maxStringSize = getMaxStringSize();
@@ -34,15 +35,46 @@ final class WriterDelegate {
     return (maxSize instanceof IcedInt) ? ((IcedInt) maxSize)._val : MAX_STR_LEN;
   }
 
+  /**
+   * Holds the values of every line back until {@link #commitLine()}, lines not committed (rejected by the row filters)
+   * are dropped.
+   */
+  void bufferLines() {
+    _line = new Line(_numCols);
+  }
+
   void startLine() {
     _col = -1;
+    if (_line != null) _line.clear();
   }
 
   void endLine() {
+    if (_line != null) return; // committed later, if at all
     moveToCol(_numCols);
     _writer.newLine();
   }
 
+  void commitLine() {
+    if (_line == null) return;
+    Line line = _line;
+    _line = null;
+    try {
+      _col = -1;
+      for (int c = 0; c < _numCols; c++) {
+        switch (line._kinds[c]) {
+          case Line.NUM: addNumCol(c, line._nums[c], line._exps[c]); break;
+          case Line.DBL: addNumCol(c, line._dbls[c]); break;
+          case Line.STR: addStrCol(c, line._strs[c]); break;
+          default: break;
+        }
+      }
+      endLine();
+    } finally {
+      line.clear();
+      _line = line;
+    }
+  }
+
   private int moveToCol(int colIdx) {
     for (int c = _col + 1; c < colIdx; c++) _writer.addInvalidCol(c);
     _col = colIdx;
@@ -50,14 +82,20 @@ final class WriterDelegate {
   }
 
   void addNumCol(int colIdx, long number, int exp) {
-    _writer.addNumCol(moveToCol(colIdx), number, exp);
+    if (_line != null) _line.addNum(colIdx, number, exp);
+    else _writer.addNumCol(moveToCol(colIdx), number, exp);
   }
 
   void addNumCol(int colIdx, double d) {
-    _writer.addNumCol(moveToCol(colIdx), d);
+    if (_line != null) _line.addDouble(colIdx, d);
+    else _writer.addNumCol(moveToCol(colIdx), d);
   }
 
   void addStrCol(int colIdx, BufferedString str) {
+    if (_line != null) {
+      _line.addStr(colIdx, str);
+      return;
+    }
     if (_colRawSize[colIdx] == -1)
       return; // already exceeded max length
 
@@ -82,4 +120,34 @@ final class WriterDelegate {
     Arrays.fill(_colRawSize, 0);
   }
 
+  // Values of a single line, the converters reuse their buffers - strings are copied
+  private static final class Line {
+    static final byte NONE = 0, NUM = 1, DBL = 2, STR = 3;
+    final byte[] _kinds;
+    final long[] _nums;
+    final int[] _exps;
+    final double[] _dbls;
+    final BufferedString[] _strs;
+
+    Line(int numCols) {
+      _kinds = new byte[numCols];
+      _nums = new long[numCols];
+      _exps = new int[numCols];
+      _dbls = new double[numCols];
+      _strs = new BufferedString[numCols];
+    }
+
+    void clear() { Arrays.fill(_kinds, NONE); }
+
+    void addNum(int c, long number, int exp) { _kinds[c] = NUM; _nums[c] = number; _exps[c] = exp; }
+
+    void addDouble(int c, double d) { _kinds[c] = DBL; _dbls[c] = d; }
+
+    void addStr(int c, BufferedString str) {
+      _kinds[c] = STR;
+      byte[] bytes = Arrays.copyOfRange(str.getBuffer(), str.getOffset(), str.getOffset() + str.length());
+      _strs[c] = new BufferedString(bytes, 0, bytes.length);
+    }
+  }
+
 }
@@ -23,12 +23,15 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import water.*;
+import water.exceptions.H2OIllegalArgumentException;
 import water.fvec.Frame;
 import water.fvec.NFSFileVec;
+import water.fvec.TestFrameBuilder;
 import water.fvec.Vec;
 import water.parser.BufferedString;
 import water.parser.ParseDataset;
 import water.parser.ParseSetup;
+import water.parser.RowFilter;
 import water.util.IcedInt;
 import water.util.PrettyPrint;
 
@@ -377,6 +380,122 @@ public class ParseTestParquet extends TestUtil {
     assertFrameAssertion(assertion);
   }
 
+  @Test
+  public void testParseWithRowFilters() throws IOException {
+    Frame range = null, in = null, ne = null;
+    Key[] keys = null, sparseKeys = null;
+    try {
+      File f = ParquetFileGenerator.generateParquetFile(Files.createTempDir(), "filtered.parquet", 1000, new Date());
+      keys = new Key[]{NFSFileVec.make(f)._key};
+
+      // the file has many row groups, most of them are ruled out by their statistics
+      ParseSetup setup = ParseSetup.guessSetup(keys, false, ParseSetup.GUESS_HEADER);
+      setup.disableParallelParse = disableParallelParse;
+      setup.setRowFilters(RowFilter.parse(new String[]{"int32_field >= 100", "int32_field < 200"}));
+      range = ParseDataset.parse(Key.make(), keys, false, setup);
+      assertEquals(100, range.numRows());
+      for (int row = 0; row < range.numRows(); row++) {
+        assertEquals(100 + row, range.vec("int32_field").at8(row));
+        assertEquals(132 + row, range.vec("int64_field").at8(row));
+      }
+
+      setup = ParseSetup.guessSetup(keys, false, ParseSetup.GUESS_HEADER);
+      setup.disableParallelParse = disableParallelParse;
+      setup.setRowFilters(RowFilter.parse("int64_field in (70, 80, 1000, 5000)"));
+      in = ParseDataset.parse(Key.make(), keys, false, setup);
+      assertArrayEquals(new long[]{38, 48, 968}, new long[]{in.vec(0).at8(0), in.vec(0).at8(1), in.vec(0).at8(2)});
+      assertEquals(3, in.numRows());
+
+      // missing values never satisfy a filter, not even an inequality
+      File sparse = ParquetFileGenerator.generateSparseParquetFile(Files.createTempDir(), "sparse.parquet", 100);
+      sparseKeys = new Key[]{NFSFileVec.make(sparse)._key};
+      setup = ParseSetup.guessSetup(sparseKeys, false, ParseSetup.GUESS_HEADER);
+      setup.disableParallelParse = disableParallelParse;
+      setup.setRowFilters(RowFilter.parse("int32_field != 30"));
+      ne = ParseDataset.parse(Key.make(), sparseKeys, false, setup);
+      assertEquals(9, ne.numRows());
+      for (int row = 0; row < ne.numRows(); row++) {
+        long expected = row < 3 ? row * 10 : (row + 1) * 10;
+        assertEquals(expected, ne.vec("int32_field").at8(row));
+        assertEquals(expected, ne.vec("row").at8(row));
+      }
+    } finally {
+      if (range != null) range.delete();
+      if (in != null) in.delete();
+      if (ne != null) ne.delete();
+      if (keys != null) keys[0].remove();
+      if (sparseKeys != null) sparseKeys[0].remove();
+    }
+  }
+
+  @Test
+  public void testRowFiltersOnBinaryDecimals() {
+    MessageType schema = parseMessageType("message test { required fixed_len_byte_array(8) fixed_dec (DECIMAL(16, 2)); " +
+            "required binary bin_dec (DECIMAL(16, 2)); required int64 long_dec (DECIMAL(16, 2)); }");
+    assertNotNull(ParquetRowFilters.toPredicate(RowFilter.parse(new String[]{"long_dec > 1.25"}), schema));
+    for (String col : new String[]{"fixed_dec", "bin_dec"}) {
+      try {
+        ParquetRowFilters.toPredicate(RowFilter.parse(new String[]{col + " > 1.25"}), schema);
+        fail("Filters on binary decimals are not supported");
+      } catch (H2OIllegalArgumentException e) {
+        assertTrue(e.getMessage(), e.getMessage().contains(col));
+      }
+    }
+  }
+
+  @Test
+  public void testExportRoundTrip() throws IOException {
+    Scope.enter();
+    try {
+      Frame fr = new TestFrameBuilder()
+              .withName("export_parquet")
+              .withColNames("i", "d", "c", "s", "t")
+              .withVecTypes(Vec.T_NUM, Vec.T_NUM, Vec.T_CAT, Vec.T_STR, Vec.T_TIME)
+              .withDataForCol(0, new double[]{1, 2, Double.NaN, -4, 5, 6, 7, 8, 1L << 40, 10})
+              .withDataForCol(1, new double[]{0.5, Double.NaN, -1.25, 3e100, 4, 5.5, 6, 7, 8, 1e-10})
+              .withDataForCol(2, new String[]{"b", "a", null, "c", "a", "b", "c", "a", "b", "c"})
+              .withDataForCol(3, new String[]{"x", null, "e", "y z", "\u00e9", "x", "w", "v", "u", "t"})
+              .withDataForCol(4, new double[]{1500000000000L, 1500000001000L, Double.NaN, 0, -1000, 1, 2, 3, 4, 5})
+              .withChunkLayout(3, 4, 3)
+              .build();
+      for (int parts : new int[]{1, 2}) {
+        File dir = Files.createTempDir();
+        File target = parts == 1 ? new File(dir, "export.parquet") : dir;
+        Frame.export(fr, target.getPath(), fr._key.toString(), true, parts, "parquet", null, null).get();
+        File[] files = parts == 1 ? new File[]{target} : dir.listFiles();
+        assertNotNull(files);
+        Arrays.sort(files);
+        assertEquals(parts, files.length);
+        Key[] keys = new Key[files.length];
+        for (int i = 0; i < files.length; i++) keys[i] = NFSFileVec.make(files[i])._key;
+        Frame imported = Scope.track(ParseDataset.parse(Key.make(), keys));
+
+        assertArrayEquals(fr.names(), imported.names());
+        assertEquals(fr.numRows(), imported.numRows());
+        assertTrue(imported.vec("i").isInt());
+        assertTrue(imported.vec("t").isTime());
+        for (int row = 0; row < fr.numRows(); row++) {
+          for (String col : new String[]{"i", "t"})
+            assertEquals(fr.vec(col).at(row), imported.vec(col).at(row), 0);
+          // the parser keeps the doubles in decimal form, the last bit of 3e100 does not survive the import
+          double d = fr.vec("d").at(row);
+          assertEquals(d, imported.vec("d").at(row), Math.abs(d) * 1e-15);
+          assertEquals(fr.vec("c").isNA(row), imported.vec("c").isNA(row));
+          if (!fr.vec("c").isNA(row))
+            assertEquals(fr.vec("c").factor(fr.vec("c").at8(row)), imported.vec("c").factor(imported.vec("c").at8(row)));
+          assertEquals(stringAt(fr.vec("s"), row), stringAt(imported.vec("s"), row));
+        }
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  private static String stringAt(Vec v, long row) {
+    if (v.isNA(row)) return null;
+    return v.isCategorical() ? v.factor(v.at8(row)) : v.atStr(new BufferedString(), row).toString();
+  }
+
   @Test
   public void testPubdev5673() {
     Frame actual = null;
@@ -405,7 +405,7 @@ def upload_file(path, destination_frame=None, header=0, sep=None, col_names=None
 
 
 def import_file(path=None, destination_frame=None, parse=True, header=0, sep=None, col_names=None, col_types=None,
-                na_strings=None, pattern=None, skipped_columns=None, custom_non_data_line_markers = None):
+                na_strings=None, pattern=None, skipped_columns=None, custom_non_data_line_markers = None, row_filters=None):
     """
     Import a dataset that is already on the cluster.
 
@@ -443,6 +443,8 @@ def import_file(path=None, destination_frame=None, parse=True, header=0, sep=Non
         directory.
     :param skipped_columns: an integer list of column indices to skip and not parsed into the final frame from the import file.
     :param custom_non_data_line_markers: If a line in imported file starts with any character in given string it will NOT be imported. Empty string means all lines are imported, None means that default behaviour for given format will be used
+    :param row_filters: A list of row filters like "year >= 2015" or "month in (1, 2)", only the rows satisfying all
+        of them are imported. The filters are pushed down to the row group statistics (Parquet files only).
 
     :returns: a new :class:`H2OFrame` instance.
 
@@ -464,6 +466,7 @@ def import_file(path=None, destination_frame=None, parse=True, header=0, sep=Non
     assert_is_type(col_types, [coltype], {str: coltype}, None)
     assert_is_type(na_strings, [natype], {str: natype}, None)
     assert isinstance(skipped_columns, (type(None), list)), "The skipped_columns should be an list of column names!"
+    assert_is_type(row_filters, [str], None)
     check_frame_id(destination_frame)
     patharr = path if isinstance(path, list) else [path]
     if any(os.path.split(p)[0] == "~" for p in patharr):
@@ -473,7 +476,7 @@ def import_file(path=None, destination_frame=None, parse=True, header=0, sep=Non
         return lazy_import(path, pattern)
     else:
         return H2OFrame()._import_parse(path, pattern, destination_frame, header, sep, col_names, col_types, na_strings,
-                                        skipped_columns, custom_non_data_line_markers)
+                                        skipped_columns, custom_non_data_line_markers, row_filters)
 
 
 def load_grid(grid_file_path):
@@ -590,7 +593,8 @@ def import_hive_table(database=None, table=None, partitions=None, allow_multi_fo
     return get_frame(j.dest_key)
 
 
-def import_sql_table(connection_url, table, username, password, columns=None, optimize=True, fetch_mode=None):
+def import_sql_table(connection_url, table, username, password, columns=None, optimize=True, fetch_mode=None,
+                     split_column=None, fetch_size=None):
     """
     Import SQL table to H2OFrame in memory.
 
@@ -612,6 +616,10 @@ def import_sql_table(connection_url, table, username, password, columns=None, op
     :param optimize: DEPRECATED. Ignored - use fetch_mode instead. Optimize import of SQL table for faster imports.
     :param fetch_mode: Set to DISTRIBUTED to enable distributed import. Set to SINGLE to force a sequential read by a single node
         from the database.
+    :param split_column: numeric or date/time column used to split the table into ranges of values that are read
+        in parallel (DISTRIBUTED fetch mode only). Reading ranges instead of LIMIT/OFFSET pages lets the database
+        read only the rows of each range, ideally by an index of the column.
+    :param fetch_size: number of rows fetched from the database in a single round trip. Default is chosen by H2O.
 
     :returns: an :class:`H2OFrame` containing data of the specified SQL table.
 
@@ -630,8 +638,10 @@ def import_sql_table(connection_url, table, username, password, columns=None, op
     assert_is_type(columns, [str], None)
     assert_is_type(optimize, bool)
     assert_is_type(fetch_mode, str, None)
+    assert_is_type(split_column, str, None)
+    assert_is_type(fetch_size, int, None)
     p = {"connection_url": connection_url, "table": table, "username": username, "password": password,
-         "fetch_mode": fetch_mode}
+         "fetch_mode": fetch_mode, "split_column": split_column, "fetch_size": fetch_size}
     if columns:
         p["columns"] = ", ".join(columns)
     j = H2OJob(api("POST /99/ImportSQLTable", data=p), "Import SQL Table").poll()
@@ -639,7 +649,7 @@ def import_sql_table(connection_url, table, username, password, columns=None, op
 
 
 def import_sql_select(connection_url, select_query, username, password, optimize=True,
-                      use_temp_table=None, temp_table_name=None, fetch_mode=None):
+                      use_temp_table=None, temp_table_name=None, fetch_mode=None, split_column=None, fetch_size=None):
     """
     Import the SQL table that is the result of the specified SQL query to H2OFrame in memory.
 
@@ -662,6 +672,10 @@ def import_sql_select(connection_url, select_query, username, password, optimize
     :param temp_table_name: name of temporary table to be created from select_query
     :param fetch_mode: Set to DISTRIBUTED to enable distributed import. Set to SINGLE to force a sequential read by a single node
         from the database.
+    :param split_column: numeric or date/time column used to split the table into ranges of values that are read
+        in parallel (DISTRIBUTED fetch mode only). Reading ranges instead of LIMIT/OFFSET pages lets the database
+        read only the rows of each range, ideally by an index of the column.
+    :param fetch_size: number of rows fetched from the database in a single round trip. Default is chosen by H2O.
 
     :returns: an :class:`H2OFrame` containing data of the specified SQL query.
 
@@ -682,8 +696,11 @@ def import_sql_select(connection_url, select_query, username, password, optimize
     assert_is_type(use_temp_table, bool, None)
     assert_is_type(temp_table_name, str, None)
     assert_is_type(fetch_mode, str, None)
+    assert_is_type(split_column, str, None)
+    assert_is_type(fetch_size, int, None)
     p = {"connection_url": connection_url, "select_query": select_query, "username": username, "password": password,
-         "use_temp_table": use_temp_table, "temp_table_name": temp_table_name, "fetch_mode": fetch_mode}
+         "use_temp_table": use_temp_table, "temp_table_name": temp_table_name, "fetch_mode": fetch_mode,
+         "split_column": split_column, "fetch_size": fetch_size}
     j = H2OJob(api("POST /99/ImportSQLTable", data=p), "Import SQL Table").poll()
     return get_frame(j.dest_key)
 
@@ -1462,7 +1479,7 @@ def load_model(path):
     return get_model(res["models"][0]["model_id"]["name"])
 
 
-def export_file(frame, path, force=False, sep=",", compression=None, parts=1):
+def export_file(frame, path, force=False, sep=",", compression=None, parts=1, format="csv"):
     """
     Export a given H2OFrame to a path on the machine this python session is currently connected to.
 
@@ -1476,6 +1493,9 @@ def export_file(frame, path, force=False, sep=",", compression=None, parts=1):
         specify your desired maximum number of part files. Path needs to be a directory
         when exporting to multiple files, also that directory must be empty.
         Default is ``parts = 1``, which is to export to a single file.
+    :param format: format of the exported files, "csv" (default) or "parquet". Parquet files are written
+        directly from the frame's chunks and keep the column types; ``compression`` then names a Parquet
+        codec (default snappy; none, gzip and snappy available).
 
     :examples:
 
@@ -1498,8 +1518,10 @@ def export_file(frame, path, force=False, sep=",", compression=None, parts=1):
     assert_is_type(force, bool)
     assert_is_type(parts, int)
     assert_is_type(compression, str, None)
+    assert_is_type(format, "csv", "parquet")
     H2OJob(api("POST /3/Frames/%s/export" % (frame.frame_id), 
-               data={"path": path, "num_parts": parts, "force": force, "compression": compression, "separator": ord(sep)}),
+               data={"path": path, "num_parts": parts, "force": force, "compression": compression, "separator": ord(sep),
+                     "format": format}),
            "Export File").poll()
 
 